@@ -43,6 +43,8 @@ public class PagedResult<T extends BaseBean> implements BaseBean {
 
     private int totalCount;
 
+    private String continuationToken;
+
     public URI getPrev() {
         return prev;
     }
@@ -89,6 +91,14 @@ public class PagedResult<T extends BaseBean> implements BaseBean {
         this.totalCount = totalCount;
     }
 
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
+    public void setContinuationToken(final String continuationToken) {
+        this.continuationToken = continuationToken;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder().
@@ -98,6 +108,7 @@ public class PagedResult<T extends BaseBean> implements BaseBean {
                 append(page).
                 append(size).
                 append(totalCount).
+                append(continuationToken).
                 build();
     }
 
@@ -121,6 +132,7 @@ public class PagedResult<T extends BaseBean> implements BaseBean {
                 append(page, other.page).
                 append(size, other.size).
                 append(totalCount, other.totalCount).
+                append(continuationToken, other.continuationToken).
                 build();
     }
 }
@@ -30,43 +30,64 @@ public final class BatchPayloadGenerator {
     public static <T extends BatchItem> String generate(final List<T> items, final String boundary) {
         StringBuilder payload = new StringBuilder();
 
-        items.forEach(item -> {
-            payload.append(boundary).append(JAXRSService.CRLF);
-            payload.append(HttpHeaders.CONTENT_TYPE).append(": ").append("application/http").append('\n');
-            payload.append("Content-Transfer-Encoding: binary").append('\n');
-            payload.append(JAXRSService.CRLF);
+        items.forEach(item -> generate(item, boundary, payload));
 
-            if (item instanceof BatchRequestItem) {
-                BatchRequestItem bri = BatchRequestItem.class.cast(item);
-                payload.append(bri.getMethod()).append(' ').append(bri.getRequestURI());
-                if (bri.getQueryString() != null) {
-                    payload.append('?').append(bri.getQueryString());
-                }
-                payload.append(' ').append(HTTP_1_1).append('\n');
-            }
+        payload.append(end(boundary));
 
-            if (item instanceof BatchResponseItem) {
-                BatchResponseItem bri = BatchResponseItem.class.cast(item);
-                payload.append(HTTP_1_1).append(' ').
-                        append(bri.getStatus()).append(' ').
-                        append(Response.Status.fromStatusCode(bri.getStatus()).getReasonPhrase()).
-                        append('\n');
-            }
+        return payload.toString();
+    }
+
+    /**
+     * Appends the multipart payload for a single item, for generating payloads one item at a time.
+     *
+     * @param <T> batch item type
+     * @param item batch item
+     * @param boundary multipart boundary, including leading double dash
+     * @param payload where to append
+     */
+    public static <T extends BatchItem> void generate(
+            final T item, final String boundary, final StringBuilder payload) {
 
-            if (item.getHeaders() != null && !item.getHeaders().isEmpty()) {
-                item.getHeaders().forEach((key, values) -> values.forEach(
-                        value -> payload.append(key).append(": ").append(value).append('\n')));
-                payload.append(JAXRSService.CRLF);
-            }
 
-            if (item.getContent() != null) {
-                payload.append(item.getContent()).append('\n');
+        payload.append(boundary).append(JAXRSService.CRLF);
+        payload.append(HttpHeaders.CONTENT_TYPE).append(": ").append("application/http").append('\n');
+        payload.append("Content-Transfer-Encoding: binary").append('\n');
+        payload.append(JAXRSService.CRLF);
+
+        if (item instanceof BatchRequestItem) {
+            BatchRequestItem bri = BatchRequestItem.class.cast(item);
+            payload.append(bri.getMethod()).append(' ').append(bri.getRequestURI());
+            if (bri.getQueryString() != null) {
+                payload.append('?').append(bri.getQueryString());
             }
-        });
+            payload.append(' ').append(HTTP_1_1).append('\n');
+        }
 
-        payload.append(boundary).append(JAXRSService.DOUBLE_DASH).append('\n');
+        if (item instanceof BatchResponseItem) {
+            BatchResponseItem bri = BatchResponseItem.class.cast(item);
+            payload.append(HTTP_1_1).append(' ').
+                    append(bri.getStatus()).append(' ').
+                    append(Response.Status.fromStatusCode(bri.getStatus()).getReasonPhrase()).
+                    append('\n');
+        }
 
-        return payload.toString();
+        if (item.getHeaders() != null && !item.getHeaders().isEmpty()) {
+            item.getHeaders().forEach((key, values) -> values.forEach(
+                    value -> payload.append(key).append(": ").append(value).append('\n')));
+            payload.append(JAXRSService.CRLF);
+        }
+
+        if (item.getContent() != null) {
+            payload.append(item.getContent()).append('\n');
+        }
+    }
+
+    /**
+     * @param boundary multipart boundary, including leading double dash
+     * @return the closing delimiter of multipart payloads
+     */
+    public static String end(final String boundary) {
+        return boundary + JAXRSService.DOUBLE_DASH + '\n';
     }
 
     private BatchPayloadGenerator() {
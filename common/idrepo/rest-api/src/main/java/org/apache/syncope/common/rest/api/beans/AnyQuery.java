@@ -60,6 +60,11 @@ public class AnyQuery extends AbstractQuery {
 
             return this;
         }
+
+        public Builder continuationToken(final String continuationToken) {
+            getInstance().setContinuationToken(continuationToken);
+            return this;
+        }
     }
 
     private String realm;
@@ -70,6 +75,8 @@ public class AnyQuery extends AbstractQuery {
 
     private String fiql;
 
+    private String continuationToken;
+
     @Parameter(name = JAXRSService.PARAM_REALM, description = "realms define a hierarchical security domain tree, "
             + "primarily meant for containing Users, Groups and Any Objects", schema =
             @Schema(implementation = String.class, defaultValue = SyncopeConstants.ROOT_REALM, externalDocs =
@@ -127,6 +134,19 @@ public class AnyQuery extends AbstractQuery {
         this.fiql = fiql;
     }
 
+    @Parameter(name = JAXRSService.PARAM_CONTINUATION_TOKEN, description = "enables keyset pagination: results are "
+            + "sorted by key and returned after the item identified by the given token, as returned by the previous "
+            + "page; pass an empty value to get the first page; page, orderby and total count are not considered",
+            schema = @Schema(implementation = String.class))
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
+    @QueryParam(JAXRSService.PARAM_CONTINUATION_TOKEN)
+    public void setContinuationToken(final String continuationToken) {
+        this.continuationToken = continuationToken;
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (this == obj) {
@@ -144,6 +164,7 @@ public class AnyQuery extends AbstractQuery {
                 append(realm, other.realm).
                 append(details, other.details).
                 append(fiql, other.fiql).
+                append(continuationToken, other.continuationToken).
                 build();
     }
 
@@ -154,6 +175,7 @@ public class AnyQuery extends AbstractQuery {
                 append(realm).
                 append(details).
                 append(fiql).
+                append(continuationToken).
                 build();
     }
 }
@@ -46,6 +46,8 @@ public interface JAXRSService {
 
     String PARAM_DETAILS = "details";
 
+    String PARAM_CONTINUATION_TOKEN = "continuationToken";
+
     String PARAM_CONNID_PAGED_RESULTS_COOKIE = "connIdPagedResultsCookie";
 
     String PARAM_MAX = "max";
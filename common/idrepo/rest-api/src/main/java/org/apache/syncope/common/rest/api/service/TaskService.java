@@ -145,14 +145,23 @@ public interface TaskService extends ExecutableService {
     /**
      * Deletes all the propagation tasks whose latest execution is matching the given conditions.
      * At least one matching condition must be specified.
+     * Deleted propagation tasks are streamed back as JSON while being deleted, unless {@code return-no-content} is
+     * preferred, in which case nothing is returned.
+     * Deletion happens in chunks, each committed on its own: should a failure occur after some of them, the JSON
+     * array returned is left unterminated, reporting the propagation tasks deleted so far.
      *
      * @param since match all executions started afterwards
      * @param statuses execution status(es) to match
      * @param resources external resource(s) to match
      * @return deleted propagation tasks
      */
+    @Parameter(name = RESTHeaders.PREFER, in = ParameterIn.HEADER,
+            description = "Allows client to specify a preference for the result to be returned from the server",
+            allowEmptyValue = true, schema =
+            @Schema(defaultValue = "return-content", allowableValues = { "return-content", "return-no-content" }))
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "List of deleted propagation tasks, as Entity"),
+        @ApiResponse(responseCode = "204", description = "Nothing returned, as requested via the Prefer header"),
         @ApiResponse(responseCode = "412", description = "At least one matching condition must be specified") })
     @DELETE
     @Path("PROPAGATION/purge")
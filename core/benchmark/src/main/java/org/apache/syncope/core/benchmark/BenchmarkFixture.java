@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.benchmark;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.AMEntitlement;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.CipherAlgorithm;
+import org.apache.syncope.common.lib.types.EntitlementsHolder;
+import org.apache.syncope.common.lib.types.IdMEntitlement;
+import org.apache.syncope.common.lib.types.IdRepoEntitlement;
+import org.apache.syncope.core.persistence.api.attrvalue.validation.PlainAttrValidationManager;
+import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.RealmDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.AnyUtils;
+import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
+import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.api.entity.user.UPlainAttr;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Spring context for the Master domain, loaded with test content plus the configured number of generated users:
+ * each has {@code firstname}, {@code surname} and {@code email} attributes, and username {@code benchN}.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkFixture {
+
+    protected static final int BATCH_SIZE = 500;
+
+    public static String username(final int index) {
+        return "bench" + index;
+    }
+
+    /**
+     * Number of generated users; can be changed from command line, as {@code -p users=N}.
+     */
+    @Param("1000")
+    public int users;
+
+    protected AnnotationConfigApplicationContext ctx;
+
+    protected TransactionTemplate readOnlyTx;
+
+    protected TransactionTemplate readWriteTx;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        EntitlementsHolder.getInstance().addAll(IdRepoEntitlement.values());
+        EntitlementsHolder.getInstance().addAll(IdMEntitlement.values());
+        EntitlementsHolder.getInstance().addAll(AMEntitlement.values());
+
+        ctx = new AnnotationConfigApplicationContext(BenchmarkContext.class);
+
+        PlatformTransactionManager txManager =
+                ctx.getBean(SyncopeConstants.MASTER_DOMAIN + "TransactionManager", PlatformTransactionManager.class);
+        readWriteTx = new TransactionTemplate(txManager);
+        readOnlyTx = new TransactionTemplate(txManager);
+        readOnlyTx.setReadOnly(true);
+
+        for (int i = 0; i < users; i += BATCH_SIZE) {
+            int from = i;
+            int to = Math.min(users, i + BATCH_SIZE);
+            inTransaction(false, () -> {
+                generate(from, to);
+                return null;
+            });
+        }
+    }
+
+    protected void generate(final int from, final int to) {
+        EntityFactory entityFactory = getBean(EntityFactory.class);
+        UserDAO userDAO = getBean(UserDAO.class);
+        RealmDAO realmDAO = getBean(RealmDAO.class);
+        PlainSchemaDAO plainSchemaDAO = getBean(PlainSchemaDAO.class);
+        PlainAttrValidationManager validator = getBean(PlainAttrValidationManager.class);
+        AnyUtils anyUtils = getBean(AnyUtilsFactory.class).getInstance(AnyTypeKind.USER);
+
+        for (int i = from; i < to; i++) {
+            User user = entityFactory.newEntity(User.class);
+            user.setUsername(username(i));
+            user.setRealm(realmDAO.getRoot());
+            user.setCreator("admin");
+            user.setCreationDate(OffsetDateTime.now());
+            user.setCipherAlgorithm(CipherAlgorithm.SHA256);
+            user.setPassword("password123");
+
+            Map.of(
+                    "firstname", "First" + i,
+                    "surname", "Surname" + (i % 100),
+                    "email", username(i) + "@syncope.apache.org").forEach((schema, value) -> {
+
+                UPlainAttr attr = entityFactory.newEntity(UPlainAttr.class);
+                attr.setOwner(user);
+                attr.setSchema(plainSchemaDAO.find(schema));
+                attr.add(validator, value, anyUtils);
+                user.add(attr);
+            });
+
+            userDAO.save(user);
+        }
+    }
+
+    public <T> T getBean(final Class<T> type) {
+        return ctx.getBean(type);
+    }
+
+    /**
+     * Runs the given supplier as administrator, in a transaction on the Master domain.
+     *
+     * @param <T> result type
+     * @param readOnly whether the transaction is read-only
+     * @param supplier operation to run
+     * @return operation result
+     */
+    public <T> T inTransaction(final boolean readOnly, final Supplier<T> supplier) {
+        return AuthContextUtils.callAsAdmin(
+                SyncopeConstants.MASTER_DOMAIN,
+                () -> (readOnly ? readOnlyTx : readWriteTx).execute(status -> supplier.get()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (ctx != null) {
+            ctx.close();
+        }
+    }
+}
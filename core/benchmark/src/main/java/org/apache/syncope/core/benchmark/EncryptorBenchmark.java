@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.syncope.common.lib.types.CipherAlgorithm;
+import org.apache.syncope.core.spring.security.Encryptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EncryptorBenchmark {
+
+    protected static final String SECRET_KEY = "kUSwwBFQj8vqz6eSuZXatPLt";
+
+    protected static final String VALUE = "Password123";
+
+    @Param({ "AES", "SHA256", "SSHA256", "BCRYPT" })
+    public CipherAlgorithm cipherAlgorithm;
+
+    protected Encryptor encryptor;
+
+    protected String encoded;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        encryptor = Encryptor.getInstance(SECRET_KEY);
+        encoded = encryptor.encode(VALUE, cipherAlgorithm);
+    }
+
+    @Benchmark
+    public String encode() throws Exception {
+        return encryptor.encode(VALUE, cipherAlgorithm);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return encryptor.verify(VALUE, cipherAlgorithm, encoded);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.jexl3.JexlContext;
+import org.apache.commons.jexl3.JexlExpression;
+import org.apache.commons.jexl3.MapContext;
+import org.apache.syncope.core.provisioning.api.jexl.JexlUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JexlUtilsBenchmark {
+
+    @Param({
+        "surname + ', ' + firstname",
+        "username == 'rossini' ? surname + ', ' + firstname + ' <' + email + '>' : username" })
+    public String expression;
+
+    protected JexlContext jexlContext;
+
+    protected JexlExpression compiled;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        jexlContext = new MapContext();
+        jexlContext.set("username", "rossini");
+        jexlContext.set("firstname", "Gioacchino");
+        jexlContext.set("surname", "Rossini");
+        jexlContext.set("email", "rossini@apache.org");
+
+        compiled = JexlUtils.compile(expression);
+    }
+
+    @Benchmark
+    public Object evaluate() {
+        return JexlUtils.evaluate(expression, jexlContext);
+    }
+
+    @Benchmark
+    public Object evaluateCompiled() {
+        return JexlUtils.evaluate(compiled, jexlContext);
+    }
+}
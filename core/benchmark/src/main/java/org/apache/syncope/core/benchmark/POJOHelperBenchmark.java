@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.benchmark;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.apache.syncope.common.lib.Attr;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.to.MembershipTO;
+import org.apache.syncope.common.lib.to.UserTO;
+import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class POJOHelperBenchmark {
+
+    /**
+     * Number of plain attributes, and of memberships, of the serialized user.
+     */
+    @Param({ "5", "50" })
+    public int size;
+
+    protected UserTO userTO;
+
+    protected String serialized;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        userTO = new UserTO();
+        userTO.setKey(UUID.randomUUID().toString());
+        userTO.setUsername("rossini");
+        userTO.setRealm(SyncopeConstants.ROOT_REALM);
+        userTO.setCreationDate(OffsetDateTime.now());
+        userTO.getResources().add("resource-ldap");
+        for (int i = 0; i < size; i++) {
+            userTO.getPlainAttrs().add(new Attr.Builder("schema" + i).value("value" + i).build());
+            userTO.getMemberships().add(new MembershipTO.Builder(UUID.randomUUID().toString()).
+                    groupName("group" + i).build());
+        }
+
+        serialized = POJOHelper.serialize(userTO);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return POJOHelper.serialize(userTO);
+    }
+
+    @Benchmark
+    public UserTO deserialize() {
+        return POJOHelper.deserialize(serialized, UserTO.class);
+    }
+}
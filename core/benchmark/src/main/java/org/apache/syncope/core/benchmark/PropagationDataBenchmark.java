@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.benchmark;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationData;
+import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
+import org.identityconnectors.common.security.GuardedString;
+import org.identityconnectors.framework.common.objects.Attribute;
+import org.identityconnectors.framework.common.objects.AttributeBuilder;
+import org.identityconnectors.framework.common.objects.Name;
+import org.identityconnectors.framework.common.objects.OperationalAttributes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares plain and deflated JSON encoding of propagation data; sizes of both are logged at setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PropagationDataBenchmark {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PropagationDataBenchmark.class);
+
+    /**
+     * Number of values of the multi-valued attribute in propagation data.
+     */
+    @Param({ "10", "1000" })
+    public int size;
+
+    protected PropagationData propagationData;
+
+    protected String json;
+
+    protected String deflated;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Set<Attribute> attributes = new HashSet<>();
+        attributes.add(new Name("uid=rossini,ou=people,o=isp"));
+        attributes.add(AttributeBuilder.build(
+                OperationalAttributes.PASSWORD_NAME, new GuardedString("password123".toCharArray())));
+        attributes.add(AttributeBuilder.build("cn", "Gioacchino Rossini"));
+        attributes.add(AttributeBuilder.build("mail", "rossini@syncope.apache.org"));
+        attributes.add(AttributeBuilder.build("memberOf", IntStream.range(0, size).
+                mapToObj(i -> "cn=group" + i + ",ou=groups,o=isp").collect(Collectors.toList())));
+        propagationData = new PropagationData(attributes);
+
+        json = POJOHelper.serialize(propagationData);
+        deflated = POJOHelper.serializeDeflated(propagationData);
+
+        LOG.info("Propagation data with {} values: {} chars as JSON, {} chars deflated",
+                size, json.length(), deflated.length());
+    }
+
+    @Benchmark
+    public String serialize() {
+        return POJOHelper.serialize(propagationData);
+    }
+
+    @Benchmark
+    public String serializeDeflated() {
+        return POJOHelper.serializeDeflated(propagationData);
+    }
+
+    @Benchmark
+    public PropagationData deserialize() {
+        return POJOHelper.deserialize(json, PropagationData.class);
+    }
+
+    @Benchmark
+    public PropagationData deserializeDeflated() {
+        return POJOHelper.deserialize(deflated, PropagationData.class);
+    }
+}
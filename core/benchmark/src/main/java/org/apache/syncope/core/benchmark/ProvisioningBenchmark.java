@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.benchmark;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.to.Provision;
+import org.apache.syncope.common.lib.to.UserTO;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.DerSchema;
+import org.apache.syncope.core.persistence.api.entity.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.provisioning.api.DerAttrHandler;
+import org.apache.syncope.core.provisioning.api.MappingManager;
+import org.apache.syncope.core.provisioning.api.data.UserDataBinder;
+import org.identityconnectors.framework.common.objects.Attribute;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the preparation of connector attributes, the evaluation of derived attributes and the building of the
+ * transfer object for a user; each invocation reads the user in its own read-only transaction:
+ * {@link #findUser(BenchmarkFixture)} provides the baseline for such reading.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProvisioningBenchmark {
+
+    protected static final String USERNAME = "bellini";
+
+    protected static final String RESOURCE = "resource-ldap";
+
+    @Benchmark
+    public User findUser(final BenchmarkFixture fixture) {
+        return fixture.inTransaction(true, () -> fixture.getBean(UserDAO.class).findByUsername(USERNAME));
+    }
+
+    @Benchmark
+    public Map<DerSchema, String> derAttrValues(final BenchmarkFixture fixture) {
+        return fixture.inTransaction(true, () -> fixture.getBean(DerAttrHandler.class).getValues(
+                fixture.getBean(UserDAO.class).findByUsername(USERNAME)));
+    }
+
+    @Benchmark
+    public UserTO getUserTO(final BenchmarkFixture fixture) {
+        return fixture.inTransaction(true, () -> fixture.getBean(UserDataBinder.class).getUserTO(
+                fixture.getBean(UserDAO.class).findByUsername(USERNAME), true));
+    }
+
+    @Benchmark
+    public Pair<String, Set<Attribute>> prepareAttrsFromAny(final BenchmarkFixture fixture) {
+        return fixture.inTransaction(true, () -> {
+            User user = fixture.getBean(UserDAO.class).findByUsername(USERNAME);
+            ExternalResource resource = fixture.getBean(ExternalResourceDAO.class).find(RESOURCE);
+            Provision provision = resource.getProvisionByAnyType(AnyTypeKind.USER.name()).get();
+
+            return fixture.getBean(MappingManager.class).prepareAttrsFromAny(
+                    user, "Password123", true, Boolean.TRUE, resource, provision);
+        });
+    }
+}
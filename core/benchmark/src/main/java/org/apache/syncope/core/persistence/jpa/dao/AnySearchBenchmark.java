@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.benchmark.BenchmarkFixture;
+import org.apache.syncope.core.persistence.api.attrvalue.validation.PlainAttrValidationManager;
+import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
+import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
+import org.apache.syncope.core.persistence.api.dao.GroupDAO;
+import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.RealmDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
+import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
+import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures native query generation and execution for user searches; each invocation runs in its own read-only
+ * transaction, as for REST requests.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnySearchBenchmark {
+
+    @Param({
+        "surname==Surname7",
+        "surname==Surname7;firstname==First7",
+        "username==bench1*,email==bench2*",
+        "$resources!=resource-ldap;surname==Surname7" })
+    public String fiql;
+
+    protected JPAAnySearchDAO searchDAO;
+
+    protected SearchCond cond;
+
+    @Setup(Level.Trial)
+    public void setup(final BenchmarkFixture fixture) {
+        searchDAO = new JPAAnySearchDAO(
+                fixture.getBean(RealmDAO.class),
+                fixture.getBean(DynRealmDAO.class),
+                fixture.getBean(UserDAO.class),
+                fixture.getBean(GroupDAO.class),
+                fixture.getBean(AnyObjectDAO.class),
+                fixture.getBean(PlainSchemaDAO.class),
+                fixture.getBean(EntityFactory.class),
+                fixture.getBean(AnyUtilsFactory.class),
+                fixture.getBean(PlainAttrValidationManager.class));
+
+        cond = SearchCondConverter.convert(new SearchCondVisitor(), fiql);
+    }
+
+    @Benchmark
+    public Object getQuery(final BenchmarkFixture fixture) {
+        return fixture.inTransaction(true, () -> searchDAO.getQuery(
+                cond, new ArrayList<>(), searchDAO.buildSearchSupport(AnyTypeKind.USER)));
+    }
+
+    @Benchmark
+    public int count(final BenchmarkFixture fixture) {
+        return fixture.inTransaction(true, () -> searchDAO.count(
+                fixture.getBean(RealmDAO.class).getRoot(),
+                true,
+                Set.of(SyncopeConstants.ROOT_REALM),
+                cond,
+                AnyTypeKind.USER));
+    }
+
+    @Benchmark
+    public List<User> search(final BenchmarkFixture fixture) {
+        return fixture.inTransaction(true, () -> searchDAO.search(
+                fixture.getBean(RealmDAO.class).getRoot(),
+                true,
+                Set.of(SyncopeConstants.ROOT_REALM),
+                cond,
+                1,
+                25,
+                List.of(),
+                AnyTypeKind.USER));
+    }
+}
@@ -222,6 +222,13 @@ public abstract class AbstractAnyLogic<TO extends AnyTO, C extends AnyCR, U exte
             boolean recursive,
             boolean details);
 
+    public abstract List<TO> search(
+            SearchCond searchCond,
+            String after, int size,
+            String realm,
+            boolean recursive,
+            boolean details);
+
     public abstract ProvisioningResult<TO> update(U updateReq, boolean nullPriorityAsync);
 
     public abstract ProvisioningResult<TO> delete(String key, boolean nullPriorityAsync);
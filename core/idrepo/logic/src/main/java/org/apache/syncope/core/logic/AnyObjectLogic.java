@@ -133,6 +133,33 @@ public class AnyObjectLogic extends AbstractAnyLogic<AnyObjectTO, AnyObjectCR, A
         return Pair.of(count, result);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public List<AnyObjectTO> search(
+            final SearchCond searchCond,
+            final String after, final int size,
+            final String realm,
+            final boolean recursive,
+            final boolean details) {
+
+        if (searchCond.hasAnyTypeCond() == null) {
+            throw new UnsupportedOperationException("Need to specify " + AnyType.class.getSimpleName());
+        }
+
+        Realm base = Optional.ofNullable(realmDAO.findByFullPath(realm)).
+                orElseThrow(() -> new NotFoundException("Realm " + realm));
+
+        Set<String> authRealms = RealmUtils.getEffective(
+                AuthContextUtils.getAuthorizations().get(AnyEntitlement.SEARCH.getFor(searchCond.hasAnyTypeCond())),
+                realm);
+
+        List<AnyObject> matching = searchDAO.search(
+                base, recursive, authRealms, searchCond, after, size, AnyTypeKind.ANY_OBJECT);
+        return matching.stream().
+                map(anyObject -> binder.getAnyObjectTO(anyObject, details)).
+                collect(Collectors.toList());
+    }
+
     public ProvisioningResult<AnyObjectTO> create(final AnyObjectCR createReq, final boolean nullPriorityAsync) {
         Pair<AnyObjectCR, List<LogicActions>> before = beforeCreate(createReq);
 
@@ -68,6 +68,8 @@ import org.springframework.core.type.classreading.MetadataReader;
 import org.springframework.core.type.classreading.MetadataReaderFactory;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.SystemPropertyUtils;
 
@@ -132,6 +134,7 @@ public class AuditLogic extends AbstractTransactionalLogic<AuditConfTO> {
         audit = auditConfDAO.save(audit);
 
         setLevel(audit.getKey(), audit.isActive() ? LogLevel.DEBUG : LogLevel.OFF);
+        auditConfChanged(audit.getKey(), audit.isActive());
     }
 
     @PreAuthorize("hasRole('" + IdRepoEntitlement.AUDIT_DELETE + "')")
@@ -141,6 +144,27 @@ public class AuditLogic extends AbstractTransactionalLogic<AuditConfTO> {
         auditConfDAO.delete(audit);
 
         setLevel(audit.getKey(), LogLevel.OFF);
+        auditConfChanged(audit.getKey(), false);
+    }
+
+    /**
+     * Notifies the audit manager about the given change only once the current transaction, if any, has committed.
+     *
+     * @param key audit key
+     * @param active whether the audit configuration is active
+     */
+    protected void auditConfChanged(final String key, final boolean active) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    auditManager.auditConfChanged(key, active);
+                }
+            });
+        } else {
+            auditManager.auditConfChanged(key, active);
+        }
     }
 
     protected void setLevel(final String key, final LogLevel level) {
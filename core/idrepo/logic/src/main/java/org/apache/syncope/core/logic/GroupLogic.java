@@ -186,6 +186,31 @@ public class GroupLogic extends AbstractAnyLogic<GroupTO, GroupCR, GroupUR> {
         return Pair.of(count, result);
     }
 
+    @PreAuthorize("hasRole('" + IdRepoEntitlement.GROUP_SEARCH + "')")
+    @Transactional(readOnly = true)
+    @Override
+    public List<GroupTO> search(
+            final SearchCond searchCond,
+            final String after, final int size,
+            final String realm,
+            final boolean recursive,
+            final boolean details) {
+
+        Realm base = Optional.ofNullable(realmDAO.findByFullPath(realm)).
+                orElseThrow(() -> new NotFoundException("Realm " + realm));
+
+        Set<String> authRealms = RealmUtils.getEffective(
+                AuthContextUtils.getAuthorizations().get(IdRepoEntitlement.GROUP_SEARCH), realm);
+
+        SearchCond effectiveCond = searchCond == null ? groupDAO.getAllMatchingCond() : searchCond;
+
+        List<Group> matching = searchDAO.search(
+                base, recursive, authRealms, effectiveCond, after, size, AnyTypeKind.GROUP);
+        return matching.stream().
+                map(group -> binder.getGroupTO(group, details)).
+                collect(Collectors.toList());
+    }
+
     @PreAuthorize("hasRole('" + IdRepoEntitlement.GROUP_CREATE + "')")
     public ProvisioningResult<GroupTO> create(final GroupCR createReq, final boolean nullPriorityAsync) {
         Pair<GroupCR, List<LogicActions>> before = beforeCreate(createReq);
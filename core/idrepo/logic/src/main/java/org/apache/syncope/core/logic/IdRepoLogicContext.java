@@ -99,14 +99,17 @@ import org.apache.syncope.core.provisioning.api.data.SecurityQuestionDataBinder;
 import org.apache.syncope.core.provisioning.api.data.TaskDataBinder;
 import org.apache.syncope.core.provisioning.api.data.UserDataBinder;
 import org.apache.syncope.core.provisioning.api.job.JobManager;
+import org.apache.syncope.core.provisioning.api.job.report.ReportExecResultStore;
 import org.apache.syncope.core.provisioning.api.notification.NotificationJobDelegate;
 import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationManager;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskExecutor;
 import org.apache.syncope.core.provisioning.api.rules.RuleEnforcer;
+import org.apache.syncope.core.provisioning.java.ProvisioningProperties;
 import org.apache.syncope.core.provisioning.java.utils.TemplateUtils;
 import org.apache.syncope.core.spring.security.SecurityProperties;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.logging.LoggingSystem;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -114,6 +117,7 @@ import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.scheduling.quartz.SchedulerFactoryBean;
 
 @EnableAspectJAutoProxy(proxyTargetClass = false)
+@EnableConfigurationProperties(LogicProperties.class)
 @Configuration(proxyBeanMethods = false)
 public class IdRepoLogicContext {
 
@@ -149,12 +153,15 @@ public class IdRepoLogicContext {
 
     @ConditionalOnMissingBean(name = "defaultAuditAppenders")
     @Bean
-    public List<AuditAppender> defaultAuditAppenders(final DomainHolder domainHolder) {
+    public List<AuditAppender> defaultAuditAppenders(
+            final DomainHolder domainHolder,
+            final LogicProperties logicProperties) {
+
         List<AuditAppender> auditAppenders = new ArrayList<>();
 
         LoggerContext logCtx = (LoggerContext) LogManager.getContext(false);
         domainHolder.getDomains().forEach((domain, dataSource) -> {
-            AuditAppender appender = new JdbcAuditAppender(domain, dataSource);
+            AuditAppender appender = new JdbcAuditAppender(domain, dataSource, logicProperties.getAudit());
 
             LoggerConfig logConf = new LoggerConfig(AuditLoggerName.getAuditLoggerName(domain), null, false);
             logConf.addAppender(appender.getTargetAppender(), Level.DEBUG, null);
@@ -437,7 +444,8 @@ public class IdRepoLogicContext {
             final JobStatusDAO jobStatusDAO,
             final ReportDAO reportDAO,
             final EntityFactory entityFactory,
-            final ReportExecDAO reportExecDAO) {
+            final ReportExecDAO reportExecDAO,
+            final ReportExecResultStore reportExecResultStore) {
 
         return new ReportLogic(
                 jobManager,
@@ -446,7 +454,8 @@ public class IdRepoLogicContext {
                 reportDAO,
                 reportExecDAO,
                 binder,
-                entityFactory);
+                entityFactory,
+                reportExecResultStore);
     }
 
     @ConditionalOnMissingBean
@@ -514,7 +523,8 @@ public class IdRepoLogicContext {
             final NotificationJobDelegate notificationJobDelegate,
             final TaskDataBinder taskDataBinder,
             final TaskUtilsFactory taskUtilsFactory,
-            final NotificationDAO notificationDAO) {
+            final NotificationDAO notificationDAO,
+            final ProvisioningProperties provisioningProperties) {
 
         return new TaskLogic(
                 jobManager,
@@ -527,7 +537,8 @@ public class IdRepoLogicContext {
                 taskDataBinder,
                 taskExecutor,
                 notificationJobDelegate,
-                taskUtilsFactory);
+                taskUtilsFactory,
+                provisioningProperties.getPropagation());
     }
 
     @ConditionalOnMissingBean
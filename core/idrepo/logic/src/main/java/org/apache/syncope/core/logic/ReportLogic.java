@@ -19,7 +19,10 @@
 package org.apache.syncope.core.logic;
 
 import jakarta.ws.rs.core.Response;
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.Method;
 import java.time.OffsetDateTime;
@@ -54,6 +57,7 @@ import org.apache.syncope.core.persistence.api.entity.ReportExec;
 import org.apache.syncope.core.provisioning.api.data.ReportDataBinder;
 import org.apache.syncope.core.provisioning.api.job.JobManager;
 import org.apache.syncope.core.provisioning.api.job.JobNamer;
+import org.apache.syncope.core.provisioning.api.job.report.ReportExecResultStore;
 import org.apache.syncope.core.provisioning.api.utils.ExceptionUtils2;
 import org.apache.syncope.core.provisioning.java.job.report.ReportJob;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
@@ -73,6 +77,8 @@ public class ReportLogic extends AbstractExecutableLogic<ReportTO> {
 
     protected final EntityFactory entityFactory;
 
+    protected final ReportExecResultStore reportExecResultStore;
+
     public ReportLogic(
             final JobManager jobManager,
             final SchedulerFactoryBean scheduler,
@@ -80,7 +86,8 @@ public class ReportLogic extends AbstractExecutableLogic<ReportTO> {
             final ReportDAO reportDAO,
             final ReportExecDAO reportExecDAO,
             final ReportDataBinder binder,
-            final EntityFactory entityFactory) {
+            final EntityFactory entityFactory,
+            final ReportExecResultStore reportExecResultStore) {
 
         super(jobManager, scheduler, jobStatusDAO);
 
@@ -88,6 +95,7 @@ public class ReportLogic extends AbstractExecutableLogic<ReportTO> {
         this.reportExecDAO = reportExecDAO;
         this.binder = binder;
         this.entityFactory = entityFactory;
+        this.reportExecResultStore = reportExecResultStore;
     }
 
     @PreAuthorize("hasRole('" + IdRepoEntitlement.REPORT_CREATE + "')")
@@ -209,17 +217,29 @@ public class ReportLogic extends AbstractExecutableLogic<ReportTO> {
         ReportExec reportExec = Optional.ofNullable(reportExecDAO.find(executionKey)).
                 orElseThrow(() -> new NotFoundException("Report execution " + executionKey));
 
-        if (reportExec.getExecResult() == null || !ReportJob.Status.SUCCESS.name().equals(reportExec.getStatus())) {
+        boolean success = ReportJob.Status.SUCCESS.name().equals(reportExec.getStatus());
+
+        Optional<InputStream> result = Optional.empty();
+        if (success) {
+            try {
+                // results stored by former releases are found on the execution itself
+                result = reportExecResultStore.read(reportExec).
+                        or(() -> Optional.ofNullable(reportExec.getExecResult()).map(ByteArrayInputStream::new));
+            } catch (IOException e) {
+                LOG.error("While reading result of report execution {}", executionKey, e);
+            }
+        }
+
+        if (result.isEmpty()) {
             SyncopeClientException sce = SyncopeClientException.build(ClientExceptionType.InvalidReportExec);
-            sce.getElements().add(reportExec.getExecResult() == null
+            sce.getElements().add(success
                     ? "No report data produced"
                     : "Report did not run successfully");
             throw sce;
         }
 
-        // streaming output from a compressed byte array stream
-        try (ByteArrayInputStream bais = new ByteArrayInputStream(reportExec.getExecResult()); ZipInputStream zis =
-                new ZipInputStream(bais)) {
+        // streaming output from the compressed result stream
+        try (InputStream is = result.get(); ZipInputStream zis = new ZipInputStream(new BufferedInputStream(is))) {
 
             // a single ZipEntry in the ZipInputStream
             zis.getNextEntry();
@@ -237,6 +257,7 @@ public class ReportLogic extends AbstractExecutableLogic<ReportTO> {
 
         ReportTO deletedReport = binder.getReportTO(report);
         jobManager.unregister(report);
+        report.getExecs().forEach(reportExecResultStore::delete);
         reportDAO.delete(report);
         return deletedReport;
     }
@@ -276,6 +297,7 @@ public class ReportLogic extends AbstractExecutableLogic<ReportTO> {
                 orElseThrow(() -> new NotFoundException("Report execution " + executionKey));
 
         ExecTO reportExecToDelete = binder.getExecTO(reportExec);
+        reportExecResultStore.delete(reportExec);
         reportExecDAO.delete(reportExec);
         return reportExecToDelete;
     }
@@ -298,6 +320,7 @@ public class ReportLogic extends AbstractExecutableLogic<ReportTO> {
             batchResponseItems.add(item);
 
             try {
+                reportExecResultStore.delete(exec);
                 reportExecDAO.delete(exec);
                 item.setStatus(Response.Status.OK.getStatusCode());
             } catch (Exception e) {
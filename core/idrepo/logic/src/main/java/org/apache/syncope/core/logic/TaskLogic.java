@@ -27,6 +27,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.tuple.Pair;
@@ -71,6 +72,7 @@ import org.apache.syncope.core.provisioning.api.notification.NotificationJobDele
 import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskExecutor;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
 import org.apache.syncope.core.provisioning.api.utils.ExceptionUtils2;
+import org.apache.syncope.core.provisioning.java.ProvisioningProperties;
 import org.apache.syncope.core.provisioning.java.propagation.DefaultPropagationReporter;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.core.spring.security.DelegatedAdministrationException;
@@ -101,6 +103,8 @@ public class TaskLogic extends AbstractExecutableLogic<TaskTO> {
 
     protected final TaskUtilsFactory taskUtilsFactory;
 
+    protected final ProvisioningProperties.PropagationProperties propagationProperties;
+
     public TaskLogic(
             final JobManager jobManager,
             final SchedulerFactoryBean scheduler,
@@ -112,7 +116,8 @@ public class TaskLogic extends AbstractExecutableLogic<TaskTO> {
             final TaskDataBinder binder,
             final PropagationTaskExecutor taskExecutor,
             final NotificationJobDelegate notificationJobDelegate,
-            final TaskUtilsFactory taskUtilsFactory) {
+            final TaskUtilsFactory taskUtilsFactory,
+            final ProvisioningProperties.PropagationProperties propagationProperties) {
 
         super(jobManager, scheduler, jobStatusDAO);
 
@@ -124,6 +129,7 @@ public class TaskLogic extends AbstractExecutableLogic<TaskTO> {
         this.taskExecutor = taskExecutor;
         this.notificationJobDelegate = notificationJobDelegate;
         this.taskUtilsFactory = taskUtilsFactory;
+        this.propagationProperties = propagationProperties;
     }
 
     protected void securityChecks(final String entitlement, final String realm) {
@@ -551,10 +557,45 @@ public class TaskLogic extends AbstractExecutableLogic<TaskTO> {
             final List<ExecStatus> statuses,
             final List<String> resources) {
 
-        return taskDAO.purgePropagations(since, statuses, Optional.ofNullable(resources).
+        List<PropagationTaskTO> purged = new ArrayList<>();
+        purgePropagations(since, statuses, resources, purged::add);
+        return purged;
+    }
+
+    /**
+     * Deletes all the propagation tasks whose latest execution is matching the given conditions, in chunks of
+     * {@link ProvisioningProperties.PropagationProperties#getPurgeChunkSize()}, each committed on its own.
+     *
+     * @param since match all executions ended before
+     * @param statuses execution status(es) to match
+     * @param resources external resource(s) to match
+     * @param purged if not {@code null}, receives each propagation task once its chunk was deleted
+     * @return number of deleted propagation tasks
+     */
+    @PreAuthorize("hasRole('" + IdRepoEntitlement.TASK_DELETE + "')")
+    public long purgePropagations(
+            final OffsetDateTime since,
+            final List<ExecStatus> statuses,
+            final List<String> resources,
+            final Consumer<PropagationTaskTO> purged) {
+
+        List<ExternalResource> externalResources = Optional.ofNullable(resources).
                 map(r -> r.stream().map(resourceDAO::find).
                 filter(Objects::nonNull).collect(Collectors.toList())).
-                orElse(null));
+                orElse(null);
+
+        int chunkSize = propagationProperties.getPurgeChunkSize();
+        long count = 0;
+        List<PropagationTaskTO> chunk;
+        do {
+            chunk = taskDAO.purgePropagations(since, statuses, externalResources, chunkSize);
+            count += chunk.size();
+
+            if (purged != null) {
+                chunk.forEach(purged);
+            }
+        } while (chunk.size() >= chunkSize);
+        return count;
     }
 
     @Override
@@ -187,6 +187,31 @@ public class UserLogic extends AbstractAnyLogic<UserTO, UserCR, UserUR> {
         return Pair.of(count, result);
     }
 
+    @PreAuthorize("hasRole('" + IdRepoEntitlement.USER_SEARCH + "')")
+    @Transactional(readOnly = true)
+    @Override
+    public List<UserTO> search(
+            final SearchCond searchCond,
+            final String after, final int size,
+            final String realm,
+            final boolean recursive,
+            final boolean details) {
+
+        Realm base = Optional.ofNullable(realmDAO.findByFullPath(realm)).
+                orElseThrow(() -> new NotFoundException("Realm " + realm));
+
+        Set<String> authRealms = RealmUtils.getEffective(
+                AuthContextUtils.getAuthorizations().get(IdRepoEntitlement.USER_SEARCH), realm);
+
+        SearchCond effectiveCond = searchCond == null ? userDAO.getAllMatchingCond() : searchCond;
+
+        List<User> matching = searchDAO.search(
+                base, recursive, authRealms, effectiveCond, after, size, AnyTypeKind.USER);
+        return matching.stream().
+                map(user -> binder.getUserTO(user, details)).
+                collect(Collectors.toList());
+    }
+
     @PreAuthorize("hasRole('" + IdRepoEntitlement.ANONYMOUS + "')")
     public ProvisioningResult<UserTO> selfCreate(final UserCR createReq, final boolean nullPriorityAsync) {
         return doCreate(createReq, true, nullPriorityAsync);
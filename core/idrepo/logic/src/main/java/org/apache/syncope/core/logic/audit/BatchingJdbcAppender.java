@@ -0,0 +1,423 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.logic.audit;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.syncope.core.logic.LogicProperties;
+import org.apache.syncope.core.persistence.api.dao.AuditConfDAO;
+import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Writes audit entries to the database without holding the calling thread: entries are put in a bounded, lock-free
+ * queue which is drained by a dedicated thread via JDBC batches, either periodically or as soon as a full batch is
+ * available.
+ * When appended within a transaction, entries are queued only once such transaction commits, and discarded if it rolls
+ * back, as when they were written via the transaction's own connection.
+ */
+public class BatchingJdbcAppender extends AbstractAppender {
+
+    public static class AuditRow {
+
+        private long eventDate;
+
+        private String level;
+
+        private String logger;
+
+        private String message;
+
+        private String throwable;
+
+        public long getEventDate() {
+            return eventDate;
+        }
+
+        public void setEventDate(final long eventDate) {
+            this.eventDate = eventDate;
+        }
+
+        public String getLevel() {
+            return level;
+        }
+
+        public void setLevel(final String level) {
+            this.level = level;
+        }
+
+        public String getLogger() {
+            return logger;
+        }
+
+        public void setLogger(final String logger) {
+            this.logger = logger;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(final String message) {
+            this.message = message;
+        }
+
+        public String getThrowable() {
+            return throwable;
+        }
+
+        public void setThrowable(final String throwable) {
+            this.throwable = throwable;
+        }
+    }
+
+    protected static final String INSERT = "INSERT INTO " + AuditConfDAO.AUDIT_ENTRY_TABLE
+            + "(" + AuditConfDAO.AUDIT_ENTRY_EVENT_DATE_COLUMN + ", LOGGER_LEVEL, LOGGER, "
+            + AuditConfDAO.AUDIT_ENTRY_MESSAGE_COLUMN + ", THROWABLE) VALUES(?, ?, ?, ?, ?)";
+
+    protected final DataSource dataSource;
+
+    protected final LogicProperties.AuditProperties props;
+
+    protected final Path spillFile;
+
+    protected final Object spillLock = new Object();
+
+    protected final Queue<AuditRow> queue = new ConcurrentLinkedQueue<>();
+
+    protected final AtomicInteger depth = new AtomicInteger();
+
+    protected final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    protected final AtomicLong written = new AtomicLong();
+
+    protected final AtomicLong failed = new AtomicLong();
+
+    protected final AtomicLong dropped = new AtomicLong();
+
+    protected final AtomicLong spilled = new AtomicLong();
+
+    protected final AtomicLong lastFlushLatency = new AtomicLong();
+
+    protected final AtomicLong maxFlushLatency = new AtomicLong();
+
+    protected ScheduledExecutorService flusher;
+
+    public BatchingJdbcAppender(
+            final String name,
+            final DataSource dataSource,
+            final LogicProperties.AuditProperties props) {
+
+        super(name, null, null, false, Property.EMPTY_ARRAY);
+        this.dataSource = dataSource;
+        this.props = props;
+        if (props.getOverflowPolicy() == AuditOverflowPolicy.SPILL) {
+            if (StringUtils.isBlank(props.getSpillDirectory())) {
+                throw new IllegalArgumentException("A spill directory is required with " + AuditOverflowPolicy.SPILL);
+            }
+            // several instances might share the same directory
+            this.spillFile = Path.of(props.getSpillDirectory(), name + '-' + UUID.randomUUID() + ".spill");
+        } else {
+            this.spillFile = null;
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (flusher == null || flusher.isShutdown()) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, getName() + "-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(
+                    this::flush, props.getFlushInterval(), props.getFlushInterval(), TimeUnit.MILLISECONDS);
+        }
+
+        super.start();
+    }
+
+    @Override
+    public boolean stop(final long timeout, final TimeUnit timeUnit) {
+        setStopping();
+        boolean stopped = super.stop(timeout, timeUnit, false);
+
+        synchronized (this) {
+            if (flusher != null) {
+                flusher.shutdown();
+                try {
+                    flusher.awaitTermination(timeout, timeUnit);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        // writes whatever is left
+        flush();
+
+        setStopped();
+        return stopped;
+    }
+
+    protected boolean isFlusherRunning() {
+        ScheduledExecutorService current = flusher;
+        return current != null && !current.isShutdown();
+    }
+
+    protected void requestFlush() {
+        if (flushRequested.compareAndSet(false, true) && isFlusherRunning()) {
+            try {
+                flusher.execute(this::flush);
+            } catch (Exception e) {
+                flushRequested.set(false);
+            }
+        }
+    }
+
+    protected boolean offer(final AuditRow row) {
+        int current = depth.incrementAndGet();
+        if (current > props.getQueueCapacity()) {
+            depth.decrementAndGet();
+            requestFlush();
+            return false;
+        }
+
+        queue.offer(row);
+        if (current >= props.getBatchSize()) {
+            requestFlush();
+        }
+        return true;
+    }
+
+    protected AuditRow toRow(final LogEvent event) {
+        AuditRow row = new AuditRow();
+        row.setEventDate(event.getTimeMillis());
+        row.setLevel(event.getLevel().name());
+        row.setLogger(event.getLoggerName());
+        row.setMessage(event.getMessage().getFormattedMessage());
+        if (event.getThrown() != null) {
+            row.setThrowable(ExceptionUtils.getStackTrace(event.getThrown()));
+        }
+        return row;
+    }
+
+    @Override
+    public void append(final LogEvent event) {
+        AuditRow row = toRow(event);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    enqueue(row);
+                }
+            });
+        } else {
+            enqueue(row);
+        }
+    }
+
+    protected void enqueue(final AuditRow row) {
+        if (offer(row)) {
+            return;
+        }
+
+        switch (props.getOverflowPolicy()) {
+            case DROP:
+                dropped.incrementAndGet();
+                break;
+
+            case SPILL:
+                spill(List.of(row));
+                break;
+
+            case BLOCK:
+            default:
+                while (!offer(row)) {
+                    if (!isFlusherRunning()) {
+                        write(List.of(row));
+                        return;
+                    }
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                }
+        }
+    }
+
+    protected void spill(final List<AuditRow> rows) {
+        synchronized (spillLock) {
+            try {
+                Files.write(
+                        spillFile,
+                        rows.stream().map(POJOHelper::serialize).collect(Collectors.toList()),
+                        StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                spilled.addAndGet(rows.size());
+            } catch (IOException e) {
+                LOGGER.error("While spilling {} audit entries to {}", rows.size(), spillFile, e);
+                dropped.addAndGet(rows.size());
+            }
+        }
+    }
+
+    protected void write(final List<AuditRow> rows) {
+        long start = System.nanoTime();
+
+        try (Connection conn = dataSource.getConnection(); PreparedStatement stmt = conn.prepareStatement(INSERT)) {
+            for (AuditRow row : rows) {
+                stmt.setTimestamp(1, new Timestamp(row.getEventDate()));
+                stmt.setString(2, row.getLevel());
+                stmt.setString(3, row.getLogger());
+                stmt.setString(4, row.getMessage());
+                stmt.setString(5, row.getThrowable());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            if (!conn.getAutoCommit()) {
+                conn.commit();
+            }
+
+            written.addAndGet(rows.size());
+        } catch (SQLException e) {
+            LOGGER.error("While writing {} audit entries", rows.size(), e);
+            if (spillFile != null) {
+                spill(rows);
+            } else {
+                failed.addAndGet(rows.size());
+            }
+        }
+
+        long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        lastFlushLatency.set(latency);
+        maxFlushLatency.accumulateAndGet(latency, Math::max);
+    }
+
+    protected void replaySpilled() {
+        if (spillFile == null) {
+            return;
+        }
+
+        // entries spilled while replaying go to a new spill file
+        Path replaying = spillFile.resolveSibling(spillFile.getFileName() + ".replay");
+        synchronized (spillLock) {
+            if (!Files.exists(spillFile)) {
+                return;
+            }
+
+            try {
+                Files.move(spillFile, replaying, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                LOGGER.error("While moving spilled audit entries from {}", spillFile, e);
+                return;
+            }
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(replaying, StandardCharsets.UTF_8)) {
+            List<AuditRow> batch = new ArrayList<>(props.getBatchSize());
+            String line;
+            while ((line = reader.readLine()) != null) {
+                batch.add(POJOHelper.deserialize(line, AuditRow.class));
+                if (batch.size() >= props.getBatchSize()) {
+                    write(batch);
+                    batch = new ArrayList<>(props.getBatchSize());
+                }
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+        } catch (IOException e) {
+            LOGGER.error("While reading spilled audit entries from {}", replaying, e);
+            return;
+        }
+
+        try {
+            Files.delete(replaying);
+        } catch (IOException e) {
+            LOGGER.error("While deleting replayed audit entries {}", replaying, e);
+        }
+    }
+
+    protected void flush() {
+        flushRequested.set(false);
+
+        try {
+            List<AuditRow> batch = new ArrayList<>(props.getBatchSize());
+            AuditRow row;
+            while ((row = queue.poll()) != null) {
+                depth.decrementAndGet();
+                batch.add(row);
+                if (batch.size() >= props.getBatchSize()) {
+                    write(batch);
+                    batch = new ArrayList<>(props.getBatchSize());
+                }
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+
+            replaySpilled();
+        } catch (Exception e) {
+            LOGGER.error("While flushing audit entries", e);
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("queueDepth", depth.get());
+        metrics.put("queueCapacity", props.getQueueCapacity());
+        metrics.put("overflowPolicy", props.getOverflowPolicy());
+        metrics.put("written", written.get());
+        metrics.put("failed", failed.get());
+        metrics.put("dropped", dropped.get());
+        metrics.put("spilled", spilled.get());
+        metrics.put("lastFlushLatency", lastFlushLatency.get());
+        metrics.put("maxFlushLatency", maxFlushLatency.get());
+        return metrics;
+    }
+}
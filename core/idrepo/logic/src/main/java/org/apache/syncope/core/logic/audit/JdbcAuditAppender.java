@@ -18,51 +18,28 @@
  */
 package org.apache.syncope.core.logic.audit;
 
-import java.sql.Connection;
-import java.sql.SQLException;
-import java.sql.Timestamp;
 import java.util.Optional;
 import javax.sql.DataSource;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.core.Appender;
 import org.apache.logging.log4j.core.LoggerContext;
-import org.apache.logging.log4j.core.appender.db.ColumnMapping;
-import org.apache.logging.log4j.core.appender.db.jdbc.AbstractConnectionSource;
-import org.apache.logging.log4j.core.appender.db.jdbc.JdbcAppender;
-import org.apache.syncope.core.persistence.api.dao.AuditConfDAO;
-import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.apache.syncope.core.logic.LogicProperties;
 
 public class JdbcAuditAppender extends DefaultAuditAppender {
 
-    public JdbcAuditAppender(final String domain, final DataSource domainDataSource) {
+    public JdbcAuditAppender(
+            final String domain,
+            final DataSource domainDataSource,
+            final LogicProperties.AuditProperties auditProperties) {
+
         super(domain);
 
         LoggerContext logCtx = (LoggerContext) LogManager.getContext(false);
 
-        ColumnMapping[] columnMappings = {
-            ColumnMapping.newBuilder().
-            setConfiguration(logCtx.getConfiguration()).setName("EVENT_DATE").setColumnType(Timestamp.class).build(),
-            ColumnMapping.newBuilder().
-            setConfiguration(logCtx.getConfiguration()).setName("LOGGER_LEVEL").setPattern("%level").build(),
-            ColumnMapping.newBuilder().
-            setConfiguration(logCtx.getConfiguration()).setName("LOGGER").setPattern("%logger").build(),
-            ColumnMapping.newBuilder().
-            setConfiguration(logCtx.getConfiguration()).
-            setName(AuditConfDAO.AUDIT_ENTRY_MESSAGE_COLUMN).setPattern("%message").build(),
-            ColumnMapping.newBuilder().
-            setConfiguration(logCtx.getConfiguration()).setName("THROWABLE").setPattern("%ex{full}").build()
-        };
-
         targetAppender = Optional.ofNullable(logCtx.getConfiguration().<Appender>getAppender(getTargetAppenderName())).
                 orElseGet(() -> {
-                    JdbcAppender a = JdbcAppender.newBuilder().
-                            setName(getTargetAppenderName()).
-                            setIgnoreExceptions(false).
-                            setConnectionSource(new DataSourceConnectionSource(domain, domainDataSource)).
-                            setBufferSize(0).
-                            setTableName(AuditConfDAO.AUDIT_ENTRY_TABLE).
-                            setColumnMappings(columnMappings).
-                            build();
+                    BatchingJdbcAppender a = new BatchingJdbcAppender(
+                            getTargetAppenderName(), domainDataSource, auditProperties);
                     a.start();
                     logCtx.getConfiguration().addAppender(a);
                     return a;
@@ -73,26 +50,4 @@ public class JdbcAuditAppender extends DefaultAuditAppender {
     public String getTargetAppenderName() {
         return "audit_for_" + domain;
     }
-
-    protected static class DataSourceConnectionSource extends AbstractConnectionSource {
-
-        private final String description;
-
-        private final DataSource dataSource;
-
-        DataSourceConnectionSource(final String domain, final DataSource dataSource) {
-            this.description = "dataSource{ domain=" + domain + ", value=" + dataSource + " }";
-            this.dataSource = dataSource;
-        }
-
-        @Override
-        public Connection getConnection() throws SQLException {
-            return DataSourceUtils.getConnection(dataSource);
-        }
-
-        @Override
-        public String toString() {
-            return this.description;
-        }
-    }
 }
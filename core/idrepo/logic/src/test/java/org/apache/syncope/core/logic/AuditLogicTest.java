@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.logic;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.to.AuditConfTO;
+import org.apache.syncope.common.lib.types.AuditElements;
+import org.apache.syncope.common.lib.types.AuditLoggerName;
+import org.apache.syncope.common.lib.types.IdRepoEntitlement;
+import org.apache.syncope.core.provisioning.api.AuditManager;
+import org.apache.syncope.core.spring.security.SyncopeAuthenticationDetails;
+import org.apache.syncope.core.spring.security.SyncopeGrantedAuthority;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Transactional("Master")
+public class AuditLogicTest extends AbstractTest {
+
+    private static final AuditLoggerName LOGGER_NAME = new AuditLoggerName(
+            AuditElements.EventCategoryType.LOGIC, "AuditLogicTest", null, "test", AuditElements.Result.SUCCESS);
+
+    @BeforeAll
+    public static void setAuthContext() {
+        List<GrantedAuthority> authorities = IdRepoEntitlement.values().stream().
+                map(entitlement -> new SyncopeGrantedAuthority(entitlement, SyncopeConstants.ROOT_REALM)).
+                collect(Collectors.toList());
+
+        UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                new org.springframework.security.core.userdetails.User(
+                        "admin", "FAKE_PASSWORD", authorities), "FAKE_PASSWORD", authorities);
+        auth.setDetails(new SyncopeAuthenticationDetails(SyncopeConstants.MASTER_DOMAIN, null));
+        SecurityContextHolder.getContext().setAuthentication(auth);
+    }
+
+    @AfterAll
+    public static void unsetAuthContext() {
+        SecurityContextHolder.getContext().setAuthentication(null);
+    }
+
+    @Autowired
+    private AuditLogic logic;
+
+    @Autowired
+    private AuditManager auditManager;
+
+    @AfterEach
+    public void resetAuditConfs() {
+        auditManager.resetAuditConfs(SyncopeConstants.MASTER_DOMAIN);
+    }
+
+    private static void commit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private boolean auditRequested() {
+        return auditManager.auditRequested(
+                "admin",
+                LOGGER_NAME.getType(),
+                LOGGER_NAME.getCategory(),
+                LOGGER_NAME.getSubcategory(),
+                LOGGER_NAME.getEvent());
+    }
+
+    @Test
+    public void changesAppliedAfterCommit() {
+        assertFalse(auditRequested());
+
+        AuditConfTO audit = new AuditConfTO();
+        audit.setKey(LOGGER_NAME.toAuditKey());
+        audit.setActive(true);
+        logic.set(audit);
+
+        // not committed yet
+        assertFalse(auditRequested());
+
+        commit();
+        assertTrue(auditRequested());
+    }
+
+    @Test
+    public void rolledBackChangesNotApplied() {
+        AuditConfTO audit = new AuditConfTO();
+        audit.setKey(LOGGER_NAME.toAuditKey());
+        audit.setActive(true);
+        logic.set(audit);
+
+        TransactionSynchronizationManager.getSynchronizations().
+                forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        assertFalse(auditRequested());
+    }
+
+    @Test
+    public void delete() {
+        AuditConfTO audit = new AuditConfTO();
+        audit.setKey(LOGGER_NAME.toAuditKey());
+        audit.setActive(true);
+        logic.set(audit);
+        commit();
+        assertTrue(auditRequested());
+
+        logic.delete(audit.getKey());
+        // synchronizations registered by set() are still there: only the last change matters
+        commit();
+        assertFalse(auditRequested());
+    }
+}
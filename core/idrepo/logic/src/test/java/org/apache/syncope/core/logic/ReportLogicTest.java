@@ -18,8 +18,10 @@
  */
 package org.apache.syncope.core.logic;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -27,15 +29,24 @@ import static org.mockito.Mockito.when;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.to.ReportTO;
 import org.apache.syncope.common.lib.types.IdMEntitlement;
+import org.apache.syncope.core.persistence.api.dao.ReportDAO;
+import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.api.entity.Report;
+import org.apache.syncope.core.persistence.api.entity.ReportExec;
 import org.apache.syncope.core.provisioning.api.job.JobManager;
 import org.apache.syncope.core.provisioning.api.job.report.ReportJobDelegate;
 import org.apache.syncope.core.provisioning.java.job.report.AbstractReportJobDelegate;
+import org.apache.syncope.core.provisioning.java.job.report.ReportJob;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.apache.syncope.core.spring.security.SyncopeAuthenticationDetails;
 import org.apache.syncope.core.spring.security.SyncopeGrantedAuthority;
@@ -73,6 +84,39 @@ public class ReportLogicTest extends AbstractTest {
         }
     }
 
+    public static class EmptyReportJobDelegate extends AbstractReportJobDelegate {
+
+        @Override
+        protected String doExecute(
+                final boolean dryRun,
+                final OutputStream os,
+                final String executor,
+                final JobExecutionContext context) {
+
+            return "";
+        }
+    }
+
+    public static class FailingReportJobDelegate extends AbstractReportJobDelegate {
+
+        @Override
+        protected String doExecute(
+                final boolean dryRun,
+                final OutputStream os,
+                final String executor,
+                final JobExecutionContext context) throws JobExecutionException {
+
+            try {
+                os.write(new byte[64 * 1024]);
+                os.flush();
+            } catch (IOException e) {
+                throw new JobExecutionException(e);
+            }
+
+            throw new IllegalStateException("Unexpected failure");
+        }
+    }
+
     @BeforeAll
     public static void setAuthContext() {
         List<GrantedAuthority> authorities = IdMEntitlement.values().stream().
@@ -94,6 +138,12 @@ public class ReportLogicTest extends AbstractTest {
     @Autowired
     private ReportLogic logic;
 
+    @Autowired
+    private ReportDAO reportDAO;
+
+    @Autowired
+    private EntityFactory entityFactory;
+
     private void checkExport(final String execKey) throws IOException {
         ByteArrayOutputStream os = new ByteArrayOutputStream();
 
@@ -104,6 +154,30 @@ public class ReportLogicTest extends AbstractTest {
         assertTrue(entity.length > 0);
     }
 
+    private String export(final String execKey) {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        logic.exportExecutionResult(os, execKey);
+        return os.toString(StandardCharsets.UTF_8);
+    }
+
+    private ReportTO execute(final Class<? extends ReportJobDelegate> delegateClass) throws JobExecutionException {
+        ReportTO report = logic.read("0062ea9c-924d-4ecf-9961-4492a8cc6d1b");
+        report.getExecutions().forEach(exec -> logic.deleteExecution(exec.getKey()));
+
+        JobDataMap jobDataMap = new JobDataMap(Map.of(JobManager.EXECUTOR_KEY, "test"));
+        JobExecutionContext ctx = mock(JobExecutionContext.class);
+        when(ctx.getMergedJobDataMap()).thenReturn(jobDataMap);
+
+        ApplicationContextProvider.getBeanFactory().createBean(delegateClass).execute(report.getKey(), false, ctx);
+
+        return logic.read(report.getKey());
+    }
+
+    private int resultChunks() {
+        return ((Number) entityManager().createNativeQuery("SELECT COUNT(*) FROM ReportExecResultChunk").
+                getSingleResult()).intValue();
+    }
+
     @Test
     public void executeAndExport() throws Exception {
         ReportTO report = logic.read("0062ea9c-924d-4ecf-9961-4492a8cc6d1b");
@@ -130,4 +204,56 @@ public class ReportLogicTest extends AbstractTest {
 
         checkExport(execKey);
     }
+
+    @Test
+    public void exportContent() throws Exception {
+        ReportTO report = execute(TestReportJobDelegate.class);
+        assertEquals(1, report.getExecutions().size());
+
+        assertEquals("test", export(report.getExecutions().get(0).getKey()));
+    }
+
+    @Test
+    public void exportEmpty() throws Exception {
+        ReportTO report = execute(EmptyReportJobDelegate.class);
+        assertEquals(1, report.getExecutions().size());
+        assertEquals(ReportJob.Status.SUCCESS.name(), report.getExecutions().get(0).getStatus());
+
+        assertEquals("", export(report.getExecutions().get(0).getKey()));
+    }
+
+    @Test
+    public void exportLegacyExecResult() throws IOException {
+        Report report = reportDAO.find("0062ea9c-924d-4ecf-9961-4492a8cc6d1b");
+
+        // results saved by former releases are found on the execution itself
+        ByteArrayOutputStream execResult = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(execResult)) {
+            zos.putNextEntry(new ZipEntry(report.getName()));
+            zos.write("legacy".getBytes(StandardCharsets.UTF_8));
+            zos.closeEntry();
+        }
+
+        ReportExec exec = entityFactory.newEntity(ReportExec.class);
+        exec.setReport(report);
+        exec.setStart(OffsetDateTime.now());
+        exec.setEnd(OffsetDateTime.now());
+        exec.setExecutor("test");
+        exec.setStatus(ReportJob.Status.SUCCESS.name());
+        exec.setExecResult(execResult.toByteArray());
+        report.add(exec);
+        reportDAO.save(report);
+        entityManager().flush();
+
+        assertEquals("legacy", export(exec.getKey()));
+    }
+
+    @Test
+    public void noResultLeftOnUnexpectedFailure() {
+        int before = resultChunks();
+
+        assertThrows(IllegalStateException.class, () -> execute(FailingReportJobDelegate.class));
+
+        assertEquals(before, resultChunks());
+    }
 }
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.logic.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.syncope.core.logic.LogicProperties;
+import org.apache.syncope.core.persistence.api.dao.AuditConfDAO;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class BatchingJdbcAppenderTest {
+
+    @TempDir
+    private Path spillDirectory;
+
+    private JdbcDataSource dataSource;
+
+    private Connection keepAlive;
+
+    @BeforeEach
+    public void createTable() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:audit" + UUID.randomUUID());
+
+        keepAlive = dataSource.getConnection();
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.executeUpdate("CREATE TABLE " + AuditConfDAO.AUDIT_ENTRY_TABLE + " ("
+                    + AuditConfDAO.AUDIT_ENTRY_EVENT_DATE_COLUMN + " TIMESTAMP, LOGGER_LEVEL VARCHAR(255), "
+                    + "LOGGER VARCHAR(255), " + AuditConfDAO.AUDIT_ENTRY_MESSAGE_COLUMN + " CLOB, THROWABLE CLOB)");
+        }
+    }
+
+    @AfterEach
+    public void closeDatabase() throws SQLException {
+        keepAlive.close();
+    }
+
+    private static LogEvent event(final String message) {
+        return Log4jLogEvent.newBuilder().
+                setLoggerName("audit").
+                setLevel(Level.INFO).
+                setTimeMillis(System.currentTimeMillis()).
+                setMessage(new SimpleMessage(message)).
+                build();
+    }
+
+    private List<String> messages() throws SQLException {
+        List<String> messages = new ArrayList<>();
+        try (Statement stmt = keepAlive.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT " + AuditConfDAO.AUDIT_ENTRY_MESSAGE_COLUMN + " FROM "
+                        + AuditConfDAO.AUDIT_ENTRY_TABLE + " ORDER BY " + AuditConfDAO.AUDIT_ENTRY_MESSAGE_COLUMN)) {
+
+            while (rs.next()) {
+                messages.add(rs.getString(1));
+            }
+        }
+        return messages;
+    }
+
+    private List<Path> spillFiles() throws IOException {
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+
+    private LogicProperties.AuditProperties spillProperties() {
+        LogicProperties.AuditProperties props = new LogicProperties.AuditProperties();
+        props.setQueueCapacity(2);
+        props.setBatchSize(2);
+        props.setOverflowPolicy(AuditOverflowPolicy.SPILL);
+        props.setSpillDirectory(spillDirectory.toString());
+        return props;
+    }
+
+    @Test
+    public void write() throws SQLException {
+        BatchingJdbcAppender appender = new BatchingJdbcAppender(
+                "audit", dataSource, new LogicProperties.AuditProperties());
+        appender.start();
+
+        appender.append(event("one"));
+        appender.append(event("two"));
+        appender.stop();
+
+        assertEquals(List.of("one", "two"), messages());
+        assertEquals(2L, appender.getMetrics().get("written"));
+    }
+
+    @Test
+    public void spillDirectoryRequired() {
+        LogicProperties.AuditProperties props = new LogicProperties.AuditProperties();
+        props.setOverflowPolicy(AuditOverflowPolicy.SPILL);
+
+        assertThrows(IllegalArgumentException.class, () -> new BatchingJdbcAppender("audit", dataSource, props));
+    }
+
+    @Test
+    public void spillAndReplay() throws SQLException, IOException {
+        // flusher not started: entries exceeding queue capacity are spilled
+        BatchingJdbcAppender appender = new BatchingJdbcAppender("audit", dataSource, spillProperties());
+        for (int i = 0; i < 5; i++) {
+            appender.append(event("entry" + i));
+        }
+        assertEquals(3L, appender.getMetrics().get("spilled"));
+        assertEquals(1, spillFiles().size());
+        assertEquals(3, Files.readAllLines(spillFiles().get(0)).size());
+
+        appender.flush();
+
+        assertEquals(List.of("entry0", "entry1", "entry2", "entry3", "entry4"), messages());
+        assertTrue(spillFiles().isEmpty());
+    }
+
+    @Test
+    public void spillFilePerInstance() throws IOException {
+        BatchingJdbcAppender appender1 = new BatchingJdbcAppender("audit", dataSource, spillProperties());
+        BatchingJdbcAppender appender2 = new BatchingJdbcAppender("audit", dataSource, spillProperties());
+        for (int i = 0; i < 3; i++) {
+            appender1.append(event("entry" + i));
+            appender2.append(event("entry" + i));
+        }
+
+        assertEquals(2, spillFiles().size());
+        assertNotEquals(appender1.spillFile, appender2.spillFile);
+    }
+
+    @Test
+    public void transaction() throws SQLException {
+        BatchingJdbcAppender appender = new BatchingJdbcAppender(
+                "audit", dataSource, new LogicProperties.AuditProperties());
+
+        // rolled back
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            appender.append(event("rolledBack"));
+            assertEquals(0, appender.getMetrics().get("queueDepth"));
+
+            TransactionSynchronizationManager.getSynchronizations().
+                    forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(0, appender.getMetrics().get("queueDepth"));
+
+        // committed
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            appender.append(event("committed"));
+            assertEquals(0, appender.getMetrics().get("queueDepth"));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(1, appender.getMetrics().get("queueDepth"));
+
+        appender.flush();
+        assertEquals(List.of("committed"), messages());
+    }
+}
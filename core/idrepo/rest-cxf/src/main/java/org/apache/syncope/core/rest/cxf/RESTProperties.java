@@ -26,7 +26,21 @@ public class RESTProperties {
 
     private final ExecutorProperties batchExecutor = new ExecutorProperties();
 
+    /**
+     * Maximum number of batch items concurrently processed, among consecutive user creations; any other batch item
+     * is processed after the previous ones have completed; 1 means that batch items are processed one after another.
+     */
+    private int batchParallelism = 1;
+
     public ExecutorProperties getBatchExecutor() {
         return batchExecutor;
     }
+
+    public int getBatchParallelism() {
+        return batchParallelism;
+    }
+
+    public void setBatchParallelism(final int batchParallelism) {
+        this.batchParallelism = batchParallelism;
+    }
 }
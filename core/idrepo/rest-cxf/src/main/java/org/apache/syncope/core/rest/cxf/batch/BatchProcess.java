@@ -21,10 +21,16 @@ package org.apache.syncope.core.rest.cxf.batch;
 import jakarta.servlet.ServletConfig;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.ws.rs.HttpMethod;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.cxf.transport.http.AbstractHTTPDestination;
 import org.apache.cxf.transport.http.DestinationRegistry;
 import org.apache.syncope.common.rest.api.batch.BatchPayloadGenerator;
@@ -33,6 +39,8 @@ import org.apache.syncope.common.rest.api.batch.BatchResponseItem;
 import org.apache.syncope.common.rest.api.service.JAXRSService;
 import org.apache.syncope.core.persistence.api.dao.BatchDAO;
 import org.apache.syncope.core.persistence.api.entity.Batch;
+import org.apache.syncope.core.rest.cxf.RESTProperties;
+import org.apache.syncope.core.spring.task.VirtualThreadPoolTaskExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -43,9 +51,30 @@ public class BatchProcess implements Runnable {
 
     private static final Logger LOG = LoggerFactory.getLogger(BatchProcess.class);
 
+    /**
+     * Results are stored in chunks of (at least) this many characters while batch items are being processed.
+     */
+    private static final int RESULTS_CHUNK_SIZE = 1024 * 1024;
+
+    /**
+     * Tells whether the given item creates a user: user creations are the only batch items which are provably
+     * independent from each other, as users cannot reference other users, hence they can be processed concurrently.
+     * Any other item, including group and any object creations, might depend on the outcome of previous items and is
+     * processed sequentially.
+     *
+     * @param item item to check
+     * @return whether the given item creates a user
+     */
+    private static boolean userCreate(final BatchRequestItem item) {
+        return HttpMethod.POST.equals(item.getMethod()) && "users".equals(StringUtils.strip(item.getRequestURI(), "/"));
+    }
+
     @Autowired
     private BatchDAO batchDAO;
 
+    @Autowired
+    private RESTProperties props;
+
     private String boundary;
 
     private String basePath;
@@ -60,6 +89,12 @@ public class BatchProcess implements Runnable {
 
     private Authentication authentication;
 
+    private final StringBuilder results = new StringBuilder();
+
+    private int resultsChunks = 0;
+
+    private boolean resultsStorable = true;
+
     public void setBoundary(final String boundary) {
         this.boundary = boundary;
     }
@@ -88,56 +123,141 @@ public class BatchProcess implements Runnable {
         this.authentication = authentication;
     }
 
-    @Override
-    public void run() {
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+    private BatchResponseItem process(final BatchRequestItem reqItem, final CommonBatchHttpServletRequest request) {
+        LOG.debug("Batch Request item:\n{}", reqItem);
 
-        List<BatchResponseItem> batchResponseItems = new ArrayList<>(batchRequestItems.size());
+        AbstractHTTPDestination dest =
+                Optional.ofNullable(destinationRegistry.getDestinationForPath(reqItem.getRequestURI(), true)).
+                        orElseGet(() -> destinationRegistry.checkRestfulRequest(reqItem.getRequestURI()));
+        LOG.debug("Destination found for {}: {}", reqItem.getRequestURI(), dest);
 
-        batchRequestItems.forEach(reqItem -> {
-            LOG.debug("Batch Request item:\n{}", reqItem);
+        BatchResponseItem resItem = new BatchResponseItem();
+        if (dest == null) {
+            resItem.setStatus(HttpServletResponse.SC_NOT_FOUND);
+        } else {
+            BatchItemRequest itemRequest = new BatchItemRequest(request, basePath, reqItem);
+            BatchItemResponse response = new BatchItemResponse();
+            try {
+                dest.invoke(servletConfig, servletConfig.getServletContext(), itemRequest, response);
 
-            AbstractHTTPDestination dest =
-                    Optional.ofNullable(destinationRegistry.getDestinationForPath(reqItem.getRequestURI(), true)).
-                            orElseGet(() -> destinationRegistry.checkRestfulRequest(reqItem.getRequestURI()));
-            LOG.debug("Destination found for {}: {}", reqItem.getRequestURI(), dest);
+                resItem.setStatus(response.getStatus());
+                resItem.setHeaders(response.getHeaders());
+                String output = new String(response.getUnderlyingOutputStream().toByteArray());
+                if (!output.isEmpty()) {
+                    resItem.setContent(output);
+                }
 
-            BatchResponseItem resItem = new BatchResponseItem();
-            batchResponseItems.add(resItem);
-            if (dest == null) {
-                resItem.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                LOG.debug("Returned:\nstatus: {}\nheaders: {}\nbody:\n{}",
+                        response.getStatus(), response.getHeaders(), output);
+            } catch (IOException e) {
+                LOG.error("Invocation of {} failed", dest.getPath(), e);
+
+                resItem.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            }
+        }
+
+        LOG.debug("Batch Response item:\n{}", resItem);
+        return resItem;
+    }
+
+    private void write(final BatchResponseItem resItem) {
+        BatchPayloadGenerator.generate(resItem, JAXRSService.DOUBLE_DASH + boundary, results);
+
+        if (results.length() >= RESULTS_CHUNK_SIZE) {
+            if (resultsStorable && batchDAO.find(boundary) != null) {
+                batchDAO.appendResults(boundary, resultsChunks++, results.toString());
             } else {
-                BatchItemRequest request = new BatchItemRequest(commonRequest, basePath, reqItem);
-                BatchItemResponse response = new BatchItemResponse();
-                try {
-                    dest.invoke(servletConfig, servletConfig.getServletContext(), request, response);
+                resultsStorable = false;
+                LOG.error("Could not find batch {}, cannot save results hence reporting here:\n{}", boundary, results);
+            }
+            results.setLength(0);
+        }
+    }
 
-                    resItem.setStatus(response.getStatus());
-                    resItem.setHeaders(response.getHeaders());
-                    String output = new String(response.getUnderlyingOutputStream().toByteArray());
-                    if (!output.isEmpty()) {
-                        resItem.setContent(output);
-                    }
+    private List<List<BatchRequestItem>> waves(final int parallelism) {
+        List<List<BatchRequestItem>> waves = new ArrayList<>();
 
-                    LOG.debug("Returned:\nstatus: {}\nheaders: {}\nbody:\n{}",
-                            response.getStatus(), response.getHeaders(), output);
-                } catch (IOException e) {
-                    LOG.error("Invocation of {} failed", dest.getPath(), e);
+        List<BatchRequestItem> wave = new ArrayList<>();
+        for (BatchRequestItem reqItem : batchRequestItems) {
+            if (parallelism <= 1 || !userCreate(reqItem) || (!wave.isEmpty() && !userCreate(wave.get(0)))) {
+                if (!wave.isEmpty()) {
+                    waves.add(wave);
+                }
+                wave = new ArrayList<>();
+            }
+
+            wave.add(reqItem);
+        }
+        if (!wave.isEmpty()) {
+            waves.add(wave);
+        }
+
+        return waves;
+    }
 
-                    resItem.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+    private void processConcurrently(final List<BatchRequestItem> wave, final int parallelism) {
+        VirtualThreadPoolTaskExecutor executor = new VirtualThreadPoolTaskExecutor();
+        executor.setPoolSize(parallelism);
+        executor.setThreadNamePrefix("Batch-" + boundary + "-");
+        executor.initialize();
+
+        // at most parallelism items are pending at any time, and their responses are written in request order
+        Deque<Future<BatchResponseItem>> pending = new ArrayDeque<>(parallelism);
+        for (BatchRequestItem reqItem : wave) {
+            if (pending.size() >= parallelism) {
+                write(get(pending.poll()));
+            }
+
+            CommonBatchHttpServletRequest request = new CommonBatchHttpServletRequest(commonRequest);
+            pending.add(executor.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+                try {
+                    return process(reqItem, request);
+                } finally {
+                    SecurityContextHolder.clearContext();
                 }
+            }));
+        }
+        while (!pending.isEmpty()) {
+            write(get(pending.poll()));
+        }
+    }
+
+    private static BatchResponseItem get(final Future<BatchResponseItem> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException | ExecutionException e) {
+            LOG.error("While processing batch item", e);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
             }
 
-            LOG.debug("Batch Response item:\n{}", resItem);
+            BatchResponseItem resItem = new BatchResponseItem();
+            resItem.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            return resItem;
+        }
+    }
+
+    @Override
+    public void run() {
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        int parallelism = props.getBatchParallelism();
+        waves(parallelism).forEach(wave -> {
+            if (wave.size() == 1) {
+                write(process(wave.get(0), commonRequest));
+            } else {
+                processConcurrently(wave, parallelism);
+            }
         });
 
-        String results = BatchPayloadGenerator.generate(batchResponseItems, JAXRSService.DOUBLE_DASH + boundary);
+        results.append(BatchPayloadGenerator.end(JAXRSService.DOUBLE_DASH + boundary));
 
         Batch batch = batchDAO.find(boundary);
-        if (batch == null) {
+        if (batch == null || !resultsStorable) {
             LOG.error("Could not find batch {}, cannot save results hence reporting here:\n{}", boundary, results);
         } else {
-            batch.setResults(results);
+            batch.setResults(results.toString());
             batchDAO.save(batch);
         }
     }
@@ -91,6 +91,27 @@ public class CommonBatchHttpServletRequest {
         }
     }
 
+    /**
+     * Copy constructor: headers and attributes are copied, so that the new instance can be modified independently,
+     * as when batch items are processed concurrently.
+     *
+     * @param original instance to copy
+     */
+    public CommonBatchHttpServletRequest(final CommonBatchHttpServletRequest original) {
+        this.servletRequest = original.servletRequest;
+
+        serverName = original.serverName;
+        serverPort = original.serverPort;
+        contextPath = original.contextPath;
+        servletPath = original.servletPath;
+        pathInfo = original.pathInfo;
+        userPrincipal = original.userPrincipal;
+        characterEncoding = original.characterEncoding;
+
+        original.headers.forEach((name, values) -> headers.put(name, new ArrayList<>(values)));
+        attributes.putAll(original.attributes);
+    }
+
     public HttpServletRequest getServletRequest() {
         return servletRequest;
     }
@@ -129,6 +129,23 @@ public abstract class AbstractAnyService<TO extends AnyTO, CR extends AnyCR, UR
                 : getSearchCond(anyQuery.getFiql(), realm);
 
         try {
+            if (anyQuery.getContinuationToken() != null) {
+                List<TO> result = getAnyLogic().search(
+                        searchCond,
+                        decodeContinuationToken(anyQuery.getContinuationToken()),
+                        anyQuery.getSize(),
+                        realm,
+                        anyQuery.getRecursive(),
+                        anyQuery.getDetails());
+
+                return buildPagedResult(
+                        result,
+                        anyQuery.getSize(),
+                        result.size() < anyQuery.getSize()
+                        ? null
+                        : encodeContinuationToken(result.get(result.size() - 1).getKey()));
+            }
+
             Pair<Integer, List<TO>> result = getAnyLogic().search(
                     searchCond,
                     anyQuery.getPage(),
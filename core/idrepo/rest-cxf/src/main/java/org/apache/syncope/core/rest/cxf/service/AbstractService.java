@@ -24,7 +24,9 @@ import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.UriBuilder;
 import jakarta.ws.rs.core.UriInfo;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -237,4 +239,56 @@ public abstract class AbstractService implements JAXRSService {
 
         return result;
     }
+
+    protected static String encodeContinuationToken(final String lastKey) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(lastKey.getBytes(StandardCharsets.UTF_8));
+    }
+
+    protected static String decodeContinuationToken(final String continuationToken) {
+        if (StringUtils.isBlank(continuationToken)) {
+            return null;
+        }
+
+        try {
+            return new String(Base64.getUrlDecoder().decode(continuationToken), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            SyncopeClientException sce = SyncopeClientException.build(ClientExceptionType.InvalidSearchParameters);
+            sce.getElements().add("Invalid continuation token: " + continuationToken);
+            throw sce;
+        }
+    }
+
+    /**
+     * Builds a paged result for keyset pagination: total count is not computed, as this would require to scan all
+     * matching entities, and the next link is available only when a continuation token is.
+     *
+     * @param <T> result type
+     * @param list result items
+     * @param size requested page size
+     * @param continuationToken token to get the next page, if any
+     * @return paged result
+     */
+    protected <T extends BaseBean> PagedResult<T> buildPagedResult(
+            final List<T> list, final int size, final String continuationToken) {
+
+        PagedResult<T> result = new PagedResult<>();
+        result.getResult().addAll(list);
+
+        result.setSize(result.getResult().size());
+        result.setTotalCount(-1);
+        result.setContinuationToken(continuationToken);
+
+        if (continuationToken != null) {
+            UriBuilder builder = uriInfo.getAbsolutePathBuilder();
+            MultivaluedMap<String, String> queryParams = uriInfo.getQueryParameters();
+            queryParams.forEach((key, value) -> builder.queryParam(key, value.toArray()));
+
+            result.setNext(builder.
+                    replaceQueryParam(PARAM_CONTINUATION_TOKEN, continuationToken).
+                    replaceQueryParam(PARAM_SIZE, size).
+                    build());
+        }
+
+        return result;
+    }
 }
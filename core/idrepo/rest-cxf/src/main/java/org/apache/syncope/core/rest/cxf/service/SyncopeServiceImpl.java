@@ -26,6 +26,9 @@ import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.StreamingOutput;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -62,6 +65,8 @@ public class SyncopeServiceImpl extends AbstractService implements SyncopeServic
 
     private static final String CONTENT_XML = "Content.xml";
 
+    private static final int BATCH_RESULTS_PAGE_SIZE = 10;
+
     protected final SyncopeLogic logic;
 
     protected final VirtualThreadPoolTaskExecutor batchExecutor;
@@ -181,13 +186,40 @@ public class SyncopeServiceImpl extends AbstractService implements SyncopeServic
                     build();
         }
 
-        Response response = Response.ok(batch.getResults()).
-                type(RESTHeaders.multipartMixedWith(boundary)).
-                build();
+        List<String> chunks = batchDAO.findResults(boundary, 1, BATCH_RESULTS_PAGE_SIZE);
+        if (chunks.isEmpty()) {
+            Response response = Response.ok(batch.getResults()).
+                    type(RESTHeaders.multipartMixedWith(boundary)).
+                    build();
 
-        batchDAO.delete(boundary);
+            batchDAO.delete(boundary);
 
-        return response;
+            return response;
+        }
+
+        // results were stored in chunks while processing: stream them, then delete the batch
+        String lastChunk = batch.getResults();
+        StreamingOutput sout = os -> {
+            Writer writer = new OutputStreamWriter(os, StandardCharsets.UTF_8);
+
+            List<String> page = chunks;
+            for (int i = 2; !page.isEmpty(); i++) {
+                for (String chunk : page) {
+                    writer.write(chunk);
+                }
+                page = page.size() < BATCH_RESULTS_PAGE_SIZE
+                        ? List.of()
+                        : batchDAO.findResults(boundary, i, BATCH_RESULTS_PAGE_SIZE);
+            }
+            writer.write(lastChunk);
+            writer.flush();
+
+            batchDAO.delete(boundary);
+        };
+
+        return Response.ok(sout).
+                type(RESTHeaders.multipartMixedWith(boundary)).
+                build();
     }
 
     @Override
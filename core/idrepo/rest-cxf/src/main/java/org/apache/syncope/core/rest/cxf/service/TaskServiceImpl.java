@@ -18,17 +18,25 @@
  */
 package org.apache.syncope.core.rest.cxf.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.json.JsonMapper;
 import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.time.OffsetDateTime;
 import java.util.List;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.jackson.SyncopeJsonMapper;
 import org.apache.syncope.common.lib.to.PagedResult;
 import org.apache.syncope.common.lib.to.SchedTaskTO;
 import org.apache.syncope.common.lib.to.TaskTO;
 import org.apache.syncope.common.lib.types.ExecStatus;
 import org.apache.syncope.common.lib.types.TaskType;
+import org.apache.syncope.common.rest.api.Preference;
 import org.apache.syncope.common.rest.api.RESTHeaders;
 import org.apache.syncope.common.rest.api.beans.TaskQuery;
 import org.apache.syncope.common.rest.api.service.TaskService;
@@ -40,6 +48,8 @@ import org.springframework.util.CollectionUtils;
 @Service
 public class TaskServiceImpl extends AbstractExecutableService implements TaskService {
 
+    protected static final JsonMapper MAPPER = new SyncopeJsonMapper();
+
     protected final TaskLogic logic;
 
     public TaskServiceImpl(final TaskLogic logic) {
@@ -107,6 +117,37 @@ public class TaskServiceImpl extends AbstractExecutableService implements TaskSe
             return Response.status(Response.Status.PRECONDITION_FAILED).build();
         }
 
-        return Response.ok(logic.purgePropagations(since, statuses, resources)).build();
+        if (getPreference() == Preference.RETURN_NO_CONTENT) {
+            logic.purgePropagations(since, statuses, resources, null);
+            return Response.noContent().
+                    header(RESTHeaders.PREFERENCE_APPLIED, getPreference().toString()).
+                    build();
+        }
+
+        boolean json = messageContext.getHttpHeaders().getAcceptableMediaTypes().stream().
+                findFirst().map(mediaType -> mediaType.isCompatible(MediaType.APPLICATION_JSON_TYPE)).
+                orElse(true);
+        if (!json) {
+            return Response.ok(logic.purgePropagations(since, statuses, resources)).build();
+        }
+
+        // stream purged tasks as their chunks are deleted, rather than collecting all of them first
+        StreamingOutput sout = os -> {
+            JsonGenerator generator = MAPPER.getFactory().createGenerator(os).
+                    disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            generator.writeStartArray();
+            logic.purgePropagations(since, statuses, resources, taskTO -> {
+                try {
+                    MAPPER.writeValue(generator, taskTO);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+
+            // on failure, the array is left unterminated, for clients not to take a partial result as complete
+            generator.close();
+        };
+        return Response.ok(sout).type(MediaType.APPLICATION_JSON_TYPE).build();
     }
 }
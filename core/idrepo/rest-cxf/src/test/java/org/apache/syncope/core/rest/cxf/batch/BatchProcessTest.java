@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.rest.cxf.batch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.servlet.ServletConfig;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.ws.rs.HttpMethod;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.apache.cxf.transport.http.AbstractHTTPDestination;
+import org.apache.cxf.transport.http.DestinationRegistry;
+import org.apache.syncope.common.rest.api.batch.BatchRequestItem;
+import org.apache.syncope.core.persistence.api.dao.BatchDAO;
+import org.apache.syncope.core.persistence.api.entity.Batch;
+import org.apache.syncope.core.rest.cxf.RESTProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class BatchProcessTest {
+
+    private static final String BOUNDARY = "--batch_test";
+
+    private final List<String> executed = new CopyOnWriteArrayList<>();
+
+    private final Set<String> overlapping = Collections.synchronizedSet(new HashSet<>());
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final CountDownLatch creationsStarted = new CountDownLatch(3);
+
+    private final CountDownLatch lastCreationDone = new CountDownLatch(1);
+
+    private Batch batch;
+
+    private DestinationRegistry destinationRegistry;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        batch = mock(Batch.class);
+
+        AbstractHTTPDestination dest = mock(AbstractHTTPDestination.class);
+        doAnswer(invocation -> {
+            BatchItemRequest request = invocation.getArgument(2);
+            BatchItemResponse response = invocation.getArgument(3);
+            String content = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+
+            if (active.incrementAndGet() > 1 && !content.startsWith("create")) {
+                overlapping.add(content);
+            }
+            try {
+                if (content.startsWith("create")) {
+                    // all user creations must be running at the same time for this to complete
+                    creationsStarted.countDown();
+                    assertTrue(creationsStarted.await(10, TimeUnit.SECONDS));
+
+                    // the first creation completes after the last one
+                    if ("create1".equals(content)) {
+                        assertTrue(lastCreationDone.await(10, TimeUnit.SECONDS));
+                    }
+                }
+
+                executed.add(content);
+                if ("create3".equals(content)) {
+                    lastCreationDone.countDown();
+                }
+            } finally {
+                active.decrementAndGet();
+            }
+
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.getOutputStream().write(("done " + content).getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(dest).invoke(any(), any(), any(), any());
+
+        destinationRegistry = mock(DestinationRegistry.class);
+        when(destinationRegistry.getDestinationForPath(anyString(), eq(true))).thenReturn(dest);
+    }
+
+    private static BatchRequestItem item(final String method, final String requestURI, final String content) {
+        BatchRequestItem item = new BatchRequestItem();
+        item.setMethod(method);
+        item.setRequestURI(requestURI);
+        item.setContent(content);
+        return item;
+    }
+
+    private BatchProcess batchProcess(final int parallelism, final List<BatchRequestItem> items) {
+        BatchDAO batchDAO = mock(BatchDAO.class);
+        when(batchDAO.find(BOUNDARY)).thenReturn(batch);
+
+        RESTProperties props = new RESTProperties();
+        props.setBatchParallelism(parallelism);
+
+        HttpServletRequest servletRequest = mock(HttpServletRequest.class);
+        when(servletRequest.getHeaderNames()).thenReturn(Collections.emptyEnumeration());
+        when(servletRequest.getAttributeNames()).thenReturn(Collections.emptyEnumeration());
+
+        BatchProcess batchProcess = new BatchProcess();
+        ReflectionTestUtils.setField(batchProcess, "batchDAO", batchDAO);
+        ReflectionTestUtils.setField(batchProcess, "props", props);
+        batchProcess.setBoundary(BOUNDARY);
+        batchProcess.setBasePath("http://localhost:9080/syncope/rest");
+        batchProcess.setBatchRequestItems(items);
+        batchProcess.setDestinationRegistry(destinationRegistry);
+        batchProcess.setServletConfig(mock(ServletConfig.class));
+        batchProcess.setServletRequest(servletRequest);
+        return batchProcess;
+    }
+
+    private String results() {
+        ArgumentCaptor<String> results = ArgumentCaptor.forClass(String.class);
+        verify(batch).setResults(results.capture());
+        return results.getValue();
+    }
+
+    private static void assertResultsOrder(final String results, final List<String> contents) {
+        List<Integer> positions = contents.stream().
+                map(content -> results.indexOf("done " + content)).
+                collect(Collectors.toList());
+        positions.forEach(position -> assertTrue(position >= 0));
+        assertEquals(positions.stream().sorted().collect(Collectors.toList()), positions);
+    }
+
+    @Test
+    public void concurrentUserCreations() {
+        List<BatchRequestItem> items = List.of(
+                item(HttpMethod.PATCH, "/users/c9b2dec2-00a7-4855-97c0-d854842b4b24", "update1"),
+                item(HttpMethod.POST, "/users", "create1"),
+                item(HttpMethod.POST, "/users", "create2"),
+                item(HttpMethod.POST, "/users/", "create3"),
+                item(HttpMethod.POST, "/groups", "createGroup"),
+                item(HttpMethod.PATCH, "/users/c9b2dec2-00a7-4855-97c0-d854842b4b24", "update2"),
+                item(HttpMethod.DELETE, "/users/c9b2dec2-00a7-4855-97c0-d854842b4b24", "delete"));
+
+        batchProcess(3, items).run();
+
+        // user creations ran concurrently, and the first one completed last
+        assertEquals(List.of("update1"), executed.subList(0, 1));
+        assertEquals(Set.of("create1", "create2", "create3"), Set.copyOf(executed.subList(1, 4)));
+        assertEquals("create1", executed.get(3));
+        assertEquals(List.of("createGroup", "update2", "delete"), executed.subList(4, 7));
+
+        // any other item ran alone
+        assertTrue(overlapping.isEmpty());
+
+        // results are reported in request order anyway
+        assertResultsOrder(results(), List.of(
+                "update1", "create1", "create2", "create3", "createGroup", "update2", "delete"));
+    }
+
+    @Test
+    public void sequentialUpdates() {
+        List<BatchRequestItem> items = List.of(
+                item(HttpMethod.PATCH, "/users/c9b2dec2-00a7-4855-97c0-d854842b4b24", "update1"),
+                item(HttpMethod.PATCH, "/users/1417acbe-cbf6-4277-9372-e75e04f97000", "update2"),
+                item(HttpMethod.PATCH, "/users/74cd8ece-715a-44a4-a736-e17b46c4e7e6", "update3"),
+                item(HttpMethod.DELETE, "/users/c9b2dec2-00a7-4855-97c0-d854842b4b24", "delete"));
+
+        batchProcess(3, items).run();
+
+        assertEquals(List.of("update1", "update2", "update3", "delete"), executed);
+        assertTrue(overlapping.isEmpty());
+        assertResultsOrder(results(), List.of("update1", "update2", "update3", "delete"));
+    }
+}
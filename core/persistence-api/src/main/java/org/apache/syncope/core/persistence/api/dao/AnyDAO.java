@@ -21,6 +21,7 @@ package org.apache.syncope.core.persistence.api.dao;
 import java.time.OffsetDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.Any;
@@ -35,6 +36,13 @@ public interface AnyDAO<A extends Any<?>> extends DAO<A> {
 
     int DEFAULT_PAGE_SIZE = 500;
 
+    /**
+     * Finds all entities matching the given keys, fetching their attributes, memberships and relationships via a
+     * bounded number of batched queries; no ordering is guaranteed.
+     *
+     * @param keys entity keys
+     * @return entities matching the given keys
+     */
     List<A> findByKeys(List<String> keys);
 
     OffsetDateTime findLastChange(String key);
@@ -53,6 +61,8 @@ public interface AnyDAO<A extends Any<?>> extends DAO<A> {
      * into the derived attribute value provided derive from identifier (schema key) replacement. When you are going to
      * specify a derived attribute expression you must be quite sure that string literals used to build the expression
      * cannot be found into the attribute values used to replace attribute schema keys used as identifiers.
+     * Such limitation does not apply to derived schemas indexed via {@link DerAttrIndexDAO}, which are looked up by
+     * exact value.
      *
      * @param schema derived schema
      * @param value derived attribute value
@@ -61,6 +71,17 @@ public interface AnyDAO<A extends Any<?>> extends DAO<A> {
      */
     List<A> findByDerAttrValue(DerSchema schema, String value, boolean ignoreCaseMatch);
 
+    /**
+     * Finds the keys of entities whose given field (as {@code key}, {@code username} or {@code name}) matches any of
+     * the given values, via a single query.
+     *
+     * @param field field name
+     * @param values field values to match
+     * @param ignoreCaseMatch whether comparison should take case into account or not
+     * @return keys of matching entities, by field value (lowercase if {@code ignoreCaseMatch})
+     */
+    Map<String, List<String>> findKeysByFieldValues(String field, Collection<String> values, boolean ignoreCaseMatch);
+
     List<A> findByResource(ExternalResource resource);
 
     /**
@@ -91,6 +112,27 @@ public interface AnyDAO<A extends Any<?>> extends DAO<A> {
      */
     List<String> findAllKeys(int page, int itemsPerPage);
 
+    /**
+     * Find any objects' keys within the given range, sorted by key; suitable for walking the whole key space (or a
+     * partition of it) by keyset, without offset pagination.
+     *
+     * @param after only keys greater than this will be returned; if null, no lower bound is applied
+     * @param upTo only keys lower than or equal to this will be returned; if null, no upper bound is applied
+     * @param itemsPerPage maximum number of keys to return
+     * @return any objects' keys within the given range
+     */
+    List<String> findAllKeys(String after, String upTo, int itemsPerPage);
+
+    /**
+     * Splits the key space into partitions holding about the same number of any objects, according to the actual
+     * distribution of keys; each partition can then be walked via {@link #findAllKeys(String, String, int)}.
+     *
+     * @param partitions number of partitions
+     * @return upper bounds (included) of all partitions but the last one, sorted; fewer than {@code partitions - 1}
+     * when there are fewer any objects than partitions
+     */
+    List<String> findPartitionBounds(int partitions);
+
     <S extends Schema> AllowedSchemas<S> findAllowedSchemas(A any, Class<S> reference);
 
     A save(A any);
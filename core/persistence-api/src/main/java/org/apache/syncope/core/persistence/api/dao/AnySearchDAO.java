@@ -60,6 +60,19 @@ public interface AnySearchDAO extends DAO<Any<?>> {
      */
     <T extends Any<?>> List<T> search(SearchCond searchCondition, List<OrderByClause> orderBy, AnyTypeKind kind);
 
+    /**
+     * Keyset (seek) pagination from the root realm, with no restriction on admin realms.
+     *
+     * @param searchCondition the search condition
+     * @param after key of the last result returned by the previous invocation, or {@code null} to start from the
+     * beginning
+     * @param itemsPerPage number of results per page
+     * @param kind any object
+     * @param <T> any
+     * @return the list of any objects matching the given search condition (following the given key)
+     */
+    <T extends Any<?>> List<T> search(SearchCond searchCondition, String after, int itemsPerPage, AnyTypeKind kind);
+
     /**
      * @param base Realm to start searching from
      * @param recursive whether search should recursively include results from child Realms
@@ -81,4 +94,29 @@ public interface AnySearchDAO extends DAO<Any<?>> {
             int itemsPerPage,
             List<OrderByClause> orderBy,
             AnyTypeKind kind);
+
+    /**
+     * Keyset (seek) pagination: results are always sorted by key, ascending, and only those whose key follows
+     * {@code after} are returned, so that walking through all matching entities does not require the underlying
+     * store to scan and discard the results of all previous pages.
+     *
+     * @param base Realm to start searching from
+     * @param recursive whether search should recursively include results from child Realms
+     * @param adminRealms realms for which the caller owns the proper entitlement(s)
+     * @param searchCondition the search condition
+     * @param after key of the last result returned by the previous invocation, or {@code null} to start from the
+     * beginning
+     * @param itemsPerPage number of results per page
+     * @param kind any object
+     * @param <T> any
+     * @return the list of any objects matching the given search condition (following the given key)
+     */
+    <T extends Any<?>> List<T> search(
+            Realm base,
+            boolean recursive,
+            Set<String> adminRealms,
+            SearchCond searchCondition,
+            String after,
+            int itemsPerPage,
+            AnyTypeKind kind);
 }
@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.persistence.api.dao;
 
+import java.util.List;
 import org.apache.syncope.core.persistence.api.entity.Batch;
 
 public interface BatchDAO extends DAO<Batch> {
@@ -26,6 +27,26 @@ public interface BatchDAO extends DAO<Batch> {
 
     Batch save(Batch batch);
 
+    /**
+     * Appends the given chunk to the results of the batch with given key, so that results can be stored while batch
+     * items are being processed; the last chunk is then expected to be set via {@link Batch#setResults(String)}.
+     *
+     * @param key batch key
+     * @param index chunk index, starting from 0
+     * @param chunk results chunk
+     */
+    void appendResults(String key, int index, String chunk);
+
+    /**
+     * Returns the result chunks appended to the batch with given key, in order.
+     *
+     * @param key batch key
+     * @param page page
+     * @param itemsPerPage chunks per page
+     * @return result chunks
+     */
+    List<String> findResults(String key, int page, int itemsPerPage);
+
     void delete(String key);
 
     int deleteExpired();
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.api.dao;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.persistence.api.entity.DerSchema;
+
+/**
+ * Materialized values of derived attributes, for the derived schemas configured as indexed; values are updated
+ * whenever the owning entity is saved, and rebuilt after the derived schema's expression or any realm's path is
+ * changed.
+ */
+public interface DerAttrIndexDAO {
+
+    /**
+     * Finds the keys of entities whose derived attribute for the given schema has the given value, if the index can
+     * tell: this is the case when the given derived schema is configured as indexed, its values were built against
+     * the current expression and the given value is not longer than what can be indexed.
+     *
+     * @param anyTypeKind any type kind
+     * @param schema derived schema
+     * @param value derived attribute value
+     * @param ignoreCaseMatch whether comparison should take case into account or not
+     * @return keys of matching entities, or empty if the index cannot tell
+     */
+    Optional<List<String>> findKeys(
+            AnyTypeKind anyTypeKind, DerSchema schema, String value, boolean ignoreCaseMatch);
+
+    /**
+     * Updates the values of all indexed derived attributes for the given entity.
+     *
+     * @param any entity
+     */
+    void index(Any<?> any);
+
+    /**
+     * Removes all indexed values for the given entity.
+     *
+     * @param any entity
+     */
+    void delete(Any<?> any);
+
+    /**
+     * Builds again all values for the given derived schema within the current transaction, if configured as indexed
+     * and not built against the current expression.
+     *
+     * @param schema derived schema
+     */
+    void rebuild(DerSchema schema);
+
+    /**
+     * Removes the values for derived schemas no longer configured as indexed, as well as the values for those
+     * configured as indexed but not built against the current expression, which are marked as being built.
+     *
+     * @return keys of the derived schemas whose values are to be built again, mapped to their current expression
+     */
+    Map<String, String> prepareRebuild();
+
+    /**
+     * Builds the values of the given derived schema for the next chunk of entities of the given kind.
+     *
+     * @param schemaKey derived schema key
+     * @param expression expression returned by {@link #prepareRebuild()} for the given derived schema
+     * @param anyTypeKind any type kind
+     * @param after key of the last entity in the previous chunk, or null for the first chunk
+     * @return key of the last entity in this chunk, or empty if no entities are left or if the derived schema was
+     * changed meanwhile
+     */
+    Optional<String> rebuildChunk(String schemaKey, String expression, AnyTypeKind anyTypeKind, String after);
+
+    /**
+     * Marks the values of the given derived schema as built, so that lookups are served by the index again.
+     *
+     * @param schemaKey derived schema key
+     * @param expression expression returned by {@link #prepareRebuild()} for the given derived schema
+     * @return false if the derived schema or any realm were changed meanwhile, hence values need to be built again
+     */
+    boolean completeRebuild(String schemaKey, String expression);
+
+    /**
+     * Removes the values for derived schemas no longer configured as indexed, and builds again the values for those
+     * configured as indexed but not built against the current expression; each step is committed in its own
+     * transaction, so that values are built in chunks.
+     */
+    void rebuild();
+
+    /**
+     * Schedules {@link #rebuild()} to run in background after the current transaction commits, or right away if
+     * there is no current transaction; meant to be invoked upon derived schema save.
+     */
+    void rebuildAfterCommit();
+
+    /**
+     * Marks as not built the values for derived schemas whose expression references the realm, so that lookups are
+     * no longer served by the index, and schedules their rebuild as {@link #rebuildAfterCommit()}; meant to be
+     * invoked upon realm rename or move, which changes the realm's path for all entities in the subtree.
+     */
+    void realmChanged();
+
+    /**
+     * Removes all indexed values for the given derived schema.
+     *
+     * @param schema derived schema
+     */
+    void delete(DerSchema schema);
+}
@@ -19,6 +19,7 @@
 package org.apache.syncope.core.persistence.api.dao;
 
 import java.util.List;
+import java.util.Map;
 import org.apache.syncope.common.lib.to.Provision;
 import org.apache.syncope.core.persistence.api.entity.AnyTypeClass;
 import org.apache.syncope.core.persistence.api.entity.ExternalResource;
@@ -49,6 +50,15 @@ public interface ExternalResourceDAO extends DAO<ExternalResource> {
 
     ExternalResource save(ExternalResource resource);
 
+    /**
+     * Sets the given sync tokens on the matching provisions (or organizational unit) of the given resource and
+     * saves it, in a new transaction.
+     *
+     * @param key resource key
+     * @param syncTokens serialized sync tokens, by object class
+     */
+    void saveSyncTokens(String key, Map<String, String> syncTokens);
+
     void deleteMapping(String schemaName);
 
     void delete(String key);
@@ -59,6 +59,16 @@ public interface RealmDAO extends DAO<Realm> {
 
     List<String> findAllKeys(int page, int itemsPerPage);
 
+    /**
+     * Find realms' keys greater than the given one, sorted by key; suitable for walking all realms by keyset, without
+     * offset pagination.
+     *
+     * @param after only keys greater than this will be returned; if null, no lower bound is applied
+     * @param itemsPerPage maximum number of keys to return
+     * @return realms' keys greater than the given one
+     */
+    List<String> findAllKeys(String after, int itemsPerPage);
+
     Realm save(Realm realm);
 
     void delete(Realm realm);
@@ -46,6 +46,35 @@ public interface ReportExecDAO extends DAO<ReportExec> {
 
     ReportExec save(ReportExec execution);
 
+    /**
+     * Stores a chunk of the result of the given execution.
+     *
+     * @param execution report execution
+     * @param index chunk index, starting from 0
+     * @param chunk chunk content
+     */
+    void saveResultChunk(ReportExec execution, int index, byte[] chunk);
+
+    /**
+     * @param execution report execution
+     * @return number of chunks stored for the result of the given execution
+     */
+    int countResultChunks(ReportExec execution);
+
+    /**
+     * @param execution report execution
+     * @param index chunk index, starting from 0
+     * @return the given chunk of the result of the given execution, or null if not found
+     */
+    byte[] findResultChunk(ReportExec execution, int index);
+
+    /**
+     * Removes all chunks stored for the result of the given execution.
+     *
+     * @param execution report execution
+     */
+    void deleteResult(ReportExec execution);
+
     void delete(String key);
 
     void delete(ReportExec execution);
@@ -60,6 +60,28 @@ public interface TaskDAO extends DAO<Task<?>> {
 
     <T extends Task<T>> List<T> findToExec(TaskType type);
 
+    /**
+     * Finds the greatest key among tasks to be executed: paging up to such key, tasks created afterwards with greater
+     * keys are left out.
+     *
+     * @param type task type
+     * @return greatest key among tasks to be executed, if any
+     */
+    Optional<String> findLastKeyToExec(TaskType type);
+
+    /**
+     * Finds tasks to be executed, ordered by key, following the given one: this allows to page through tasks whose
+     * execution status is updated while paging.
+     *
+     * @param <T> task
+     * @param type task type
+     * @param lastKey key of the last task found, or {@code null} to start from the first one
+     * @param upToKey key of the last task to be found, or {@code null} for no such bound
+     * @param max maximum number of tasks to find
+     * @return tasks to be executed, following the given one
+     */
+    <T extends Task<T>> List<T> findToExec(TaskType type, String lastKey, String upToKey, int max);
+
     <T extends Task<T>> List<T> findAll(TaskType type);
 
     <T extends Task<T>> List<T> findAll(
@@ -87,8 +109,31 @@ public interface TaskDAO extends DAO<Task<?>> {
 
     void deleteAll(ExternalResource resource, TaskType type);
 
+    /**
+     * Deletes, together with their executions and in a new transaction, up to the given number of propagation tasks
+     * whose latest execution is matching the given conditions.
+     *
+     * @param since match executions ended before
+     * @param statuses execution status(es) to match
+     * @param externalResources external resource(s) to match
+     * @param max maximum number of propagation tasks to delete
+     * @return deleted propagation tasks, available to callers only once deletion was committed: if as many as
+     * {@code max}, more might be matching
+     */
     List<PropagationTaskTO> purgePropagations(
             OffsetDateTime since,
             List<ExecStatus> statuses,
-            List<ExternalResource> externalResources);
+            List<ExternalResource> externalResources,
+            int max);
+
+    /**
+     * Re-encodes, in a new transaction, the propagation data of up to the given number of propagation tasks,
+     * ordered by key and following the given one, according to the current configuration; propagation data already
+     * matching the current configuration, or which cannot be read, is left unchanged.
+     *
+     * @param lastKey key of the last propagation task examined, or {@code null} to start from the first one
+     * @param max maximum number of propagation tasks to examine
+     * @return key of the last propagation task examined, or {@code null} if none was found
+     */
+    String encodePropagationData(String lastKey, int max);
 }
@@ -80,6 +80,16 @@ public interface UserDAO extends AnyDAO<User> {
 
     Optional<? extends LinkedAccount> findLinkedAccount(ExternalResource resource, String connObjectKeyValue);
 
+    /**
+     * Tells which of the given connObjectKey values are owned by linked accounts on the given resource, via a single
+     * query.
+     *
+     * @param resource external resource
+     * @param connObjectKeyValues connObjectKey values to check
+     * @return the connObjectKey values owned by linked accounts
+     */
+    Set<String> findLinkedAccountConnObjectKeyValues(ExternalResource resource, Collection<String> connObjectKeyValues);
+
     List<LinkedAccount> findLinkedAccounts(String userKey);
 
     List<LinkedAccount> findLinkedAccountsByResource(ExternalResource resource);
@@ -23,6 +23,7 @@ import org.apache.syncope.core.persistence.api.dao.AnyMatchDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
 import org.apache.syncope.core.persistence.api.dao.DelegationDAO;
+import org.apache.syncope.core.persistence.api.dao.DerAttrIndexDAO;
 import org.apache.syncope.core.persistence.api.dao.DerSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
 import org.apache.syncope.core.persistence.api.dao.FIQLQueryDAO;
@@ -35,6 +36,8 @@ import org.apache.syncope.core.persistence.api.dao.RoleDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
 import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
+import org.apache.syncope.core.persistence.jpa.dao.DynMembershipHelper;
+import org.apache.syncope.core.persistence.jpa.dao.DynMembershipRuleIndex;
 import org.apache.syncope.core.persistence.jpa.dao.JPAJSONAnyObjectDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPAJSONGroupDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPAJSONPlainAttrDAO;
@@ -61,6 +64,7 @@ public abstract class JPAJSONPersistenceContext {
             final @Lazy PlainSchemaDAO plainSchemaDAO,
             final @Lazy DerSchemaDAO derSchemaDAO,
             final @Lazy DynRealmDAO dynRealmDAO,
+            final @Lazy DerAttrIndexDAO derAttrIndexDAO,
             final @Lazy UserDAO userDAO,
             final @Lazy GroupDAO groupDAO,
             final @Lazy JPAJSONAnyDAO anyDAO) {
@@ -70,6 +74,7 @@ public abstract class JPAJSONPersistenceContext {
                 plainSchemaDAO,
                 derSchemaDAO,
                 dynRealmDAO,
+                derAttrIndexDAO,
                 userDAO,
                 groupDAO,
                 anyDAO);
@@ -83,12 +88,15 @@ public abstract class JPAJSONPersistenceContext {
             final @Lazy PlainSchemaDAO plainSchemaDAO,
             final @Lazy DerSchemaDAO derSchemaDAO,
             final @Lazy DynRealmDAO dynRealmDAO,
+            final @Lazy DerAttrIndexDAO derAttrIndexDAO,
             final @Lazy AnyMatchDAO anyMatchDAO,
             final @Lazy PlainAttrDAO plainAttrDAO,
             final @Lazy UserDAO userDAO,
             final @Lazy AnyObjectDAO anyObjectDAO,
             final @Lazy AnySearchDAO anySearchDAO,
             final SearchCondVisitor searchCondVisitor,
+            final DynMembershipRuleIndex dynMembershipRuleIndex,
+            final DynMembershipHelper dynMembershipHelper,
             final @Lazy JPAJSONAnyDAO anyDAO) {
 
         return new JPAJSONGroupDAO(
@@ -97,12 +105,15 @@ public abstract class JPAJSONPersistenceContext {
                 plainSchemaDAO,
                 derSchemaDAO,
                 dynRealmDAO,
+                derAttrIndexDAO,
                 anyMatchDAO,
                 plainAttrDAO,
                 userDAO,
                 anyObjectDAO,
                 anySearchDAO,
                 searchCondVisitor,
+                dynMembershipRuleIndex,
+                dynMembershipHelper,
                 anyDAO);
     }
 
@@ -125,6 +136,7 @@ public abstract class JPAJSONPersistenceContext {
             final @Lazy PlainSchemaDAO plainSchemaDAO,
             final @Lazy DerSchemaDAO derSchemaDAO,
             final @Lazy DynRealmDAO dynRealmDAO,
+            final @Lazy DerAttrIndexDAO derAttrIndexDAO,
             final @Lazy RoleDAO roleDAO,
             final @Lazy AccessTokenDAO accessTokenDAO,
             final @Lazy GroupDAO groupDAO,
@@ -137,6 +149,7 @@ public abstract class JPAJSONPersistenceContext {
                 plainSchemaDAO,
                 derSchemaDAO,
                 dynRealmDAO,
+                derAttrIndexDAO,
                 roleDAO,
                 accessTokenDAO,
                 groupDAO,
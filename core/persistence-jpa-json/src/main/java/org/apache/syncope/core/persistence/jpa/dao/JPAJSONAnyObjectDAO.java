@@ -22,6 +22,8 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.openjpa.persistence.jdbc.JDBCFetchPlan;
+import org.apache.syncope.core.persistence.api.dao.DerAttrIndexDAO;
 import org.apache.syncope.core.persistence.api.dao.DerSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
@@ -45,14 +47,20 @@ public class JPAJSONAnyObjectDAO extends JPAAnyObjectDAO {
             final PlainSchemaDAO plainSchemaDAO,
             final DerSchemaDAO derSchemaDAO,
             final DynRealmDAO dynRealmDAO,
+            final DerAttrIndexDAO derAttrIndexDAO,
             final UserDAO userDAO,
             final GroupDAO groupDAO,
             final JPAJSONAnyDAO anyDAO) {
 
-        super(anyUtilsFactory, plainSchemaDAO, derSchemaDAO, dynRealmDAO, userDAO, groupDAO);
+        super(anyUtilsFactory, plainSchemaDAO, derSchemaDAO, dynRealmDAO, derAttrIndexDAO, userDAO, groupDAO);
         this.anyDAO = anyDAO;
     }
 
+    @Override
+    protected void hydratePlainAttrs(final JDBCFetchPlan fetchPlan) {
+        // nothing to do: plain attributes are stored as JSON, along with the owning entity
+    }
+
     @Override
     public List<AnyObject> findByPlainAttrValue(
             final PlainSchema schema,
@@ -79,6 +87,12 @@ public class JPAJSONAnyObjectDAO extends JPAAnyObjectDAO {
             final String value,
             final boolean ignoreCaseMatch) {
 
+        Optional<List<String>> indexed = derAttrIndexDAO.findKeys(
+                anyUtils().anyTypeKind(), schema, value, ignoreCaseMatch);
+        if (indexed.isPresent()) {
+            return findByKeys(indexed.get());
+        }
+
         return anyDAO.findByDerAttrValue(JPAJSONAnyObject.TABLE, anyUtils(), schema, value, ignoreCaseMatch);
     }
 
@@ -92,6 +106,8 @@ public class JPAJSONAnyObjectDAO extends JPAAnyObjectDAO {
         Pair<Set<String>, Set<String>> dynGroupMembs = groupDAO.refreshDynMemberships(merged);
         dynRealmDAO.refreshDynMemberships(merged);
 
+        derAttrIndexDAO.index(merged);
+
         return Pair.of(merged, dynGroupMembs);
     }
 
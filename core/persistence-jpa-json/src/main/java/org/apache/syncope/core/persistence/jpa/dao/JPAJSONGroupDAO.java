@@ -20,9 +20,11 @@ package org.apache.syncope.core.persistence.jpa.dao;
 
 import java.util.List;
 import java.util.Optional;
+import org.apache.openjpa.persistence.jdbc.JDBCFetchPlan;
 import org.apache.syncope.core.persistence.api.dao.AnyMatchDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.DerAttrIndexDAO;
 import org.apache.syncope.core.persistence.api.dao.DerSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
 import org.apache.syncope.core.persistence.api.dao.JPAJSONAnyDAO;
@@ -49,12 +51,15 @@ public class JPAJSONGroupDAO extends JPAGroupDAO {
             final PlainSchemaDAO plainSchemaDAO,
             final DerSchemaDAO derSchemaDAO,
             final DynRealmDAO dynRealmDAO,
+            final DerAttrIndexDAO derAttrIndexDAO,
             final AnyMatchDAO anyMatchDAO,
             final PlainAttrDAO plainAttrDAO,
             final UserDAO userDAO,
             final AnyObjectDAO anyObjectDAO,
             final AnySearchDAO searchDAO,
             final SearchCondVisitor searchCondVisitor,
+            final DynMembershipRuleIndex dynMembershipRuleIndex,
+            final DynMembershipHelper dynMembershipHelper,
             final JPAJSONAnyDAO anyDAO) {
 
         super(anyUtilsFactory,
@@ -62,15 +67,23 @@ public class JPAJSONGroupDAO extends JPAGroupDAO {
                 plainSchemaDAO,
                 derSchemaDAO,
                 dynRealmDAO,
+                derAttrIndexDAO,
                 anyMatchDAO,
                 plainAttrDAO,
                 userDAO,
                 anyObjectDAO,
                 searchDAO,
-                searchCondVisitor);
+                searchCondVisitor,
+                dynMembershipRuleIndex,
+                dynMembershipHelper);
         this.anyDAO = anyDAO;
     }
 
+    @Override
+    protected void hydratePlainAttrs(final JDBCFetchPlan fetchPlan) {
+        // nothing to do: plain attributes are stored as JSON, along with the owning entity
+    }
+
     @Override
     public List<Group> findByPlainAttrValue(
             final PlainSchema schema,
@@ -97,6 +110,12 @@ public class JPAJSONGroupDAO extends JPAGroupDAO {
             final String value,
             final boolean ignoreCaseMatch) {
 
+        Optional<List<String>> indexed = derAttrIndexDAO.findKeys(
+                anyUtils().anyTypeKind(), schema, value, ignoreCaseMatch);
+        if (indexed.isPresent()) {
+            return findByKeys(indexed.get());
+        }
+
         return anyDAO.findByDerAttrValue(JPAGroup.TABLE, anyUtils(), schema, value, ignoreCaseMatch);
     }
 
@@ -22,8 +22,10 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.openjpa.persistence.jdbc.JDBCFetchPlan;
 import org.apache.syncope.core.persistence.api.dao.AccessTokenDAO;
 import org.apache.syncope.core.persistence.api.dao.DelegationDAO;
+import org.apache.syncope.core.persistence.api.dao.DerAttrIndexDAO;
 import org.apache.syncope.core.persistence.api.dao.DerSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
 import org.apache.syncope.core.persistence.api.dao.FIQLQueryDAO;
@@ -49,6 +51,7 @@ public class JPAJSONUserDAO extends JPAUserDAO {
             final PlainSchemaDAO plainSchemaDAO,
             final DerSchemaDAO derSchemaDAO,
             final DynRealmDAO dynRealmDAO,
+            final DerAttrIndexDAO derAttrIndexDAO,
             final RoleDAO roleDAO,
             final AccessTokenDAO accessTokenDAO,
             final GroupDAO groupDAO,
@@ -61,6 +64,7 @@ public class JPAJSONUserDAO extends JPAUserDAO {
                 plainSchemaDAO,
                 derSchemaDAO,
                 dynRealmDAO,
+                derAttrIndexDAO,
                 roleDAO,
                 accessTokenDAO,
                 groupDAO,
@@ -70,6 +74,11 @@ public class JPAJSONUserDAO extends JPAUserDAO {
         this.anyDAO = anyDAO;
     }
 
+    @Override
+    protected void hydratePlainAttrs(final JDBCFetchPlan fetchPlan) {
+        // nothing to do: plain attributes are stored as JSON, along with the owning entity
+    }
+
     @Override
     public List<User> findByPlainAttrValue(
             final PlainSchema schema,
@@ -96,6 +105,12 @@ public class JPAJSONUserDAO extends JPAUserDAO {
             final String value,
             final boolean ignoreCaseMatch) {
 
+        Optional<List<String>> indexed = derAttrIndexDAO.findKeys(
+                anyUtils().anyTypeKind(), schema, value, ignoreCaseMatch);
+        if (indexed.isPresent()) {
+            return findByKeys(indexed.get());
+        }
+
         return anyDAO.findByDerAttrValue(JPAJSONUser.TABLE, anyUtils(), schema, value, ignoreCaseMatch);
     }
 
@@ -111,6 +126,8 @@ public class JPAJSONUserDAO extends JPAUserDAO {
         Pair<Set<String>, Set<String>> dynGroupMembs = groupDAO.refreshDynMemberships(merged);
         dynRealmDAO.refreshDynMemberships(merged);
 
+        derAttrIndexDAO.index(merged);
+
         return Pair.of(merged, dynGroupMembs);
     }
 
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa;
+
+import javax.sql.DataSource;
+import org.apache.syncope.core.persistence.api.SyncopeCoreLoader;
+import org.apache.syncope.core.persistence.api.dao.DerAttrIndexDAO;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+
+/**
+ * Builds the values of derived schemas newly configured as indexed, and removes those no longer configured.
+ */
+public class DerAttrIndexLoader implements SyncopeCoreLoader {
+
+    protected final DerAttrIndexDAO derAttrIndexDAO;
+
+    public DerAttrIndexLoader(final DerAttrIndexDAO derAttrIndexDAO) {
+        this.derAttrIndexDAO = derAttrIndexDAO;
+    }
+
+    @Override
+    public int getOrder() {
+        return 460;
+    }
+
+    @Override
+    public void load(final String domain, final DataSource datasource) {
+        AuthContextUtils.callAsAdmin(domain, () -> {
+            derAttrIndexDAO.rebuild();
+            return null;
+        });
+    }
+}
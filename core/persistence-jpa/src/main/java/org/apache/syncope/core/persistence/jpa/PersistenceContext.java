@@ -42,6 +42,7 @@ import org.apache.syncope.core.persistence.api.dao.BatchDAO;
 import org.apache.syncope.core.persistence.api.dao.CASSPClientAppDAO;
 import org.apache.syncope.core.persistence.api.dao.ConnInstanceDAO;
 import org.apache.syncope.core.persistence.api.dao.DelegationDAO;
+import org.apache.syncope.core.persistence.api.dao.DerAttrIndexDAO;
 import org.apache.syncope.core.persistence.api.dao.DerSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
 import org.apache.syncope.core.persistence.api.dao.EntityCacheDAO;
@@ -85,6 +86,8 @@ import org.apache.syncope.core.persistence.jpa.attrvalue.validation.DefaultPlain
 import org.apache.syncope.core.persistence.jpa.content.KeymasterConfParamLoader;
 import org.apache.syncope.core.persistence.jpa.content.XMLContentExporter;
 import org.apache.syncope.core.persistence.jpa.content.XMLContentLoader;
+import org.apache.syncope.core.persistence.jpa.dao.DynMembershipHelper;
+import org.apache.syncope.core.persistence.jpa.dao.DynMembershipRuleIndex;
 import org.apache.syncope.core.persistence.jpa.dao.JPAAccessTokenDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPAAnyMatchDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPAAnyObjectDAO;
@@ -100,6 +103,7 @@ import org.apache.syncope.core.persistence.jpa.dao.JPABatchDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPACASSPClientAppDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPAConnInstanceDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPADelegationDAO;
+import org.apache.syncope.core.persistence.jpa.dao.JPADerAttrIndexDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPADerSchemaDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPADynRealmDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPAEntityCacheDAO;
@@ -142,8 +146,10 @@ import org.apache.syncope.core.persistence.jpa.spring.CommonEntityManagerFactory
 import org.apache.syncope.core.persistence.jpa.spring.DomainTransactionInterceptorInjector;
 import org.apache.syncope.core.persistence.jpa.spring.MultiJarAwarePersistenceUnitPostProcessor;
 import org.apache.syncope.core.spring.security.SecurityProperties;
+import org.apache.syncope.core.spring.task.VirtualThreadPoolTaskExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -214,6 +220,7 @@ public class PersistenceContext {
         jpaPropertyMap.put("openjpa.RemoteCommitProvider", persistenceProperties.getRemoteCommitProvider());
 
         commonEMFConf.setJpaPropertyMap(jpaPropertyMap);
+
         return commonEMFConf;
     }
 
@@ -242,6 +249,12 @@ public class PersistenceContext {
         return new KeymasterConfParamLoader(confParamOps);
     }
 
+    @ConditionalOnMissingBean
+    @Bean
+    public DerAttrIndexLoader derAttrIndexLoader(final DerAttrIndexDAO derAttrIndexDAO) {
+        return new DerAttrIndexLoader(derAttrIndexDAO);
+    }
+
     @ConditionalOnMissingBean
     @Bean
     public DomainRegistry domainRegistry(final ConfigurableApplicationContext ctx) {
@@ -357,6 +370,7 @@ public class PersistenceContext {
             final @Lazy PlainSchemaDAO plainSchemaDAO,
             final @Lazy DerSchemaDAO derSchemaDAO,
             final @Lazy DynRealmDAO dynRealmDAO,
+            final @Lazy DerAttrIndexDAO derAttrIndexDAO,
             final @Lazy UserDAO userDAO,
             final @Lazy GroupDAO groupDAO) {
 
@@ -365,6 +379,7 @@ public class PersistenceContext {
                 plainSchemaDAO,
                 derSchemaDAO,
                 dynRealmDAO,
+                derAttrIndexDAO,
                 userDAO,
                 groupDAO);
     }
@@ -461,6 +476,32 @@ public class PersistenceContext {
         return new JPADelegationDAO();
     }
 
+    /**
+     * Used by {@link JPADerAttrIndexDAO} to build values in background.
+     *
+     * @return executor thread pool task executor
+     */
+    @ConditionalOnMissingBean(name = "derAttrIndexExecutor")
+    @Bean
+    public VirtualThreadPoolTaskExecutor derAttrIndexExecutor() {
+        VirtualThreadPoolTaskExecutor executor = new VirtualThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("DerAttrIndex-");
+        executor.initialize();
+        return executor;
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public DerAttrIndexDAO derAttrIndexDAO(
+            final PersistenceProperties persistenceProperties,
+            final AnyUtilsFactory anyUtilsFactory,
+            @Qualifier("derAttrIndexExecutor")
+            final VirtualThreadPoolTaskExecutor derAttrIndexExecutor) {
+
+        return new JPADerAttrIndexDAO(
+                anyUtilsFactory, persistenceProperties.getIndexedDerSchemas(), derAttrIndexExecutor);
+    }
+
     @ConditionalOnMissingBean
     @Bean
     public FIQLQueryDAO fiqlQueryDAO() {
@@ -469,8 +510,24 @@ public class PersistenceContext {
 
     @ConditionalOnMissingBean
     @Bean
-    public DerSchemaDAO derSchemaDAO(final @Lazy ExternalResourceDAO resourceDAO) {
-        return new JPADerSchemaDAO(resourceDAO);
+    public DerSchemaDAO derSchemaDAO(
+            final @Lazy ExternalResourceDAO resourceDAO,
+            final @Lazy DerAttrIndexDAO derAttrIndexDAO) {
+
+        return new JPADerSchemaDAO(resourceDAO, derAttrIndexDAO);
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public DynMembershipRuleIndex dynMembershipRuleIndex(final PersistenceProperties persistenceProperties) {
+        return new DynMembershipRuleIndex(
+                persistenceProperties.getDynMembershipRules(), persistenceProperties.getDynMembershipEvaluations());
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public DynMembershipHelper dynMembershipHelper(final ApplicationEventPublisher publisher) {
+        return new DynMembershipHelper(publisher);
     }
 
     @ConditionalOnMissingBean
@@ -482,7 +539,9 @@ public class PersistenceContext {
             final @Lazy AnyObjectDAO anyObjectDAO,
             final AnySearchDAO searchDAO,
             final AnyMatchDAO anyMatchDAO,
-            final SearchCondVisitor searchCondVisitor) {
+            final SearchCondVisitor searchCondVisitor,
+            final DynMembershipRuleIndex dynMembershipRuleIndex,
+            final DynMembershipHelper dynMembershipHelper) {
 
         return new JPADynRealmDAO(
                 publisher,
@@ -491,7 +550,9 @@ public class PersistenceContext {
                 anyObjectDAO,
                 searchDAO,
                 anyMatchDAO,
-                searchCondVisitor);
+                searchCondVisitor,
+                dynMembershipRuleIndex,
+                dynMembershipHelper);
     }
 
     @ConditionalOnMissingBean
@@ -502,12 +563,15 @@ public class PersistenceContext {
             final @Lazy PlainSchemaDAO plainSchemaDAO,
             final @Lazy DerSchemaDAO derSchemaDAO,
             final @Lazy DynRealmDAO dynRealmDAO,
+            final @Lazy DerAttrIndexDAO derAttrIndexDAO,
             final AnyMatchDAO anyMatchDAO,
             final PlainAttrDAO plainAttrDAO,
             final @Lazy UserDAO userDAO,
             final @Lazy AnyObjectDAO anyObjectDAO,
             final AnySearchDAO anySearchDAO,
-            final SearchCondVisitor searchCondVisitor) {
+            final SearchCondVisitor searchCondVisitor,
+            final DynMembershipRuleIndex dynMembershipRuleIndex,
+            final DynMembershipHelper dynMembershipHelper) {
 
         return new JPAGroupDAO(
                 anyUtilsFactory,
@@ -515,12 +579,15 @@ public class PersistenceContext {
                 plainSchemaDAO,
                 derSchemaDAO,
                 dynRealmDAO,
+                derAttrIndexDAO,
                 anyMatchDAO,
                 plainAttrDAO,
                 userDAO,
                 anyObjectDAO,
                 anySearchDAO,
-                searchCondVisitor);
+                searchCondVisitor,
+                dynMembershipRuleIndex,
+                dynMembershipHelper);
     }
 
     @ConditionalOnMissingBean
@@ -605,8 +672,12 @@ public class PersistenceContext {
 
     @ConditionalOnMissingBean
     @Bean
-    public RealmDAO realmDAO(final @Lazy RoleDAO roleDAO, final ApplicationEventPublisher publisher) {
-        return new JPARealmDAO(roleDAO, publisher);
+    public RealmDAO realmDAO(
+            final @Lazy RoleDAO roleDAO,
+            final @Lazy DerAttrIndexDAO derAttrIndexDAO,
+            final ApplicationEventPublisher publisher) {
+
+        return new JPARealmDAO(roleDAO, derAttrIndexDAO, publisher);
     }
 
     @ConditionalOnMissingBean
@@ -654,9 +725,18 @@ public class PersistenceContext {
             final @Lazy AnyMatchDAO anyMatchDAO,
             final @Lazy AnySearchDAO anySearchDAO,
             final DelegationDAO delegationDAO,
-            final SearchCondVisitor searchCondVisitor) {
+            final SearchCondVisitor searchCondVisitor,
+            final DynMembershipRuleIndex dynMembershipRuleIndex,
+            final DynMembershipHelper dynMembershipHelper) {
 
-        return new JPARoleDAO(anyMatchDAO, publisher, anySearchDAO, delegationDAO, searchCondVisitor);
+        return new JPARoleDAO(
+                anyMatchDAO,
+                publisher,
+                anySearchDAO,
+                delegationDAO,
+                searchCondVisitor,
+                dynMembershipRuleIndex,
+                dynMembershipHelper);
     }
 
     @ConditionalOnMissingBean
@@ -695,9 +775,10 @@ public class PersistenceContext {
             final RealmDAO realmDAO,
             final RemediationDAO remediationDAO,
             final TaskUtilsFactory taskUtilsFactory,
-            final SecurityProperties securityProperties) {
+            final SecurityProperties securityProperties,
+            final PersistenceProperties persistenceProperties) {
 
-        return new JPATaskDAO(realmDAO, remediationDAO, taskUtilsFactory, securityProperties);
+        return new JPATaskDAO(realmDAO, remediationDAO, taskUtilsFactory, securityProperties, persistenceProperties);
     }
 
     @ConditionalOnMissingBean
@@ -714,6 +795,7 @@ public class PersistenceContext {
             final @Lazy PlainSchemaDAO plainSchemaDAO,
             final @Lazy DerSchemaDAO derSchemaDAO,
             final @Lazy DynRealmDAO dynRealmDAO,
+            final @Lazy DerAttrIndexDAO derAttrIndexDAO,
             final RoleDAO roleDAO,
             final AccessTokenDAO accessTokenDAO,
             final @Lazy GroupDAO groupDAO,
@@ -725,6 +807,7 @@ public class PersistenceContext {
                 plainSchemaDAO,
                 derSchemaDAO,
                 dynRealmDAO,
+                derAttrIndexDAO,
                 roleDAO,
                 accessTokenDAO,
                 groupDAO,
@@ -19,7 +19,9 @@
 package org.apache.syncope.core.persistence.jpa;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
@@ -34,6 +36,27 @@ public class PersistenceProperties {
 
     private String indexesXML = "classpath:indexes.xml";
 
+    /**
+     * Keys of derived schemas whose values are materialized, for lookup by value.
+     */
+    private final Set<String> indexedDerSchemas = new HashSet<>();
+
+    /**
+     * Whether propagation data is stored as deflated JSON, rather than plain JSON; both are read anyway.
+     */
+    private boolean deflatePropagationData;
+
+    /**
+     * Maximum number of compiled dynamic membership conditions kept in memory.
+     */
+    private long dynMembershipRules = 10000;
+
+    /**
+     * Maximum number of dynamic membership evaluations, one for each entity and dynamic membership table, kept in
+     * memory to avoid evaluating conditions again when the values they depend upon did not change.
+     */
+    private long dynMembershipEvaluations = 10000;
+
     @NestedConfigurationProperty
     private final List<DomainProperties> domain = new ArrayList<>();
 
@@ -69,6 +92,34 @@ public class PersistenceProperties {
         this.indexesXML = indexesXML;
     }
 
+    public Set<String> getIndexedDerSchemas() {
+        return indexedDerSchemas;
+    }
+
+    public boolean isDeflatePropagationData() {
+        return deflatePropagationData;
+    }
+
+    public void setDeflatePropagationData(final boolean deflatePropagationData) {
+        this.deflatePropagationData = deflatePropagationData;
+    }
+
+    public long getDynMembershipRules() {
+        return dynMembershipRules;
+    }
+
+    public void setDynMembershipRules(final long dynMembershipRules) {
+        this.dynMembershipRules = dynMembershipRules;
+    }
+
+    public long getDynMembershipEvaluations() {
+        return dynMembershipEvaluations;
+    }
+
+    public void setDynMembershipEvaluations(final long dynMembershipEvaluations) {
+        this.dynMembershipEvaluations = dynMembershipEvaluations;
+    }
+
     public List<DomainProperties> getDomain() {
         return domain;
     }
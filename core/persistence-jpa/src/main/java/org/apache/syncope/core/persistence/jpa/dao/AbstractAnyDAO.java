@@ -29,18 +29,23 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import org.apache.commons.jexl3.parser.Parser;
 import org.apache.commons.jexl3.parser.ParserConstants;
 import org.apache.commons.jexl3.parser.Token;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.openjpa.persistence.OpenJPAPersistence;
+import org.apache.openjpa.persistence.jdbc.FetchMode;
+import org.apache.openjpa.persistence.jdbc.JDBCFetchPlan;
 import org.apache.syncope.core.persistence.api.dao.AllowedSchemas;
 import org.apache.syncope.core.persistence.api.dao.AnyDAO;
+import org.apache.syncope.core.persistence.api.dao.DerAttrIndexDAO;
 import org.apache.syncope.core.persistence.api.dao.DerSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
 import org.apache.syncope.core.persistence.api.dao.NotFoundException;
@@ -76,18 +81,22 @@ public abstract class AbstractAnyDAO<A extends Any<?>> extends AbstractDAO<A> im
 
     protected final DynRealmDAO dynRealmDAO;
 
+    protected final DerAttrIndexDAO derAttrIndexDAO;
+
     private AnyUtils anyUtils;
 
     public AbstractAnyDAO(
             final AnyUtilsFactory anyUtilsFactory,
             final PlainSchemaDAO plainSchemaDAO,
             final DerSchemaDAO derSchemaDAO,
-            final DynRealmDAO dynRealmDAO) {
+            final DynRealmDAO dynRealmDAO,
+            final DerAttrIndexDAO derAttrIndexDAO) {
 
         this.anyUtilsFactory = anyUtilsFactory;
         this.plainSchemaDAO = plainSchemaDAO;
         this.derSchemaDAO = derSchemaDAO;
         this.dynRealmDAO = dynRealmDAO;
+        this.derAttrIndexDAO = derAttrIndexDAO;
     }
 
     protected abstract AnyUtils init();
@@ -116,6 +125,54 @@ public abstract class AbstractAnyDAO<A extends Any<?>> extends AbstractDAO<A> im
         return result;
     }
 
+    protected List<String> findAllKeys(
+            final String table,
+            final String after,
+            final String upTo,
+            final int itemsPerPage) {
+
+        List<String> conditions = new ArrayList<>();
+        List<String> parameters = new ArrayList<>();
+        if (after != null) {
+            conditions.add("id > ?" + (parameters.size() + 1));
+            parameters.add(after);
+        }
+        if (upTo != null) {
+            conditions.add("id <= ?" + (parameters.size() + 1));
+            parameters.add(upTo);
+        }
+
+        Query query = entityManager().createNativeQuery(
+                "SELECT id FROM " + table
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY id", String.class);
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter(i + 1, parameters.get(i));
+        }
+        query.setMaxResults(itemsPerPage);
+
+        List<String> result = new ArrayList<>();
+        query.getResultList().stream().map(resultKey -> resultKey instanceof Object[]
+                ? (String) ((Object[]) resultKey)[0]
+                : ((String) resultKey)).
+                forEach(actualKey -> result.add(actualKey.toString()));
+        return result;
+    }
+
+    protected List<String> findPartitionBounds(final String table, final int partitions) {
+        Query query = entityManager().createNativeQuery(
+                "SELECT MAX(id) FROM (SELECT id, NTILE(" + partitions + ") OVER (ORDER BY id) AS bucket FROM "
+                + table + ") buckets GROUP BY bucket ORDER BY 1");
+
+        @SuppressWarnings("unchecked")
+        List<Object> raw = query.getResultList();
+        List<String> result = raw.stream().map(key -> key instanceof Object[]
+                ? (String) ((Object[]) key)[0]
+                : ((String) key)).collect(Collectors.toList());
+        // the last partition is open-ended, to include any object created meanwhile
+        return result.isEmpty() ? result : result.subList(0, result.size() - 1);
+    }
+
     protected OffsetDateTime findLastChange(final String key, final String table) {
         OffsetDateTime creationDate = null;
         OffsetDateTime lastChangeDate = null;
@@ -140,13 +197,40 @@ public abstract class AbstractAnyDAO<A extends Any<?>> extends AbstractDAO<A> im
 
     protected abstract void securityChecks(A any);
 
+    /**
+     * Adds to the given fetch plan the plain attributes (with values) to be loaded for all results at once.
+     *
+     * @param fetchPlan fetch plan
+     */
+    protected void hydratePlainAttrs(final JDBCFetchPlan fetchPlan) {
+        fetchPlan.addField(anyUtils().anyClass(), "plainAttrs");
+        fetchPlan.addField(anyUtils().plainAttrClass(), "values");
+        fetchPlan.addField(anyUtils().plainAttrClass(), "uniqueValue");
+    }
+
+    /**
+     * Adds to the given fetch plan the to-many fields to be loaded for all results at once, via a bounded number of
+     * batched queries, rather than lazily for each entity.
+     *
+     * @param fetchPlan fetch plan
+     */
+    protected void hydrate(final JDBCFetchPlan fetchPlan) {
+        fetchPlan.setEagerFetchMode(FetchMode.PARALLEL);
+        hydratePlainAttrs(fetchPlan);
+    }
+
     @Transactional(readOnly = true)
     @Override
     public List<A> findByKeys(final List<String> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+
         Class<A> entityClass = anyUtils().anyClass();
         TypedQuery<A> query = entityManager().createQuery(
                 "SELECT e FROM " + entityClass.getSimpleName() + " e WHERE e.id IN (:keys)", entityClass);
         query.setParameter("keys", keys);
+        hydrate((JDBCFetchPlan) OpenJPAPersistence.cast(query).getFetchPlan());
         return query.getResultList();
     }
 
@@ -175,6 +259,37 @@ public abstract class AbstractAnyDAO<A extends Any<?>> extends AbstractDAO<A> im
         return (A) entityManager().find(anyUtils().anyClass(), key);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, List<String>> findKeysByFieldValues(
+            final String field,
+            final Collection<String> values,
+            final boolean ignoreCaseMatch) {
+
+        if (values.isEmpty()) {
+            return Map.of();
+        }
+        if (anyUtils().getField(field) == null) {
+            throw new IllegalArgumentException("Invalid field: " + field);
+        }
+
+        String attr = "e." + anyUtils().getField(field).getName();
+        Query query = entityManager().createQuery(
+                "SELECT " + attr + ", e.id FROM " + anyUtils().anyClass().getSimpleName() + " e "
+                + "WHERE " + (ignoreCaseMatch ? "LOWER(" + attr + ')' : attr) + " IN (:values)");
+        query.setParameter("values", ignoreCaseMatch
+                ? values.stream().map(StringUtils::lowerCase).distinct().collect(Collectors.toList())
+                : values);
+
+        Map<String, List<String>> result = new HashMap<>();
+        for (Object[] row : (List<Object[]>) query.getResultList()) {
+            String value = ignoreCaseMatch ? StringUtils.lowerCase(row[0].toString()) : row[0].toString();
+            result.computeIfAbsent(value, k -> new ArrayList<>()).add(row[1].toString());
+        }
+        return result;
+    }
+
     private Query findByPlainAttrValueQuery(final String entityName, final boolean ignoreCaseMatch) {
         String query = "SELECT e FROM " + entityName + " e"
                 + " WHERE e.attribute.schema.id = :schemaKey AND ((e.stringValue IS NOT NULL"
@@ -396,6 +511,12 @@ public abstract class AbstractAnyDAO<A extends Any<?>> extends AbstractDAO<A> im
             return List.of();
         }
 
+        Optional<List<String>> indexed = derAttrIndexDAO.findKeys(
+                anyUtils().anyTypeKind(), schema, value, ignoreCaseMatch);
+        if (indexed.isPresent()) {
+            return findByKeys(indexed.get());
+        }
+
         // query string
         StringBuilder querystring = new StringBuilder();
 
@@ -417,19 +538,16 @@ public abstract class AbstractAnyDAO<A extends Any<?>> extends AbstractDAO<A> im
             }
         }
 
-        List<A> result = new ArrayList<>();
+        Set<String> keys = new LinkedHashSet<>();
         if (querystring.length() > 0) {
             Query query = entityManager().createNativeQuery(querystring.toString());
 
             for (Object anyKey : query.getResultList()) {
-                A any = find(anyKey.toString());
-                if (!result.contains(any)) {
-                    result.add(any);
-                }
+                keys.add(anyKey.toString());
             }
         }
 
-        return result;
+        return findByKeys(new ArrayList<>(keys));
     }
 
     @SuppressWarnings("unchecked")
@@ -502,7 +620,9 @@ public abstract class AbstractAnyDAO<A extends Any<?>> extends AbstractDAO<A> im
 
     @Override
     public A save(final A any) {
-        return entityManager().merge(any);
+        A merged = entityManager().merge(any);
+        derAttrIndexDAO.index(merged);
+        return merged;
     }
 
     @Override
@@ -24,10 +24,11 @@ import jakarta.validation.constraints.Min;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.tuple.Pair;
@@ -186,6 +187,13 @@ public abstract class AbstractAnySearchDAO extends AbstractDAO<Any<?>> implement
         return search(realmDAO.getRoot(), true, SyncopeConstants.FULL_ADMIN_REALMS, cond, -1, -1, orderBy, kind);
     }
 
+    @Override
+    public <T extends Any<?>> List<T> search(
+            final SearchCond cond, final String after, final int itemsPerPage, final AnyTypeKind kind) {
+
+        return search(realmDAO.getRoot(), true, SyncopeConstants.FULL_ADMIN_REALMS, cond, after, itemsPerPage, kind);
+    }
+
     protected abstract <T extends Any<?>> List<T> doSearch(
             Realm base,
             boolean recursive,
@@ -333,14 +341,22 @@ public abstract class AbstractAnySearchDAO extends AbstractDAO<Any<?>> implement
     protected <T extends Any<?>> List<T> buildResult(final List<Object> raw, final AnyTypeKind kind) {
         List<String> keys = raw.stream().
                 map(key -> key instanceof Object[] ? (String) ((Object[]) key)[0] : ((String) key)).
+                distinct().
                 collect(Collectors.toList());
 
-        // sort anys according to keys' sorting, as their ordering is same as raw, e.g. the actual sql query results
-        List<Any<?>> anys = anyUtilsFactory.getInstance(kind).dao().findByKeys(keys).stream().
-                sorted(Comparator.comparing(any -> keys.indexOf(any.getKey()))).collect(Collectors.toList());
+        Map<String, Any<?>> found = anyUtilsFactory.getInstance(kind).dao().findByKeys(keys).stream().
+                collect(Collectors.toMap(Any::getKey, Function.identity(), (any1, any2) -> any1));
 
-        keys.stream().filter(key -> !anys.stream().anyMatch(any -> key.equals(any.getKey()))).
-                forEach(key -> LOG.error("Could not find {} with id {}, even if returned by native query", kind, key));
+        // return anys according to keys' sorting, as their ordering is same as raw, e.g. the actual query results
+        List<Any<?>> anys = new ArrayList<>(keys.size());
+        keys.forEach(key -> {
+            Any<?> any = found.get(key);
+            if (any == null) {
+                LOG.error("Could not find {} with id {}, even if returned by native query", kind, key);
+            } else {
+                anys.add(any);
+            }
+        });
 
         return (List<T>) anys;
     }
@@ -381,4 +397,35 @@ public abstract class AbstractAnySearchDAO extends AbstractDAO<Any<?>> implement
 
         return doSearch(base, recursive, adminRealms, cond, page, itemsPerPage, effectiveOrderBy, kind);
     }
+
+    @Override
+    public <T extends Any<?>> List<T> search(
+            final Realm base,
+            final boolean recursive,
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final String after,
+            final int itemsPerPage,
+            final AnyTypeKind kind) {
+
+        if (cond == null || !cond.isValid()) {
+            LOG.error("Invalid search condition:\n{}", cond);
+            return List.of();
+        }
+
+        // results are sorted by key, hence the key of the last result is enough to resume from the following one
+        SearchCond effectiveCond = cond;
+        if (after != null) {
+            AnyCond afterCond = new AnyCond(AttrCond.Type.GT);
+            afterCond.setSchema("key");
+            afterCond.setExpression(after);
+            effectiveCond = SearchCond.getAnd(cond, SearchCond.getLeaf(afterCond));
+        }
+
+        OrderByClause keyClause = new OrderByClause();
+        keyClause.setField("key");
+        keyClause.setDirection(OrderByClause.Direction.ASC);
+
+        return search(base, recursive, adminRealms, effectiveCond, 1, itemsPerPage, List.of(keyClause), kind);
+    }
 }
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Query;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.apache.openjpa.persistence.OpenJPAEntityManagerSPI;
+import org.apache.openjpa.persistence.OpenJPAPersistence;
+import org.apache.syncope.core.persistence.api.dao.AnyDAO;
+import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.jpa.openjpa.AuthDataAccessorCommitListener;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Reads and writes dynamic membership tables via native queries, notifying the entities whose dynamic memberships
+ * were changed in the process.
+ */
+public class DynMembershipHelper {
+
+    protected static final int BATCH_SIZE = 1000;
+
+    /**
+     * Walks through all results of the given keyset search, page after page.
+     *
+     * @param search keyset search returning up to {@link AnyDAO#DEFAULT_PAGE_SIZE} results, following the given key
+     * of the last result of the previous page (or {@code null})
+     * @param action action to perform on each page of results
+     * @param <T> any
+     */
+    public static <T extends Any<?>> void forEachPage(
+            final Function<String, List<T>> search,
+            final Consumer<List<T>> action) {
+
+        String after = null;
+        List<T> page;
+        do {
+            page = search.apply(after);
+            if (!page.isEmpty()) {
+                action.accept(page);
+                after = page.get(page.size() - 1).getKey();
+            }
+        } while (page.size() == AnyDAO.DEFAULT_PAGE_SIZE);
+    }
+
+    protected final ApplicationEventPublisher publisher;
+
+    public DynMembershipHelper(final ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    /**
+     * Runs the given native query, returning the keys found in the first column of results.
+     *
+     * @param entityManager entity manager
+     * @param sql native query
+     * @param parameters query parameters
+     * @return keys found
+     */
+    @SuppressWarnings("unchecked")
+    public Set<String> findKeys(final EntityManager entityManager, final String sql, final Object... parameters) {
+        Query query = entityManager.createNativeQuery(sql);
+        for (int i = 0; i < parameters.length; i++) {
+            query.setParameter(i + 1, parameters[i]);
+        }
+
+        Set<String> result = new HashSet<>();
+        query.getResultList().forEach(key -> result.add(key instanceof Object[]
+                ? (String) ((Object[]) key)[0]
+                : ((String) key)));
+        return result;
+    }
+
+    /**
+     * Executes the given SQL statement once for each of the given parameter sets, via JDBC batches on the
+     * connection bound to the current transaction; pending changes are flushed first, as the statement bypasses
+     * the persistence context.
+     *
+     * @param entityManager entity manager
+     * @param sql SQL statement
+     * @param parameters parameter sets
+     */
+    public void batchUpdate(
+            final EntityManager entityManager,
+            final String sql,
+            final Collection<Object[]> parameters) {
+
+        if (parameters.isEmpty()) {
+            return;
+        }
+
+        entityManager.flush();
+        try (Connection conn = (Connection) OpenJPAPersistence.cast(entityManager).getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int count = 0;
+            for (Object[] params : parameters) {
+                for (int i = 0; i < params.length; i++) {
+                    stmt.setObject(i + 1, params[i]);
+                }
+                stmt.addBatch();
+
+                if (++count % BATCH_SIZE == 0) {
+                    stmt.executeBatch();
+                }
+            }
+            if (count % BATCH_SIZE != 0) {
+                stmt.executeBatch();
+            }
+        } catch (SQLException e) {
+            throw new PersistenceException("While executing " + sql, e);
+        }
+    }
+
+    /**
+     * Reports users whose dynamic memberships were changed via native queries, so that their cached authorities are
+     * invalidated upon commit.
+     *
+     * @param entityManager entity manager
+     * @param userKeys user keys
+     */
+    public void dynMembershipsChanged(final EntityManager entityManager, final Collection<String> userKeys) {
+        AuthDataAccessorCommitListener.dynMembershipsChanged(
+                ((OpenJPAEntityManagerSPI) OpenJPAPersistence.cast(entityManager)).getConfiguration(),
+                AuthContextUtils.getDomain(),
+                userKeys);
+    }
+
+    /**
+     * Notifies that the given entities were updated, following changes to their dynamic memberships.
+     *
+     * @param entityManager entity manager
+     * @param anys updated entities
+     */
+    public void publishUpdates(final EntityManager entityManager, final List<? extends Any<?>> anys) {
+        anys.forEach(any -> publisher.publishEvent(
+                new EntityLifecycleEvent<>(this, SyncDeltaType.UPDATE, any, AuthContextUtils.getDomain())));
+
+        List<String> userKeys = anys.stream().filter(User.class::isInstance).map(Any::getKey).
+                collect(Collectors.toList());
+        if (!userKeys.isEmpty()) {
+            dynMembershipsChanged(entityManager, userKeys);
+        }
+    }
+
+    /**
+     * Finds the entities with the given keys page by page, notifying that the entities found were updated.
+     *
+     * @param entityManager entity manager
+     * @param keys keys of updated entities
+     * @param finder finds entities by keys
+     * @return keys of entities not found
+     */
+    public Set<String> publishUpdates(
+            final EntityManager entityManager,
+            final List<String> keys,
+            final Function<List<String>, List<? extends Any<?>>> finder) {
+
+        Set<String> notFound = new HashSet<>(keys);
+        for (int i = 0; i < keys.size(); i += AnyDAO.DEFAULT_PAGE_SIZE) {
+            List<? extends Any<?>> found = finder.apply(
+                    keys.subList(i, Math.min(i + AnyDAO.DEFAULT_PAGE_SIZE, keys.size())));
+            found.forEach(any -> notFound.remove(any.getKey()));
+            publishUpdates(entityManager, found);
+        }
+        return notFound;
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.beans.PropertyDescriptor;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.stream.Collectors;
+import org.apache.syncope.core.persistence.api.dao.search.AnyCond;
+import org.apache.syncope.core.persistence.api.dao.search.AnyTypeCond;
+import org.apache.syncope.core.persistence.api.dao.search.AttrCond;
+import org.apache.syncope.core.persistence.api.dao.search.RelationshipTypeCond;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.persistence.api.entity.Entity;
+import org.apache.syncope.core.persistence.api.entity.GroupableRelatable;
+import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
+import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+
+/**
+ * Index of compiled dynamic membership conditions, cached by FIQL; each condition is paired with the dimensions
+ * (plain schemas, fields and relationship types of the matching entity) it depends upon.
+ *
+ * Every time the dynamic memberships of an entity are refreshed, the values of such dimensions are recorded together
+ * with the evaluation results: upon next refresh, only conditions which were changed or depend on dimensions whose
+ * value has changed in the meantime need to be evaluated again, the others keeping their recorded result.
+ * As results only depend on the recorded values, they remain valid across transactions and rollbacks.
+ *
+ * Whenever dynamic membership conditions are changed, either locally or by another node, the index is cleared for the
+ * involved domain by {@link org.apache.syncope.core.persistence.jpa.openjpa.DynMembershipRuleIndexCommitListener}.
+ */
+public class DynMembershipRuleIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DynMembershipRuleIndex.class);
+
+    /**
+     * Compiled dynamic membership condition.
+     */
+    public static final class Rule {
+
+        private final String fiql;
+
+        private final SearchCond cond;
+
+        private final Set<String> dimensions;
+
+        private final boolean alwaysEvaluate;
+
+        private Rule(
+                final String fiql,
+                final SearchCond cond,
+                final Set<String> dimensions,
+                final boolean alwaysEvaluate) {
+
+            this.fiql = fiql;
+            this.cond = cond;
+            this.dimensions = dimensions;
+            this.alwaysEvaluate = alwaysEvaluate;
+        }
+
+        public String getFiql() {
+            return fiql;
+        }
+
+        /**
+         * The returned condition is shared, hence it must not be altered.
+         *
+         * @return compiled condition
+         */
+        public SearchCond getCond() {
+            return cond;
+        }
+
+        public Set<String> getDimensions() {
+            return dimensions;
+        }
+
+        /**
+         * @return whether the condition depends on something not tracked by dimensions, as dynamic memberships,
+         * roles, resources or other entities, hence it must be evaluated every time
+         */
+        public boolean isAlwaysEvaluate() {
+            return alwaysEvaluate;
+        }
+    }
+
+    /**
+     * Dimension values and evaluation results recorded for an entity upon last refresh.
+     */
+    private static final class Evaluation {
+
+        private final Map<String, Object> values;
+
+        private final Map<String, String> fiqls;
+
+        private final Map<String, Boolean> results;
+
+        private Evaluation(
+                final Map<String, Object> values,
+                final Map<String, String> fiqls,
+                final Map<String, Boolean> results) {
+
+            this.values = values;
+            this.fiqls = fiqls;
+            this.results = results;
+        }
+    }
+
+    private static final String ATTR_PREFIX = "attr:";
+
+    private static final String FIELD_PREFIX = "field:";
+
+    private static final String RELATIONSHIP_TYPES = "relationshipTypes";
+
+    private static boolean collectDimensions(final SearchCond cond, final Set<String> dimensions) {
+        switch (cond.getType()) {
+            case LEAF:
+            case NOT_LEAF:
+                if (cond.getLeaf(AnyTypeCond.class).isPresent()) {
+                    return true;
+                }
+                if (cond.getLeaf(RelationshipTypeCond.class).isPresent()) {
+                    dimensions.add(RELATIONSHIP_TYPES);
+                    return true;
+                }
+                if (cond.getLeaf(AnyCond.class).isPresent()) {
+                    dimensions.add(FIELD_PREFIX + cond.getLeaf(AnyCond.class).get().getSchema());
+                    return true;
+                }
+                if (cond.getLeaf(AttrCond.class).isPresent()) {
+                    dimensions.add(ATTR_PREFIX + cond.getLeaf(AttrCond.class).get().getSchema());
+                    return true;
+                }
+                // other conditions also depend on dynamic memberships, group resources or other entities
+                return false;
+
+            case AND:
+            case OR:
+                boolean left = collectDimensions(cond.getLeft(), dimensions);
+                boolean right = collectDimensions(cond.getRight(), dimensions);
+                return left && right;
+
+            default:
+                return false;
+        }
+    }
+
+    private static String prefix(final String domain) {
+        return domain + ':';
+    }
+
+    protected final Cache<String, Rule> rules;
+
+    protected final Cache<String, Evaluation> evaluations;
+
+    public DynMembershipRuleIndex(final long maxRules, final long maxEvaluations) {
+        rules = Caffeine.newBuilder().maximumSize(maxRules).build();
+        evaluations = Caffeine.newBuilder().maximumSize(maxEvaluations).build();
+    }
+
+    /**
+     * Returns the compiled form of the given FIQL condition, parsing it only the first time.
+     *
+     * @param visitor visitor instance
+     * @param fiql FIQL string
+     * @return compiled condition
+     */
+    public Rule compile(final SearchCondVisitor visitor, final String fiql) {
+        return rules.get(fiql, k -> {
+            SearchCond cond = SearchCondConverter.convert(visitor, fiql);
+
+            Set<String> dimensions = new HashSet<>();
+            boolean tracked = collectDimensions(cond, dimensions);
+
+            return new Rule(fiql, cond, Set.copyOf(dimensions), !tracked);
+        });
+    }
+
+    private static Object value(final Any<?> any, final String dimension) {
+        if (dimension.startsWith(ATTR_PREFIX)) {
+            return any.getPlainAttr(dimension.substring(ATTR_PREFIX.length())).
+                    map(attr -> (Object) attr.getValuesAsStrings()).
+                    orElse(null);
+        }
+
+        if (dimension.startsWith(FIELD_PREFIX)) {
+            String field = dimension.substring(FIELD_PREFIX.length());
+            PropertyDescriptor pd = BeanUtils.getPropertyDescriptor(
+                    any.getClass(), "key".equals(field) ? "id" : field);
+            if (pd == null || pd.getReadMethod() == null) {
+                return null;
+            }
+            try {
+                Object value = pd.getReadMethod().invoke(any);
+                return value instanceof Entity ? ((Entity) value).getKey() : value;
+            } catch (Exception e) {
+                LOG.error("While accessing {}.{}", any, field, e);
+                // never equal to any other value, ensures that conditions on this field are evaluated
+                return new Object();
+            }
+        }
+
+        if (RELATIONSHIP_TYPES.equals(dimension) && any instanceof GroupableRelatable) {
+            return ((GroupableRelatable<?, ?, ?, ?, ?>) any).getRelationships().stream().
+                    map(rel -> rel.getType().getKey()).
+                    collect(Collectors.toSet());
+        }
+
+        return null;
+    }
+
+    /**
+     * Computes the current value of all dimensions referenced by the given rules for the given entity.
+     *
+     * @param any entity
+     * @param rules compiled conditions, by owner (group, role or dynamic realm) key
+     * @return value for each referenced dimension
+     */
+    public static Map<String, Object> snapshot(final Any<?> any, final Map<String, Rule> rules) {
+        Map<String, Object> snapshot = new HashMap<>();
+        rules.values().forEach(rule -> rule.getDimensions().forEach(dimension -> {
+            if (!snapshot.containsKey(dimension)) {
+                snapshot.put(dimension, value(any, dimension));
+            }
+        }));
+        return snapshot;
+    }
+
+    private static boolean unchanged(
+            final String owner,
+            final Rule rule,
+            final Map<String, Object> current,
+            final Evaluation previous) {
+
+        return previous != null
+                && !rule.isAlwaysEvaluate()
+                && previous.results.containsKey(owner)
+                && rule.getFiql().equals(previous.fiqls.get(owner))
+                && rule.getDimensions().stream().allMatch(d -> previous.values.containsKey(d)
+                && Objects.equals(current.get(d), previous.values.get(d)));
+    }
+
+    /**
+     * Evaluates the given rules against the given entity: rules whose FIQL and dimension values did not change since
+     * last evaluation for the same scope and entity are not evaluated again, but their recorded result is returned.
+     *
+     * @param scope dynamic membership table being refreshed
+     * @param any entity
+     * @param rules compiled conditions, by owner (group, role or dynamic realm) key
+     * @param matcher actual evaluation of a condition against the entity
+     * @return keys of owners whose condition is matched by the entity
+     */
+    public Set<String> evaluate(
+            final String scope,
+            final Any<?> any,
+            final Map<String, Rule> rules,
+            final BiPredicate<Any<?>, SearchCond> matcher) {
+
+        String key = prefix(AuthContextUtils.getDomain()) + scope + ':' + any.getKey();
+
+        Map<String, Object> current = snapshot(any, rules);
+        Evaluation previous = evaluations.getIfPresent(key);
+
+        Map<String, String> fiqls = new HashMap<>();
+        Map<String, Boolean> results = new HashMap<>();
+        Set<String> matching = new HashSet<>();
+        rules.forEach((owner, rule) -> {
+            boolean matches = unchanged(owner, rule, current, previous)
+                    ? previous.results.get(owner)
+                    : matcher.test(any, rule.getCond());
+            if (matches) {
+                matching.add(owner);
+            }
+
+            if (!rule.isAlwaysEvaluate()) {
+                fiqls.put(owner, rule.getFiql());
+                results.put(owner, matches);
+            }
+        });
+
+        evaluations.put(key, new Evaluation(current, fiqls, results));
+
+        return matching;
+    }
+
+    /**
+     * Drops the compiled conditions and all results recorded for the given domain.
+     *
+     * @param domain domain
+     */
+    public void clear(final String domain) {
+        rules.invalidateAll();
+        evaluations.asMap().keySet().removeIf(key -> key.startsWith(prefix(domain)));
+    }
+}
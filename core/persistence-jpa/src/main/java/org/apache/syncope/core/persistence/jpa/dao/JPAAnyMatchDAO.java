@@ -382,11 +382,12 @@ public class JPAAnyMatchDAO extends AbstractDAO<Any<?>> implements AnyMatchDAO {
         return not ? !found : found;
     }
 
-    protected boolean matches(final Any<?> any, final AnyCond cond, final boolean not) {
+    protected boolean matches(final Any<?> any, final AnyCond anyCond, final boolean not) {
+        // works on a copy, as the given condition might be shared, e.g. compiled dynamic membership conditions
+        AnyCond cond = new AnyCond(anyCond.getType());
         // Keeps track of difference between entity's getKey() and JPA @Id fields
-        if ("key".equals(cond.getSchema())) {
-            cond.setSchema("id");
-        }
+        cond.setSchema("key".equals(anyCond.getSchema()) ? "id" : anyCond.getSchema());
+        cond.setExpression(anyCond.getExpression());
 
         PropertyDescriptor pd;
         Object anyAttrValue;
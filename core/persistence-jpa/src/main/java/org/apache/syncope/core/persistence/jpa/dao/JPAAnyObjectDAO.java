@@ -33,9 +33,11 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.openjpa.persistence.jdbc.JDBCFetchPlan;
 import org.apache.syncope.common.lib.types.AnyEntitlement;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
+import org.apache.syncope.core.persistence.api.dao.DerAttrIndexDAO;
 import org.apache.syncope.core.persistence.api.dao.DerSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
@@ -75,10 +77,11 @@ public class JPAAnyObjectDAO extends AbstractAnyDAO<AnyObject> implements AnyObj
             final PlainSchemaDAO plainSchemaDAO,
             final DerSchemaDAO derSchemaDAO,
             final DynRealmDAO dynRealmDAO,
+            final DerAttrIndexDAO derAttrIndexDAO,
             final UserDAO userDAO,
             final GroupDAO groupDAO) {
 
-        super(anyUtilsFactory, plainSchemaDAO, derSchemaDAO, dynRealmDAO);
+        super(anyUtilsFactory, plainSchemaDAO, derSchemaDAO, dynRealmDAO, derAttrIndexDAO);
         this.userDAO = userDAO;
         this.groupDAO = groupDAO;
     }
@@ -237,6 +240,13 @@ public class JPAAnyObjectDAO extends AbstractAnyDAO<AnyObject> implements AnyObj
         return result;
     }
 
+    @Override
+    protected void hydrate(final JDBCFetchPlan fetchPlan) {
+        super.hydrate(fetchPlan);
+        fetchPlan.addField(JPAAnyObject.class, "memberships");
+        fetchPlan.addField(JPAAnyObject.class, "relationships");
+    }
+
     @Override
     public int count() {
         Query query = entityManager().createQuery(
@@ -259,6 +269,16 @@ public class JPAAnyObjectDAO extends AbstractAnyDAO<AnyObject> implements AnyObj
         return findAllKeys(JPAAnyObject.TABLE, page, itemsPerPage);
     }
 
+    @Override
+    public List<String> findAllKeys(final String after, final String upTo, final int itemsPerPage) {
+        return findAllKeys(JPAAnyObject.TABLE, after, upTo, itemsPerPage);
+    }
+
+    @Override
+    public List<String> findPartitionBounds(final int partitions) {
+        return findPartitionBounds(JPAAnyObject.TABLE, partitions);
+    }
+
     protected Pair<AnyObject, Pair<Set<String>, Set<String>>> doSave(final AnyObject anyObject) {
         AnyObject merged = super.save(anyObject);
 
@@ -314,6 +334,8 @@ public class JPAAnyObjectDAO extends AbstractAnyDAO<AnyObject> implements AnyObj
             entityManager().remove(relationship);
         });
 
+        derAttrIndexDAO.delete(anyObject);
+
         entityManager().remove(anyObject);
     }
 
@@ -19,10 +19,14 @@
 package org.apache.syncope.core.persistence.jpa.dao;
 
 import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
 import java.time.OffsetDateTime;
+import java.util.List;
 import org.apache.syncope.core.persistence.api.dao.BatchDAO;
 import org.apache.syncope.core.persistence.api.entity.Batch;
 import org.apache.syncope.core.persistence.jpa.entity.JPABatch;
+import org.apache.syncope.core.persistence.jpa.entity.JPABatchResult;
+import org.apache.syncope.core.spring.security.SecureRandomUtils;
 import org.springframework.transaction.annotation.Transactional;
 
 @Transactional(rollbackFor = Throwable.class)
@@ -39,6 +43,33 @@ public class JPABatchDAO extends AbstractDAO<Batch> implements BatchDAO {
         return entityManager().merge(batch);
     }
 
+    @Override
+    public void appendResults(final String key, final int index, final String chunk) {
+        JPABatchResult result = new JPABatchResult();
+        result.setKey(SecureRandomUtils.generateRandomUUID().toString());
+        result.setBatch(key);
+        result.setChunkIndex(index);
+        result.setContent(chunk);
+        entityManager().persist(result);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<String> findResults(final String key, final int page, final int itemsPerPage) {
+        TypedQuery<String> query = entityManager().createQuery(
+                "SELECT e.content FROM " + JPABatchResult.class.getSimpleName() + " e "
+                + "WHERE e.batch = :batch ORDER BY e.chunkIndex", String.class);
+        query.setParameter("batch", key);
+
+        query.setFirstResult(itemsPerPage * (page <= 0 ? 0 : page - 1));
+
+        if (itemsPerPage > 0) {
+            query.setMaxResults(itemsPerPage);
+        }
+
+        return query.getResultList();
+    }
+
     @Override
     public void delete(final String key) {
         Batch batch = find(key);
@@ -46,12 +77,23 @@ public class JPABatchDAO extends AbstractDAO<Batch> implements BatchDAO {
             return;
         }
 
+        Query query = entityManager().createQuery(
+                "DELETE FROM " + JPABatchResult.class.getSimpleName() + " e WHERE e.batch = :batch");
+        query.setParameter("batch", key);
+        query.executeUpdate();
+
         entityManager().remove(batch);
     }
 
     @Override
     public int deleteExpired() {
         Query query = entityManager().createQuery(
+                "DELETE FROM " + JPABatchResult.class.getSimpleName() + " e WHERE e.batch IN "
+                + "(SELECT b.id FROM " + JPABatch.class.getSimpleName() + " b WHERE b.expiryTime < :now)");
+        query.setParameter("now", OffsetDateTime.now());
+        query.executeUpdate();
+
+        query = entityManager().createQuery(
                 "DELETE FROM " + JPABatch.class.getSimpleName() + " e WHERE e.expiryTime < :now");
         query.setParameter("now", OffsetDateTime.now());
         return query.executeUpdate();
@@ -0,0 +1,446 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.apache.commons.jexl3.JexlContext;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.dao.AnyDAO;
+import org.apache.syncope.core.persistence.api.dao.DerAttrIndexDAO;
+import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
+import org.apache.syncope.core.persistence.api.entity.DerSchema;
+import org.apache.syncope.core.persistence.jpa.entity.JPADerAttrIndex;
+import org.apache.syncope.core.persistence.jpa.entity.JPADerAttrIndexStatus;
+import org.apache.syncope.core.persistence.jpa.entity.JPADerSchema;
+import org.apache.syncope.core.provisioning.api.jexl.JexlUtils;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.apache.syncope.core.spring.security.SecureRandomUtils;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class JPADerAttrIndexDAO extends AbstractDAO<JPADerAttrIndex> implements DerAttrIndexDAO {
+
+    /**
+     * Maximum length of indexed values: derived attributes with longer values are not indexed, and lookups for
+     * longer values are not served by the index.
+     */
+    public static final int MAX_VALUE_LENGTH = 255;
+
+    /**
+     * Number of entities whose values are built by each rebuild chunk, in its own transaction.
+     */
+    protected static final int CHUNK_SIZE = 1000;
+
+    protected static final String REBUILD_SCHEDULED = JPADerAttrIndexDAO.class.getName() + ".REBUILD_SCHEDULED";
+
+    /**
+     * Derived schemas not bound to any type class are indexed for all entities, consistently with
+     * {@link AnyDAO#findByDerAttrValue(DerSchema, String, boolean)}, which does not check for allowed schemas.
+     *
+     * @param any entity
+     * @param schema derived schema
+     * @return whether values of the given derived schema shall be indexed for the given entity
+     */
+    protected static boolean isAllowed(final Any<?> any, final DerSchema schema) {
+        return schema.getAnyTypeClass() == null
+                || any.getType().getClasses().contains(schema.getAnyTypeClass())
+                || any.getAuxClasses().contains(schema.getAnyTypeClass());
+    }
+
+    protected final AnyUtilsFactory anyUtilsFactory;
+
+    protected final Set<String> indexedSchemas;
+
+    protected final TaskExecutor executor;
+
+    /**
+     * Domains for which a rebuild is running, mapped to whether a further run was requested meanwhile.
+     */
+    protected final Map<String, Boolean> rebuilding = new ConcurrentHashMap<>();
+
+    public JPADerAttrIndexDAO(
+            final AnyUtilsFactory anyUtilsFactory,
+            final Set<String> indexedSchemas,
+            final TaskExecutor executor) {
+
+        this.anyUtilsFactory = anyUtilsFactory;
+        this.indexedSchemas = indexedSchemas;
+        this.executor = executor;
+    }
+
+    /**
+     * Values are built against the current expression when the last build completed for the current expression,
+     * and no realm was changed meanwhile.
+     *
+     * @param schema derived schema
+     * @return whether lookups for the given derived schema can be served by the index
+     */
+    protected boolean isBuilt(final DerSchema schema) {
+        JPADerAttrIndexStatus status = entityManager().find(JPADerAttrIndexStatus.class, schema.getKey());
+        return status != null
+                && status.getLastBuild() != null
+                && Objects.equals(status.getExpression(), schema.getExpression());
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Optional<List<String>> findKeys(
+            final AnyTypeKind anyTypeKind,
+            final DerSchema schema,
+            final String value,
+            final boolean ignoreCaseMatch) {
+
+        if (!indexedSchemas.contains(schema.getKey())
+                || StringUtils.length(value) > MAX_VALUE_LENGTH
+                || !isBuilt(schema)) {
+
+            return Optional.empty();
+        }
+
+        TypedQuery<String> query = entityManager().createQuery(
+                "SELECT e.anyKey FROM " + JPADerAttrIndex.class.getSimpleName() + " e "
+                + "WHERE e.schemaKey = :schemaKey AND e.anyTypeKind = :anyTypeKind AND "
+                + (ignoreCaseMatch ? "e.lowerStringValue" : "e.stringValue") + " = :value", String.class);
+        query.setParameter("schemaKey", schema.getKey());
+        query.setParameter("anyTypeKind", anyTypeKind);
+        query.setParameter("value", ignoreCaseMatch ? StringUtils.lowerCase(value) : value);
+
+        return Optional.of(query.getResultList());
+    }
+
+    protected Map<String, String> values(final Any<?> any, final List<DerSchema> schemas) {
+        Map<String, String> values = new HashMap<>();
+
+        Supplier<JexlContext> jexlContexts = null;
+        for (DerSchema schema : schemas) {
+            if (isAllowed(any, schema)) {
+                if (jexlContexts == null) {
+                    jexlContexts = JexlUtils.newLazyContexts(any, any.getPlainAttrs());
+                }
+
+                String value = JexlUtils.evaluate(
+                        JexlUtils.getExpression(schema.getExpression()), jexlContexts.get()).toString();
+                if (StringUtils.isNotEmpty(value) && value.length() <= MAX_VALUE_LENGTH) {
+                    values.put(schema.getKey(), value);
+                }
+            }
+        }
+
+        return values;
+    }
+
+    protected void index(final Any<?> any, final List<DerSchema> schemas, final List<JPADerAttrIndex> current) {
+        Map<String, String> values = values(any, schemas);
+
+        current.forEach(entry -> {
+            String value = values.remove(entry.getSchemaKey());
+            if (value == null) {
+                entityManager().remove(entry);
+            } else if (!value.equals(entry.getStringValue())) {
+                entry.setStringValue(value);
+                entry.setLowerStringValue(value.toLowerCase());
+            }
+        });
+
+        values.forEach((schemaKey, value) -> {
+            JPADerAttrIndex entry = new JPADerAttrIndex();
+            entry.setKey(SecureRandomUtils.generateRandomUUID().toString());
+            entry.setSchemaKey(schemaKey);
+            entry.setAnyTypeKind(any.getType().getKind());
+            entry.setAnyKey(any.getKey());
+            entry.setStringValue(value);
+            entry.setLowerStringValue(value.toLowerCase());
+            entityManager().persist(entry);
+        });
+    }
+
+    @Override
+    public void index(final Any<?> any) {
+        if (indexedSchemas.isEmpty()) {
+            return;
+        }
+
+        List<DerSchema> schemas = indexedSchemas.stream().
+                map(key -> (DerSchema) entityManager().find(JPADerSchema.class, key)).
+                filter(Objects::nonNull).
+                collect(Collectors.toList());
+
+        TypedQuery<JPADerAttrIndex> query = entityManager().createQuery(
+                "SELECT e FROM " + JPADerAttrIndex.class.getSimpleName() + " e "
+                + "WHERE e.anyKey = :anyKey", JPADerAttrIndex.class);
+        query.setParameter("anyKey", any.getKey());
+
+        index(any, schemas, query.getResultList());
+    }
+
+    @Override
+    public void delete(final Any<?> any) {
+        if (indexedSchemas.isEmpty()) {
+            return;
+        }
+
+        Query query = entityManager().createQuery(
+                "DELETE FROM " + JPADerAttrIndex.class.getSimpleName() + " e WHERE e.anyKey = :anyKey");
+        query.setParameter("anyKey", any.getKey());
+        query.executeUpdate();
+    }
+
+    @Override
+    public void rebuild(final DerSchema schema) {
+        if (!indexedSchemas.contains(schema.getKey()) || isBuilt(schema)) {
+            return;
+        }
+
+        LOG.info("Building index of values for derived schema {}", schema.getKey());
+
+        prepareRebuild(schema);
+        for (AnyTypeKind anyTypeKind : AnyTypeKind.values()) {
+            Optional<String> last = rebuildChunk(schema.getKey(), schema.getExpression(), anyTypeKind, null);
+            while (last.isPresent()) {
+                last = rebuildChunk(schema.getKey(), schema.getExpression(), anyTypeKind, last.get());
+            }
+        }
+        completeRebuild(schema.getKey(), schema.getExpression());
+    }
+
+    /**
+     * Removes the values of the given derived schema and records that they are being built against the current
+     * expression.
+     *
+     * @param schema derived schema
+     */
+    protected void prepareRebuild(final DerSchema schema) {
+        deleteValues(schema.getKey());
+
+        JPADerAttrIndexStatus status = entityManager().find(JPADerAttrIndexStatus.class, schema.getKey());
+        if (status == null) {
+            status = new JPADerAttrIndexStatus();
+            status.setKey(schema.getKey());
+            entityManager().persist(status);
+        }
+        status.setExpression(schema.getExpression());
+        status.setLastBuild(null);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Override
+    public Map<String, String> prepareRebuild() {
+        TypedQuery<String> query = entityManager().createQuery(
+                "SELECT e.id FROM " + JPADerAttrIndexStatus.class.getSimpleName() + " e", String.class);
+        query.getResultList().stream().
+                filter(schemaKey -> !indexedSchemas.contains(schemaKey)).
+                forEach(schemaKey -> {
+                    LOG.info("Derived schema {} no longer indexed, removing values", schemaKey);
+                    delete(schemaKey);
+                });
+
+        Map<String, String> toRebuild = new LinkedHashMap<>();
+        indexedSchemas.stream().
+                map(key -> entityManager().find(JPADerSchema.class, key)).
+                filter(schema -> schema != null && !isBuilt(schema)).
+                forEach(schema -> {
+                    prepareRebuild(schema);
+                    toRebuild.put(schema.getKey(), schema.getExpression());
+                });
+        return toRebuild;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Override
+    public Optional<String> rebuildChunk(
+            final String schemaKey,
+            final String expression,
+            final AnyTypeKind anyTypeKind,
+            final String after) {
+
+        DerSchema schema = entityManager().find(JPADerSchema.class, schemaKey);
+        if (schema == null || !Objects.equals(schema.getExpression(), expression)) {
+            LOG.info("Derived schema {} was changed or removed meanwhile, not building its values", schemaKey);
+            return Optional.empty();
+        }
+
+        AnyDAO<?> anyDAO = anyUtilsFactory.getInstance(anyTypeKind).dao();
+        List<String> keys = anyDAO.findAllKeys(after, null, CHUNK_SIZE);
+        if (keys.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // entities saved since the rebuild started were already indexed
+        TypedQuery<JPADerAttrIndex> query = entityManager().createQuery(
+                "SELECT e FROM " + JPADerAttrIndex.class.getSimpleName() + " e "
+                + "WHERE e.schemaKey = :schemaKey AND e.anyKey IN :anyKeys", JPADerAttrIndex.class);
+        query.setParameter("schemaKey", schemaKey);
+        query.setParameter("anyKeys", keys);
+        Map<String, List<JPADerAttrIndex>> current = query.getResultList().stream().
+                collect(Collectors.groupingBy(JPADerAttrIndex::getAnyKey));
+
+        anyDAO.findByKeys(keys).forEach(any -> {
+            index(any, List.of(schema), current.getOrDefault(any.getKey(), List.of()));
+            entityManager().detach(any);
+        });
+
+        return Optional.of(keys.get(keys.size() - 1));
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Override
+    public boolean completeRebuild(final String schemaKey, final String expression) {
+        DerSchema schema = entityManager().find(JPADerSchema.class, schemaKey);
+        JPADerAttrIndexStatus status = entityManager().find(JPADerAttrIndexStatus.class, schemaKey);
+        // status is removed upon realm change, which requires to build again
+        if (schema == null || status == null
+                || !Objects.equals(schema.getExpression(), expression)
+                || !Objects.equals(status.getExpression(), expression)) {
+
+            return false;
+        }
+
+        status.setLastBuild(OffsetDateTime.now());
+        return true;
+    }
+
+    /**
+     * Each step is invoked via the Spring proxy, for it to be committed in its own transaction: lookups are not
+     * served by the index for the derived schemas being built, until their last chunk is committed.
+     */
+    @Override
+    public void rebuild() {
+        DerAttrIndexDAO proxy = ApplicationContextProvider.getApplicationContext().getBean(DerAttrIndexDAO.class);
+
+        proxy.prepareRebuild().forEach((schemaKey, expression) -> {
+            LOG.info("Building index of values for derived schema {}", schemaKey);
+
+            for (AnyTypeKind anyTypeKind : AnyTypeKind.values()) {
+                Optional<String> last = proxy.rebuildChunk(schemaKey, expression, anyTypeKind, null);
+                while (last.isPresent()) {
+                    last = proxy.rebuildChunk(schemaKey, expression, anyTypeKind, last.get());
+                }
+            }
+
+            if (proxy.completeRebuild(schemaKey, expression)) {
+                LOG.info("Index of values for derived schema {} built", schemaKey);
+            } else {
+                LOG.info("Derived schema {} or realms were changed meanwhile, index to be built again", schemaKey);
+            }
+        });
+    }
+
+    @Override
+    public void rebuildAfterCommit() {
+        if (indexedSchemas.isEmpty()) {
+            return;
+        }
+
+        String domain = AuthContextUtils.getDomain();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rebuildAsync(domain);
+        } else if (!TransactionSynchronizationManager.hasResource(REBUILD_SCHEDULED)) {
+            TransactionSynchronizationManager.bindResource(REBUILD_SCHEDULED, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    rebuildAsync(domain);
+                }
+
+                @Override
+                public void afterCompletion(final int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(REBUILD_SCHEDULED);
+                }
+            });
+        }
+    }
+
+    /**
+     * Runs {@link #rebuild()} for the given domain in the background; requests received while a rebuild is running
+     * for the same domain are served by a single further run, once the current one is over.
+     *
+     * @param domain domain
+     */
+    protected void rebuildAsync(final String domain) {
+        if (rebuilding.compute(domain, (k, rerun) -> rerun != null)) {
+            return;
+        }
+
+        executor.execute(() -> {
+            do {
+                try {
+                    AuthContextUtils.callAsAdmin(domain, () -> {
+                        rebuild();
+                        return null;
+                    });
+                } catch (Exception e) {
+                    LOG.error("While building index of derived attribute values for domain {}", domain, e);
+                }
+            } while (rebuilding.compute(domain, (k, rerun) -> rerun ? Boolean.FALSE : null) != null);
+        });
+    }
+
+    @Override
+    public void realmChanged() {
+        indexedSchemas.stream().
+                map(key -> entityManager().find(JPADerSchema.class, key)).
+                filter(schema -> schema != null && JexlUtils.getVariables(schema.getExpression()).contains("realm")).
+                map(schema -> entityManager().find(JPADerAttrIndexStatus.class, schema.getKey())).
+                filter(Objects::nonNull).
+                forEach(status -> {
+                    LOG.debug("Realm changed, values for derived schema {} to be built again", status.getKey());
+                    entityManager().remove(status);
+                });
+
+        rebuildAfterCommit();
+    }
+
+    protected void deleteValues(final String schemaKey) {
+        Query query = entityManager().createQuery(
+                "DELETE FROM " + JPADerAttrIndex.class.getSimpleName() + " e WHERE e.schemaKey = :schemaKey");
+        query.setParameter("schemaKey", schemaKey);
+        query.executeUpdate();
+    }
+
+    protected void delete(final String schemaKey) {
+        deleteValues(schemaKey);
+
+        Optional.ofNullable(entityManager().find(JPADerAttrIndexStatus.class, schemaKey)).
+                ifPresent(entityManager()::remove);
+    }
+
+    @Override
+    public void delete(final DerSchema schema) {
+        delete(schema.getKey());
+    }
+}
@@ -21,6 +21,7 @@ package org.apache.syncope.core.persistence.jpa.dao;
 import jakarta.persistence.TypedQuery;
 import java.util.Collection;
 import java.util.List;
+import org.apache.syncope.core.persistence.api.dao.DerAttrIndexDAO;
 import org.apache.syncope.core.persistence.api.dao.DerSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
 import org.apache.syncope.core.persistence.api.entity.AnyTypeClass;
@@ -31,8 +32,11 @@ public class JPADerSchemaDAO extends AbstractDAO<DerSchema> implements DerSchema
 
     protected final ExternalResourceDAO resourceDAO;
 
-    public JPADerSchemaDAO(final ExternalResourceDAO resourceDAO) {
+    protected final DerAttrIndexDAO derAttrIndexDAO;
+
+    public JPADerSchemaDAO(final ExternalResourceDAO resourceDAO, final DerAttrIndexDAO derAttrIndexDAO) {
         this.resourceDAO = resourceDAO;
+        this.derAttrIndexDAO = derAttrIndexDAO;
     }
 
     @Override
@@ -74,7 +78,11 @@ public class JPADerSchemaDAO extends AbstractDAO<DerSchema> implements DerSchema
     @Override
     public DerSchema save(final DerSchema schema) {
         ((JPADerSchema) schema).map2json();
-        return entityManager().merge(schema);
+        DerSchema merged = entityManager().merge(schema);
+
+        derAttrIndexDAO.rebuildAfterCommit();
+
+        return merged;
     }
 
     @Override
@@ -86,6 +94,8 @@ public class JPADerSchemaDAO extends AbstractDAO<DerSchema> implements DerSchema
 
         resourceDAO.deleteMapping(key);
 
+        derAttrIndexDAO.delete(schema);
+
         if (schema.getAnyTypeClass() != null) {
             schema.getAnyTypeClass().getDerSchemas().remove(schema);
         }
@@ -21,21 +21,25 @@ package org.apache.syncope.core.persistence.jpa.dao;
 import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.syncope.core.persistence.api.dao.AnyDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyMatchDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.DynRealm;
 import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
 import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
 import org.apache.syncope.core.persistence.jpa.entity.JPADynRealm;
-import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
-import org.apache.syncope.core.spring.security.AuthContextUtils;
-import org.identityconnectors.framework.common.objects.SyncDeltaType;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -57,6 +61,10 @@ public class JPADynRealmDAO extends AbstractDAO<DynRealm> implements DynRealmDAO
 
     protected final SearchCondVisitor searchCondVisitor;
 
+    protected final DynMembershipRuleIndex dynMembershipRuleIndex;
+
+    protected final DynMembershipHelper dynMembershipHelper;
+
     public JPADynRealmDAO(
             final ApplicationEventPublisher publisher,
             final UserDAO userDAO,
@@ -64,7 +72,9 @@ public class JPADynRealmDAO extends AbstractDAO<DynRealm> implements DynRealmDAO
             final AnyObjectDAO anyObjectDAO,
             final AnySearchDAO searchDAO,
             final AnyMatchDAO anyMatchDAO,
-            final SearchCondVisitor searchCondVisitor) {
+            final SearchCondVisitor searchCondVisitor,
+            final DynMembershipRuleIndex dynMembershipRuleIndex,
+            final DynMembershipHelper dynMembershipHelper) {
 
         this.publisher = publisher;
         this.userDAO = userDAO;
@@ -73,6 +83,8 @@ public class JPADynRealmDAO extends AbstractDAO<DynRealm> implements DynRealmDAO
         this.searchDAO = searchDAO;
         this.anyMatchDAO = anyMatchDAO;
         this.searchCondVisitor = searchCondVisitor;
+        this.dynMembershipRuleIndex = dynMembershipRuleIndex;
+        this.dynMembershipHelper = dynMembershipHelper;
     }
 
     @Override
@@ -92,17 +104,10 @@ public class JPADynRealmDAO extends AbstractDAO<DynRealm> implements DynRealmDAO
         return entityManager().merge(dynRealm);
     }
 
-    @SuppressWarnings("unchecked")
     protected List<String> clearDynMembers(final DynRealm dynRealm) {
-        Query find = entityManager().createNativeQuery(
-                "SELECT any_id FROM " + DYNMEMB_TABLE + " WHERE dynRealm_id=?");
-        find.setParameter(1, dynRealm.getKey());
-
-        List<String> cleared = new ArrayList<>();
-        find.getResultList().stream().map(key -> key instanceof Object[]
-                ? (String) ((Object[]) key)[0]
-                : ((String) key)).
-                forEach(key -> cleared.add((String) key));
+        List<String> cleared = new ArrayList<>(dynMembershipHelper.findKeys(
+                entityManager(),
+                "SELECT any_id FROM " + DYNMEMB_TABLE + " WHERE dynRealm_id=?", dynRealm.getKey()));
 
         Query delete = entityManager().createNativeQuery("DELETE FROM " + DYNMEMB_TABLE + " WHERE dynRealm_id=?");
         delete.setParameter(1, dynRealm.getKey());
@@ -112,43 +117,50 @@ public class JPADynRealmDAO extends AbstractDAO<DynRealm> implements DynRealmDAO
     }
 
     protected void notifyDynMembershipRemoval(final List<String> anyKeys) {
-        anyKeys.forEach(key -> {
-            Any<?> any = userDAO.find(key);
-            if (any == null) {
-                any = groupDAO.find(key);
-            }
-            if (any == null) {
-                any = anyObjectDAO.find(key);
+        List<String> keys = anyKeys;
+        for (AnyDAO<?> anyDAO : List.of(userDAO, groupDAO, anyObjectDAO)) {
+            if (!keys.isEmpty()) {
+                keys = new ArrayList<>(dynMembershipHelper.publishUpdates(entityManager(), keys, anyDAO::findByKeys));
             }
-            if (any != null) {
-                publisher.publishEvent(
-                        new EntityLifecycleEvent<>(this, SyncDeltaType.UPDATE, any, AuthContextUtils.getDomain()));
-            }
-        });
+        }
     }
 
     @Override
     public DynRealm saveAndRefreshDynMemberships(final DynRealm dynRealm) {
         DynRealm merged = save(dynRealm);
 
-        // refresh dynamic memberships
-        List<String> cleared = clearDynMembers(merged);
-
-        merged.getDynMemberships().stream().map(memb -> searchDAO.search(
-                SearchCondConverter.convert(searchCondVisitor, memb.getFIQLCond()), memb.getAnyType().getKind())).
-                forEach(matching -> matching.forEach(any -> {
-
-            Query insert = entityManager().createNativeQuery("INSERT INTO " + DYNMEMB_TABLE + " VALUES(?, ?)");
-            insert.setParameter(1, any.getKey());
-            insert.setParameter(2, merged.getKey());
-            insert.executeUpdate();
-
-            publisher.publishEvent(
-                    new EntityLifecycleEvent<>(this, SyncDeltaType.UPDATE, any, AuthContextUtils.getDomain()));
-            cleared.remove(any.getKey());
-        }));
+        // refresh dynamic memberships: only differences with current members are written and notified
+        Set<String> before = dynMembershipHelper.findKeys(
+                entityManager(),
+                "SELECT any_id FROM " + DYNMEMB_TABLE + " WHERE dynRealm_id=?", merged.getKey());
+
+        Set<String> after = new HashSet<>();
+        merged.getDynMemberships().forEach(memb -> {
+            SearchCond cond = SearchCondConverter.convert(searchCondVisitor, memb.getFIQLCond());
+            DynMembershipHelper.<Any<?>>forEachPage(
+                    last -> searchDAO.search(cond, last, AnyDAO.DEFAULT_PAGE_SIZE, memb.getAnyType().getKind()),
+                    matching -> {
+                        List<Any<?>> added = matching.stream().
+                                filter(any -> !before.contains(any.getKey())).
+                                collect(Collectors.toList());
+                        matching.forEach(any -> after.add(any.getKey()));
+
+                        dynMembershipHelper.batchUpdate(
+                                entityManager(),
+                                "INSERT INTO " + DYNMEMB_TABLE + " VALUES(?, ?)",
+                                added.stream().
+                                        map(any -> new Object[] { any.getKey(), merged.getKey() }).
+                                        collect(Collectors.toList()));
+                        dynMembershipHelper.publishUpdates(entityManager(), added);
+                    });
+        });
 
-        notifyDynMembershipRemoval(cleared);
+        List<String> removed = before.stream().filter(key -> !after.contains(key)).collect(Collectors.toList());
+        dynMembershipHelper.batchUpdate(
+                entityManager(),
+                "DELETE FROM " + DYNMEMB_TABLE + " WHERE dynRealm_id=? AND any_id=?",
+                removed.stream().map(key -> new Object[] { merged.getKey(), key }).collect(Collectors.toList()));
+        notifyDynMembershipRemoval(removed);
 
         return merged;
     }
@@ -168,29 +180,35 @@ public class JPADynRealmDAO extends AbstractDAO<DynRealm> implements DynRealmDAO
     @Transactional
     @Override
     public void refreshDynMemberships(final Any<?> any) {
-        findAll().forEach(dynRealm -> dynRealm.getDynMembership(any.getType()).ifPresent(memb -> {
-            boolean matches = anyMatchDAO.matches(
-                    any, SearchCondConverter.convert(searchCondVisitor, memb.getFIQLCond()));
+        Map<String, DynMembershipRuleIndex.Rule> rules = new HashMap<>();
+        findAll().forEach(dynRealm -> dynRealm.getDynMembership(any.getType()).ifPresent(memb -> rules.put(
+                dynRealm.getKey(),
+                dynMembershipRuleIndex.compile(searchCondVisitor, memb.getFIQLCond()))));
+
+        Set<String> existingKeys = dynMembershipHelper.findKeys(
+                entityManager(),
+                "SELECT dynRealm_id FROM " + DYNMEMB_TABLE + " WHERE any_id=?", any.getKey());
+        Set<String> matchingKeys = dynMembershipRuleIndex.evaluate(
+                DYNMEMB_TABLE, any, rules, anyMatchDAO::matches);
 
-            Query find = entityManager().createNativeQuery(
-                    "SELECT dynRealm_id FROM " + DYNMEMB_TABLE + " WHERE any_id=?");
-            find.setParameter(1, any.getKey());
-            boolean existing = !find.getResultList().isEmpty();
+        rules.keySet().forEach(dynRealmKey -> {
+            boolean existing = existingKeys.contains(dynRealmKey);
+            boolean matches = matchingKeys.contains(dynRealmKey);
 
             if (matches && !existing) {
                 Query insert = entityManager().
                         createNativeQuery("INSERT INTO " + DYNMEMB_TABLE + " VALUES(?, ?)");
                 insert.setParameter(1, any.getKey());
-                insert.setParameter(2, dynRealm.getKey());
+                insert.setParameter(2, dynRealmKey);
                 insert.executeUpdate();
             } else if (!matches && existing) {
                 Query delete = entityManager().createNativeQuery(
                         "DELETE FROM " + DYNMEMB_TABLE + " WHERE dynRealm_id=? AND any_id=?");
-                delete.setParameter(1, dynRealm.getKey());
+                delete.setParameter(1, dynRealmKey);
                 delete.setParameter(2, any.getKey());
                 delete.executeUpdate();
             }
-        }));
+        });
     }
 
     @Override
@@ -21,9 +21,11 @@ package org.apache.syncope.core.persistence.jpa.dao;
 import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
+import org.apache.syncope.common.lib.to.OrgUnit;
 import org.apache.syncope.common.lib.to.Provision;
 import org.apache.syncope.common.lib.types.IdMEntitlement;
 import org.apache.syncope.common.lib.types.TaskType;
@@ -47,6 +49,7 @@ import org.apache.syncope.core.persistence.api.entity.policy.PushPolicy;
 import org.apache.syncope.core.persistence.jpa.entity.JPAExternalResource;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.core.spring.security.DelegatedAdministrationException;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 
@@ -219,6 +222,30 @@ public class JPAExternalResourceDAO extends AbstractDAO<ExternalResource> implem
         return entityManager().merge(resource);
     }
 
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Override
+    public void saveSyncTokens(final String key, final Map<String, String> syncTokens) {
+        ExternalResource resource = find(key);
+        if (resource == null) {
+            LOG.error("Could not find resource {}, not saving sync tokens", key);
+            return;
+        }
+
+        OrgUnit orgUnit = resource.getOrgUnit();
+        syncTokens.forEach((objectClass, syncToken) -> {
+            if (orgUnit != null && objectClass.equals(orgUnit.getObjectClass())) {
+                orgUnit.setSyncToken(syncToken);
+            } else {
+                resource.getProvisionByObjectClass(objectClass).ifPresent(p -> p.setSyncToken(syncToken));
+            }
+        });
+        if (orgUnit != null) {
+            resource.setOrgUnit(orgUnit);
+        }
+
+        save(resource);
+    }
+
     @Override
     public void deleteMapping(final String intAttrName) {
         findAll().forEach(resource -> {
@@ -24,10 +24,13 @@ import jakarta.persistence.TypedQuery;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
@@ -36,6 +39,7 @@ import org.apache.syncope.core.persistence.api.dao.AnyDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyMatchDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.DerAttrIndexDAO;
 import org.apache.syncope.core.persistence.api.dao.DerSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
@@ -43,10 +47,12 @@ import org.apache.syncope.core.persistence.api.dao.PlainAttrDAO;
 import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.AnyType;
 import org.apache.syncope.core.persistence.api.entity.AnyTypeClass;
 import org.apache.syncope.core.persistence.api.entity.AnyUtils;
 import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
+import org.apache.syncope.core.persistence.api.entity.DynGroupMembership;
 import org.apache.syncope.core.persistence.api.entity.ExternalResource;
 import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.persistence.api.entity.anyobject.ADynGroupMembership;
@@ -93,20 +99,27 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
 
     protected final SearchCondVisitor searchCondVisitor;
 
+    protected final DynMembershipRuleIndex dynMembershipRuleIndex;
+
+    protected final DynMembershipHelper dynMembershipHelper;
+
     public JPAGroupDAO(
             final AnyUtilsFactory anyUtilsFactory,
             final ApplicationEventPublisher publisher,
             final PlainSchemaDAO plainSchemaDAO,
             final DerSchemaDAO derSchemaDAO,
             final DynRealmDAO dynRealmDAO,
+            final DerAttrIndexDAO derAttrIndexDAO,
             final AnyMatchDAO anyMatchDAO,
             final PlainAttrDAO plainAttrDAO,
             final UserDAO userDAO,
             final AnyObjectDAO anyObjectDAO,
             final AnySearchDAO searchDAO,
-            final SearchCondVisitor searchCondVisitor) {
+            final SearchCondVisitor searchCondVisitor,
+            final DynMembershipRuleIndex dynMembershipRuleIndex,
+            final DynMembershipHelper dynMembershipHelper) {
 
-        super(anyUtilsFactory, plainSchemaDAO, derSchemaDAO, dynRealmDAO);
+        super(anyUtilsFactory, plainSchemaDAO, derSchemaDAO, dynRealmDAO, derAttrIndexDAO);
         this.publisher = publisher;
         this.anyMatchDAO = anyMatchDAO;
         this.plainAttrDAO = plainAttrDAO;
@@ -114,6 +127,8 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
         this.anyObjectDAO = anyObjectDAO;
         this.anySearchDAO = searchDAO;
         this.searchCondVisitor = searchCondVisitor;
+        this.dynMembershipRuleIndex = dynMembershipRuleIndex;
+        this.dynMembershipHelper = dynMembershipHelper;
     }
 
     @Override
@@ -289,71 +304,99 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
         return findAllKeys(JPAGroup.TABLE, page, itemsPerPage);
     }
 
+    @Override
+    public List<String> findAllKeys(final String after, final String upTo, final int itemsPerPage) {
+        return findAllKeys(JPAGroup.TABLE, after, upTo, itemsPerPage);
+    }
+
+    @Override
+    public List<String> findPartitionBounds(final int partitions) {
+        return findPartitionBounds(JPAGroup.TABLE, partitions);
+    }
+
     protected SearchCond buildDynMembershipCond(final String baseCondFIQL) {
         return SearchCondConverter.convert(searchCondVisitor, baseCondFIQL);
     }
 
+    protected Set<String> findDynMemberKeys(final String table, final String groupKey) {
+        return dynMembershipHelper.findKeys(
+                entityManager(), "SELECT any_id FROM " + table + " WHERE group_id=?", groupKey);
+    }
+
+    protected <A extends Any<?>> void addDynMembers(
+            final List<A> matching,
+            final Set<String> before,
+            final Set<String> after,
+            final String insertSQL,
+            final Function<A, Object[]> insertParams) {
+
+        List<A> added = matching.stream().
+                filter(any -> !before.contains(any.getKey())).
+                collect(Collectors.toList());
+        matching.forEach(any -> after.add(any.getKey()));
+
+        dynMembershipHelper.batchUpdate(
+                entityManager(), insertSQL, added.stream().map(insertParams).collect(Collectors.toList()));
+        dynMembershipHelper.publishUpdates(entityManager(), added);
+    }
+
+    protected void removeDynMembers(
+            final String table,
+            final String groupKey,
+            final Set<String> before,
+            final Set<String> after,
+            final AnyDAO<?> anyDAO) {
+
+        List<String> removed = before.stream().
+                filter(key -> !after.contains(key)).
+                collect(Collectors.toList());
+
+        dynMembershipHelper.batchUpdate(
+                entityManager(),
+                "DELETE FROM " + table + " WHERE group_id=? AND any_id=?",
+                removed.stream().map(key -> new Object[] { groupKey, key }).collect(Collectors.toList()));
+        dynMembershipHelper.publishUpdates(entityManager(), removed, anyDAO::findByKeys);
+    }
+
     @Override
     public Group saveAndRefreshDynMemberships(final Group group) {
         Group merged = save(group);
+        Set<String> adminRealms = Set.of(merged.getRealm().getFullPath());
 
-        // refresh dynamic memberships
-        clearUDynMembers(merged);
+        // refresh dynamic memberships: only differences with current members are written and notified
+        Set<String> before = findDynMemberKeys(UDYNMEMB_TABLE, merged.getKey());
+        Set<String> after = new HashSet<>();
         if (merged.getUDynMembership() != null) {
             SearchCond cond = buildDynMembershipCond(merged.getUDynMembership().getFIQLCond());
-            int count = anySearchDAO.count(
-                    merged.getRealm(), true, Set.of(merged.getRealm().getFullPath()), cond, AnyTypeKind.USER);
-            for (int page = 1; page <= (count / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
-                List<User> matching = anySearchDAO.search(
-                        merged.getRealm(),
-                        true,
-                        Set.of(merged.getRealm().getFullPath()),
-                        cond,
-                        page,
-                        AnyDAO.DEFAULT_PAGE_SIZE,
-                        List.of(),
-                        AnyTypeKind.USER);
-
-                matching.forEach(user -> {
-                    Query insert = entityManager().createNativeQuery("INSERT INTO " + UDYNMEMB_TABLE + " VALUES(?, ?)");
-                    insert.setParameter(1, user.getKey());
-                    insert.setParameter(2, merged.getKey());
-                    insert.executeUpdate();
-
-                    publisher.publishEvent(
-                            new EntityLifecycleEvent<>(this, SyncDeltaType.UPDATE, user, AuthContextUtils.getDomain()));
-                });
-            }
+            DynMembershipHelper.<User>forEachPage(
+                    last -> anySearchDAO.search(
+                            merged.getRealm(), true, adminRealms, cond, last, AnyDAO.DEFAULT_PAGE_SIZE,
+                            AnyTypeKind.USER),
+                    matching -> addDynMembers(
+                            matching,
+                            before,
+                            after,
+                            "INSERT INTO " + UDYNMEMB_TABLE + " VALUES(?, ?)",
+                            user -> new Object[] { user.getKey(), merged.getKey() }));
         }
-        clearADynMembers(merged);
+        removeDynMembers(UDYNMEMB_TABLE, merged.getKey(), before, after, userDAO);
+
+        Set<String> aBefore = findDynMemberKeys(ADYNMEMB_TABLE, merged.getKey());
+        Set<String> aAfter = new HashSet<>();
         merged.getADynMemberships().forEach(memb -> {
             SearchCond cond = buildDynMembershipCond(memb.getFIQLCond());
-            int count = anySearchDAO.count(
-                    merged.getRealm(), true, Set.of(merged.getRealm().getFullPath()), cond, AnyTypeKind.ANY_OBJECT);
-            for (int page = 1; page <= (count / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
-                List<AnyObject> matching = anySearchDAO.search(
-                        merged.getRealm(),
-                        true,
-                        Set.of(merged.getRealm().getFullPath()),
-                        cond,
-                        page,
-                        AnyDAO.DEFAULT_PAGE_SIZE,
-                        List.of(),
-                        AnyTypeKind.ANY_OBJECT);
-
-                matching.forEach(any -> {
-                    Query insert = entityManager().createNativeQuery(
-                            "INSERT INTO " + ADYNMEMB_TABLE + " VALUES(?, ?, ?)");
-                    insert.setParameter(1, any.getType().getKey());
-                    insert.setParameter(2, any.getKey());
-                    insert.setParameter(3, merged.getKey());
-                    insert.executeUpdate();
-
-                    publisher.publishEvent(
-                            new EntityLifecycleEvent<>(this, SyncDeltaType.UPDATE, any, AuthContextUtils.getDomain()));
-                });
-            }
+            DynMembershipHelper.<AnyObject>forEachPage(
+                    last -> anySearchDAO.search(
+                            merged.getRealm(), true, adminRealms, cond, last, AnyDAO.DEFAULT_PAGE_SIZE,
+                            AnyTypeKind.ANY_OBJECT),
+                    matching -> addDynMembers(
+                            matching,
+                            aBefore,
+                            aAfter,
+                            "INSERT INTO " + ADYNMEMB_TABLE + " VALUES(?, ?, ?)",
+                            any -> new Object[] { any.getType().getKey(), any.getKey(), merged.getKey() }));
         });
+        removeDynMembers(ADYNMEMB_TABLE, merged.getKey(), aBefore, aAfter, anyObjectDAO);
 
         dynRealmDAO.refreshDynMemberships(merged);
 
@@ -400,6 +443,8 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
         clearUDynMembers(group);
         clearADynMembers(group);
 
+        derAttrIndexDAO.delete(group);
+
         entityManager().remove(group);
     }
 
@@ -543,52 +588,81 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
         return query.getResultList();
     }
 
-    @Transactional
-    @Override
-    public Pair<Set<String>, Set<String>> refreshDynMemberships(final AnyObject anyObject) {
-        Query query = entityManager().createNativeQuery(
-                "SELECT group_id FROM " + JPAGroupDAO.ADYNMEMB_TABLE + " WHERE any_id=?");
-        query.setParameter(1, anyObject.getKey());
-
-        Set<String> before = new HashSet<>();
-        Set<String> after = new HashSet<>();
-        findWithADynMemberships(anyObject.getType()).forEach(memb -> {
-            boolean matches = anyMatchDAO.matches(anyObject, buildDynMembershipCond(memb.getFIQLCond()));
-            if (matches) {
-                after.add(memb.getGroup().getKey());
-            }
-
-            Query find = entityManager().createNativeQuery(
-                    "SELECT any_id FROM " + ADYNMEMB_TABLE + " WHERE group_id=? AND any_id=?");
-            find.setParameter(1, memb.getGroup().getKey());
-            find.setParameter(2, anyObject.getKey());
-            boolean existing = !find.getResultList().isEmpty();
-            if (existing) {
-                before.add(memb.getGroup().getKey());
-            }
+    protected Set<String> findDynGroupKeys(final String table, final String anyKey) {
+        return dynMembershipHelper.findKeys(
+                entityManager(), "SELECT group_id FROM " + table + " WHERE any_id=?", anyKey);
+    }
+
+    /**
+     * Refreshes the dynamic group memberships of the given any: existing memberships are read with a single query,
+     * only the dynamic conditions possibly affected by changes occurred since the last refresh are evaluated, and
+     * only actual differences are written.
+     *
+     * @param any user or any object
+     * @param table dynamic membership table
+     * @param dynMemberships dynamic group memberships to evaluate
+     * @param inserter adds a row to the dynamic membership table for the given group key
+     * @return group keys before and after refresh
+     */
+    protected Pair<Set<String>, Set<String>> refreshDynMemberships(
+            final Any<?> any,
+            final String table,
+            final List<? extends DynGroupMembership<?>> dynMemberships,
+            final Consumer<String> inserter) {
+
+        Map<String, Group> groups = new HashMap<>();
+        Map<String, DynMembershipRuleIndex.Rule> rules = new HashMap<>();
+        dynMemberships.forEach(memb -> {
+            groups.put(memb.getGroup().getKey(), memb.getGroup());
+            rules.put(memb.getGroup().getKey(), dynMembershipRuleIndex.compile(searchCondVisitor, memb.getFIQLCond()));
+        });
 
-            if (matches && !existing) {
-                Query insert = entityManager().createNativeQuery(
-                        "INSERT INTO " + ADYNMEMB_TABLE + " VALUES(?, ?, ?)");
-                insert.setParameter(1, anyObject.getType().getKey());
-                insert.setParameter(2, anyObject.getKey());
-                insert.setParameter(3, memb.getGroup().getKey());
-                insert.executeUpdate();
-            } else if (!matches && existing) {
-                Query delete = entityManager().createNativeQuery(
-                        "DELETE FROM " + ADYNMEMB_TABLE + " WHERE group_id=? AND any_id=?");
-                delete.setParameter(1, memb.getGroup().getKey());
-                delete.setParameter(2, anyObject.getKey());
-                delete.executeUpdate();
+        Set<String> before = findDynGroupKeys(table, any.getKey());
+        Set<String> after = dynMembershipRuleIndex.evaluate(table, any, rules, anyMatchDAO::matches);
+        rules.keySet().forEach(groupKey -> {
+            boolean existing = before.contains(groupKey);
+            boolean matches = after.contains(groupKey);
+            if (matches != existing) {
+                if (matches) {
+                    inserter.accept(groupKey);
+                } else {
+                    Query delete = entityManager().createNativeQuery(
+                            "DELETE FROM " + table + " WHERE group_id=? AND any_id=?");
+                    delete.setParameter(1, groupKey);
+                    delete.setParameter(2, any.getKey());
+                    delete.executeUpdate();
+                }
+
+                publisher.publishEvent(new EntityLifecycleEvent<>(
+                        this, SyncDeltaType.UPDATE, groups.get(groupKey), AuthContextUtils.getDomain()));
             }
-
-            publisher.publishEvent(new EntityLifecycleEvent<>(
-                    this, SyncDeltaType.UPDATE, memb.getGroup(), AuthContextUtils.getDomain()));
         });
+        if (any instanceof User
+                && rules.keySet().stream().anyMatch(key -> before.contains(key) != after.contains(key))) {
+
+            dynMembershipHelper.dynMembershipsChanged(entityManager(), Set.of(any.getKey()));
+        }
 
         return Pair.of(before, after);
     }
 
+    @Transactional
+    @Override
+    public Pair<Set<String>, Set<String>> refreshDynMemberships(final AnyObject anyObject) {
+        return refreshDynMemberships(
+                anyObject,
+                ADYNMEMB_TABLE,
+                findWithADynMemberships(anyObject.getType()),
+                groupKey -> {
+                    Query insert = entityManager().createNativeQuery(
+                            "INSERT INTO " + ADYNMEMB_TABLE + " VALUES(?, ?, ?)");
+                    insert.setParameter(1, anyObject.getType().getKey());
+                    insert.setParameter(2, anyObject.getKey());
+                    insert.setParameter(3, groupKey);
+                    insert.executeUpdate();
+                });
+    }
+
     @Override
     public Set<String> removeDynMemberships(final AnyObject anyObject) {
         List<Group> dynGroups = anyObjectDAO.findDynGroups(anyObject.getKey());
@@ -645,46 +719,17 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
     @Transactional
     @Override
     public Pair<Set<String>, Set<String>> refreshDynMemberships(final User user) {
-        Query query = entityManager().createNativeQuery(
-                "SELECT group_id FROM " + JPAGroupDAO.UDYNMEMB_TABLE + " WHERE any_id=?");
-        query.setParameter(1, user.getKey());
-
-        Set<String> before = new HashSet<>();
-        Set<String> after = new HashSet<>();
-        findWithUDynMemberships().forEach(memb -> {
-            boolean matches = anyMatchDAO.matches(user, buildDynMembershipCond(memb.getFIQLCond()));
-            if (matches) {
-                after.add(memb.getGroup().getKey());
-            }
-
-            Query find = entityManager().createNativeQuery(
-                    "SELECT any_id FROM " + UDYNMEMB_TABLE + " WHERE group_id=? AND any_id=?");
-            find.setParameter(1, memb.getGroup().getKey());
-            find.setParameter(2, user.getKey());
-            boolean existing = !find.getResultList().isEmpty();
-            if (existing) {
-                before.add(memb.getGroup().getKey());
-            }
-
-            if (matches && !existing) {
-                Query insert = entityManager().createNativeQuery(
-                        "INSERT INTO " + UDYNMEMB_TABLE + " VALUES(?, ?)");
-                insert.setParameter(1, user.getKey());
-                insert.setParameter(2, memb.getGroup().getKey());
-                insert.executeUpdate();
-            } else if (!matches && existing) {
-                Query delete = entityManager().createNativeQuery(
-                        "DELETE FROM " + UDYNMEMB_TABLE + " WHERE group_id=? AND any_id=?");
-                delete.setParameter(1, memb.getGroup().getKey());
-                delete.setParameter(2, user.getKey());
-                delete.executeUpdate();
-            }
-
-            publisher.publishEvent(new EntityLifecycleEvent<>(
-                    this, SyncDeltaType.UPDATE, memb.getGroup(), AuthContextUtils.getDomain()));
-        });
-
-        return Pair.of(before, after);
+        return refreshDynMemberships(
+                user,
+                UDYNMEMB_TABLE,
+                findWithUDynMemberships(),
+                groupKey -> {
+                    Query insert = entityManager().createNativeQuery(
+                            "INSERT INTO " + UDYNMEMB_TABLE + " VALUES(?, ?)");
+                    insert.setParameter(1, user.getKey());
+                    insert.setParameter(2, groupKey);
+                    insert.executeUpdate();
+                });
     }
 
     @Override
@@ -702,6 +747,9 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
             publisher.publishEvent(new EntityLifecycleEvent<>(
                     this, SyncDeltaType.UPDATE, group, AuthContextUtils.getDomain()));
         });
+        if (!before.isEmpty()) {
+            dynMembershipHelper.dynMembershipsChanged(entityManager(), Set.of(user.getKey()));
+        }
 
         return before;
     }
@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.core.persistence.api.dao.DerAttrIndexDAO;
 import org.apache.syncope.core.persistence.api.dao.MalformedPathException;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.persistence.api.dao.RoleDAO;
@@ -52,10 +53,17 @@ public class JPARealmDAO extends AbstractDAO<Realm> implements RealmDAO {
 
     protected final RoleDAO roleDAO;
 
+    protected final DerAttrIndexDAO derAttrIndexDAO;
+
     protected final ApplicationEventPublisher publisher;
 
-    public JPARealmDAO(final RoleDAO roleDAO, final ApplicationEventPublisher publisher) {
+    public JPARealmDAO(
+            final RoleDAO roleDAO,
+            final DerAttrIndexDAO derAttrIndexDAO,
+            final ApplicationEventPublisher publisher) {
+
         this.roleDAO = roleDAO;
+        this.derAttrIndexDAO = derAttrIndexDAO;
         this.publisher = publisher;
     }
 
@@ -338,6 +346,22 @@ public class JPARealmDAO extends AbstractDAO<Realm> implements RealmDAO {
                 : ((String) key)).collect(Collectors.toList());
     }
 
+    @Override
+    public List<String> findAllKeys(final String after, final int itemsPerPage) {
+        Query query = entityManager().createNativeQuery("SELECT id FROM " + JPARealm.TABLE
+                + (after == null ? "" : " WHERE id > ?1") + " ORDER BY id");
+        if (after != null) {
+            query.setParameter(1, after);
+        }
+        query.setMaxResults(itemsPerPage);
+
+        @SuppressWarnings("unchecked")
+        List<Object> raw = query.getResultList();
+        return raw.stream().map(key -> key instanceof Object[]
+                ? (String) ((Object[]) key)[0]
+                : ((String) key)).collect(Collectors.toList());
+    }
+
     @Override
     public Realm save(final Realm realm) {
         String fullPathBefore = realm.getFullPath();
@@ -350,6 +374,10 @@ public class JPARealmDAO extends AbstractDAO<Realm> implements RealmDAO {
 
         if (!fullPathAfter.equals(fullPathBefore)) {
             findChildren(realm).forEach(this::save);
+
+            if (fullPathBefore != null) {
+                derAttrIndexDAO.realmChanged();
+            }
         }
 
         publisher.publishEvent(
@@ -18,12 +18,15 @@
  */
 package org.apache.syncope.core.persistence.jpa.dao;
 
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 import java.util.List;
 import org.apache.syncope.core.persistence.api.dao.ReportDAO;
 import org.apache.syncope.core.persistence.api.entity.Implementation;
 import org.apache.syncope.core.persistence.api.entity.Report;
 import org.apache.syncope.core.persistence.jpa.entity.JPAReport;
+import org.apache.syncope.core.persistence.jpa.entity.JPAReportExec;
+import org.apache.syncope.core.persistence.jpa.entity.JPAReportExecResultChunk;
 import org.springframework.transaction.annotation.Transactional;
 
 public class JPAReportDAO extends AbstractDAO<Report> implements ReportDAO {
@@ -70,6 +73,13 @@ public class JPAReportDAO extends AbstractDAO<Report> implements ReportDAO {
 
     @Override
     public void delete(final Report report) {
+        Query query = entityManager().createQuery(
+                "DELETE FROM " + JPAReportExecResultChunk.class.getSimpleName() + " e "
+                + "WHERE e.execution IN (SELECT x.id FROM " + JPAReportExec.class.getSimpleName() + " x "
+                + "WHERE x.report=:report)");
+        query.setParameter("report", report);
+        query.executeUpdate();
+
         entityManager().remove(report);
     }
 }
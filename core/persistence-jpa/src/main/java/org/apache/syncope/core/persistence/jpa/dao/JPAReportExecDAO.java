@@ -27,6 +27,8 @@ import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
 import org.apache.syncope.core.persistence.api.entity.Report;
 import org.apache.syncope.core.persistence.api.entity.ReportExec;
 import org.apache.syncope.core.persistence.jpa.entity.JPAReportExec;
+import org.apache.syncope.core.persistence.jpa.entity.JPAReportExecResultChunk;
+import org.apache.syncope.core.spring.security.SecureRandomUtils;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.ReflectionUtils;
 
@@ -162,6 +164,51 @@ public class JPAReportExecDAO extends AbstractDAO<ReportExec> implements ReportE
         return entityManager().merge(execution);
     }
 
+    @Override
+    public void saveResultChunk(final ReportExec execution, final int index, final byte[] chunk) {
+        JPAReportExecResultChunk entity = new JPAReportExecResultChunk();
+        entity.setKey(SecureRandomUtils.generateRandomUUID().toString());
+        entity.setExecution(execution.getKey());
+        entity.setChunkIndex(index);
+        entity.setContent(chunk);
+
+        entityManager().persist(entity);
+        // chunks are not needed any further in the persistence context: don't retain them until commit
+        entityManager().flush();
+        entityManager().detach(entity);
+    }
+
+    @Override
+    public int countResultChunks(final ReportExec execution) {
+        Query query = entityManager().createQuery(
+                "SELECT COUNT(e) FROM " + JPAReportExecResultChunk.class.getSimpleName() + " e "
+                + "WHERE e.execution=:execution");
+        query.setParameter("execution", execution.getKey());
+
+        return ((Number) query.getSingleResult()).intValue();
+    }
+
+    @Override
+    public byte[] findResultChunk(final ReportExec execution, final int index) {
+        TypedQuery<byte[]> query = entityManager().createQuery(
+                "SELECT e.content FROM " + JPAReportExecResultChunk.class.getSimpleName() + " e "
+                + "WHERE e.execution=:execution AND e.chunkIndex=:index", byte[].class);
+        query.setParameter("execution", execution.getKey());
+        query.setParameter("index", index);
+
+        List<byte[]> result = query.getResultList();
+        return result.isEmpty() ? null : result.get(0);
+    }
+
+    @Override
+    public void deleteResult(final ReportExec execution) {
+        Query query = entityManager().createQuery(
+                "DELETE FROM " + JPAReportExecResultChunk.class.getSimpleName() + " e "
+                + "WHERE e.execution=:execution");
+        query.setParameter("execution", execution.getKey());
+        query.executeUpdate();
+    }
+
     @Override
     public void delete(final String key) {
         ReportExec execution = find(key);
@@ -178,6 +225,7 @@ public class JPAReportExecDAO extends AbstractDAO<ReportExec> implements ReportE
             execution.getReport().getExecs().remove(execution);
         }
 
+        deleteResult(execution);
         entityManager().remove(execution);
     }
 }
@@ -21,12 +21,19 @@ package org.apache.syncope.core.persistence.jpa.dao;
 import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.dao.AnyDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyMatchDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
 import org.apache.syncope.core.persistence.api.dao.DelegationDAO;
 import org.apache.syncope.core.persistence.api.dao.RoleDAO;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.Privilege;
 import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.persistence.api.entity.Role;
@@ -55,18 +62,26 @@ public class JPARoleDAO extends AbstractDAO<Role> implements RoleDAO {
 
     protected final SearchCondVisitor searchCondVisitor;
 
+    protected final DynMembershipRuleIndex dynMembershipRuleIndex;
+
+    protected final DynMembershipHelper dynMembershipHelper;
+
     public JPARoleDAO(
             final AnyMatchDAO anyMatchDAO,
             final ApplicationEventPublisher publisher,
             final AnySearchDAO anySearchDAO,
             final DelegationDAO delegationDAO,
-            final SearchCondVisitor searchCondVisitor) {
+            final SearchCondVisitor searchCondVisitor,
+            final DynMembershipRuleIndex dynMembershipRuleIndex,
+            final DynMembershipHelper dynMembershipHelper) {
 
         this.anyMatchDAO = anyMatchDAO;
         this.publisher = publisher;
         this.anySearchDAO = anySearchDAO;
         this.delegationDAO = delegationDAO;
         this.searchCondVisitor = searchCondVisitor;
+        this.dynMembershipRuleIndex = dynMembershipRuleIndex;
+        this.dynMembershipHelper = dynMembershipHelper;
     }
 
     @Override
@@ -115,24 +130,43 @@ public class JPARoleDAO extends AbstractDAO<Role> implements RoleDAO {
     public Role saveAndRefreshDynMemberships(final Role role) {
         Role merged = save(role);
 
-        // refresh dynamic memberships
-        clearDynMembers(merged);
-        if (merged.getDynMembership() != null) {
-            List<User> matching = anySearchDAO.search(
-                    SearchCondConverter.convert(searchCondVisitor, merged.getDynMembership().getFIQLCond()),
-                    AnyTypeKind.USER);
-
-            matching.forEach(user -> {
-                Query insert = entityManager().createNativeQuery("INSERT INTO " + DYNMEMB_TABLE + " VALUES(?, ?)");
-                insert.setParameter(1, user.getKey());
-                insert.setParameter(2, merged.getKey());
-                insert.executeUpdate();
+        // refresh dynamic memberships: only differences with current members are written and notified
+        Set<String> before = dynMembershipHelper.findKeys(
+                entityManager(), "SELECT any_id FROM " + DYNMEMB_TABLE + " WHERE role_id=?", merged.getKey());
 
-                publisher.publishEvent(
-                        new EntityLifecycleEvent<>(this, SyncDeltaType.UPDATE, user, AuthContextUtils.getDomain()));
-            });
+        Set<String> after = new HashSet<>();
+        if (merged.getDynMembership() != null) {
+            SearchCond cond = SearchCondConverter.convert(searchCondVisitor, merged.getDynMembership().getFIQLCond());
+            DynMembershipHelper.<User>forEachPage(
+                    last -> anySearchDAO.search(cond, last, AnyDAO.DEFAULT_PAGE_SIZE, AnyTypeKind.USER),
+                    matching -> {
+                        List<User> added = matching.stream().
+                                filter(user -> !before.contains(user.getKey())).
+                                collect(Collectors.toList());
+                        matching.forEach(user -> after.add(user.getKey()));
+
+                        dynMembershipHelper.batchUpdate(
+                                entityManager(),
+                                "INSERT INTO " + DYNMEMB_TABLE + " VALUES(?, ?)",
+                                added.stream().
+                                        map(user -> new Object[] { user.getKey(), merged.getKey() }).
+                                        collect(Collectors.toList()));
+                        dynMembershipHelper.publishUpdates(entityManager(), added);
+                    });
         }
 
+        List<String> removed = before.stream().filter(key -> !after.contains(key)).collect(Collectors.toList());
+        dynMembershipHelper.batchUpdate(
+                entityManager(),
+                "DELETE FROM " + DYNMEMB_TABLE + " WHERE role_id=? AND any_id=?",
+                removed.stream().map(key -> new Object[] { merged.getKey(), key }).collect(Collectors.toList()));
+        dynMembershipHelper.publishUpdates(entityManager(), removed, keys -> {
+            TypedQuery<User> users = entityManager().createQuery(
+                    "SELECT e FROM " + JPAUser.class.getSimpleName() + " e WHERE e.id IN :keys", User.class);
+            users.setParameter("keys", keys);
+            return users.getResultList();
+        });
+
         return merged;
     }
 
@@ -193,39 +227,50 @@ public class JPARoleDAO extends AbstractDAO<Role> implements RoleDAO {
     @Transactional
     @Override
     public void refreshDynMemberships(final User user) {
-        Query query = entityManager().createNativeQuery(
-                "SELECT role_id FROM " + DYNMEMB_TABLE + " WHERE any_id=?");
-        query.setParameter(1, user.getKey());
-
-        findAll().stream().filter(role -> role.getDynMembership() != null).forEach(role -> {
-            boolean matches = anyMatchDAO.matches(
-                    user, SearchCondConverter.convert(searchCondVisitor, role.getDynMembership().getFIQLCond()));
-
-            Query find = entityManager().createNativeQuery(
-                    "SELECT any_id FROM " + DYNMEMB_TABLE + " WHERE role_id=?");
-            find.setParameter(1, role.getKey());
-            boolean existing = !find.getResultList().isEmpty();
+        Map<String, DynMembershipRuleIndex.Rule> rules = new HashMap<>();
+        findAll().stream().filter(role -> role.getDynMembership() != null).forEach(role -> rules.put(
+                role.getKey(),
+                dynMembershipRuleIndex.compile(searchCondVisitor, role.getDynMembership().getFIQLCond())));
+
+        Set<String> existingKeys = dynMembershipHelper.findKeys(
+                entityManager(),
+                "SELECT role_id FROM " + DYNMEMB_TABLE + " WHERE any_id=?", user.getKey());
+        Set<String> matchingKeys = dynMembershipRuleIndex.evaluate(
+                DYNMEMB_TABLE, user, rules, anyMatchDAO::matches);
+
+        Set<String> changed = new HashSet<>();
+        rules.keySet().forEach(roleKey -> {
+            boolean existing = existingKeys.contains(roleKey);
+            boolean matches = matchingKeys.contains(roleKey);
+            if (matches != existing) {
+                changed.add(roleKey);
+            }
 
             if (matches && !existing) {
                 Query insert = entityManager().createNativeQuery(
                         "INSERT INTO " + DYNMEMB_TABLE + " VALUES(?, ?)");
                 insert.setParameter(1, user.getKey());
-                insert.setParameter(2, role.getKey());
+                insert.setParameter(2, roleKey);
                 insert.executeUpdate();
             } else if (!matches && existing) {
                 Query delete = entityManager().createNativeQuery(
                         "DELETE FROM " + DYNMEMB_TABLE + " WHERE role_id=? AND any_id=?");
-                delete.setParameter(1, role.getKey());
+                delete.setParameter(1, roleKey);
                 delete.setParameter(2, user.getKey());
                 delete.executeUpdate();
             }
         });
+        if (!changed.isEmpty()) {
+            dynMembershipHelper.dynMembershipsChanged(entityManager(), Set.of(user.getKey()));
+        }
     }
 
     @Override
     public void removeDynMemberships(final String key) {
         Query delete = entityManager().createNativeQuery("DELETE FROM " + DYNMEMB_TABLE + " WHERE any_id=?");
         delete.setParameter(1, key);
-        delete.executeUpdate();
+        if (delete.executeUpdate() > 0) {
+            dynMembershipHelper.dynMembershipsChanged(entityManager(), Set.of(key));
+        }
     }
 }
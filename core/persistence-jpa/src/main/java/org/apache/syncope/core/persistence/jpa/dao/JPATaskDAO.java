@@ -36,6 +36,7 @@ import org.apache.syncope.common.lib.to.PropagationTaskTO;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.ExecStatus;
 import org.apache.syncope.common.lib.types.IdRepoEntitlement;
+import org.apache.syncope.common.lib.types.ResourceOperation;
 import org.apache.syncope.common.lib.types.TaskType;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.persistence.api.dao.RemediationDAO;
@@ -46,13 +47,14 @@ import org.apache.syncope.core.persistence.api.entity.Implementation;
 import org.apache.syncope.core.persistence.api.entity.Notification;
 import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.persistence.api.entity.task.MacroTask;
-import org.apache.syncope.core.persistence.api.entity.task.PropagationTask;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationData;
 import org.apache.syncope.core.persistence.api.entity.task.PullTask;
 import org.apache.syncope.core.persistence.api.entity.task.PushTask;
 import org.apache.syncope.core.persistence.api.entity.task.SchedTask;
 import org.apache.syncope.core.persistence.api.entity.task.Task;
 import org.apache.syncope.core.persistence.api.entity.task.TaskUtils;
 import org.apache.syncope.core.persistence.api.entity.task.TaskUtilsFactory;
+import org.apache.syncope.core.persistence.jpa.PersistenceProperties;
 import org.apache.syncope.core.persistence.jpa.entity.task.JPAMacroTask;
 import org.apache.syncope.core.persistence.jpa.entity.task.JPANotificationTask;
 import org.apache.syncope.core.persistence.jpa.entity.task.JPAPropagationTask;
@@ -60,8 +62,10 @@ import org.apache.syncope.core.persistence.jpa.entity.task.JPAPropagationTaskExe
 import org.apache.syncope.core.persistence.jpa.entity.task.JPAPullTask;
 import org.apache.syncope.core.persistence.jpa.entity.task.JPAPushTask;
 import org.apache.syncope.core.persistence.jpa.entity.task.JPASchedTask;
+import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.core.spring.security.SecurityProperties;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.ReflectionUtils;
@@ -76,16 +80,20 @@ public class JPATaskDAO extends AbstractDAO<Task<?>> implements TaskDAO {
 
     protected final SecurityProperties securityProperties;
 
+    protected final PersistenceProperties persistenceProperties;
+
     public JPATaskDAO(
             final RealmDAO realmDAO,
             final RemediationDAO remediationDAO,
             final TaskUtilsFactory taskUtilsFactory,
-            final SecurityProperties securityProperties) {
+            final SecurityProperties securityProperties,
+            final PersistenceProperties persistenceProperties) {
 
         this.realmDAO = realmDAO;
         this.remediationDAO = remediationDAO;
         this.taskUtilsFactory = taskUtilsFactory;
         this.securityProperties = securityProperties;
+        this.persistenceProperties = persistenceProperties;
     }
 
     @Transactional(readOnly = true)
@@ -222,9 +230,7 @@ public class JPATaskDAO extends AbstractDAO<Task<?>> implements TaskDAO {
         return builder.append(' ');
     }
 
-    @Override
-    @SuppressWarnings("unchecked")
-    public <T extends Task<T>> List<T> findToExec(final TaskType type) {
+    protected StringBuilder buildFindToExecQueryJPA(final TaskType type) {
         StringBuilder queryString = buildFindAllQueryJPA(type).append("AND ");
 
         if (type == TaskType.NOTIFICATION) {
@@ -232,12 +238,58 @@ public class JPATaskDAO extends AbstractDAO<Task<?>> implements TaskDAO {
         } else {
             queryString.append("t.executions IS EMPTY ");
         }
-        queryString.append("ORDER BY t.id DESC");
+
+        return queryString;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends Task<T>> List<T> findToExec(final TaskType type) {
+        StringBuilder queryString = buildFindToExecQueryJPA(type).append("ORDER BY t.id DESC");
 
         Query query = entityManager().createQuery(queryString.toString());
         return query.getResultList();
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Optional<String> findLastKeyToExec(final TaskType type) {
+        StringBuilder queryString = buildFindToExecQueryJPA(type);
+        queryString.replace(0, "SELECT t".length(), "SELECT MAX(t.id)");
+
+        Query query = entityManager().createQuery(queryString.toString());
+        return Optional.ofNullable((String) query.getSingleResult());
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends Task<T>> List<T> findToExec(
+            final TaskType type,
+            final String lastKey,
+            final String upToKey,
+            final int max) {
+
+        StringBuilder queryString = buildFindToExecQueryJPA(type);
+        if (lastKey != null) {
+            queryString.append("AND t.id > :lastKey ");
+        }
+        if (upToKey != null) {
+            queryString.append("AND t.id <= :upToKey ");
+        }
+        queryString.append("ORDER BY t.id");
+
+        Query query = entityManager().createQuery(queryString.toString());
+        if (lastKey != null) {
+            query.setParameter("lastKey", lastKey);
+        }
+        if (upToKey != null) {
+            query.setParameter("upToKey", upToKey);
+        }
+        query.setMaxResults(max);
+        return query.getResultList();
+    }
+
     @Transactional(readOnly = true)
     @Override
     public <T extends Task<T>> List<T> findAll(final TaskType type) {
@@ -526,71 +578,141 @@ public class JPATaskDAO extends AbstractDAO<Task<?>> implements TaskDAO {
                 stream().map(Task<?>::getKey).forEach(key -> delete(type, key));
     }
 
-    @Override
-    public List<PropagationTaskTO> purgePropagations(
+    protected List<String> findPurgeablePropagations(
             final OffsetDateTime since,
             final List<ExecStatus> statuses,
-            final List<ExternalResource> externalResources) {
+            final List<ExternalResource> externalResources,
+            final int max) {
 
-        StringBuilder queryString = new StringBuilder("SELECT t.task_id "
+        // latest execution of each task is found by joining with the latest end date, grouped by task, rather than
+        // via correlated subquery, evaluated once per execution
+        List<Object> queryParameters = new ArrayList<>();
+        StringBuilder queryString = new StringBuilder("SELECT DISTINCT t.task_id "
                 + "FROM " + JPAPropagationTaskExec.TABLE + " t "
                 + "INNER JOIN " + JPAPropagationTask.TABLE + " z "
                 + "ON t.task_id=z.id "
-                + "WHERE t.enddate=(SELECT MAX(e.enddate) FROM " + JPAPropagationTaskExec.TABLE + " e "
-                + "WHERE e.task_id=t.task_id) ");
-
-        List<Object> queryParameters = new ArrayList<>();
+                + "INNER JOIN (SELECT e.task_id, MAX(e.enddate) AS latest "
+                + "FROM " + JPAPropagationTaskExec.TABLE + " e "
+                + "GROUP BY e.task_id");
         if (since != null) {
             queryParameters.add(since);
-            queryString.append("AND t.enddate <= ?").append(queryParameters.size()).append(' ');
+            queryString.append(" HAVING MAX(e.enddate) <= ?").append(queryParameters.size());
         }
+        queryString.append(") m ON t.task_id=m.task_id AND t.enddate=m.latest ");
+
+        List<String> conditions = new ArrayList<>();
         if (!CollectionUtils.isEmpty(statuses)) {
-            queryString.append("AND (").
-                    append(statuses.stream().map(status -> {
-                        queryParameters.add(status.name());
-                        return "t.status = ?" + queryParameters.size();
-                    }).collect(Collectors.joining(" OR "))).
-                    append(")");
+            conditions.add('(' + statuses.stream().map(status -> {
+                queryParameters.add(status.name());
+                return "t.status = ?" + queryParameters.size();
+            }).collect(Collectors.joining(" OR ")) + ')');
         }
         if (!CollectionUtils.isEmpty(externalResources)) {
-            queryString.append("AND (").
-                    append(externalResources.stream().map(externalResource -> {
-                        queryParameters.add(externalResource.getKey());
-                        return "z.resource_id = ?" + queryParameters.size();
-                    }).collect(Collectors.joining(" OR "))).
-                    append(")");
+            conditions.add('(' + externalResources.stream().map(externalResource -> {
+                queryParameters.add(externalResource.getKey());
+                return "z.resource_id = ?" + queryParameters.size();
+            }).collect(Collectors.joining(" OR ")) + ')');
         }
+        if (!conditions.isEmpty()) {
+            queryString.append("WHERE ").append(String.join(" AND ", conditions)).append(' ');
+        }
+        queryString.append("ORDER BY t.task_id");
 
         Query query = entityManager().createNativeQuery(queryString.toString());
         for (int i = 1; i <= queryParameters.size(); i++) {
             query.setParameter(i, queryParameters.get(i - 1));
         }
+        query.setMaxResults(max);
 
         @SuppressWarnings("unchecked")
         List<Object> raw = query.getResultList();
+        return raw.stream().map(Object::toString).collect(Collectors.toList());
+    }
 
-        List<PropagationTaskTO> purged = new ArrayList<>();
-        raw.stream().map(Object::toString).distinct().forEach(key -> {
-            PropagationTask task = find(TaskType.PROPAGATION, key);
-            if (task != null) {
-                PropagationTaskTO taskTO = new PropagationTaskTO();
-
-                taskTO.setOperation(task.getOperation());
-                taskTO.setConnObjectKey(task.getConnObjectKey());
-                taskTO.setOldConnObjectKey(task.getOldConnObjectKey());
-                taskTO.setPropagationData(task.getSerializedPropagationData());
-                taskTO.setResource(task.getResource().getKey());
-                taskTO.setObjectClassName(task.getObjectClassName());
-                taskTO.setAnyTypeKind(task.getAnyTypeKind());
-                taskTO.setAnyType(task.getAnyType());
-                taskTO.setEntityKey(task.getEntityKey());
-
-                purged.add(taskTO);
-
-                delete(task);
-            }
-        });
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Override
+    public List<PropagationTaskTO> purgePropagations(
+            final OffsetDateTime since,
+            final List<ExecStatus> statuses,
+            final List<ExternalResource> externalResources,
+            final int max) {
+
+        List<String> keys = findPurgeablePropagations(since, statuses, externalResources, max);
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+
+        Query query = entityManager().createQuery(
+                "SELECT e.id, e.operation, e.connObjectKey, e.oldConnObjectKey, e.propagationData, "
+                + "e.resource.id, e.objectClassName, e.anyTypeKind, e.anyType, e.entityKey "
+                + "FROM " + JPAPropagationTask.class.getSimpleName() + " e WHERE e.id IN (:keys)");
+        query.setParameter("keys", keys);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        List<PropagationTaskTO> purged = rows.stream().map(row -> {
+            PropagationTaskTO taskTO = new PropagationTaskTO();
+
+            taskTO.setKey((String) row[0]);
+            taskTO.setOperation((ResourceOperation) row[1]);
+            taskTO.setConnObjectKey((String) row[2]);
+            taskTO.setOldConnObjectKey((String) row[3]);
+            taskTO.setPropagationData(POJOHelper.inflate((String) row[4]));
+            taskTO.setResource((String) row[5]);
+            taskTO.setObjectClassName((String) row[6]);
+            taskTO.setAnyTypeKind((AnyTypeKind) row[7]);
+            taskTO.setAnyType((String) row[8]);
+            taskTO.setEntityKey((String) row[9]);
+
+            return taskTO;
+        }).collect(Collectors.toList());
+
+        query = entityManager().createQuery(
+                "DELETE FROM " + JPAPropagationTaskExec.class.getSimpleName() + " e WHERE e.task.id IN (:keys)");
+        query.setParameter("keys", keys);
+        query.executeUpdate();
+
+        query = entityManager().createQuery(
+                "DELETE FROM " + JPAPropagationTask.class.getSimpleName() + " e WHERE e.id IN (:keys)");
+        query.setParameter("keys", keys);
+        query.executeUpdate();
 
         return purged;
     }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Override
+    public String encodePropagationData(final String lastKey, final int max) {
+        Query query = entityManager().createQuery(
+                "SELECT e.id, e.propagationData FROM " + JPAPropagationTask.class.getSimpleName() + " e "
+                + (lastKey == null ? "" : "WHERE e.id > :lastKey ")
+                + "ORDER BY e.id");
+        if (lastKey != null) {
+            query.setParameter("lastKey", lastKey);
+        }
+        query.setMaxResults(max);
+
+        boolean deflate = persistenceProperties.isDeflatePropagationData();
+
+        String last = null;
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        for (Object[] row : rows) {
+            last = (String) row[0];
+            String serialized = (String) row[1];
+
+            // only rows not yet matching the current configuration are re-encoded
+            if (serialized == null || POJOHelper.isDeflated(serialized) == deflate) {
+                continue;
+            }
+
+            PropagationData propagationData = POJOHelper.deserialize(serialized, PropagationData.class);
+            if (propagationData == null) {
+                LOG.error("Could not read propagation data of task {}, leaving it unchanged", last);
+            } else {
+                entityManager().find(JPAPropagationTask.class, last).encodePropagationData(deflate);
+            }
+        }
+        return last;
+    }
 }
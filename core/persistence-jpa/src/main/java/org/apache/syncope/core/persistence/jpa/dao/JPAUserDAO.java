@@ -32,10 +32,12 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.openjpa.persistence.jdbc.JDBCFetchPlan;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.IdRepoEntitlement;
 import org.apache.syncope.core.persistence.api.dao.AccessTokenDAO;
 import org.apache.syncope.core.persistence.api.dao.DelegationDAO;
+import org.apache.syncope.core.persistence.api.dao.DerAttrIndexDAO;
 import org.apache.syncope.core.persistence.api.dao.DerSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
 import org.apache.syncope.core.persistence.api.dao.FIQLQueryDAO;
@@ -84,6 +86,7 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
             final PlainSchemaDAO plainSchemaDAO,
             final DerSchemaDAO derSchemaDAO,
             final DynRealmDAO dynRealmDAO,
+            final DerAttrIndexDAO derAttrIndexDAO,
             final RoleDAO roleDAO,
             final AccessTokenDAO accessTokenDAO,
             final GroupDAO groupDAO,
@@ -91,7 +94,7 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
             final FIQLQueryDAO fiqlQueryDAO,
             final SecurityProperties securityProperties) {
 
-        super(anyUtilsFactory, plainSchemaDAO, derSchemaDAO, dynRealmDAO);
+        super(anyUtilsFactory, plainSchemaDAO, derSchemaDAO, dynRealmDAO, derAttrIndexDAO);
         this.roleDAO = roleDAO;
         this.accessTokenDAO = accessTokenDAO;
         this.groupDAO = groupDAO;
@@ -144,6 +147,13 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
         return Optional.ofNullable(username);
     }
 
+    @Override
+    protected void hydrate(final JDBCFetchPlan fetchPlan) {
+        super.hydrate(fetchPlan);
+        fetchPlan.addField(JPAUser.class, "memberships");
+        fetchPlan.addField(JPAUser.class, "relationships");
+    }
+
     @Override
     public int count() {
         Query query = entityManager().createQuery(
@@ -282,6 +292,16 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
         return findAllKeys(JPAUser.TABLE, page, itemsPerPage);
     }
 
+    @Override
+    public List<String> findAllKeys(final String after, final String upTo, final int itemsPerPage) {
+        return findAllKeys(JPAUser.TABLE, after, upTo, itemsPerPage);
+    }
+
+    @Override
+    public List<String> findPartitionBounds(final int partitions) {
+        return findPartitionBounds(JPAUser.TABLE, partitions);
+    }
+
     protected Pair<User, Pair<Set<String>, Set<String>>> doSave(final User user) {
         User merged = super.save(user);
         roleDAO.refreshDynMemberships(merged);
@@ -314,6 +334,8 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
 
         Optional.ofNullable(accessTokenDAO.findByOwner(user.getUsername())).ifPresent(accessTokenDAO::delete);
 
+        derAttrIndexDAO.delete(user);
+
         entityManager().remove(user);
     }
 
@@ -437,6 +459,24 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
         return result.isEmpty() ? Optional.empty() : Optional.of(result.get(0));
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Set<String> findLinkedAccountConnObjectKeyValues(
+            final ExternalResource resource, final Collection<String> connObjectKeyValues) {
+
+        if (connObjectKeyValues.isEmpty()) {
+            return Set.of();
+        }
+
+        TypedQuery<String> query = entityManager().createQuery(
+                "SELECT e.connObjectKeyValue FROM " + JPALinkedAccount.class.getSimpleName() + " e "
+                + "WHERE e.resource=:resource AND e.connObjectKeyValue IN (:connObjectKeyValues)", String.class);
+        query.setParameter("resource", resource);
+        query.setParameter("connObjectKeyValues", connObjectKeyValues);
+
+        return new HashSet<>(query.getResultList());
+    }
+
     @Transactional(readOnly = true)
     @Override
     public List<LinkedAccount> findLinkedAccounts(final String userKey) {
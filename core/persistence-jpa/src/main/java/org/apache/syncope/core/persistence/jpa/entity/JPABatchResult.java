@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Chunk of {@link JPABatch} results, appended while batch items are being processed.
+ */
+@Entity
+@Table(name = JPABatchResult.TABLE, uniqueConstraints =
+        @UniqueConstraint(columnNames = { "batch", "chunkIndex" }))
+public class JPABatchResult extends AbstractGeneratedKeyEntity {
+
+    private static final long serialVersionUID = -3094916417240186312L;
+
+    public static final String TABLE = "SyncopeBatchResult";
+
+    @Column(nullable = false)
+    private String batch;
+
+    @Column(nullable = false)
+    private Integer chunkIndex;
+
+    @Lob
+    private String content;
+
+    public String getBatch() {
+        return batch;
+    }
+
+    public void setBatch(final String batch) {
+        this.batch = batch;
+    }
+
+    public Integer getChunkIndex() {
+        return chunkIndex;
+    }
+
+    public void setChunkIndex(final Integer chunkIndex) {
+        this.chunkIndex = chunkIndex;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(final String content) {
+        this.content = content;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+
+/**
+ * Value of a derived attribute, materialized for lookup by value.
+ */
+@Entity
+@Table(name = JPADerAttrIndex.TABLE, uniqueConstraints =
+        @UniqueConstraint(columnNames = { "schemaKey", "anyKey" }))
+public class JPADerAttrIndex extends AbstractGeneratedKeyEntity {
+
+    private static final long serialVersionUID = 5263460214716530219L;
+
+    public static final String TABLE = "DerAttrIndex";
+
+    @Column(nullable = false)
+    private String schemaKey;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private AnyTypeKind anyTypeKind;
+
+    @Column(nullable = false)
+    private String anyKey;
+
+    private String stringValue;
+
+    private String lowerStringValue;
+
+    public String getSchemaKey() {
+        return schemaKey;
+    }
+
+    public void setSchemaKey(final String schemaKey) {
+        this.schemaKey = schemaKey;
+    }
+
+    public AnyTypeKind getAnyTypeKind() {
+        return anyTypeKind;
+    }
+
+    public void setAnyTypeKind(final AnyTypeKind anyTypeKind) {
+        this.anyTypeKind = anyTypeKind;
+    }
+
+    public String getAnyKey() {
+        return anyKey;
+    }
+
+    public void setAnyKey(final String anyKey) {
+        this.anyKey = anyKey;
+    }
+
+    public String getStringValue() {
+        return stringValue;
+    }
+
+    public void setStringValue(final String stringValue) {
+        this.stringValue = stringValue;
+    }
+
+    public String getLowerStringValue() {
+        return lowerStringValue;
+    }
+
+    public void setLowerStringValue(final String lowerStringValue) {
+        this.lowerStringValue = lowerStringValue;
+    }
+}
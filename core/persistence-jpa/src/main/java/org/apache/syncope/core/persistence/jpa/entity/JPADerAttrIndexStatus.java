@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+
+/**
+ * Tracks the expression against which {@link JPADerAttrIndex} values were last built for a given derived schema,
+ * whose key is used as identifier.
+ */
+@Entity
+@Table(name = JPADerAttrIndexStatus.TABLE)
+public class JPADerAttrIndexStatus extends AbstractProvidedKeyEntity {
+
+    private static final long serialVersionUID = -4409416406183716873L;
+
+    public static final String TABLE = "DerAttrIndexStatus";
+
+    @Column(nullable = false)
+    private String expression;
+
+    private OffsetDateTime lastBuild;
+
+    public String getExpression() {
+        return expression;
+    }
+
+    public void setExpression(final String expression) {
+        this.expression = expression;
+    }
+
+    public OffsetDateTime getLastBuild() {
+        return lastBuild;
+    }
+
+    public void setLastBuild(final OffsetDateTime lastBuild) {
+        this.lastBuild = lastBuild;
+    }
+}
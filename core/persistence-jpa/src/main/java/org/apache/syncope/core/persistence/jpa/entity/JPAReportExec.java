@@ -44,7 +44,8 @@ public class JPAReportExec extends AbstractExec implements ReportExec {
     private JPAReport report;
 
     /**
-     * Report execution result, stored as an XML stream.
+     * Report execution result, as stored by former releases: results are now handled by the configured
+     * {@code ReportExecResultStore}.
      */
     @Lob
     @Basic(fetch = FetchType.LAZY)
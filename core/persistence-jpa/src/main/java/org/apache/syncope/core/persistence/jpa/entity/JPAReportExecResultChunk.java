@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.entity;
+
+import jakarta.persistence.Basic;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Chunk of the (compressed) result of a report execution.
+ */
+@Entity
+@Table(name = JPAReportExecResultChunk.TABLE, uniqueConstraints =
+        @UniqueConstraint(columnNames = { "execution", "chunkIndex" }))
+public class JPAReportExecResultChunk extends AbstractGeneratedKeyEntity {
+
+    private static final long serialVersionUID = -2917836215460498837L;
+
+    public static final String TABLE = "ReportExecResultChunk";
+
+    @Column(nullable = false, length = 36)
+    private String execution;
+
+    @Column(nullable = false)
+    private Integer chunkIndex;
+
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    private byte[] content;
+
+    public String getExecution() {
+        return execution;
+    }
+
+    public void setExecution(final String execution) {
+        this.execution = execution;
+    }
+
+    public Integer getChunkIndex() {
+        return chunkIndex;
+    }
+
+    public void setChunkIndex(final Integer chunkIndex) {
+        this.chunkIndex = chunkIndex;
+    }
+
+    public byte[] getContent() {
+        return content;
+    }
+
+    public void setContent(final byte[] content) {
+        this.content = content;
+    }
+}
@@ -20,6 +20,7 @@ package org.apache.syncope.core.persistence.jpa.entity.task;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Lob;
@@ -45,6 +46,7 @@ import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
 @Entity
 @Table(name = JPAPropagationTask.TABLE)
 @PropagationTaskCheck
+@EntityListeners(PropagationDataEncodingListener.class)
 public class JPAPropagationTask extends AbstractTask<PropagationTask> implements PropagationTask {
 
     private static final long serialVersionUID = 7086054884614511210L;
@@ -68,7 +70,9 @@ public class JPAPropagationTask extends AbstractTask<PropagationTask> implements
     private String oldConnObjectKey;
 
     /**
-     * Data to be propagated.
+     * Data to be propagated, as plain or deflated JSON.
+     *
+     * @see PropagationDataEncodingListener
      */
     @Lob
     private String propagationData;
@@ -114,7 +118,7 @@ public class JPAPropagationTask extends AbstractTask<PropagationTask> implements
 
     @Override
     public String getSerializedPropagationData() {
-        return propagationData;
+        return POJOHelper.inflate(propagationData);
     }
 
     @Override
@@ -131,6 +135,22 @@ public class JPAPropagationTask extends AbstractTask<PropagationTask> implements
         this.propagationData = POJOHelper.serialize(propagationData);
     }
 
+    /**
+     * Stores propagation data either as deflated or plain JSON, if not already so.
+     *
+     * @param deflate whether propagation data shall be deflated
+     */
+    public void encodePropagationData(final boolean deflate) {
+        if (StringUtils.isBlank(propagationData) || POJOHelper.isDeflated(propagationData) == deflate) {
+            return;
+        }
+
+        String encoded = deflate ? POJOHelper.deflate(propagationData) : POJOHelper.inflate(propagationData);
+        if (encoded != null) {
+            propagationData = encoded;
+        }
+    }
+
     @Override
     public ResourceOperation getOperation() {
         return operation;
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.openjpa;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.stream.Stream;
+import org.apache.openjpa.event.RemoteCommitEvent;
+import org.apache.openjpa.event.RemoteCommitListener;
+import org.apache.openjpa.util.StringId;
+import org.apache.syncope.core.persistence.jpa.entity.JPAAuditConf;
+import org.apache.syncope.core.provisioning.api.AuditManager;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Takes care of resetting the snapshot of active audit configurations in case HA is set up and the actual change is
+ * performed by another node in the OpenJPA cluster.
+ */
+public class AuditManagerRemoteCommitListener implements RemoteCommitListener, Serializable {
+
+    private static final long serialVersionUID = -3128717564325962461L;
+
+    protected static final Logger LOG = LoggerFactory.getLogger(AuditManagerRemoteCommitListener.class);
+
+    protected final String domain;
+
+    public AuditManagerRemoteCommitListener(final String domain) {
+        this.domain = domain;
+    }
+
+    protected static boolean isAuditConf(final Object id) {
+        return id instanceof StringId && JPAAuditConf.class.isAssignableFrom(((StringId) id).getType());
+    }
+
+    @SuppressWarnings("unchecked")
+    protected boolean involvesAuditConf(final RemoteCommitEvent event) {
+        if (event.getPayloadType() == RemoteCommitEvent.PAYLOAD_EXTENTS) {
+            return true;
+        }
+
+        if (((Collection<Object>) event.getPersistedTypeNames()).contains(JPAAuditConf.class.getName())) {
+            return true;
+        }
+
+        Stream<Object> ids = Stream.concat(
+                ((Collection<Object>) event.getUpdatedObjectIds()).stream(),
+                ((Collection<Object>) event.getDeletedObjectIds()).stream());
+        if (event.getPayloadType() == RemoteCommitEvent.PAYLOAD_OIDS_WITH_ADDS) {
+            ids = Stream.concat(ids, ((Collection<Object>) event.getPersistedObjectIds()).stream());
+        }
+        return ids.anyMatch(AuditManagerRemoteCommitListener::isAuditConf);
+    }
+
+    @Override
+    public void afterCommit(final RemoteCommitEvent event) {
+        if (involvesAuditConf(event)) {
+            LOG.debug("Audit configurations changed for domain {}, resetting", domain);
+            try {
+                ApplicationContextProvider.getApplicationContext().
+                        getBean(AuditManager.class).resetAuditConfs(domain);
+            } catch (Exception e) {
+                LOG.error("While resetting audit configurations for domain {}", domain, e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        // nothing to do
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.openjpa;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.openjpa.conf.OpenJPAConfiguration;
+import org.apache.openjpa.event.AbstractTransactionListener;
+import org.apache.openjpa.event.RemoteCommitEvent;
+import org.apache.openjpa.event.RemoteCommitEventManager;
+import org.apache.openjpa.event.RemoteCommitListener;
+import org.apache.openjpa.event.TransactionEvent;
+import org.apache.openjpa.kernel.Broker;
+import org.apache.openjpa.kernel.OpenJPAStateManager;
+import org.apache.openjpa.util.StringId;
+import org.apache.syncope.core.persistence.jpa.entity.JPAAccessToken;
+import org.apache.syncope.core.persistence.jpa.entity.JPADelegation;
+import org.apache.syncope.core.persistence.jpa.entity.JPADynRealm;
+import org.apache.syncope.core.persistence.jpa.entity.JPARealm;
+import org.apache.syncope.core.persistence.jpa.entity.JPARole;
+import org.apache.syncope.core.persistence.jpa.entity.group.JPAGroup;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPAUMembership;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPAUser;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.core.spring.security.AuthDataAccessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Takes care of invalidating the authorities cached by {@link AuthDataAccessor} for JWT-authenticated requests, when
+ * roles, memberships, delegations, realms, users or access tokens are changed, either locally or by another node in
+ * the OpenJPA cluster.
+ */
+public class AuthDataAccessorCommitListener
+        extends AbstractTransactionListener implements RemoteCommitListener, Serializable {
+
+    private static final long serialVersionUID = -1797219543476326180L;
+
+    protected static final Logger LOG = LoggerFactory.getLogger(AuthDataAccessorCommitListener.class);
+
+    protected static final String PENDING = AuthDataAccessorCommitListener.class.getName() + ".PENDING";
+
+    protected static final Set<Class<?>> DOMAIN_WIDE = Set.of(
+            JPARole.class, JPADelegation.class, JPARealm.class, JPADynRealm.class, JPAGroup.class);
+
+    /**
+     * Invalidations to perform upon commit.
+     */
+    protected static class Invalidation {
+
+        protected boolean domainWide;
+
+        protected final Set<String> userKeys = new HashSet<>();
+
+        protected final Set<String> jwtIds = new HashSet<>();
+
+        protected boolean isEmpty() {
+            return !domainWide && userKeys.isEmpty() && jwtIds.isEmpty();
+        }
+    }
+
+    /**
+     * Dynamic memberships are maintained via native queries, hence not seen by OpenJPA: invalidates the authorities
+     * cached for the given users upon commit of the current transaction, if any, or immediately otherwise; other
+     * nodes are notified as well, via the same remote commit provider used for entity changes.
+     *
+     * @param conf OpenJPA configuration for the given domain
+     * @param domain domain
+     * @param userKeys keys of users whose dynamic memberships were changed
+     */
+    public static void dynMembershipsChanged(
+            final OpenJPAConfiguration conf,
+            final String domain,
+            final Collection<String> userKeys) {
+
+        if (userKeys.isEmpty()) {
+            return;
+        }
+
+        Invalidation invalidation = new Invalidation();
+        invalidation.userKeys.addAll(userKeys);
+        AuthDataAccessorCommitListener listener = new AuthDataAccessorCommitListener(domain);
+
+        Runnable invalidate = () -> {
+            listener.invalidate(invalidation);
+            broadcast(conf, invalidation.userKeys);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    invalidate.run();
+                }
+            });
+        } else {
+            invalidate.run();
+        }
+    }
+
+    /**
+     * Sends the given users as updated to other nodes, where the remote commit event is handled by
+     * {@link #afterCommit(RemoteCommitEvent)}.
+     *
+     * @param conf OpenJPA configuration
+     * @param userKeys user keys
+     */
+    protected static void broadcast(final OpenJPAConfiguration conf, final Collection<String> userKeys) {
+        RemoteCommitEventManager manager = conf.getRemoteCommitEventManager();
+        if (manager == null || !manager.areRemoteEventsEnabled()) {
+            return;
+        }
+
+        try {
+            manager.getRemoteCommitProvider().broadcast(new RemoteCommitEvent(
+                    RemoteCommitEvent.PAYLOAD_OIDS,
+                    null,
+                    null,
+                    userKeys.stream().map(key -> new StringId(JPAUser.class, key)).collect(Collectors.toList()),
+                    null));
+        } catch (Exception e) {
+            LOG.error("While notifying other nodes about dynamic membership changes", e);
+        }
+    }
+
+    protected final String domain;
+
+    public AuthDataAccessorCommitListener(final String domain) {
+        this.domain = domain;
+    }
+
+    protected static void add(final Invalidation invalidation, final Class<?> type, final String key) {
+        if (DOMAIN_WIDE.stream().anyMatch(c -> c.isAssignableFrom(type))) {
+            invalidation.domainWide = true;
+        } else if (JPAUser.class.isAssignableFrom(type)) {
+            invalidation.userKeys.add(key);
+        } else if (JPAAccessToken.class.isAssignableFrom(type)) {
+            invalidation.jwtIds.add(key);
+        } else if (JPAUMembership.class.isAssignableFrom(type)) {
+            // membership's owner is not known from the id
+            invalidation.domainWide = true;
+        }
+    }
+
+    protected void invalidate(final Invalidation invalidation) {
+        if (invalidation.isEmpty()) {
+            return;
+        }
+
+        ApplicationContext ctx = ApplicationContextProvider.getApplicationContext();
+        if (ctx == null) {
+            return;
+        }
+
+        ctx.getBeanProvider(AuthDataAccessor.class).ifAvailable(authDataAccessor -> {
+            try {
+                if (invalidation.domainWide) {
+                    authDataAccessor.invalidateAuthorities(domain);
+                } else {
+                    invalidation.userKeys.forEach(key -> authDataAccessor.invalidateUserAuthorities(domain, key));
+                    invalidation.jwtIds.forEach(key -> authDataAccessor.invalidateTokenAuthorities(domain, key));
+                }
+            } catch (Exception e) {
+                LOG.error("While invalidating cached authorities for domain {}", domain, e);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void beforeCommit(final TransactionEvent event) {
+        Broker broker = (Broker) event.getSource();
+
+        Invalidation invalidation = new Invalidation();
+        ((Collection<Object>) event.getTransactionalObjects()).forEach(object -> {
+            OpenJPAStateManager sm = broker.getStateManager(object);
+            if (sm == null || !sm.isNew() && !sm.isDirty() && !sm.isDeleted()) {
+                return;
+            }
+
+            if (object instanceof JPAUMembership) {
+                invalidation.userKeys.add(((JPAUMembership) object).getLeftEnd().getKey());
+            } else if (sm.isNew()) {
+                // new users and access tokens are not cached yet, but new groups might be owned by existing users
+                if (DOMAIN_WIDE.stream().anyMatch(c -> c.isInstance(object))) {
+                    invalidation.domainWide = true;
+                }
+            } else if (object instanceof JPAUser) {
+                invalidation.userKeys.add(((JPAUser) object).getKey());
+            } else if (object instanceof JPAAccessToken) {
+                invalidation.jwtIds.add(((JPAAccessToken) object).getKey());
+            } else if (DOMAIN_WIDE.stream().anyMatch(c -> c.isInstance(object))) {
+                invalidation.domainWide = true;
+            }
+        });
+
+        if (!invalidation.isEmpty()) {
+            broker.putUserObject(PENDING, invalidation);
+        }
+    }
+
+    @Override
+    public void afterCommit(final TransactionEvent event) {
+        Broker broker = (Broker) event.getSource();
+
+        Invalidation invalidation = (Invalidation) broker.putUserObject(PENDING, null);
+        if (invalidation != null) {
+            LOG.debug("Authorization data changed for domain {}, invalidating cached authorities", domain);
+            invalidate(invalidation);
+        }
+    }
+
+    @Override
+    public void afterRollback(final TransactionEvent event) {
+        ((Broker) event.getSource()).putUserObject(PENDING, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void afterCommit(final RemoteCommitEvent event) {
+        Invalidation invalidation = new Invalidation();
+
+        if (event.getPayloadType() == RemoteCommitEvent.PAYLOAD_EXTENTS) {
+            Stream.of(event.getPersistedTypeNames(), event.getUpdatedTypeNames(), event.getDeletedTypeNames()).
+                    flatMap(names -> ((Collection<Object>) names).stream()).
+                    map(String::valueOf).
+                    filter(name -> DOMAIN_WIDE.stream().anyMatch(c -> c.getName().equals(name))
+                    || JPAUser.class.getName().equals(name)
+                    || JPAAccessToken.class.getName().equals(name)
+                    || JPAUMembership.class.getName().equals(name)).
+                    findFirst().
+                    ifPresent(name -> invalidation.domainWide = true);
+        } else {
+            // new users and access tokens are not cached yet: persisted ids are relevant only for other types
+            if (event.getPayloadType() == RemoteCommitEvent.PAYLOAD_OIDS_WITH_ADDS) {
+                ((Collection<Object>) event.getPersistedObjectIds()).stream().
+                        filter(StringId.class::isInstance).
+                        map(StringId.class::cast).
+                        filter(id -> !JPAUser.class.isAssignableFrom(id.getType())
+                        && !JPAAccessToken.class.isAssignableFrom(id.getType())).
+                        forEach(id -> add(invalidation, id.getType(), id.getId().toString()));
+            }
+
+            Stream.concat(
+                    ((Collection<Object>) event.getUpdatedObjectIds()).stream(),
+                    ((Collection<Object>) event.getDeletedObjectIds()).stream()).
+                    filter(StringId.class::isInstance).
+                    map(StringId.class::cast).
+                    forEach(id -> add(invalidation, id.getType(), id.getId().toString()));
+        }
+
+        if (!invalidation.isEmpty()) {
+            LOG.debug("Authorization data changed for domain {} by another node, invalidating cached authorities",
+                    domain);
+            invalidate(invalidation);
+        }
+    }
+
+    @Override
+    public void close() {
+        // nothing to do
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.openjpa;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.apache.openjpa.event.AbstractTransactionListener;
+import org.apache.openjpa.event.RemoteCommitEvent;
+import org.apache.openjpa.event.RemoteCommitListener;
+import org.apache.openjpa.event.TransactionEvent;
+import org.apache.openjpa.kernel.Broker;
+import org.apache.openjpa.kernel.OpenJPAStateManager;
+import org.apache.openjpa.util.StringId;
+import org.apache.syncope.core.persistence.jpa.dao.DynMembershipRuleIndex;
+import org.apache.syncope.core.persistence.jpa.entity.JPADynRealmMembership;
+import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAADynGroupMembership;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPADynRoleMembership;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPAUDynGroupMembership;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * Takes care of clearing {@link DynMembershipRuleIndex} when dynamic membership conditions are changed, either locally
+ * or by another node in the OpenJPA cluster.
+ */
+public class DynMembershipRuleIndexCommitListener
+        extends AbstractTransactionListener implements RemoteCommitListener, Serializable {
+
+    private static final long serialVersionUID = 5467129845083915723L;
+
+    protected static final Logger LOG = LoggerFactory.getLogger(DynMembershipRuleIndexCommitListener.class);
+
+    protected static final String PENDING = DynMembershipRuleIndexCommitListener.class.getName() + ".PENDING";
+
+    protected static final Set<Class<?>> RULES = Set.of(
+            JPAUDynGroupMembership.class,
+            JPAADynGroupMembership.class,
+            JPADynRoleMembership.class,
+            JPADynRealmMembership.class);
+
+    protected static boolean isRuleType(final Class<?> type) {
+        return RULES.stream().anyMatch(c -> c.isAssignableFrom(type));
+    }
+
+    protected static boolean isRuleTypeName(final String typeName) {
+        return RULES.stream().anyMatch(c -> c.getName().equals(typeName));
+    }
+
+    protected static boolean isRuleId(final Object id) {
+        return id instanceof StringId && isRuleType(((StringId) id).getType());
+    }
+
+    protected static boolean isChanged(final OpenJPAStateManager sm) {
+        return sm != null && (sm.isNew() || sm.isDirty() || sm.isDeleted());
+    }
+
+    protected final String domain;
+
+    public DynMembershipRuleIndexCommitListener(final String domain) {
+        this.domain = domain;
+    }
+
+    protected void clear() {
+        ApplicationContext ctx = ApplicationContextProvider.getApplicationContext();
+        if (ctx == null) {
+            return;
+        }
+
+        ctx.getBeanProvider(DynMembershipRuleIndex.class).ifAvailable(index -> {
+            try {
+                index.clear(domain);
+            } catch (Exception e) {
+                LOG.error("While clearing dynamic membership rules for domain {}", domain, e);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void beforeCommit(final TransactionEvent event) {
+        Broker broker = (Broker) event.getSource();
+
+        boolean changed = ((Collection<Object>) event.getTransactionalObjects()).stream().
+                filter(object -> isRuleType(object.getClass())).
+                map(broker::getStateManager).
+                anyMatch(DynMembershipRuleIndexCommitListener::isChanged);
+        if (changed) {
+            broker.putUserObject(PENDING, Boolean.TRUE);
+        }
+    }
+
+    @Override
+    public void afterCommit(final TransactionEvent event) {
+        if (((Broker) event.getSource()).putUserObject(PENDING, null) != null) {
+            LOG.debug("Dynamic membership rules changed for domain {}, clearing", domain);
+            clear();
+        }
+    }
+
+    @Override
+    public void afterRollback(final TransactionEvent event) {
+        ((Broker) event.getSource()).putUserObject(PENDING, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected boolean involvesRules(final RemoteCommitEvent event) {
+        if (event.getPayloadType() == RemoteCommitEvent.PAYLOAD_EXTENTS) {
+            return Stream.of(event.getPersistedTypeNames(), event.getUpdatedTypeNames(), event.getDeletedTypeNames()).
+                    flatMap(names -> ((Collection<Object>) names).stream()).
+                    anyMatch(name -> isRuleTypeName(String.valueOf(name)));
+        }
+
+        if (((Collection<Object>) event.getPersistedTypeNames()).stream().
+                anyMatch(name -> isRuleTypeName(String.valueOf(name)))) {
+
+            return true;
+        }
+
+        Stream<Object> ids = Stream.concat(
+                ((Collection<Object>) event.getUpdatedObjectIds()).stream(),
+                ((Collection<Object>) event.getDeletedObjectIds()).stream());
+        if (event.getPayloadType() == RemoteCommitEvent.PAYLOAD_OIDS_WITH_ADDS) {
+            ids = Stream.concat(ids, ((Collection<Object>) event.getPersistedObjectIds()).stream());
+        }
+        return ids.anyMatch(DynMembershipRuleIndexCommitListener::isRuleId);
+    }
+
+    @Override
+    public void afterCommit(final RemoteCommitEvent event) {
+        if (involvesRules(event)) {
+            LOG.debug("Dynamic membership rules changed for domain {} by another node, clearing", domain);
+            clear();
+        }
+    }
+
+    @Override
+    public void close() {
+        // nothing to do
+    }
+}
@@ -22,7 +22,10 @@ import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.spi.PersistenceUnitInfo;
 import org.apache.openjpa.persistence.OpenJPAEntityManagerFactorySPI;
 import org.apache.openjpa.persistence.OpenJPAPersistence;
+import org.apache.syncope.core.persistence.jpa.openjpa.AuditManagerRemoteCommitListener;
+import org.apache.syncope.core.persistence.jpa.openjpa.AuthDataAccessorCommitListener;
 import org.apache.syncope.core.persistence.jpa.openjpa.ConnectorManagerRemoteCommitListener;
+import org.apache.syncope.core.persistence.jpa.openjpa.DynMembershipRuleIndexCommitListener;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 
 /**
@@ -35,6 +38,12 @@ public class DomainEntityManagerFactoryBean extends LocalContainerEntityManagerF
 
     protected ConnectorManagerRemoteCommitListener connectorManagerRemoteCommitListener;
 
+    protected AuditManagerRemoteCommitListener auditManagerRemoteCommitListener;
+
+    protected AuthDataAccessorCommitListener authDataAccessorCommitListener;
+
+    protected DynMembershipRuleIndexCommitListener dynMembershipRuleIndexCommitListener;
+
     public void setCommonEntityManagerFactoryConf(final CommonEntityManagerFactoryConf commonEMFConf) {
         super.setJpaPropertyMap(commonEMFConf.getJpaPropertyMap());
 
@@ -57,11 +66,40 @@ public class DomainEntityManagerFactoryBean extends LocalContainerEntityManagerF
         this.connectorManagerRemoteCommitListener = connectorManagerRemoteCommitListener;
     }
 
+    public void setAuditManagerRemoteCommitListener(
+            final AuditManagerRemoteCommitListener auditManagerRemoteCommitListener) {
+
+        this.auditManagerRemoteCommitListener = auditManagerRemoteCommitListener;
+    }
+
+    public void setAuthDataAccessorCommitListener(
+            final AuthDataAccessorCommitListener authDataAccessorCommitListener) {
+
+        this.authDataAccessorCommitListener = authDataAccessorCommitListener;
+    }
+
+    public void setDynMembershipRuleIndexCommitListener(
+            final DynMembershipRuleIndexCommitListener dynMembershipRuleIndexCommitListener) {
+
+        this.dynMembershipRuleIndexCommitListener = dynMembershipRuleIndexCommitListener;
+    }
+
     @Override
     protected void postProcessEntityManagerFactory(final EntityManagerFactory emf, final PersistenceUnitInfo pui) {
         super.postProcessEntityManagerFactory(emf, pui);
 
         OpenJPAEntityManagerFactorySPI emfspi = (OpenJPAEntityManagerFactorySPI) OpenJPAPersistence.cast(emf);
         emfspi.getConfiguration().getRemoteCommitEventManager().addListener(connectorManagerRemoteCommitListener);
+        if (auditManagerRemoteCommitListener != null) {
+            emfspi.getConfiguration().getRemoteCommitEventManager().addListener(auditManagerRemoteCommitListener);
+        }
+        if (authDataAccessorCommitListener != null) {
+            emfspi.getConfiguration().getRemoteCommitEventManager().addListener(authDataAccessorCommitListener);
+            emfspi.addTransactionListener(authDataAccessorCommitListener);
+        }
+        if (dynMembershipRuleIndexCommitListener != null) {
+            emfspi.getConfiguration().getRemoteCommitEventManager().addListener(dynMembershipRuleIndexCommitListener);
+            emfspi.addTransactionListener(dynMembershipRuleIndexCommitListener);
+        }
     }
 }
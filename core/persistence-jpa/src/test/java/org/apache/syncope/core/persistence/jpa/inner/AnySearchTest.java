@@ -288,6 +288,28 @@ public class AnySearchTest extends AbstractTest {
         assertTrue(users.isEmpty());
     }
 
+    @Test
+    public void searchByKeyset() {
+        SearchCond cond = userDAO.getAllMatchingCond();
+
+        int count = searchDAO.count(
+                realmDAO.getRoot(), true, SyncopeConstants.FULL_ADMIN_REALMS, cond, AnyTypeKind.USER);
+
+        List<String> walked = new ArrayList<>();
+        String after = null;
+        List<User> users;
+        do {
+            users = searchDAO.search(
+                    realmDAO.getRoot(), true, SyncopeConstants.FULL_ADMIN_REALMS, cond, after, 2, AnyTypeKind.USER);
+            assertTrue(users.size() <= 2);
+            users.forEach(user -> walked.add(user.getKey()));
+            after = users.isEmpty() ? null : users.get(users.size() - 1).getKey();
+        } while (users.size() == 2);
+
+        assertEquals(count, walked.size());
+        assertEquals(walked.stream().sorted().collect(Collectors.toList()), walked);
+    }
+
     @Test
     public void searchByGroup() {
         MembershipCond groupCond = new MembershipCond();
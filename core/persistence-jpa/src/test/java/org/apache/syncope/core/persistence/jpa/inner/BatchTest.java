@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.inner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.apache.syncope.core.persistence.api.dao.BatchDAO;
+import org.apache.syncope.core.persistence.api.entity.Batch;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional("Master")
+public class BatchTest extends AbstractTest {
+
+    @Autowired
+    private BatchDAO batchDAO;
+
+    @Test
+    public void resultChunks() {
+        String key = UUID.randomUUID().toString();
+
+        Batch batch = entityFactory.newEntity(Batch.class);
+        batch.setKey(key);
+        batch.setExpiryTime(OffsetDateTime.now().plusMinutes(5));
+        batchDAO.save(batch);
+
+        batchDAO.appendResults(key, 1, "chunk1");
+        batchDAO.appendResults(key, 0, "chunk0");
+        batchDAO.appendResults(key, 2, "chunk2");
+
+        assertEquals(List.of("chunk0", "chunk1"), batchDAO.findResults(key, 1, 2));
+        assertEquals(List.of("chunk2"), batchDAO.findResults(key, 2, 2));
+
+        batchDAO.delete(key);
+        assertNull(batchDAO.find(key));
+        assertTrue(batchDAO.findResults(key, 1, 10).isEmpty());
+    }
+}
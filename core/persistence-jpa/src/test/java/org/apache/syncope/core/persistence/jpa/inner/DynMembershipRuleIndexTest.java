@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.inner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.attrvalue.validation.PlainAttrValidationManager;
+import org.apache.syncope.core.persistence.api.dao.AnyMatchDAO;
+import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
+import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.persistence.api.entity.user.UPlainAttr;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.apache.syncope.core.persistence.jpa.dao.DynMembershipRuleIndex;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPAUser;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional("Master")
+public class DynMembershipRuleIndexTest extends AbstractTest {
+
+    private static final String SCOPE = "test";
+
+    @Autowired
+    private AnyMatchDAO anyMatchDAO;
+
+    @Autowired
+    private PlainSchemaDAO plainSchemaDAO;
+
+    @Autowired
+    private PlainAttrValidationManager validator;
+
+    @Autowired
+    private DynMembershipRuleIndex dynMembershipRuleIndex;
+
+    private final AtomicInteger evaluations = new AtomicInteger();
+
+    private User user(final String key, final String firstname) {
+        JPAUser user = new JPAUser();
+        user.setKey(key);
+        user.setUsername("dynMembUser");
+
+        UPlainAttr attr = entityFactory.newEntity(UPlainAttr.class);
+        attr.setOwner(user);
+        attr.setSchema(plainSchemaDAO.find("firstname"));
+        attr.add(validator, firstname, anyUtilsFactory.getInstance(AnyTypeKind.USER));
+        user.add(attr);
+
+        return user;
+    }
+
+    private Set<String> evaluate(final Any<?> any, final Map<String, DynMembershipRuleIndex.Rule> rules) {
+        return dynMembershipRuleIndex.evaluate(SCOPE, any, rules, (a, cond) -> {
+            evaluations.incrementAndGet();
+            return anyMatchDAO.matches(a, cond);
+        });
+    }
+
+    @Test
+    public void unchangedValue() {
+        String key = UUID.randomUUID().toString();
+        Map<String, DynMembershipRuleIndex.Rule> rules = Map.of(
+                "group", dynMembershipRuleIndex.compile(new SearchCondVisitor(), "firstname==Aa"));
+
+        assertEquals(Set.of("group"), evaluate(user(key, "Aa"), rules));
+        assertEquals(1, evaluations.get());
+
+        // same value, on a different instance of the same entity: recorded result is used
+        assertEquals(Set.of("group"), evaluate(user(key, "Aa"), rules));
+        assertEquals(1, evaluations.get());
+    }
+
+    @Test
+    public void changedValue() {
+        String key = UUID.randomUUID().toString();
+        Map<String, DynMembershipRuleIndex.Rule> rules = Map.of(
+                "group", dynMembershipRuleIndex.compile(new SearchCondVisitor(), "firstname==Aa"));
+
+        assertEquals(Set.of("group"), evaluate(user(key, "Aa"), rules));
+        assertEquals(1, evaluations.get());
+
+        assertEquals(Set.of(), evaluate(user(key, "Other"), rules));
+        assertEquals(2, evaluations.get());
+
+        // rule changed, value unchanged
+        rules = Map.of("group", dynMembershipRuleIndex.compile(new SearchCondVisitor(), "firstname==Other"));
+        assertEquals(Set.of("group"), evaluate(user(key, "Other"), rules));
+        assertEquals(3, evaluations.get());
+    }
+
+    @Test
+    public void clear() {
+        String key = UUID.randomUUID().toString();
+        Map<String, DynMembershipRuleIndex.Rule> rules = Map.of(
+                "group", dynMembershipRuleIndex.compile(new SearchCondVisitor(), "firstname==Aa"));
+
+        assertEquals(Set.of("group"), evaluate(user(key, "Aa"), rules));
+        assertEquals(1, evaluations.get());
+
+        // recorded results for other domains are kept
+        dynMembershipRuleIndex.clear("Two");
+        assertEquals(Set.of("group"), evaluate(user(key, "Aa"), rules));
+        assertEquals(1, evaluations.get());
+
+        // after rules were changed, all is evaluated again
+        dynMembershipRuleIndex.clear(AuthContextUtils.getDomain());
+        assertEquals(Set.of("group"), evaluate(user(key, "Aa"), rules));
+        assertEquals(2, evaluations.get());
+    }
+
+    @Test
+    public void hashCollision() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+
+        String key = UUID.randomUUID().toString();
+        Map<String, DynMembershipRuleIndex.Rule> rules = Map.of(
+                "group", dynMembershipRuleIndex.compile(new SearchCondVisitor(), "firstname==Aa"));
+
+        assertEquals(Set.of("group"), evaluate(user(key, "Aa"), rules));
+        assertEquals(1, evaluations.get());
+
+        // different value with same hash code: rule is evaluated again
+        assertEquals(Set.of(), evaluate(user(key, "BB"), rules));
+        assertEquals(2, evaluations.get());
+    }
+}
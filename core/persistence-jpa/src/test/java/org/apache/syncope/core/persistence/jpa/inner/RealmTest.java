@@ -26,6 +26,8 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.EntityViolationType;
@@ -101,6 +103,20 @@ public class RealmTest extends AbstractTest {
         list.forEach(Assertions::assertNotNull);
     }
 
+    @Test
+    public void findAllKeysByKeyset() {
+        List<String> all = realmDAO.findAllKeys(1, -1);
+
+        List<String> walked = new ArrayList<>();
+        List<String> page = realmDAO.findAllKeys(null, 2);
+        while (!page.isEmpty()) {
+            walked.addAll(page);
+            page = realmDAO.findAllKeys(page.get(page.size() - 1), 2);
+        }
+        assertEquals(all.size(), walked.size());
+        assertEquals(new HashSet<>(all), new HashSet<>(walked));
+    }
+
     @Test
     public void save() {
         Realm realm = entityFactory.newEntity(Realm.class);
@@ -27,7 +27,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.OffsetDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.apache.syncope.common.lib.types.CipherAlgorithm;
 import org.apache.syncope.core.persistence.api.dao.DerSchemaDAO;
@@ -100,6 +102,39 @@ public class UserTest extends AbstractTest {
         assertEquals(users.size(), userKeys.size());
     }
 
+    @Test
+    public void findAllKeysByRange() {
+        List<String> all = userDAO.findAllKeys(1, 100);
+
+        List<String> walked = new ArrayList<>();
+        List<String> page = userDAO.findAllKeys(null, null, 2);
+        while (!page.isEmpty()) {
+            walked.addAll(page);
+            page = userDAO.findAllKeys(page.get(page.size() - 1), null, 2);
+        }
+        assertEquals(all, walked);
+
+        List<String> partitioned = new ArrayList<>(userDAO.findAllKeys(null, "8", 100));
+        partitioned.addAll(userDAO.findAllKeys("8", null, 100));
+        assertEquals(all, partitioned);
+    }
+
+    @Test
+    public void findPartitionBounds() {
+        List<String> all = userDAO.findAllKeys(1, 100);
+
+        List<String> bounds = userDAO.findPartitionBounds(2);
+        assertEquals(1, bounds.size());
+
+        List<String> partitioned = new ArrayList<>(userDAO.findAllKeys(null, bounds.get(0), 100));
+        assertEquals(3, partitioned.size());
+        partitioned.addAll(userDAO.findAllKeys(bounds.get(0), null, 100));
+        assertEquals(all, partitioned);
+
+        // more partitions than users
+        assertEquals(all.subList(0, all.size() - 1), userDAO.findPartitionBounds(10));
+    }
+
     @Test
     public void count() {
         int count = userDAO.count();
@@ -148,6 +183,23 @@ public class UserTest extends AbstractTest {
         assertTrue(userDAO.findByDerAttrValue(derSchemaDAO.find("noschema"), "Antonio, Maria", false).isEmpty());
     }
 
+    @Test
+    public void findKeysByFieldValues() {
+        Map<String, List<String>> keys = userDAO.findKeysByFieldValues(
+                "username", List.of("rossini", "VERDI", "notfound"), false);
+        assertEquals(Map.of("rossini", List.of("1417acbe-cbf6-4277-9372-e75e04f97000")), keys);
+
+        keys = userDAO.findKeysByFieldValues("username", List.of("rossini", "VERDI", "notfound"), true);
+        assertEquals(2, keys.size());
+        assertEquals(List.of("74cd8ece-715a-44a4-a736-e17b46c4e7e6"), keys.get("verdi"));
+
+        keys = userDAO.findKeysByFieldValues("key", List.of("823074dc-d280-436d-a7dd-07399fae48ec"), false);
+        assertEquals(List.of("823074dc-d280-436d-a7dd-07399fae48ec"), keys.get("823074dc-d280-436d-a7dd-07399fae48ec"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> userDAO.findKeysByFieldValues("notAField", List.of("rossini"), false));
+    }
+
     @Test
     public void findByPlainAttrUniqueValue() {
         UPlainAttrUniqueValue fullnameValue = entityFactory.newEntity(UPlainAttrUniqueValue.class);
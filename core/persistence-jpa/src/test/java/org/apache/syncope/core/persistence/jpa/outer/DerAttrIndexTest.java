@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.outer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.dao.DerAttrIndexDAO;
+import org.apache.syncope.core.persistence.api.dao.DerSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.RealmDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.DerSchema;
+import org.apache.syncope.core.persistence.api.entity.Realm;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+@TestPropertySource(properties = "persistence.indexedDerSchemas=ksuffix,krealm")
+@Transactional("Master")
+public class DerAttrIndexTest extends AbstractTest {
+
+    @Autowired
+    private DerAttrIndexDAO derAttrIndexDAO;
+
+    @Autowired
+    private DerSchemaDAO derSchemaDAO;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private RealmDAO realmDAO;
+
+    private DerSchema derSchema(final String key, final String expression) {
+        DerSchema schema = entityFactory.newEntity(DerSchema.class);
+        schema.setKey(key);
+        schema.setExpression(expression);
+
+        schema = derSchemaDAO.save(schema);
+        entityManager().flush();
+        return schema;
+    }
+
+    /**
+     * Values are built after commit, in a separate transaction: this builds them within the test transaction.
+     *
+     * @param schema derived schema
+     */
+    private void build(final DerSchema schema) {
+        derAttrIndexDAO.rebuild(schema);
+        entityManager().flush();
+    }
+
+    @Test
+    public void findByIndexedDerAttrValue() {
+        DerSchema suffix = derSchema("ksuffix", "firstname + 'k'");
+
+        User owner = userDAO.findByUsername("vivaldi");
+        String firstname = owner.getPlainAttr("firstname").get().getValuesAsStrings().iterator().next();
+
+        // not built yet: lookups are not served by the index
+        assertTrue(derAttrIndexDAO.findKeys(AnyTypeKind.USER, suffix, firstname + 'k', false).isEmpty());
+        assertEquals(List.of(owner), userDAO.findByDerAttrValue(suffix, firstname + 'k', false));
+
+        build(suffix);
+
+        owner = userDAO.findByUsername("vivaldi");
+        assertEquals(
+                Optional.of(List.of(owner.getKey())),
+                derAttrIndexDAO.findKeys(AnyTypeKind.USER, suffix, firstname + 'k', false));
+        assertEquals(List.of(owner), userDAO.findByDerAttrValue(suffix, firstname + 'k', false));
+
+        // values are updated upon save
+        owner.getPlainAttr("firstname").get().getValues().get(0).setStringValue("Giovanni");
+        userDAO.save(owner);
+        entityManager().flush();
+
+        assertTrue(userDAO.findByDerAttrValue(suffix, firstname + 'k', false).isEmpty());
+        assertEquals(List.of(owner), userDAO.findByDerAttrValue(suffix, "Giovannik", false));
+        assertTrue(userDAO.findByDerAttrValue(suffix, "GIOVANNIK", false).isEmpty());
+        assertEquals(List.of(owner), userDAO.findByDerAttrValue(suffix, "GIOVANNIK", true));
+
+        // values are removed upon delete
+        userDAO.delete(owner);
+        entityManager().flush();
+
+        assertTrue(userDAO.findByDerAttrValue(suffix, "Giovannik", false).isEmpty());
+    }
+
+    @Test
+    public void expressionChanged() {
+        DerSchema suffix = derSchema("ksuffix", "firstname + 'k'");
+        build(suffix);
+        assertTrue(derAttrIndexDAO.findKeys(AnyTypeKind.USER, suffix, "value", false).isPresent());
+
+        suffix.setExpression("firstname + 'z'");
+        suffix = derSchemaDAO.save(suffix);
+        entityManager().flush();
+
+        // built against the previous expression: lookups are not served by the index until built again
+        assertTrue(derAttrIndexDAO.findKeys(AnyTypeKind.USER, suffix, "value", false).isEmpty());
+
+        build(suffix);
+        assertTrue(derAttrIndexDAO.findKeys(AnyTypeKind.USER, suffix, "value", false).isPresent());
+    }
+
+    @Test
+    public void realmChanged() {
+        // mentions realm, but does not depend on it
+        DerSchema suffix = derSchema("ksuffix", "firstname + 'realm'");
+        build(suffix);
+        DerSchema realmSchema = derSchema("krealm", "realm + '/' + username");
+        build(realmSchema);
+
+        User rossini = userDAO.findByUsername("rossini");
+        assertEquals("/even", rossini.getRealm().getFullPath());
+        assertEquals(
+                Optional.of(List.of(rossini.getKey())),
+                derAttrIndexDAO.findKeys(AnyTypeKind.USER, realmSchema, "/even/rossini", false));
+
+        Realm even = realmDAO.findByFullPath("/even");
+        even.setName("renamed");
+        realmDAO.save(even);
+        entityManager().flush();
+
+        // values depending on realm are no longer served by the index, until built again
+        assertTrue(derAttrIndexDAO.findKeys(AnyTypeKind.USER, realmSchema, "/renamed/rossini", false).isEmpty());
+        assertTrue(derAttrIndexDAO.findKeys(AnyTypeKind.USER, suffix, "value", false).isPresent());
+
+        build(realmSchema);
+        assertEquals(
+                Optional.of(List.of(rossini.getKey())),
+                derAttrIndexDAO.findKeys(AnyTypeKind.USER, realmSchema, "/renamed/rossini", false));
+        assertEquals(
+                Optional.of(List.of()),
+                derAttrIndexDAO.findKeys(AnyTypeKind.USER, realmSchema, "/even/rossini", false));
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.outer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.common.lib.types.TaskType;
+import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
+import org.apache.syncope.core.persistence.api.dao.TaskDAO;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationData;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationTask;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.apache.syncope.core.persistence.jpa.PersistenceProperties;
+import org.apache.syncope.core.persistence.jpa.entity.task.JPAPropagationTask;
+import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
+import org.identityconnectors.framework.common.objects.AttributeBuilder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Not transactional, as propagation data is re-encoded and committed in a separate transaction.
+ */
+public class PropagationDataEncodingTest extends AbstractTest {
+
+    private static final String UNREADABLE = "{ not JSON";
+
+    @Autowired
+    private TaskDAO taskDAO;
+
+    @Autowired
+    private ExternalResourceDAO resourceDAO;
+
+    @Autowired
+    private PersistenceProperties persistenceProperties;
+
+    @Autowired
+    @Qualifier("MasterTransactionTemplate")
+    private TransactionTemplate txTemplate;
+
+    private String createTask() {
+        return txTemplate.execute(status -> {
+            PropagationTask task = entityFactory.newEntity(PropagationTask.class);
+            task.setResource(resourceDAO.find("ws-target-resource-1"));
+            task.setAnyTypeKind(AnyTypeKind.USER);
+            task.setAnyType(AnyTypeKind.USER.name());
+            task.setOperation(ResourceOperation.UPDATE);
+            task.setConnObjectKey("encoding@syncope.apache.org");
+            task.setPropagationData(new PropagationData(Set.of(AttributeBuilder.build("email", "a@b.c"))));
+            return taskDAO.save(task).getKey();
+        });
+    }
+
+    private String raw(final String key) {
+        return txTemplate.execute(status -> (String) entityManager().createNativeQuery(
+                "SELECT propagationData FROM " + JPAPropagationTask.TABLE + " WHERE id=?1").
+                setParameter(1, key).getSingleResult());
+    }
+
+    private void encodeAll() {
+        String lastKey = null;
+        do {
+            lastKey = taskDAO.encodePropagationData(lastKey, 10);
+        } while (lastKey != null);
+    }
+
+    @Test
+    public void encode() {
+        String key = createTask();
+        String unreadable = createTask();
+        txTemplate.executeWithoutResult(status -> entityManager().createNativeQuery(
+                "UPDATE " + JPAPropagationTask.TABLE + " SET propagationData=?1 WHERE id=?2").
+                setParameter(1, UNREADABLE).setParameter(2, unreadable).executeUpdate());
+        try {
+            assertFalse(POJOHelper.isDeflated(raw(key)));
+
+            persistenceProperties.setDeflatePropagationData(true);
+            encodeAll();
+
+            assertTrue(POJOHelper.isDeflated(raw(key)));
+
+            // newly created tasks are deflated as well
+            String created = createTask();
+            assertTrue(POJOHelper.isDeflated(raw(created)));
+            txTemplate.executeWithoutResult(status -> taskDAO.delete(TaskType.PROPAGATION, created));
+
+            txTemplate.executeWithoutResult(status -> assertEquals(
+                    "a@b.c",
+                    taskDAO.<PropagationTask>find(TaskType.PROPAGATION, key).getPropagationData().
+                            getAttributes().iterator().next().getValue().get(0)));
+
+            // propagation data which cannot be read is left as it is
+            assertEquals(UNREADABLE, raw(unreadable));
+        } finally {
+            persistenceProperties.setDeflatePropagationData(false);
+            encodeAll();
+
+            txTemplate.executeWithoutResult(status -> {
+                taskDAO.delete(TaskType.PROPAGATION, key);
+                taskDAO.delete(TaskType.PROPAGATION, unreadable);
+            });
+        }
+
+        // all other propagation data is back to plain JSON
+        txTemplate.executeWithoutResult(status -> taskDAO.<PropagationTask>findAll(
+                TaskType.PROPAGATION, null, null, null, null, -1, -1, List.of()).
+                forEach(task -> assertFalse(POJOHelper.isDeflated(raw(task.getKey())))));
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.outer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.syncope.common.lib.to.PropagationTaskTO;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.ExecStatus;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.common.lib.types.TaskType;
+import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
+import org.apache.syncope.core.persistence.api.dao.TaskDAO;
+import org.apache.syncope.core.persistence.api.dao.TaskExecDAO;
+import org.apache.syncope.core.persistence.api.entity.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationData;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationTask;
+import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
+import org.apache.syncope.core.persistence.api.entity.task.TaskUtilsFactory;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.identityconnectors.framework.common.objects.AttributeBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Not transactional, as propagation tasks are purged and committed in a separate transaction.
+ */
+public class PropagationTaskPurgeTest extends AbstractTest {
+
+    private static final String RESOURCE = "ws-target-resource-1";
+
+    private static final OffsetDateTime ENDED = OffsetDateTime.of(2000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private static final OffsetDateTime SINCE = ENDED.plusYears(1);
+
+    @Autowired
+    private TaskDAO taskDAO;
+
+    @Autowired
+    private TaskExecDAO taskExecDAO;
+
+    @Autowired
+    private ExternalResourceDAO resourceDAO;
+
+    @Autowired
+    private TaskUtilsFactory taskUtilsFactory;
+
+    @Autowired
+    @Qualifier("MasterTransactionTemplate")
+    private TransactionTemplate txTemplate;
+
+    private final List<String> taskKeys = new ArrayList<>();
+
+    private final List<String> execKeys = new ArrayList<>();
+
+    @BeforeEach
+    public void createTasks() {
+        txTemplate.executeWithoutResult(status -> {
+            ExternalResource resource = resourceDAO.find(RESOURCE);
+
+            for (int i = 0; i < 5; i++) {
+                PropagationTask task = entityFactory.newEntity(PropagationTask.class);
+                task.setResource(resource);
+                task.setAnyTypeKind(AnyTypeKind.USER);
+                task.setAnyType(AnyTypeKind.USER.name());
+                task.setEntityKey("purge" + i);
+                task.setOperation(ResourceOperation.UPDATE);
+                task.setConnObjectKey("purge" + i + "@syncope.apache.org");
+                task.setObjectClassName("__ACCOUNT__");
+                task.setPropagationData(new PropagationData(Set.of(AttributeBuilder.build("index", i))));
+
+                TaskExec<PropagationTask> exec = taskUtilsFactory.getInstance(TaskType.PROPAGATION).newTaskExec();
+                exec.setTask(task);
+                exec.setStatus(ExecStatus.SUCCESS.name());
+                exec.setStart(ENDED.minusMinutes(1));
+                exec.setEnd(ENDED);
+                exec.setExecutor("admin");
+                task.add(exec);
+
+                task = taskDAO.save(task);
+                taskKeys.add(task.getKey());
+                execKeys.add(task.getExecs().get(0).getKey());
+            }
+        });
+    }
+
+    @AfterEach
+    public void cleanup() {
+        txTemplate.executeWithoutResult(status -> taskKeys.forEach(key -> {
+            if (taskDAO.<PropagationTask>find(TaskType.PROPAGATION, key) != null) {
+                taskDAO.delete(TaskType.PROPAGATION, key);
+            }
+        }));
+    }
+
+    private List<PropagationTaskTO> purge(final int max) {
+        return taskDAO.purgePropagations(
+                SINCE, List.of(ExecStatus.SUCCESS), List.of(resourceDAO.find(RESOURCE)), max);
+    }
+
+    private void assertPurged(final List<PropagationTaskTO> purged) {
+        txTemplate.executeWithoutResult(status -> purged.forEach(taskTO -> {
+            assertNull(taskDAO.<PropagationTask>find(TaskType.PROPAGATION, taskTO.getKey()));
+            assertTrue(taskTO.getKey() != null && taskKeys.contains(taskTO.getKey()));
+        }));
+    }
+
+    @Test
+    public void chunks() {
+        List<PropagationTaskTO> purged = new ArrayList<>();
+
+        List<PropagationTaskTO> chunk = purge(2);
+        assertEquals(2, chunk.size());
+        purged.addAll(chunk);
+
+        chunk = purge(2);
+        assertEquals(2, chunk.size());
+        purged.addAll(chunk);
+
+        chunk = purge(2);
+        assertEquals(1, chunk.size());
+        purged.addAll(chunk);
+
+        assertTrue(purge(2).isEmpty());
+
+        // chunks are taken by key
+        assertEquals(taskKeys.stream().sorted().collect(Collectors.toList()),
+                purged.stream().map(PropagationTaskTO::getKey).collect(Collectors.toList()));
+        assertPurged(purged);
+
+        // executions were deleted as well
+        txTemplate.executeWithoutResult(status -> execKeys.forEach(
+                key -> assertNull(taskExecDAO.<PropagationTask>find(TaskType.PROPAGATION, key))));
+
+        // purged tasks are reported as they were before deletion
+        purged.forEach(taskTO -> {
+            int index = taskKeys.indexOf(taskTO.getKey());
+
+            assertEquals(ResourceOperation.UPDATE, taskTO.getOperation());
+            assertEquals(RESOURCE, taskTO.getResource());
+            assertEquals(AnyTypeKind.USER, taskTO.getAnyTypeKind());
+            assertEquals(AnyTypeKind.USER.name(), taskTO.getAnyType());
+            assertEquals("purge" + index, taskTO.getEntityKey());
+            assertEquals("purge" + index + "@syncope.apache.org", taskTO.getConnObjectKey());
+            assertEquals("__ACCOUNT__", taskTO.getObjectClassName());
+            assertTrue(taskTO.getPropagationData().contains("\"index\""));
+        });
+    }
+
+    @Test
+    public void committedOnItsOwn() {
+        // the calling transaction is rolled back, but the purged chunk was committed separately
+        List<PropagationTaskTO> purged = txTemplate.execute(status -> {
+            List<PropagationTaskTO> chunk = purge(3);
+            status.setRollbackOnly();
+            return chunk;
+        });
+        assertEquals(3, purged.size());
+        assertPurged(purged);
+
+        assertEquals(2, purge(3).size());
+    }
+
+    @Test
+    public void notMatching() {
+        assertTrue(taskDAO.purgePropagations(
+                ENDED.minusYears(1), List.of(ExecStatus.SUCCESS), List.of(resourceDAO.find(RESOURCE)), 10).
+                isEmpty());
+        assertTrue(taskDAO.purgePropagations(
+                SINCE, List.of(ExecStatus.FAILURE), List.of(resourceDAO.find(RESOURCE)), 10).
+                isEmpty());
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.outer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Not transactional, as sync tokens are saved and committed in a separate transaction.
+ */
+public class ResourceSyncTokenTest extends AbstractTest {
+
+    @Autowired
+    private ExternalResourceDAO resourceDAO;
+
+    @Autowired
+    @Qualifier("MasterTransactionTemplate")
+    private TransactionTemplate txTemplate;
+
+    private String provisionSyncToken() {
+        return txTemplate.execute(status -> resourceDAO.find("ws-target-resource-1").
+                getProvisionByObjectClass("__ACCOUNT__").orElseThrow().getSyncToken());
+    }
+
+    private String orgUnitSyncToken() {
+        return txTemplate.execute(status -> resourceDAO.find("resource-ldap-orgunit").
+                getOrgUnit().getSyncToken());
+    }
+
+    @Test
+    public void saveSyncTokens() {
+        assertNull(provisionSyncToken());
+        assertNull(orgUnitSyncToken());
+
+        try {
+            // the calling transaction is rolled back, but sync tokens were saved separately
+            txTemplate.executeWithoutResult(status -> {
+                resourceDAO.saveSyncTokens("ws-target-resource-1", Map.of("__ACCOUNT__", "\"provision\""));
+                resourceDAO.saveSyncTokens("resource-ldap-orgunit", Map.of("organizationalUnit", "\"orgUnit\""));
+                status.setRollbackOnly();
+            });
+
+            assertEquals("\"provision\"", provisionSyncToken());
+            assertEquals("\"orgUnit\"", orgUnitSyncToken());
+
+            // object classes not matching any provision are ignored
+            resourceDAO.saveSyncTokens("ws-target-resource-1", Map.of("__GROUP__", "\"group\""));
+            assertEquals("\"provision\"", provisionSyncToken());
+        } finally {
+            Map<String, String> reset = new HashMap<>();
+            reset.put("__ACCOUNT__", null);
+            reset.put("organizationalUnit", null);
+            resourceDAO.saveSyncTokens("ws-target-resource-1", reset);
+            resourceDAO.saveSyncTokens("resource-ldap-orgunit", reset);
+        }
+
+        assertNull(provisionSyncToken());
+        assertNull(orgUnitSyncToken());
+    }
+}
@@ -30,6 +30,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.IdRepoEntitlement;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.PlainAttrValidationManager;
@@ -47,8 +48,13 @@ import org.apache.syncope.core.persistence.api.entity.user.User;
 import org.apache.syncope.core.persistence.jpa.AbstractTest;
 import org.apache.syncope.core.persistence.jpa.dao.JPARoleDAO;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPADynRoleMembership;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ApplicationEventMulticaster;
 import org.springframework.transaction.annotation.Transactional;
 
 @Transactional("Master")
@@ -75,6 +81,9 @@ public class RoleTest extends AbstractTest {
     @Autowired
     private PlainAttrValidationManager validator;
 
+    @Autowired
+    private ApplicationEventMulticaster eventMulticaster;
+
     /**
      * Static copy of {@link org.apache.syncope.core.persistence.jpa.dao.JPAUserDAO} method with same signature:
      * required for avoiding creating new transaction - good for general use case but bad for the way how
@@ -177,6 +186,74 @@ public class RoleTest extends AbstractTest {
         assertTrue(dynRoleMemberships.isEmpty());
     }
 
+    @Test
+    public void dynMembershipRefresh() {
+        List<EntityLifecycleEvent<?>> events = new ArrayList<>();
+        ApplicationListener<ApplicationEvent> listener = event -> {
+            if (event instanceof EntityLifecycleEvent) {
+                events.add((EntityLifecycleEvent<?>) event);
+            }
+        };
+        eventMulticaster.addApplicationListener(listener);
+        try {
+            // 0. create user matching the condition below
+            User user = entityFactory.newEntity(User.class);
+            user.setUsername("username");
+            user.setRealm(realmDAO.findByFullPath("/even/two"));
+            user.add(anyTypeClassDAO.find("other"));
+
+            UPlainAttr attr = entityFactory.newEntity(UPlainAttr.class);
+            attr.setOwner(user);
+            attr.setSchema(plainSchemaDAO.find("cool"));
+            attr.add(validator, "true", anyUtilsFactory.getInstance(AnyTypeKind.USER));
+            user.add(attr);
+
+            String newUserKey = userDAO.save(user).getKey();
+
+            // 1. create role with dynamic membership: all members are added and notified
+            Role role = entityFactory.newEntity(Role.class);
+            role.setKey("new");
+            role.add(realmDAO.getRoot());
+
+            DynRoleMembership dynMembership = entityFactory.newEntity(DynRoleMembership.class);
+            dynMembership.setFIQLCond("cool==true");
+            dynMembership.setRole(role);
+            role.setDynMembership(dynMembership);
+
+            role = roleDAO.saveAndRefreshDynMemberships(role);
+            entityManager().flush();
+
+            assertEquals(
+                    Set.of("c9b2dec2-00a7-4855-97c0-d854842b4b24", newUserKey),
+                    new HashSet<>(roleDAO.findDynMembers(role)));
+            assertEquals(2, events.size());
+            assertEquals(
+                    Set.of("c9b2dec2-00a7-4855-97c0-d854842b4b24", newUserKey),
+                    events.stream().map(event -> event.getEntity().getKey()).collect(Collectors.toSet()));
+
+            // 2. restrict the condition: only the member not matching any more is removed and notified
+            events.clear();
+            role.getDynMembership().setFIQLCond("username==username");
+            role = roleDAO.saveAndRefreshDynMemberships(role);
+            entityManager().flush();
+
+            assertEquals(List.of(newUserKey), roleDAO.findDynMembers(role));
+            assertEquals(1, events.size());
+            assertEquals(SyncDeltaType.UPDATE, events.get(0).getType());
+            assertEquals("c9b2dec2-00a7-4855-97c0-d854842b4b24", events.get(0).getEntity().getKey());
+
+            // 3. save again with unchanged condition: nothing is written nor notified
+            events.clear();
+            role = roleDAO.saveAndRefreshDynMemberships(role);
+            entityManager().flush();
+
+            assertEquals(List.of(newUserKey), roleDAO.findDynMembers(role));
+            assertTrue(events.isEmpty());
+        } finally {
+            eventMulticaster.removeApplicationListener(listener);
+        }
+    }
+
     @Test
     public void delete() {
         // 0. create role
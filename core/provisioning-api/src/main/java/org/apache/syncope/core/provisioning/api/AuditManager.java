@@ -71,4 +71,21 @@ public interface AuditManager {
             Object before,
             Object output,
             Object... input);
+
+    /**
+     * Updates the in-memory snapshot of active audit configurations for the current domain, after the given audit
+     * configuration was created, updated or removed.
+     *
+     * @param key audit configuration key
+     * @param active whether the given audit configuration is now active
+     */
+    void auditConfChanged(String key, boolean active);
+
+    /**
+     * Discards the in-memory snapshot of active audit configurations for the given domain, which is rebuilt upon
+     * next access; to be invoked when audit configurations were changed by another node of the cluster.
+     *
+     * @param domain domain
+     */
+    void resetAuditConfs(String domain);
 }
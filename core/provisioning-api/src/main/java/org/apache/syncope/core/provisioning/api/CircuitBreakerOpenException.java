@@ -0,0 +1,32 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.api;
+
+/**
+ * Thrown when a request to a connector instance is refused, as its circuit breaker is open: being reported as a
+ * timeout, callers will handle it as they would do with an unresponsive connector instance.
+ */
+public class CircuitBreakerOpenException extends TimeoutException {
+
+    private static final long serialVersionUID = 3404858939489306152L;
+
+    public CircuitBreakerOpenException(final String msg) {
+        super(msg);
+    }
+}
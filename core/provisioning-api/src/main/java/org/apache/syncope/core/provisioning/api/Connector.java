@@ -19,6 +19,7 @@
 package org.apache.syncope.core.provisioning.api;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
@@ -282,4 +283,13 @@ public interface Connector {
      * @return active connector instance.
      */
     ConnInstance getConnInstance();
+
+    /**
+     * Reports the state of the circuit breaker guarding requests to this connector instance, if any.
+     *
+     * @return circuit breaker state and statistics, empty if not available
+     */
+    default Map<String, Object> getCircuitBreakerState() {
+        return Map.of();
+    }
 }
@@ -19,6 +19,7 @@
 package org.apache.syncope.core.provisioning.api;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import org.apache.syncope.common.lib.to.ConnInstanceTO;
 import org.apache.syncope.common.lib.types.ConnConfProperty;
@@ -97,4 +98,13 @@ public interface ConnectorManager {
      * @param resource external resource
      */
     void unregisterConnector(ExternalResource resource);
+
+    /**
+     * Reports the time taken by each connector to be registered, either while loading or upon first usage.
+     *
+     * @return for each domain, milliseconds taken to register the connector of each resource
+     */
+    default Map<String, Map<String, Long>> getRegistrationTimes() {
+        return Map.of();
+    }
 }
@@ -18,6 +18,8 @@
  */
 package org.apache.syncope.core.provisioning.api.cache;
 
+import java.util.Map;
+
 /**
  * Virtual Attribute Value cache.
  */
@@ -48,4 +50,23 @@ public interface VirAttrCache {
      * @return value after caching
      */
     VirAttrCacheValue put(VirAttrCacheKey key, VirAttrCacheValue value);
+
+    /**
+     * Tells whether the given cached value, although still served, shall be refreshed from the external resource.
+     *
+     * @param value cached value
+     * @return whether the given value is stale
+     */
+    default boolean isStale(VirAttrCacheValue value) {
+        return false;
+    }
+
+    /**
+     * Statistics about cache usage, such as hits, misses and refreshes.
+     *
+     * @return cache statistics
+     */
+    default Map<String, Long> getStatistics() {
+        return Map.of();
+    }
 }
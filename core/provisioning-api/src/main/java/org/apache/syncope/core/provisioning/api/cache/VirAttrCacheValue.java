@@ -34,6 +34,11 @@ public class VirAttrCacheValue {
      */
     private final transient List<String> values = new ArrayList<>();
 
+    /**
+     * Creation time, in milliseconds.
+     */
+    private final long creationTime = System.currentTimeMillis();
+
     public VirAttrCacheValue(final Collection<Object> values) {
         if (values != null) {
             values.forEach(value -> this.values.add(value.toString()));
@@ -44,6 +49,10 @@ public class VirAttrCacheValue {
         return values;
     }
 
+    public long getCreationTime() {
+        return creationTime;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder().
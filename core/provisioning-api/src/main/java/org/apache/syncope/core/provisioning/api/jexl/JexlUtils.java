@@ -18,6 +18,8 @@
  */
 package org.apache.syncope.core.provisioning.api.jexl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
@@ -29,7 +31,12 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import org.apache.commons.jexl3.JexlBuilder;
 import org.apache.commons.jexl3.JexlContext;
 import org.apache.commons.jexl3.JexlEngine;
@@ -65,8 +72,22 @@ public final class JexlUtils {
 
     private static final String[] IGNORE_FIELDS = { "password", "clearPassword", "serialVersionUID", "class" };
 
-    private static final Map<Class<?>, Set<Pair<PropertyDescriptor, Field>>> FIELD_CACHE =
-            Collections.synchronizedMap(new HashMap<>());
+    private static final Map<Class<?>, Set<Pair<PropertyDescriptor, Field>>> FIELD_CACHE = new ConcurrentHashMap<>();
+
+    private static final Map<Class<?>, Map<String, Pair<PropertyDescriptor, Field>>> FIELD_BY_NAME_CACHE =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Maximum number of parsed expressions kept by {@link #getExpression(String)}.
+     */
+    private static final int EXPRESSIONS_SIZE = 512;
+
+    /**
+     * Parsed expressions, by source text: changed expressions are parsed again, while the least used ones are evicted
+     * once {@link #EXPRESSIONS_SIZE} is reached.
+     */
+    static final Cache<String, Optional<JexlExpression>> EXPRESSIONS =
+            Caffeine.newBuilder().maximumSize(EXPRESSIONS_SIZE).build();
 
     private static JexlEngine JEXL_ENGINE;
 
@@ -121,17 +142,85 @@ public final class JexlUtils {
         return result == null ? StringUtils.EMPTY : result;
     }
 
-    public static void addFieldsToContext(final Object object, final JexlContext jexlContext) {
-        if (object == null) {
-            return;
+    /**
+     * Parses the given expression, for later evaluation via {@link #evaluate(JexlExpression, JexlContext)}.
+     *
+     * @param expression JEXL expression
+     * @return parsed expression, or null if blank or invalid
+     */
+    public static JexlExpression compile(final String expression) {
+        if (StringUtils.isBlank(expression)) {
+            return null;
+        }
+
+        try {
+            return getEngine().createExpression(expression);
+        } catch (JexlException e) {
+            LOG.error("Invalid jexl expression: " + expression, e);
+            return null;
+        }
+    }
+
+    /**
+     * Parses the given expression as {@link #compile(String)}, reusing the outcome of previous invocations with the
+     * same expression; meant for expressions evaluated over and over again, as derived schemas'.
+     *
+     * @param expression JEXL expression
+     * @return parsed expression, or null if blank or invalid
+     */
+    public static JexlExpression getExpression(final String expression) {
+        if (StringUtils.isBlank(expression)) {
+            return null;
+        }
+
+        return EXPRESSIONS.get(expression, k -> Optional.ofNullable(compile(k))).orElse(null);
+    }
+
+    /**
+     * Returns the names of the variables referenced by the given expression, in order to tell which values the
+     * expression depends on.
+     *
+     * @param expression JEXL expression
+     * @return names of referenced variables, or empty if blank or invalid
+     */
+    public static Set<String> getVariables(final String expression) {
+        if (StringUtils.isBlank(expression)) {
+            return Set.of();
         }
 
-        Set<Pair<PropertyDescriptor, Field>> cached = FIELD_CACHE.get(object.getClass());
-        if (cached == null) {
-            FIELD_CACHE.put(object.getClass(), Collections.synchronizedSet(new HashSet<>()));
+        try {
+            return getEngine().createScript(expression).getVariables().stream().
+                    filter(variable -> !variable.isEmpty()).
+                    map(variable -> variable.get(0)).
+                    collect(Collectors.toSet());
+        } catch (JexlException e) {
+            LOG.error("Invalid jexl expression: " + expression, e);
+            return Set.of();
+        }
+    }
+
+    public static Object evaluate(final JexlExpression expression, final JexlContext jexlContext) {
+        Object result = null;
 
-            List<Class<?>> classes = ClassUtils.getAllSuperclasses(object.getClass());
-            classes.add(object.getClass());
+        if (expression != null && jexlContext != null) {
+            try {
+                result = expression.evaluate(jexlContext);
+            } catch (Exception e) {
+                LOG.error("Error while evaluating JEXL expression: " + expression.getSourceText(), e);
+            }
+        } else {
+            LOG.debug("Expression not provided or invalid context");
+        }
+
+        return result == null ? StringUtils.EMPTY : result;
+    }
+
+    private static Set<Pair<PropertyDescriptor, Field>> getFields(final Class<?> reference) {
+        return FIELD_CACHE.computeIfAbsent(reference, k -> {
+            Set<Pair<PropertyDescriptor, Field>> fields = new HashSet<>();
+
+            List<Class<?>> classes = ClassUtils.getAllSuperclasses(reference);
+            classes.add(reference);
             classes.forEach(clazz -> {
                 try {
                     for (PropertyDescriptor desc : Introspector.getBeanInfo(clazz).getPropertyDescriptors()) {
@@ -148,7 +237,7 @@ public final class JexlUtils {
                                 LOG.debug("Could not get field {} from {}", desc.getName(), clazz.getName(), e);
                             }
 
-                            FIELD_CACHE.get(object.getClass()).add(Pair.of(desc, field));
+                            fields.add(Pair.of(desc, field));
                         }
                     }
                 } catch (IntrospectionException e) {
@@ -156,30 +245,47 @@ public final class JexlUtils {
                 }
             });
 
-            cached = FIELD_CACHE.get(object.getClass());
+            return Collections.unmodifiableSet(fields);
+        });
+    }
+
+    private static Map<String, Pair<PropertyDescriptor, Field>> getFieldsByName(final Class<?> reference) {
+        return FIELD_BY_NAME_CACHE.computeIfAbsent(reference, k -> getFields(reference).stream().collect(
+                Collectors.toMap(
+                        fd -> fd.getLeft().getName(),
+                        Function.identity(),
+                        (fd1, fd2) -> fd1.getLeft().getReadMethod() != null || fd1.getRight() != null ? fd1 : fd2)));
+    }
+
+    private static Object getFieldValue(final Object object, final Pair<PropertyDescriptor, Field> fd)
+            throws Exception {
+
+        Object fieldValue = null;
+        if (fd.getLeft().getReadMethod() == null) {
+            if (fd.getRight() != null) {
+                ReflectionUtils.makeAccessible(fd.getRight());
+                fieldValue = fd.getRight().get(object);
+            }
+        } else {
+            fieldValue = fd.getLeft().getReadMethod().invoke(object);
+        }
+
+        return fieldValue == null
+                ? StringUtils.EMPTY
+                : TemporalAccessor.class.isAssignableFrom(fd.getLeft().getPropertyType())
+                ? FormatUtils.format((TemporalAccessor) fieldValue)
+                : fieldValue;
+    }
+
+    public static void addFieldsToContext(final Object object, final JexlContext jexlContext) {
+        if (object == null) {
+            return;
         }
 
-        cached.forEach(fd -> {
+        getFields(object.getClass()).forEach(fd -> {
             String fieldName = fd.getLeft().getName();
-            Class<?> fieldType = fd.getLeft().getPropertyType();
-
             try {
-                Object fieldValue = null;
-                if (fd.getLeft().getReadMethod() == null) {
-                    if (fd.getRight() != null) {
-                        ReflectionUtils.makeAccessible(fd.getRight());
-                        fieldValue = fd.getRight().get(object);
-                    }
-                } else {
-                    fieldValue = fd.getLeft().getReadMethod().invoke(object);
-                }
-                if (fieldValue == null) {
-                    fieldValue = StringUtils.EMPTY;
-                } else {
-                    fieldValue = TemporalAccessor.class.isAssignableFrom(fieldType)
-                            ? FormatUtils.format((TemporalAccessor) fieldValue)
-                            : fieldValue;
-                }
+                Object fieldValue = getFieldValue(object, fd);
 
                 jexlContext.set(fieldName, fieldValue);
 
@@ -200,6 +306,114 @@ public final class JexlUtils {
         }
     }
 
+    /**
+     * Builds a context equivalent to populating a {@link MapContext} via
+     * {@link #addPlainAttrsToContext(Collection, JexlContext)} and then {@link #addFieldsToContext(Object,
+     * JexlContext)}, where each variable is only resolved upon first access.
+     *
+     * @param any entity
+     * @param attrs plain attributes to expose
+     * @return lazily populated context
+     */
+    public static JexlContext newLazyContext(final Any<?> any, final Collection<? extends PlainAttr<?>> attrs) {
+        return newLazyContexts(any, attrs).get();
+    }
+
+    /**
+     * Same as {@link #newLazyContext(Any, Collection)}, for several evaluations against the same entity: values read
+     * from the entity are resolved once and shared among all the contexts supplied, while variables set by each
+     * evaluation are only visible to the context they were set on.
+     *
+     * @param any entity
+     * @param attrs plain attributes to expose
+     * @return supplier of lazily populated contexts, one for each evaluation
+     */
+    public static Supplier<JexlContext> newLazyContexts(
+            final Any<?> any, final Collection<? extends PlainAttr<?>> attrs) {
+
+        AnyResolver resolver = new AnyResolver(any, attrs);
+        return () -> new LazyAnyContext(resolver);
+    }
+
+    private static final class AnyResolver {
+
+        private final Any<?> any;
+
+        private final Collection<? extends PlainAttr<?>> attrs;
+
+        private final Map<String, Optional<Object>> values = new HashMap<>();
+
+        private Map<String, PlainAttr<?>> attrsBySchema;
+
+        AnyResolver(final Any<?> any, final Collection<? extends PlainAttr<?>> attrs) {
+            this.any = any;
+            this.attrs = attrs;
+        }
+
+        Object get(final String name) {
+            return values.computeIfAbsent(name, k -> Optional.ofNullable(resolve(k))).orElse(null);
+        }
+
+        private Object resolve(final String name) {
+            // same precedence as in addPlainAttrsToContext followed by addFieldsToContext
+            if ("realm".equals(name) && any.getRealm() != null) {
+                return any.getRealm().getFullPath();
+            }
+
+            Pair<PropertyDescriptor, Field> fd = getFieldsByName(any.getClass()).get(name);
+            if (fd != null) {
+                try {
+                    return getFieldValue(any, fd);
+                } catch (Exception e) {
+                    LOG.error("Reading '{}' value error", name, e);
+                }
+            }
+
+            if (attrsBySchema == null) {
+                attrsBySchema = new HashMap<>();
+                attrs.stream().filter(attr -> attr.getSchema() != null).
+                        forEach(attr -> attrsBySchema.put(attr.getSchema().getKey(), attr));
+            }
+            PlainAttr<?> attr = attrsBySchema.get(name);
+            if (attr == null) {
+                return null;
+            }
+
+            List<String> attrValues = attr.getValuesAsStrings();
+            return attrValues.isEmpty()
+                    ? StringUtils.EMPTY
+                    : attrValues.size() == 1
+                    ? attrValues.get(0)
+                    : attrValues;
+        }
+    }
+
+    private static final class LazyAnyContext implements JexlContext {
+
+        private final AnyResolver resolver;
+
+        private final Map<String, Object> assigned = new HashMap<>();
+
+        LazyAnyContext(final AnyResolver resolver) {
+            this.resolver = resolver;
+        }
+
+        @Override
+        public Object get(final String name) {
+            return assigned.containsKey(name) ? assigned.get(name) : resolver.get(name);
+        }
+
+        @Override
+        public void set(final String name, final Object value) {
+            assigned.put(name, value);
+        }
+
+        @Override
+        public boolean has(final String name) {
+            return get(name) != null;
+        }
+    }
+
     public static void addAttrsToContext(final Collection<Attr> attrs, final JexlContext jexlContext) {
         attrs.stream().filter(attr -> attr.getSchema() != null).forEach(attr -> {
             Object value;
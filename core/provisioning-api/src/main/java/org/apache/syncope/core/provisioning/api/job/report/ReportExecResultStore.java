@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.api.job.report;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Optional;
+import org.apache.syncope.core.persistence.api.entity.ReportExec;
+
+/**
+ * Stores the (compressed) results of report executions, so that these can be written and read as streams, without
+ * being loaded into memory.
+ */
+public interface ReportExecResultStore {
+
+    /**
+     * Opens a stream for writing the result of the given execution, replacing any previous content; the result is
+     * complete once the returned stream is closed.
+     *
+     * @param execution report execution
+     * @return stream for writing the result
+     * @throws IOException if the stream cannot be opened
+     */
+    OutputStream write(ReportExec execution) throws IOException;
+
+    /**
+     * Opens a stream for reading the result of the given execution.
+     *
+     * @param execution report execution
+     * @return stream for reading the result, or empty if no result was stored
+     * @throws IOException if the stream cannot be opened
+     */
+    Optional<InputStream> read(ReportExec execution) throws IOException;
+
+    /**
+     * Removes the result of the given execution, if any.
+     *
+     * @param execution report execution
+     */
+    void delete(ReportExec execution);
+}
@@ -105,4 +105,12 @@ public interface NotificationManager {
      * @return merged task execution.
      */
     TaskExec<NotificationTask> storeExec(TaskExec<NotificationTask> execution);
+
+    /**
+     * Store executions of NotificationTasks and set further NotificationTasks as executed, at once.
+     *
+     * @param executions task executions
+     * @param executedTaskKeys tasks to be set as executed, without storing any execution
+     */
+    void storeExecs(List<TaskExec<NotificationTask>> executions, List<String> executedTaskKeys);
 }
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.api.pushpull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.apache.syncope.common.lib.to.Item;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.provisioning.api.IntAttrName;
+import org.apache.syncope.core.provisioning.api.data.ItemTransformer;
+
+/**
+ * Per-task cache of data used to match inbound connector objects with internal entities: connObjectKey mapping
+ * metadata, parsed once per provision, and matches resolved in chunks, ahead of handling each connector object.
+ */
+public class InboundMatchCache {
+
+    /**
+     * ConnObjectKey mapping item for a given provision, with parsed internal attribute name and transformers.
+     */
+    public static class ConnObjectKeyMetadata {
+
+        private final Item item;
+
+        private final IntAttrName intAttrName;
+
+        private final List<ItemTransformer> transformers;
+
+        public ConnObjectKeyMetadata(
+                final Item item,
+                final IntAttrName intAttrName,
+                final List<ItemTransformer> transformers) {
+
+            this.item = item;
+            this.intAttrName = intAttrName;
+            this.transformers = transformers;
+        }
+
+        /**
+         * @return connObjectKey mapping item, or null if the provision does not define any
+         */
+        public Item getItem() {
+            return item;
+        }
+
+        /**
+         * @return parsed internal attribute name, or null if invalid
+         */
+        public IntAttrName getIntAttrName() {
+            return intAttrName;
+        }
+
+        public List<ItemTransformer> getTransformers() {
+            return transformers;
+        }
+    }
+
+    /**
+     * Matches resolved for a given connObjectKey value.
+     */
+    public static class Matches {
+
+        private final Map<String, AnyTypeKind> anys;
+
+        private final boolean linkedAccount;
+
+        public Matches(final Map<String, AnyTypeKind> anys, final boolean linkedAccount) {
+            this.anys = anys;
+            this.linkedAccount = linkedAccount;
+        }
+
+        /**
+         * @return keys of matching entities, with their type kind
+         */
+        public Map<String, AnyTypeKind> getAnys() {
+            return anys;
+        }
+
+        /**
+         * @return whether a linked account owns the connObjectKey value
+         */
+        public boolean isLinkedAccount() {
+            return linkedAccount;
+        }
+    }
+
+    private final Map<String, ConnObjectKeyMetadata> metadata = new ConcurrentHashMap<>();
+
+    private final Map<String, Matches> matches = new ConcurrentHashMap<>();
+
+    public ConnObjectKeyMetadata getMetadata(
+            final String anyType,
+            final Function<String, ConnObjectKeyMetadata> loader) {
+
+        return metadata.computeIfAbsent(anyType, loader);
+    }
+
+    public void putMatches(final String anyType, final String connObjectKeyValue, final Matches matches) {
+        this.matches.put(anyType + '|' + connObjectKeyValue, matches);
+    }
+
+    /**
+     * Returns and removes the matches resolved for the given connObjectKey value, if any: each resolution is meant
+     * to be consumed once, as further connector objects with the same value might be affected by the handling of
+     * the first one.
+     *
+     * @param anyType any type
+     * @param connObjectKeyValue connObjectKey value
+     * @return matches resolved for the given connObjectKey value, if any
+     */
+    public Optional<Matches> takeMatches(final String anyType, final String connObjectKeyValue) {
+        return Optional.ofNullable(matches.remove(anyType + '|' + connObjectKeyValue));
+    }
+
+    public int getMatchesSize() {
+        return matches.size();
+    }
+
+    public void clearMatches() {
+        matches.clear();
+    }
+}
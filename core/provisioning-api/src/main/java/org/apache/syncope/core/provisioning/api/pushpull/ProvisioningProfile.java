@@ -42,6 +42,8 @@ public class ProvisioningProfile<T extends ProvisioningTask<?>, A extends Provis
 
     private final List<A> actions = new ArrayList<>();
 
+    private final InboundMatchCache inboundMatchCache = new InboundMatchCache();
+
     public ProvisioningProfile(final Connector connector, final T task) {
         this.connector = connector;
         this.task = task;
@@ -86,4 +88,8 @@ public class ProvisioningProfile<T extends ProvisioningTask<?>, A extends Provis
     public List<A> getActions() {
         return actions;
     }
+
+    public InboundMatchCache getInboundMatchCache() {
+        return inboundMatchCache;
+    }
 }
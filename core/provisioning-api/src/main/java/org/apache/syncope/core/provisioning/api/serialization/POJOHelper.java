@@ -24,6 +24,15 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 import org.identityconnectors.common.security.GuardedString;
 import org.identityconnectors.framework.common.objects.Attribute;
 import org.identityconnectors.framework.common.objects.AttributeDelta;
@@ -32,10 +41,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Helper class for serialization and deserialization of configuration objects (POJOs) in JSON.
+ * Helper class for serialization and deserialization of configuration objects (POJOs) in JSON, optionally deflated.
  */
 public final class POJOHelper {
 
+    /**
+     * Prefix of values serialized by {@link #serializeDeflated(Object)}: as no JSON value can start with it, such
+     * values are told apart from plain JSON when deserializing.
+     */
+    public static final String DEFLATED_PREFIX = "deflate:";
+
     private static final Logger LOG = LoggerFactory.getLogger(POJOHelper.class);
 
     private static final JsonMapper MAPPER;
@@ -82,11 +97,99 @@ public final class POJOHelper {
         return result;
     }
 
+    /**
+     * Serializes the given object as deflated JSON, encoded as Base64 and prefixed by {@link #DEFLATED_PREFIX}.
+     *
+     * @param object object to serialize
+     * @return deflated serialized object
+     */
+    public static String serializeDeflated(final Object object) {
+        String result = null;
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            try (DeflaterOutputStream out = new DeflaterOutputStream(baos, deflater)) {
+                MAPPER.writeValue(out, object);
+            }
+            result = DEFLATED_PREFIX + Base64.getEncoder().encodeToString(baos.toByteArray());
+        } catch (Exception e) {
+            LOG.error("During serialization", e);
+        } finally {
+            deflater.end();
+        }
+
+        return result;
+    }
+
+    /**
+     * Deflates the given plain JSON, with the same outcome as {@link #serializeDeflated(Object)} for the object it
+     * represents.
+     *
+     * @param json plain JSON
+     * @return deflated JSON
+     */
+    public static String deflate(final String json) {
+        String result = null;
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            try (DeflaterOutputStream out = new DeflaterOutputStream(baos, deflater)) {
+                out.write(json.getBytes(StandardCharsets.UTF_8));
+            }
+            result = DEFLATED_PREFIX + Base64.getEncoder().encodeToString(baos.toByteArray());
+        } catch (IOException e) {
+            LOG.error("While deflating", e);
+        } finally {
+            deflater.end();
+        }
+
+        return result;
+    }
+
+    public static boolean isDeflated(final String serialized) {
+        return serialized != null && serialized.startsWith(DEFLATED_PREFIX);
+    }
+
+    private static InputStream inflating(final String serialized) {
+        return new InflaterInputStream(new ByteArrayInputStream(
+                Base64.getDecoder().decode(serialized.substring(DEFLATED_PREFIX.length()))));
+    }
+
+    /**
+     * Returns the JSON for the given value, either plain or serialized by {@link #serializeDeflated(Object)}.
+     *
+     * @param serialized plain or deflated serialized value
+     * @return plain JSON
+     */
+    public static String inflate(final String serialized) {
+        if (!isDeflated(serialized)) {
+            return serialized;
+        }
+
+        String result = null;
+
+        try (InputStream in = inflating(serialized)) {
+            result = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException | IllegalArgumentException e) {
+            LOG.error("While inflating", e);
+        }
+
+        return result;
+    }
+
     public static <T extends Object> T deserialize(final String serialized, final Class<T> reference) {
         T result = null;
 
         try {
-            result = MAPPER.readValue(serialized, reference);
+            if (isDeflated(serialized)) {
+                try (InputStream in = inflating(serialized)) {
+                    result = MAPPER.readValue(in, reference);
+                }
+            } else {
+                result = MAPPER.readValue(serialized, reference);
+            }
         } catch (Exception e) {
             LOG.error("During deserialization", e);
         }
@@ -98,7 +201,13 @@ public final class POJOHelper {
         T result = null;
 
         try {
-            result = MAPPER.readValue(serialized, reference);
+            if (isDeflated(serialized)) {
+                try (InputStream in = inflating(serialized)) {
+                    result = MAPPER.readValue(in, reference);
+                }
+            } else {
+                result = MAPPER.readValue(serialized, reference);
+            }
         } catch (Exception e) {
             LOG.error("During deserialization", e);
         }
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.api.jexl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import org.apache.commons.jexl3.JexlExpression;
+import org.apache.commons.jexl3.MapContext;
+import org.apache.syncope.core.provisioning.api.AbstractTest;
+import org.junit.jupiter.api.Test;
+
+public class JexlUtilsTest extends AbstractTest {
+
+    @Test
+    public void getExpression() {
+        JexlExpression expression = JexlUtils.getExpression("firstname + '.' + surname");
+        assertSame(expression, JexlUtils.getExpression("firstname + '.' + surname"));
+
+        // changed expression is parsed again
+        JexlExpression changed = JexlUtils.getExpression("surname + '.' + firstname");
+        assertNotSame(expression, changed);
+
+        MapContext jexlContext = new MapContext();
+        jexlContext.set("firstname", "Gioacchino");
+        jexlContext.set("surname", "Rossini");
+        assertEquals("Rossini.Gioacchino", JexlUtils.evaluate(changed, jexlContext));
+
+        assertNull(JexlUtils.getExpression(" "));
+        assertNull(JexlUtils.getExpression("firstname +"));
+    }
+
+    @Test
+    public void getVariables() {
+        assertEquals(Set.of("realm", "username"), JexlUtils.getVariables("realm + '/' + username"));
+        assertEquals(Set.of("firstname"), JexlUtils.getVariables("firstname + 'realm'"));
+        assertEquals(Set.of("realmName"), JexlUtils.getVariables("realmName.toUpperCase()"));
+
+        assertTrue(JexlUtils.getVariables(" ").isEmpty());
+        assertTrue(JexlUtils.getVariables("firstname +").isEmpty());
+    }
+
+    @Test
+    public void getExpressionBounded() {
+        for (int i = 0; i < 1000; i++) {
+            JexlUtils.getExpression("'value" + i + "'");
+        }
+        JexlUtils.EXPRESSIONS.cleanUp();
+        assertTrue(JexlUtils.EXPRESSIONS.estimatedSize() <= 512);
+
+        // recently used expressions are kept
+        JexlExpression expression = JexlUtils.getExpression("'value999'");
+        assertSame(expression, JexlUtils.getExpression("'value999'"));
+    }
+}
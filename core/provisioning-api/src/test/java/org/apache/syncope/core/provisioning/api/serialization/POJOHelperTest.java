@@ -19,11 +19,15 @@
 package org.apache.syncope.core.provisioning.api.serialization;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.apache.syncope.core.persistence.api.entity.task.PropagationData;
 import org.apache.syncope.core.provisioning.api.AbstractTest;
 import org.identityconnectors.framework.common.objects.AttributeBuilder;
@@ -63,4 +67,27 @@ public class POJOHelperTest extends AbstractTest {
 
         assertEquals(serialized, POJOHelper.serialize(POJOHelper.deserialize(serialized, PropagationData.class)));
     }
+
+    @Test
+    public void deflatedPropagationData() {
+        PropagationData original = new PropagationData(Set.of(AttributeBuilder.build(
+                "memberOf", IntStream.range(0, 100).mapToObj(i -> "cn=group" + i + ",ou=groups,o=isp").
+                        collect(Collectors.toList()))));
+
+        String json = POJOHelper.serialize(original);
+        String deflated = POJOHelper.serializeDeflated(original);
+        assertTrue(POJOHelper.isDeflated(deflated));
+        assertFalse(POJOHelper.isDeflated(json));
+        assertTrue(deflated.length() < json.length());
+
+        // both deflated and plain JSON values are read
+        assertEquals(json, POJOHelper.inflate(deflated));
+        assertEquals(json, POJOHelper.inflate(json));
+        assertEquals(json, POJOHelper.serialize(POJOHelper.deserialize(deflated, PropagationData.class)));
+        assertEquals(json, POJOHelper.serialize(POJOHelper.deserialize(json, PropagationData.class)));
+
+        // plain JSON can be deflated without deserializing it first
+        assertEquals(deflated, POJOHelper.deflate(json));
+        assertEquals(json, POJOHelper.inflate(POJOHelper.deflate(json)));
+    }
 }
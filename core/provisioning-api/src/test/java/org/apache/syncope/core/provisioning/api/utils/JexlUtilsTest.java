@@ -21,6 +21,7 @@ package org.apache.syncope.core.provisioning.api.utils;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -32,8 +33,11 @@ import static org.mockito.Mockito.when;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import org.apache.commons.jexl3.JexlContext;
+import org.apache.commons.jexl3.JexlExpression;
 import org.apache.commons.jexl3.JxltEngine;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.Attr;
@@ -42,6 +46,7 @@ import org.apache.syncope.common.lib.to.RealmTO;
 import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.DerSchema;
 import org.apache.syncope.core.persistence.api.entity.PlainAttr;
+import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.provisioning.api.AbstractTest;
 import org.apache.syncope.core.provisioning.api.DerAttrHandler;
@@ -170,4 +175,38 @@ public class JexlUtilsTest extends AbstractTest {
         assertTrue(JexlUtils.evaluateMandatoryCondition("true", any, derAttrHandler));
         assertFalse(JexlUtils.evaluateMandatoryCondition("false", any, derAttrHandler));
     }
+
+    @Test
+    public void lazyContext(
+            final @Mock Any<?> any,
+            final @Mock Realm realm,
+            final @Mock PlainAttr<?> attr,
+            final @Mock PlainSchema schema) {
+
+        assertNull(JexlUtils.compile(" "));
+        assertNull(JexlUtils.compile("@inv4lid expression!"));
+
+        when(any.getRealm()).thenReturn(realm);
+        when(realm.getFullPath()).thenReturn("/even");
+        when(schema.getKey()).thenReturn("surname");
+        when(attr.getSchema()).thenReturn(schema);
+        when(attr.getValuesAsStrings()).thenReturn(List.of("Doe"));
+
+        JexlExpression expression = JexlUtils.compile("surname + '@' + realm");
+        assertNotNull(expression);
+
+        JexlContext lazyContext = JexlUtils.newLazyContext(any, List.of(attr));
+        assertEquals("Doe@/even", JexlUtils.evaluate(expression, lazyContext));
+        assertEquals("Doe@/even", JexlUtils.evaluate(expression, lazyContext));
+        assertEquals(StringUtils.EMPTY, JexlUtils.evaluate(JexlUtils.compile("missing"), lazyContext));
+
+        // variables set by one evaluation do not leak into the others
+        Supplier<JexlContext> lazyContexts = JexlUtils.newLazyContexts(any, List.of(attr));
+        assertEquals("Smith", JexlUtils.evaluate(JexlUtils.compile("surname = 'Smith'; surname"), lazyContexts.get()));
+        assertEquals("Doe@/even", JexlUtils.evaluate(expression, lazyContexts.get()));
+        assertEquals("Doe@/even", JexlUtils.evaluate(expression, lazyContexts.get()));
+
+        // values read from the entity are resolved once for all contexts from the same supplier
+        verify(attr, times(2)).getValuesAsStrings();
+    }
 }
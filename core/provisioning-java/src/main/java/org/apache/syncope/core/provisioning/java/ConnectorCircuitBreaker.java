@@ -0,0 +1,319 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.syncope.core.provisioning.api.CircuitBreakerOpenException;
+import org.identityconnectors.framework.common.exceptions.ConnectorIOException;
+import org.identityconnectors.framework.common.exceptions.OperationTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Circuit breaker guarding requests to a connector instance: after a given number of consecutive failures (timeouts
+ * or connection errors) it opens, so that further requests fail immediately rather than waiting out the timeout;
+ * once the configured time has elapsed, a single trial request is let through, whose outcome determines whether the
+ * circuit breaker closes or opens again; a trial request not completed within the configured time counts as failed.
+ *
+ * Each state change starts a new generation: outcomes of requests let through in a previous generation, as requests
+ * started before the circuit breaker opened, are ignored.
+ *
+ * Latency of successful read requests is also recorded, by operation, so that their timeout can be adapted to the
+ * observed behavior of the connector instance.
+ */
+public class ConnectorCircuitBreaker {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(ConnectorCircuitBreaker.class);
+
+    public enum State {
+
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+
+    }
+
+    protected static final int LATENCY_SAMPLES = 100;
+
+    protected static final int MIN_LATENCY_SAMPLES = 20;
+
+    /**
+     * Latency of the last successful requests of a given operation, in milliseconds.
+     */
+    protected static class LatencyWindow {
+
+        protected final long[] samples = new long[LATENCY_SAMPLES];
+
+        protected int count;
+
+        protected int next;
+
+        protected synchronized void add(final long millis) {
+            samples[next] = millis;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        protected synchronized long percentile(final double percentile) {
+            if (count < MIN_LATENCY_SAMPLES) {
+                return -1;
+            }
+
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * count) - 1;
+            return sorted[Math.max(0, Math.min(count - 1, index))];
+        }
+    }
+
+    protected static boolean isUnavailable(final Throwable error) {
+        Throwable cause = error;
+        for (int depth = 0; cause != null && depth < 5; depth++) {
+            if (cause instanceof TimeoutException
+                    || cause instanceof ConnectorIOException
+                    || cause instanceof OperationTimeoutException) {
+
+                return true;
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+
+    protected final String name;
+
+    protected final ProvisioningProperties.CircuitBreakerProperties props;
+
+    protected final Clock clock;
+
+    protected final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    protected final AtomicLong rejected = new AtomicLong();
+
+    protected State state = State.CLOSED;
+
+    protected int failures;
+
+    protected long openedAt;
+
+    protected long trialStartedAt;
+
+    protected long generation;
+
+    public ConnectorCircuitBreaker(final String name, final ProvisioningProperties.CircuitBreakerProperties props) {
+        this(name, props, Clock.systemUTC());
+    }
+
+    public ConnectorCircuitBreaker(
+            final String name,
+            final ProvisioningProperties.CircuitBreakerProperties props,
+            final Clock clock) {
+
+        this.name = name;
+        this.props = props;
+        this.clock = clock;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    protected void setState(final State state) {
+        this.state = state;
+        generation++;
+    }
+
+    /**
+     * To be invoked before sending any request.
+     *
+     * @return generation in which the request is let through, to be reported with its outcome
+     * @throws CircuitBreakerOpenException if the circuit breaker is open, or a trial request is in progress
+     */
+    public synchronized long acquire() {
+        if (!props.isEnabled()) {
+            return generation;
+        }
+
+        long now = clock.millis();
+        if (state == State.HALF_OPEN && now - trialStartedAt >= props.getTrialTimeout()) {
+            LOG.warn("Trial request for {} not completed within {} ms, circuit breaker is open again",
+                    name, props.getTrialTimeout());
+            setState(State.OPEN);
+            openedAt = now;
+        }
+
+        switch (state) {
+            case OPEN:
+                if (now - openedAt >= props.getOpenDuration()) {
+                    LOG.info("Circuit breaker for {} is now half-open, letting a trial request through", name);
+                    setState(State.HALF_OPEN);
+                    trialStartedAt = now;
+                    return generation;
+                }
+                rejected.incrementAndGet();
+                throw new CircuitBreakerOpenException("Circuit breaker open for " + name);
+
+            case HALF_OPEN:
+                rejected.incrementAndGet();
+                throw new CircuitBreakerOpenException("Circuit breaker half-open for " + name + ", trial in progress");
+
+            case CLOSED:
+            default:
+                return generation;
+        }
+    }
+
+    /**
+     * To be invoked when a request completes successfully.
+     *
+     * @param generation generation in which the request was let through, as returned by {@link #acquire()}
+     * @param operation operation, null if latency is not to be tracked
+     * @param nanos request duration
+     */
+    public void succeeded(final long generation, final String operation, final long nanos) {
+        if (!props.isEnabled()) {
+            return;
+        }
+
+        if (operation != null) {
+            latencies.computeIfAbsent(operation, k -> new LatencyWindow()).add(TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+        responded(generation);
+    }
+
+    /**
+     * To be invoked when a request fails: only timeouts and connection errors count as failures, as any other error
+     * was reported by a responsive connector instance.
+     *
+     * @param generation generation in which the request was let through, as returned by {@link #acquire()}
+     * @param error request failure
+     */
+    public void failed(final long generation, final Throwable error) {
+        if (!props.isEnabled()) {
+            return;
+        }
+
+        if (!isUnavailable(error)) {
+            responded(generation);
+            return;
+        }
+
+        synchronized (this) {
+            if (generation != this.generation) {
+                return;
+            }
+
+            failures++;
+            if (state == State.HALF_OPEN || failures >= props.getFailureThreshold()) {
+                if (state != State.OPEN) {
+                    LOG.warn("Circuit breaker for {} is now open, after {} consecutive failures", name, failures);
+                }
+                setState(State.OPEN);
+                openedAt = clock.millis();
+            }
+        }
+    }
+
+    /**
+     * To be invoked when a request was abandoned without any response, as when the requesting thread is interrupted:
+     * neither success nor failure is recorded, but a trial request in progress is over, so that the next request can
+     * be let through as a new trial.
+     *
+     * @param generation generation in which the request was let through, as returned by {@link #acquire()}
+     */
+    public synchronized void abandoned(final long generation) {
+        if (props.isEnabled() && generation == this.generation && state == State.HALF_OPEN) {
+            setState(State.OPEN);
+        }
+    }
+
+    protected synchronized void responded(final long generation) {
+        if (generation != this.generation) {
+            return;
+        }
+
+        if (state != State.CLOSED) {
+            LOG.info("Circuit breaker for {} is now closed", name);
+            setState(State.CLOSED);
+        }
+        failures = 0;
+    }
+
+    /**
+     * Computes the timeout for the next request of the given operation: if adaptive timeout is enabled and enough
+     * latency samples are available, this is the configured latency percentile multiplied by the configured factor,
+     * bounded by the configured minimum timeout and by the given timeout. Timeout of a trial request is also bounded by
+     * the configured trial timeout.
+     *
+     * @param operation read operation, null if timeout is not to be adapted, as for write operations, whose outcome is
+     * unknown when timed out
+     * @param timeoutSeconds connector instance's request timeout
+     * @return request timeout, in milliseconds
+     */
+    public long timeout(final String operation, final int timeoutSeconds) {
+        long timeout = TimeUnit.SECONDS.toMillis(timeoutSeconds);
+        if (!props.isEnabled()) {
+            return timeout;
+        }
+        if (getState() == State.HALF_OPEN) {
+            timeout = Math.min(timeout, props.getTrialTimeout());
+        }
+        if (operation == null || !props.isAdaptiveTimeout()) {
+            return timeout;
+        }
+
+        LatencyWindow window = latencies.get(operation);
+        long percentile = window == null ? -1 : window.percentile(props.getTimeoutPercentile());
+        return percentile < 0
+                ? timeout
+                : Math.min(timeout, Math.max(props.getMinTimeout(),
+                        Math.round(percentile * props.getTimeoutMultiplier())));
+    }
+
+    /**
+     * @return current state, consecutive failures, rejected requests and latency percentile by operation; empty if
+     * not enabled
+     */
+    public Map<String, Object> getDetails() {
+        if (!props.isEnabled()) {
+            return Map.of();
+        }
+
+        Map<String, Object> details = new LinkedHashMap<>();
+        synchronized (this) {
+            details.put("state", state.name());
+            details.put("failures", failures);
+        }
+        details.put("rejected", rejected.get());
+
+        Map<String, Long> percentiles = new TreeMap<>();
+        latencies.forEach((operation, window) -> percentiles.put(
+                operation, window.percentile(props.getTimeoutPercentile())));
+        details.put("latencyPercentileMillis", percentiles);
+        return details;
+    }
+}
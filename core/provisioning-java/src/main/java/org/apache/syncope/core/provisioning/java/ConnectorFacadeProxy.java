@@ -21,10 +21,14 @@ package org.apache.syncope.core.provisioning.java;
 import java.io.File;
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import org.apache.syncope.common.lib.types.ConnectorCapability;
 import org.apache.syncope.core.persistence.api.entity.ConnInstance;
 import org.apache.syncope.core.provisioning.api.ConnIdBundleManager;
@@ -74,6 +78,11 @@ public class ConnectorFacadeProxy implements Connector {
      */
     private final ConnInstance connInstance;
 
+    /**
+     * Guards requests to connector instance.
+     */
+    private final ConnectorCircuitBreaker circuitBreaker;
+
     private final AsyncConnectorFacade asyncFacade;
 
     /**
@@ -89,6 +98,10 @@ public class ConnectorFacadeProxy implements Connector {
     public ConnectorFacadeProxy(final ConnInstance connInstance, final AsyncConnectorFacade asyncFacade) {
         this.connInstance = connInstance;
         this.asyncFacade = asyncFacade;
+        this.circuitBreaker = new ConnectorCircuitBreaker(
+                Optional.ofNullable(connInstance.getDisplayName()).orElseGet(connInstance::getKey),
+                ApplicationContextProvider.getBeanFactory().getBeanProvider(ProvisioningProperties.class).
+                        getIfAvailable(ProvisioningProperties::new).getCircuitBreaker());
 
         ConnIdBundleManager connIdBundleManager =
                 ApplicationContextProvider.getBeanFactory().getBean(ConnIdBundleManager.class);
@@ -127,26 +140,95 @@ public class ConnectorFacadeProxy implements Connector {
         connector.validate();
     }
 
+    /**
+     * Sends the given request to the connector instance, via the circuit breaker, and waits for its completion.
+     *
+     * @param <T> result type
+     * @param operation read operation name, for latency tracking and adaptive timeout; null for write operations
+     * @param request request to send
+     * @return request result
+     */
+    private <T> T execute(final String operation, final Supplier<Future<T>> request) {
+        long generation = circuitBreaker.acquire();
+
+        long start = System.nanoTime();
+        Future<T> future = null;
+        try {
+            future = request.get();
+            T result = future.get(
+                    circuitBreaker.timeout(operation, connInstance.getConnRequestTimeout()), TimeUnit.MILLISECONDS);
+            circuitBreaker.succeeded(generation, operation, System.nanoTime() - start);
+            return result;
+        } catch (java.util.concurrent.TimeoutException e) {
+            future.cancel(true);
+            circuitBreaker.failed(generation, e);
+            throw new TimeoutException("Request timeout");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            circuitBreaker.abandoned(generation);
+            throw new RuntimeException("Connector request interrupted", e);
+        } catch (ExecutionException e) {
+            circuitBreaker.failed(generation, e.getCause());
+            LOG.error("Connector request execution failure", e);
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            } else {
+                throw new RuntimeException(e.getCause());
+            }
+        } catch (RuntimeException e) {
+            circuitBreaker.failed(generation, e);
+            throw e;
+        }
+    }
+
+    private static boolean isCausedBy(final Throwable error, final Throwable cause) {
+        if (cause == null) {
+            return false;
+        }
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t == cause) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Runs the given request directly on the connector instance, via the circuit breaker; latency is not tracked as
+     * it depends on the amount of data being returned. Errors raised by the results handler, rather than by the
+     * connector instance, are not counted as failures.
+     *
+     * @param <T> result type
+     * @param request request to run
+     * @param handlerError error raised by the results handler, if any
+     * @return request result
+     */
+    private <T> T run(final Supplier<T> request, final AtomicReference<RuntimeException> handlerError) {
+        long generation = circuitBreaker.acquire();
+
+        try {
+            T result = request.get();
+            circuitBreaker.succeeded(generation, null, 0);
+            return result;
+        } catch (RuntimeException e) {
+            if (isCausedBy(e, handlerError.get())) {
+                // the connector instance did respond, the results handler failed
+                circuitBreaker.succeeded(generation, null, 0);
+            } else {
+                circuitBreaker.failed(generation, e);
+            }
+            throw e;
+        }
+    }
+
     @Override
     public Uid authenticate(final String username, final String password, final OperationOptions options) {
         Uid result = null;
 
         if (connInstance.getCapabilities().contains(ConnectorCapability.AUTHENTICATE)) {
-            Future<Uid> future = asyncFacade.authenticate(
-                    connector, username, new GuardedString(password.toCharArray()), options);
-            try {
-                result = future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-            } catch (java.util.concurrent.TimeoutException e) {
-                future.cancel(true);
-                throw new TimeoutException("Request timeout");
-            } catch (Exception e) {
-                LOG.error("Connector request execution failure", e);
-                if (e.getCause() instanceof RuntimeException runtimeException) {
-                    throw runtimeException;
-                } else {
-                    throw new RuntimeException(e.getCause());
-                }
-            }
+            result = execute("authenticate", () -> asyncFacade.authenticate(
+                    connector, username, new GuardedString(password.toCharArray()), options));
         } else {
             LOG.info("Authenticate was attempted, although the connector only has these capabilities: {}. No action.",
                     connInstance.getCapabilities());
@@ -167,20 +249,7 @@ public class ConnectorFacadeProxy implements Connector {
         if (connInstance.getCapabilities().contains(ConnectorCapability.CREATE)) {
             propagationAttempted.set(true);
 
-            Future<Uid> future = asyncFacade.create(connector, objectClass, attrs, options);
-            try {
-                result = future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-            } catch (java.util.concurrent.TimeoutException e) {
-                future.cancel(true);
-                throw new TimeoutException("Request timeout");
-            } catch (Exception e) {
-                LOG.error("Connector request execution failure", e);
-                if (e.getCause() instanceof RuntimeException runtimeException) {
-                    throw runtimeException;
-                } else {
-                    throw new RuntimeException(e.getCause());
-                }
-            }
+            result = execute(null, () -> asyncFacade.create(connector, objectClass, attrs, options));
         } else {
             LOG.info("Create was attempted, although the connector only has these capabilities: {}. No action.",
                     connInstance.getCapabilities());
@@ -202,21 +271,7 @@ public class ConnectorFacadeProxy implements Connector {
         if (connInstance.getCapabilities().contains(ConnectorCapability.UPDATE)) {
             propagationAttempted.set(true);
 
-            Future<Uid> future = asyncFacade.update(connector, objectClass, uid, attrs, options);
-
-            try {
-                result = future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-            } catch (java.util.concurrent.TimeoutException e) {
-                future.cancel(true);
-                throw new TimeoutException("Request timeout");
-            } catch (Exception e) {
-                LOG.error("Connector request execution failure", e);
-                if (e.getCause() instanceof RuntimeException runtimeException) {
-                    throw runtimeException;
-                } else {
-                    throw new RuntimeException(e.getCause());
-                }
-            }
+            result = execute(null, () -> asyncFacade.update(connector, objectClass, uid, attrs, options));
         } else {
             LOG.info("Update for {} was attempted, although the "
                     + "connector only has these capabilities: {}. No action.",
@@ -239,22 +294,8 @@ public class ConnectorFacadeProxy implements Connector {
         if (connInstance.getCapabilities().contains(ConnectorCapability.UPDATE_DELTA)) {
             propagationAttempted.set(true);
 
-            Future<Set<AttributeDelta>> future =
-                    asyncFacade.updateDelta(connector, objectClass, uid, modifications, options);
-
-            try {
-                result = future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-            } catch (java.util.concurrent.TimeoutException e) {
-                future.cancel(true);
-                throw new TimeoutException("Request timeout");
-            } catch (Exception e) {
-                LOG.error("Connector request execution failure", e);
-                if (e.getCause() instanceof RuntimeException runtimeException) {
-                    throw runtimeException;
-                } else {
-                    throw new RuntimeException(e.getCause());
-                }
-            }
+            result = execute(null,
+                    () -> asyncFacade.updateDelta(connector, objectClass, uid, modifications, options));
         } else {
             LOG.info("UpdateDelta for {} was attempted, although the "
                     + "connector only has these capabilities: {}. No action.",
@@ -274,21 +315,7 @@ public class ConnectorFacadeProxy implements Connector {
         if (connInstance.getCapabilities().contains(ConnectorCapability.DELETE)) {
             propagationAttempted.set(true);
 
-            Future<Uid> future = asyncFacade.delete(connector, objectClass, uid, options);
-
-            try {
-                future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-            } catch (java.util.concurrent.TimeoutException e) {
-                future.cancel(true);
-                throw new TimeoutException("Request timeout");
-            } catch (Exception e) {
-                LOG.error("Connector request execution failure", e);
-                if (e.getCause() instanceof RuntimeException runtimeException) {
-                    throw runtimeException;
-                } else {
-                    throw new RuntimeException(e.getCause());
-                }
-            }
+            execute(null, () -> asyncFacade.delete(connector, objectClass, uid, options));
         } else {
             LOG.info("Delete for {} was attempted, although the connector only has these capabilities: {}. No action.",
                     uid.getUidValue(), connInstance.getCapabilities());
@@ -300,7 +327,18 @@ public class ConnectorFacadeProxy implements Connector {
             final OperationOptions options) {
 
         if (connInstance.getCapabilities().contains(ConnectorCapability.SYNC)) {
-            connector.sync(objectClass, token, handler, options);
+            AtomicReference<RuntimeException> handlerError = new AtomicReference<>();
+            run(() -> {
+                connector.sync(objectClass, token, delta -> {
+                    try {
+                        return handler.handle(delta);
+                    } catch (RuntimeException e) {
+                        handlerError.set(e);
+                        throw e;
+                    }
+                }, options);
+                return null;
+            }, handlerError);
         } else {
             LOG.info("Sync was attempted, although the connector only has these capabilities: {}. No action.",
                     connInstance.getCapabilities());
@@ -312,21 +350,7 @@ public class ConnectorFacadeProxy implements Connector {
         SyncToken result = null;
 
         if (connInstance.getCapabilities().contains(ConnectorCapability.SYNC)) {
-            Future<SyncToken> future = asyncFacade.getLatestSyncToken(connector, objectClass);
-
-            try {
-                result = future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-            } catch (java.util.concurrent.TimeoutException e) {
-                future.cancel(true);
-                throw new TimeoutException("Request timeout");
-            } catch (Exception e) {
-                LOG.error("Connector request execution failure", e);
-                if (e.getCause() instanceof RuntimeException runtimeException) {
-                    throw runtimeException;
-                } else {
-                    throw new RuntimeException(e.getCause());
-                }
-            }
+            result = execute("getLatestSyncToken", () -> asyncFacade.getLatestSyncToken(connector, objectClass));
         } else {
             LOG.info("getLatestSyncToken was attempted, although the "
                     + "connector only has these capabilities: {}. No action.", connInstance.getCapabilities());
@@ -356,56 +380,17 @@ public class ConnectorFacadeProxy implements Connector {
 
     @Override
     public Set<ObjectClassInfo> getObjectClassInfo() {
-        Future<Set<ObjectClassInfo>> future = asyncFacade.getObjectClassInfo(connector);
-        try {
-            return future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-        } catch (java.util.concurrent.TimeoutException e) {
-            future.cancel(true);
-            throw new TimeoutException("Request timeout");
-        } catch (Exception e) {
-            LOG.error("Connector request execution failure", e);
-            if (e.getCause() instanceof RuntimeException runtimeException) {
-                throw runtimeException;
-            } else {
-                throw new RuntimeException(e.getCause());
-            }
-        }
+        return execute("getObjectClassInfo", () -> asyncFacade.getObjectClassInfo(connector));
     }
 
     @Override
     public void validate() {
-        Future<String> future = asyncFacade.test(connector);
-        try {
-            future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-        } catch (java.util.concurrent.TimeoutException e) {
-            future.cancel(true);
-            throw new TimeoutException("Request timeout");
-        } catch (Exception e) {
-            LOG.error("Connector request execution failure", e);
-            if (e.getCause() instanceof RuntimeException runtimeException) {
-                throw runtimeException;
-            } else {
-                throw new RuntimeException(e.getCause());
-            }
-        }
+        execute("test", () -> asyncFacade.test(connector));
     }
 
     @Override
     public void test() {
-        Future<String> future = asyncFacade.test(connector);
-        try {
-            future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-        } catch (java.util.concurrent.TimeoutException e) {
-            future.cancel(true);
-            throw new TimeoutException("Request timeout");
-        } catch (Exception e) {
-            LOG.error("Connector request execution failure", e);
-            if (e.getCause() instanceof RuntimeException runtimeException) {
-                throw runtimeException;
-            } else {
-                throw new RuntimeException(e.getCause());
-            }
-        }
+        execute("test", () -> asyncFacade.test(connector));
     }
 
     @Override
@@ -415,29 +400,14 @@ public class ConnectorFacadeProxy implements Connector {
             final boolean ignoreCaseMatch,
             final OperationOptions options) {
 
-        Future<ConnectorObject> future;
-
         if (connInstance.getCapabilities().contains(ConnectorCapability.SEARCH)) {
-            future = asyncFacade.getObject(connector, objectClass, connObjectKey, ignoreCaseMatch, options);
-        } else {
-            LOG.info("Search was attempted, although the connector only has these capabilities: {}. No action.",
-                    connInstance.getCapabilities());
-            return null;
+            return execute("getObject",
+                    () -> asyncFacade.getObject(connector, objectClass, connObjectKey, ignoreCaseMatch, options));
         }
 
-        try {
-            return future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-        } catch (java.util.concurrent.TimeoutException e) {
-            future.cancel(true);
-            throw new TimeoutException("Request timeout");
-        } catch (Exception e) {
-            LOG.error("Connector request execution failure", e);
-            if (e.getCause() instanceof RuntimeException runtimeException) {
-                throw runtimeException;
-            } else {
-                throw new RuntimeException(e.getCause());
-            }
-        }
+        LOG.info("Search was attempted, although the connector only has these capabilities: {}. No action.",
+                connInstance.getCapabilities());
+        return null;
     }
 
     @Override
@@ -450,33 +420,24 @@ public class ConnectorFacadeProxy implements Connector {
         SearchResult result = null;
 
         if (connInstance.getCapabilities().contains(ConnectorCapability.SEARCH)) {
-            if (options.getPageSize() == null && options.getPagedResultsCookie() == null) {
-                OperationOptionsBuilder builder = new OperationOptionsBuilder(options).
-                        setPageSize(DEFAULT_PAGE_SIZE).setPagedResultsOffset(-1);
-
-                final String[] cookies = new String[] { null };
-                do {
-                    if (cookies[0] != null) {
-                        builder.setPagedResultsCookie(cookies[0]);
-                    }
-
-                    result = connector.search(objectClass, filter, new SearchResultsHandler() {
+            AtomicReference<RuntimeException> handlerError = new AtomicReference<>();
+            result = run(() -> doSearch(objectClass, filter, new SearchResultsHandler() {
 
-                        @Override
-                        public void handleResult(final SearchResult result) {
-                            handler.handleResult(result);
-                            cookies[0] = result.getPagedResultsCookie();
-                        }
+                @Override
+                public void handleResult(final SearchResult result) {
+                    handler.handleResult(result);
+                }
 
-                        @Override
-                        public boolean handle(final ConnectorObject connectorObject) {
-                            return handler.handle(connectorObject);
-                        }
-                    }, builder.build());
-                } while (cookies[0] != null);
-            } else {
-                result = connector.search(objectClass, filter, handler, options);
-            }
+                @Override
+                public boolean handle(final ConnectorObject connectorObject) {
+                    try {
+                        return handler.handle(connectorObject);
+                    } catch (RuntimeException e) {
+                        handlerError.set(e);
+                        throw e;
+                    }
+                }
+            }, options), handlerError);
         } else {
             LOG.info("Search was attempted, although the connector only has these capabilities: {}. No action.",
                     connInstance.getCapabilities());
@@ -485,6 +446,44 @@ public class ConnectorFacadeProxy implements Connector {
         return result;
     }
 
+    private SearchResult doSearch(
+            final ObjectClass objectClass,
+            final Filter filter,
+            final SearchResultsHandler handler,
+            final OperationOptions options) {
+
+        if (options.getPageSize() != null || options.getPagedResultsCookie() != null) {
+            return connector.search(objectClass, filter, handler, options);
+        }
+
+        OperationOptionsBuilder builder = new OperationOptionsBuilder(options).
+                setPageSize(DEFAULT_PAGE_SIZE).setPagedResultsOffset(-1);
+
+        SearchResult result;
+        final String[] cookies = new String[] { null };
+        do {
+            if (cookies[0] != null) {
+                builder.setPagedResultsCookie(cookies[0]);
+            }
+
+            result = connector.search(objectClass, filter, new SearchResultsHandler() {
+
+                @Override
+                public void handleResult(final SearchResult result) {
+                    handler.handleResult(result);
+                    cookies[0] = result.getPagedResultsCookie();
+                }
+
+                @Override
+                public boolean handle(final ConnectorObject connectorObject) {
+                    return handler.handle(connectorObject);
+                }
+            }, builder.build());
+        } while (cookies[0] != null);
+
+        return result;
+    }
+
     @Override
     public void dispose() {
         connector.dispose();
@@ -495,6 +494,11 @@ public class ConnectorFacadeProxy implements Connector {
         return connInstance;
     }
 
+    @Override
+    public Map<String, Object> getCircuitBreakerState() {
+        return circuitBreaker.getDetails();
+    }
+
     private static Object getPropertyValue(final String propType, final List<?> values) {
         Object value = null;
 
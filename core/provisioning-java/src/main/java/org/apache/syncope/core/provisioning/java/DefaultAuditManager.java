@@ -20,9 +20,13 @@ package org.apache.syncope.core.provisioning.java;
 
 import java.time.OffsetDateTime;
 import java.util.Arrays;
-import java.util.Optional;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.audit.AuditEntry;
 import org.apache.syncope.common.lib.request.UserCR;
 import org.apache.syncope.common.lib.request.UserUR;
@@ -45,6 +49,8 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional(readOnly = true)
 public class DefaultAuditManager implements AuditManager {
 
+    protected static final Logger LOG = LoggerFactory.getLogger(AuditManager.class);
+
     protected static final String MASKED_VALUE = "<MASKED>";
 
     protected static Object maskSensitive(final Object object) {
@@ -76,12 +82,93 @@ public class DefaultAuditManager implements AuditManager {
         return masked;
     }
 
+    /**
+     * Keys of active audit configurations, for a given domain.
+     */
+    protected static final class ActiveAuditConfs {
+
+        protected final Set<String> keys;
+
+        /**
+         * Events of active audit configurations, allowing to discard most calls without building any audit key;
+         * {@code null} if some active key could not be parsed, so that audit keys are always checked.
+         */
+        protected final Set<String> events;
+
+        protected ActiveAuditConfs(final Set<String> keys) {
+            this.keys = Set.copyOf(keys);
+
+            Set<String> parsed = new HashSet<>();
+            for (String key : keys) {
+                try {
+                    parsed.add(StringUtils.defaultString(AuditLoggerName.fromAuditKey(key).getEvent()));
+                } catch (Exception e) {
+                    LOG.debug("Could not parse audit key {}", key, e);
+                    parsed = null;
+                    break;
+                }
+            }
+            this.events = parsed == null ? null : Set.copyOf(parsed);
+        }
+
+        protected boolean mayBeActive(final String event) {
+            return events == null || events.contains(StringUtils.isBlank(event) ? StringUtils.EMPTY : event);
+        }
+
+        protected boolean isActive(
+                final AuditElements.EventCategoryType type,
+                final String category,
+                final String subcategory,
+                final String event,
+                final Result condition) {
+
+            return mayBeActive(event)
+                    && keys.contains(new AuditLoggerName(type, category, subcategory, event, condition).toAuditKey());
+        }
+    }
+
     protected final AuditConfDAO auditConfDAO;
 
+    /**
+     * Active audit configurations, for each domain; each instance is immutable and replaced as a whole upon change,
+     * so that no database access is needed to decide whether an event is audited.
+     */
+    protected final Map<String, ActiveAuditConfs> activeAuditConfs = new ConcurrentHashMap<>();
+
     public DefaultAuditManager(final AuditConfDAO auditConfDAO) {
         this.auditConfDAO = auditConfDAO;
     }
 
+    protected Set<String> loadActiveAuditConfs() {
+        return auditConfDAO.findAll().stream().
+                filter(AuditConf::isActive).
+                map(AuditConf::getKey).
+                collect(Collectors.toSet());
+    }
+
+    protected ActiveAuditConfs activeAuditConfs() {
+        return activeAuditConfs.computeIfAbsent(
+                AuthContextUtils.getDomain(), domain -> new ActiveAuditConfs(loadActiveAuditConfs()));
+    }
+
+    @Override
+    public void auditConfChanged(final String key, final boolean active) {
+        activeAuditConfs.compute(AuthContextUtils.getDomain(), (domain, current) -> {
+            Set<String> updated = new HashSet<>(current == null ? loadActiveAuditConfs() : current.keys);
+            if (active) {
+                updated.add(key);
+            } else {
+                updated.remove(key);
+            }
+            return new ActiveAuditConfs(updated);
+        });
+    }
+
+    @Override
+    public void resetAuditConfs(final String domain) {
+        activeAuditConfs.remove(domain);
+    }
+
     @Override
     public boolean auditRequested(
             final String who,
@@ -90,24 +177,9 @@ public class DefaultAuditManager implements AuditManager {
             final String subcategory,
             final String event) {
 
-        AuditEntry auditEntry = new AuditEntry();
-        auditEntry.setWho(who);
-        auditEntry.setLogger(new AuditLoggerName(type, category, subcategory, event, Result.SUCCESS));
-        auditEntry.setDate(OffsetDateTime.now());
-
-        AuditConf auditConf = auditConfDAO.find(auditEntry.getLogger().toAuditKey());
-        boolean auditRequested = auditConf != null && auditConf.isActive();
-
-        if (auditRequested) {
-            return true;
-        }
-
-        auditEntry.setLogger(new AuditLoggerName(type, category, subcategory, event, Result.FAILURE));
-
-        auditConf = auditConfDAO.find(auditEntry.getLogger().toAuditKey());
-        auditRequested = auditConf != null && auditConf.isActive();
-
-        return auditRequested;
+        ActiveAuditConfs active = activeAuditConfs();
+        return active.isActive(type, category, subcategory, event, Result.SUCCESS)
+                || active.isActive(type, category, subcategory, event, Result.FAILURE);
     }
 
     @Transactional(propagation = Propagation.NOT_SUPPORTED)
@@ -138,11 +210,14 @@ public class DefaultAuditManager implements AuditManager {
             final Object output,
             final Object... input) {
 
-        AuditLoggerName auditLoggerName = new AuditLoggerName(type, category, subcategory, event, condition);
-
-        Optional.ofNullable(auditConfDAO.find(auditLoggerName.toAuditKey())).
-                filter(AuditConf::isActive).ifPresent(audit -> {
+        ActiveAuditConfs active = activeAuditConfs();
+        if (!active.mayBeActive(event)) {
+            return;
+        }
 
+        AuditLoggerName auditLoggerName = new AuditLoggerName(type, category, subcategory, event, condition);
+        String auditKey = auditLoggerName.toAuditKey();
+        if (active.keys.contains(auditKey)) {
             Throwable throwable = output instanceof Throwable
                     ? (Throwable) output
                     : null;
@@ -167,7 +242,7 @@ public class DefaultAuditManager implements AuditManager {
             Logger logger = LoggerFactory.getLogger(
                     AuditLoggerName.getAuditLoggerName(AuthContextUtils.getDomain()));
             Logger eventLogger = LoggerFactory.getLogger(
-                    AuditLoggerName.getAuditEventLoggerName(AuthContextUtils.getDomain(), audit.getKey()));
+                    AuditLoggerName.getAuditEventLoggerName(AuthContextUtils.getDomain(), auditKey));
             String serializedAuditEntry = POJOHelper.serialize(auditEntry);
 
             if (throwable == null) {
@@ -177,6 +252,6 @@ public class DefaultAuditManager implements AuditManager {
                 logger.debug(serializedAuditEntry, throwable);
                 eventLogger.debug(serializedAuditEntry, throwable);
             }
-        });
+        }
     }
 }
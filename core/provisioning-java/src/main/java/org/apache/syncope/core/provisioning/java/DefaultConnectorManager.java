@@ -21,10 +21,18 @@ package org.apache.syncope.core.provisioning.java;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 import org.apache.syncope.common.lib.to.ConnInstanceTO;
 import org.apache.syncope.common.lib.types.ConnConfProperty;
 import org.apache.syncope.common.lib.types.ConnectorCapability;
@@ -40,6 +48,7 @@ import org.apache.syncope.core.provisioning.api.data.ConnInstanceDataBinder;
 import org.apache.syncope.core.provisioning.api.utils.ConnPoolConfUtils;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.apache.syncope.core.spring.task.VirtualThreadPoolTaskExecutor;
 import org.identityconnectors.common.l10n.CurrentLocale;
 import org.identityconnectors.framework.api.ConnectorFacadeFactory;
 import org.slf4j.Logger;
@@ -67,13 +76,20 @@ public class DefaultConnectorManager implements ConnectorManager {
 
     protected final EntityFactory entityFactory;
 
+    protected final ProvisioningProperties.ConnectorLoadProperties props;
+
+    protected final Map<String, Lock> registrationLocks = new ConcurrentHashMap<>();
+
+    protected final Map<String, Map<String, Long>> registrationTimes = new ConcurrentHashMap<>();
+
     public DefaultConnectorManager(
             final ConnIdBundleManager connIdBundleManager,
             final RealmDAO realmDAO,
             final ExternalResourceDAO resourceDAO,
             final ConnInstanceDataBinder connInstanceDataBinder,
             final AsyncConnectorFacade asyncFacade,
-            final EntityFactory entityFactory) {
+            final EntityFactory entityFactory,
+            final ProvisioningProperties.ConnectorLoadProperties props) {
 
         this.connIdBundleManager = connIdBundleManager;
         this.realmDAO = realmDAO;
@@ -81,6 +97,7 @@ public class DefaultConnectorManager implements ConnectorManager {
         this.connInstanceDataBinder = connInstanceDataBinder;
         this.asyncFacade = asyncFacade;
         this.entityFactory = entityFactory;
+        this.props = props;
     }
 
     @Override
@@ -89,12 +106,40 @@ public class DefaultConnectorManager implements ConnectorManager {
                 getSingleton(getBeanName(resource)));
     }
 
+    /**
+     * Runs the given action while holding the registration lock for the given bean name, so that the same connector
+     * is never (un)registered by concurrent callers; locks are removed from {@link #registrationLocks} only while
+     * held, hence a lock found there after acquiring it is guaranteed to be the only one for that bean name.
+     *
+     * @param <T> result type
+     * @param beanName connector bean name
+     * @param action action to run
+     * @return action result
+     */
+    protected <T> T withRegistrationLock(final String beanName, final Supplier<T> action) {
+        while (true) {
+            Lock lock = registrationLocks.computeIfAbsent(beanName, k -> new ReentrantLock());
+            lock.lock();
+            try {
+                if (registrationLocks.get(beanName) == lock) {
+                    return action.get();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
     @Override
     public Connector getConnector(final ExternalResource resource) {
         // Try to re-create connector bean from underlying resource (useful for managing failover scenarios)
         return readConnector(resource).orElseGet(() -> {
-            registerConnector(resource);
-            return (Connector) ApplicationContextProvider.getBeanFactory().getSingleton(getBeanName(resource));
+            // prevents concurrent callers from registering (and validating) the same connector more than once
+            String beanName = getBeanName(resource);
+            return withRegistrationLock(beanName, () -> readConnector(resource).orElseGet(() -> {
+                registerConnector(resource);
+                return (Connector) ApplicationContextProvider.getBeanFactory().getSingleton(beanName);
+            }));
         });
     }
 
@@ -158,23 +203,52 @@ public class DefaultConnectorManager implements ConnectorManager {
         return new ConnectorFacadeProxy(connInstance, asyncFacade);
     }
 
-    @Override
-    public void registerConnector(final ExternalResource resource) {
-        String beanName = getBeanName(resource);
+    protected ConnInstance buildConnInstanceOverride(final ExternalResource resource) {
+        return buildConnInstanceOverride(
+                connInstanceDataBinder.getConnInstanceTO(resource.getConnector()),
+                resource.getConfOverride(),
+                resource.isOverrideCapabilities() ? Optional.of(resource.getCapabilitiesOverride()) : Optional.empty());
+    }
+
+    /**
+     * Creates the connector for the given connector instance and registers it with the given bean name; as this
+     * involves no access to the persistence context, it can be safely invoked from any thread.
+     *
+     * @param domain domain
+     * @param resource resource key
+     * @param beanName connector bean name
+     * @param connInstance connector instance, as overridden by resource
+     */
+    protected void registerConnector(
+            final String domain,
+            final String resource,
+            final String beanName,
+            final ConnInstance connInstance) {
+
+        long start = System.nanoTime();
 
         if (ApplicationContextProvider.getBeanFactory().containsSingleton(beanName)) {
             unregisterConnector(beanName);
         }
 
-        ConnInstance connInstance = buildConnInstanceOverride(
-                connInstanceDataBinder.getConnInstanceTO(resource.getConnector()),
-                resource.getConfOverride(),
-                resource.isOverrideCapabilities() ? Optional.of(resource.getCapabilitiesOverride()) : Optional.empty());
         Connector connector = createConnector(connInstance);
         LOG.debug("Connector to be registered: {}", connector);
 
         ApplicationContextProvider.getBeanFactory().registerSingleton(beanName, connector);
         LOG.debug("Successfully registered bean {}", beanName);
+
+        registrationTimes.computeIfAbsent(domain, d -> new ConcurrentHashMap<>()).
+                put(resource, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @Override
+    public void registerConnector(final ExternalResource resource) {
+        String beanName = getBeanName(resource);
+        ConnInstance connInstance = buildConnInstanceOverride(resource);
+        withRegistrationLock(beanName, () -> {
+            registerConnector(AuthContextUtils.getDomain(), resource.getKey(), beanName, connInstance);
+            return null;
+        });
     }
 
     protected void unregisterConnector(final String id) {
@@ -184,9 +258,13 @@ public class DefaultConnectorManager implements ConnectorManager {
     @Override
     public void unregisterConnector(final ExternalResource resource) {
         String beanName = getBeanName(resource);
-        if (ApplicationContextProvider.getBeanFactory().containsSingleton(beanName)) {
-            unregisterConnector(beanName);
-        }
+        withRegistrationLock(beanName, () -> {
+            if (ApplicationContextProvider.getBeanFactory().containsSingleton(beanName)) {
+                unregisterConnector(beanName);
+            }
+            registrationLocks.remove(beanName);
+            return null;
+        });
     }
 
     @Transactional(readOnly = true)
@@ -198,20 +276,58 @@ public class DefaultConnectorManager implements ConnectorManager {
         // Load all connector bundles
         connIdBundleManager.getConnManagers();
 
-        // Load all resource-specific connectors
-        int connectors = 0;
+        String domain = AuthContextUtils.getDomain();
+        registrationTimes.remove(domain);
+
+        if (props.isLazy()) {
+            LOG.info("Connectors for domain {} will be registered upon first usage", domain);
+            return;
+        }
+
+        // Load all resource-specific connectors: connector instances are built here, as they need the persistence
+        // context, while connectors are created and validated concurrently, as they might take long
+        VirtualThreadPoolTaskExecutor executor = new VirtualThreadPoolTaskExecutor();
+        executor.setPoolSize(props.getConcurrency());
+        executor.setThreadNamePrefix("ConnectorLoader-" + domain + "-");
+        executor.initialize();
+
+        long start = System.nanoTime();
+        Map<ExternalResource, Future<?>> registrations = new LinkedHashMap<>();
         for (ExternalResource resource : resourceDAO.findAll()) {
             LOG.info("Registering resource-connector pair {}-{}", resource, resource.getConnector());
             try {
-                registerConnector(resource);
+                String beanName = getBeanName(resource);
+                ConnInstance connInstance = buildConnInstanceOverride(resource);
+                registrations.put(resource, executor.submit(() -> {
+                    CurrentLocale.set(Locale.ENGLISH);
+                    withRegistrationLock(beanName, () -> {
+                        registerConnector(domain, resource.getKey(), beanName, connInstance);
+                        return null;
+                    });
+                }));
+            } catch (Exception e) {
+                LOG.error("While registering resource-connector pair {}-{}", resource, resource.getConnector(), e);
+            }
+        }
+
+        int connectors = 0;
+        for (Map.Entry<ExternalResource, Future<?>> registration : registrations.entrySet()) {
+            try {
+                registration.getValue().get();
 
                 connectors++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOG.error("Interrupted while registering resource-connector pairs", e);
+                break;
             } catch (Exception e) {
-                LOG.error("While registering resource-connector pair {}-{}", resource, resource.getConnector(), e);
+                LOG.error("While registering resource-connector pair {}-{}",
+                        registration.getKey(), registration.getKey().getConnector(), e);
             }
         }
 
-        LOG.info("Done loading {} connectors", connectors);
+        LOG.info("Done loading {} connectors in {} ms", connectors,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
     }
 
     @Transactional(readOnly = true)
@@ -224,7 +340,7 @@ public class DefaultConnectorManager implements ConnectorManager {
                 LOG.info("Unegistering resource-connector pair {}-{}", resource, resource.getConnector());
 
                 getConnector(resource).dispose();
-                unregisterConnector(beanName);
+                unregisterConnector(resource);
 
                 connectors++;
             }
@@ -236,4 +352,11 @@ public class DefaultConnectorManager implements ConnectorManager {
         connIdBundleManager.resetConnManagers();
         LOG.info("All connector resources disposed");
     }
+
+    @Override
+    public Map<String, Map<String, Long>> getRegistrationTimes() {
+        Map<String, Map<String, Long>> times = new TreeMap<>();
+        registrationTimes.forEach((domain, resources) -> times.put(domain, new TreeMap<>(resources)));
+        return times;
+    }
 }
@@ -18,16 +18,18 @@
  */
 package org.apache.syncope.core.provisioning.java;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 import org.apache.commons.jexl3.JexlContext;
-import org.apache.commons.jexl3.MapContext;
 import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
 import org.apache.syncope.core.persistence.api.entity.DerSchema;
 import org.apache.syncope.core.persistence.api.entity.GroupableRelatable;
 import org.apache.syncope.core.persistence.api.entity.Membership;
+import org.apache.syncope.core.persistence.api.entity.PlainAttr;
 import org.apache.syncope.core.provisioning.api.DerAttrHandler;
 import org.apache.syncope.core.provisioning.api.jexl.JexlUtils;
 import org.slf4j.Logger;
@@ -39,20 +41,36 @@ public class DefaultDerAttrHandler implements DerAttrHandler {
 
     protected static final Logger LOG = LoggerFactory.getLogger(DerAttrHandler.class);
 
-    protected static Map<DerSchema, String> getValues(final Any<?> any, final Set<DerSchema> schemas) {
-        Map<DerSchema, String> result = new HashMap<>(schemas.size());
+    /**
+     * Evaluates the given derived schemas, each against its own context: values read from the entity are resolved
+     * upon first access and shared among all evaluations.
+     *
+     * @param any entity
+     * @param plainAttrs plain attributes to expose
+     * @param schemas derived schemas to evaluate
+     * @return values, by derived schema
+     */
+    protected static Map<DerSchema, String> getValues(
+            final Any<?> any,
+            final Collection<? extends PlainAttr<?>> plainAttrs,
+            final Set<DerSchema> schemas) {
 
-        schemas.forEach(schema -> {
-            JexlContext jexlContext = new MapContext();
-            JexlUtils.addPlainAttrsToContext(any.getPlainAttrs(), jexlContext);
-            JexlUtils.addFieldsToContext(any, jexlContext);
+        Map<DerSchema, String> result = new HashMap<>(schemas.size());
+        if (schemas.isEmpty()) {
+            return result;
+        }
 
-            result.put(schema, JexlUtils.evaluate(schema.getExpression(), jexlContext).toString());
-        });
+        Supplier<JexlContext> jexlContexts = JexlUtils.newLazyContexts(any, plainAttrs);
+        schemas.forEach(schema -> result.put(schema, JexlUtils.evaluate(
+                JexlUtils.getExpression(schema.getExpression()), jexlContexts.get()).toString()));
 
         return result;
     }
 
+    protected static Map<DerSchema, String> getValues(final Any<?> any, final Set<DerSchema> schemas) {
+        return getValues(any, any.getPlainAttrs(), schemas);
+    }
+
     protected final AnyUtilsFactory anyUtilsFactory;
 
     public DefaultDerAttrHandler(final AnyUtilsFactory anyUtilsFactory) {
@@ -93,17 +111,7 @@ public class DefaultDerAttrHandler implements DerAttrHandler {
     protected static Map<DerSchema, String> getValues(
             final GroupableRelatable<?, ?, ?, ?, ?> any, final Membership<?> membership, final Set<DerSchema> schemas) {
 
-        Map<DerSchema, String> result = new HashMap<>(schemas.size());
-
-        schemas.forEach(schema -> {
-            JexlContext jexlContext = new MapContext();
-            JexlUtils.addPlainAttrsToContext(any.getPlainAttrs(membership), jexlContext);
-            JexlUtils.addFieldsToContext(any, jexlContext);
-
-            result.put(schema, JexlUtils.evaluate(schema.getExpression(), jexlContext).toString());
-        });
-
-        return result;
+        return getValues(any, any.getPlainAttrs(membership), schemas);
     }
 
     @Override
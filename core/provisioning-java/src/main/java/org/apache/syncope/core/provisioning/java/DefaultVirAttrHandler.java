@@ -24,6 +24,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.to.Item;
@@ -44,6 +54,7 @@ import org.identityconnectors.framework.common.objects.Attribute;
 import org.identityconnectors.framework.common.objects.ConnectorObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.transaction.annotation.Transactional;
 
 @Transactional(readOnly = true)
@@ -59,16 +70,36 @@ public class DefaultVirAttrHandler implements VirAttrHandler {
 
     protected final AnyUtilsFactory anyUtilsFactory;
 
+    protected final AsyncTaskExecutor executor;
+
+    protected final ProvisioningProperties.VirAttrProperties props;
+
+    /**
+     * Background refreshes currently ongoing, by any type, entity and resource.
+     */
+    protected final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * One permit for each task the executor can run at once: as tasks are only submitted after acquiring a permit,
+     * the executor never blocks on its own concurrency limit.
+     */
+    protected final Semaphore permits;
+
     public DefaultVirAttrHandler(
             final ConnectorManager connectorManager,
             final VirAttrCache virAttrCache,
             final OutboundMatcher outboundMatcher,
-            final AnyUtilsFactory anyUtilsFactory) {
+            final AnyUtilsFactory anyUtilsFactory,
+            final AsyncTaskExecutor executor,
+            final ProvisioningProperties.VirAttrProperties props) {
 
         this.connectorManager = connectorManager;
         this.virAttrCache = virAttrCache;
         this.outboundMatcher = outboundMatcher;
         this.anyUtilsFactory = anyUtilsFactory;
+        this.executor = executor;
+        this.props = props;
+        this.permits = new Semaphore(props.getConcurrency());
     }
 
     @Override
@@ -98,12 +129,208 @@ public class DefaultVirAttrHandler implements VirAttrHandler {
         });
     }
 
+    protected static void enqueue(
+            final Map<Pair<ExternalResource, Provision>, Set<VirSchema>> toRead,
+            final Any<?> any,
+            final VirSchema schema) {
+
+        if (schema.getAnyType().equals(any.getType())) {
+            schema.getResource().getProvisionByAnyType(schema.getAnyType().getKey()).ifPresent(provision -> toRead.
+                    computeIfAbsent(Pair.of(schema.getResource(), provision), k -> new HashSet<>()).add(schema));
+        }
+    }
+
+    protected Supplier<List<ConnectorObject>> prepareRead(
+            final Any<?> any,
+            final Pair<ExternalResource, Provision> pair,
+            final Set<VirSchema> schemasToRead) {
+
+        return outboundMatcher.prepareMatch(
+                connectorManager.getConnector(pair.getLeft()),
+                any,
+                pair.getLeft(),
+                pair.getRight(),
+                Optional.empty(),
+                schemasToRead.stream().map(VirSchema::asLinkingMappingItem).toArray(Item[]::new));
+    }
+
+    /**
+     * Caches the virtual attribute values found on the given connector object.
+     *
+     * @param anyTypeKey any type key
+     * @param anyKey entity key
+     * @param connObj connector object
+     * @param extAttrNames external attribute names, by virtual schema key
+     * @return cached values, by virtual schema key
+     */
+    protected Map<String, List<String>> cache(
+            final String anyTypeKey,
+            final String anyKey,
+            final ConnectorObject connObj,
+            final Map<String, String> extAttrNames) {
+
+        Map<String, List<String>> values = new HashMap<>();
+        extAttrNames.forEach((schemaKey, extAttrName) -> {
+            Attribute attr = connObj.getAttributeByName(extAttrName);
+            if (attr != null) {
+                VirAttrCacheKey cacheKey = new VirAttrCacheKey(anyTypeKey, anyKey, schemaKey);
+                VirAttrCacheValue cacheValue = virAttrCache.put(cacheKey, new VirAttrCacheValue(attr.getValue()));
+                LOG.debug("Set in cache: {}={}", cacheKey, cacheValue);
+
+                values.put(schemaKey, cacheValue.getValues());
+            }
+        });
+        return values;
+    }
+
+    /**
+     * Submits the given task to the executor, once a permit was acquired by the caller; the permit is released when
+     * the task completes, or when it is found cancelled before starting.
+     *
+     * @param <T> result type
+     * @param task task to submit
+     * @return task result
+     */
+    protected <T> Future<T> submit(final Callable<T> task) {
+        FutureTask<T> future = new FutureTask<>(task);
+        try {
+            executor.execute(() -> {
+                try {
+                    future.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        return future;
+    }
+
+    /**
+     * Reads the given virtual schemas from external resources, concurrently; all reads, including the wait for the
+     * executor to accept them, share the same deadline.
+     *
+     * @param any entity
+     * @param toRead virtual schemas to read, by resource and provision
+     * @param result where to put read values
+     */
+    protected void read(
+            final Any<?> any,
+            final Map<Pair<ExternalResource, Provision>, Set<VirSchema>> toRead,
+            final Map<VirSchema, List<String>> result) {
+
+        long deadline = System.currentTimeMillis() + props.getReadTimeout();
+
+        Map<Pair<ExternalResource, Provision>, Future<List<ConnectorObject>>> reads = new HashMap<>();
+        for (Map.Entry<Pair<ExternalResource, Provision>, Set<VirSchema>> entry : toRead.entrySet()) {
+            LOG.debug("About to read from {}: {}", entry.getKey(), entry.getValue());
+
+            try {
+                Supplier<List<ConnectorObject>> read = prepareRead(any, entry.getKey(), entry.getValue());
+                if (permits.tryAcquire(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS)) {
+                    reads.put(entry.getKey(), submit(read::get));
+                } else {
+                    LOG.warn("Could not read from {} within {} ms", entry.getKey().getLeft(), props.getReadTimeout());
+                }
+            } catch (InterruptedException e) {
+                LOG.debug("Interrupted while reading from {}", entry.getKey().getLeft(), e);
+                Thread.currentThread().interrupt();
+                reads.values().forEach(read -> read.cancel(true));
+                return;
+            } catch (RuntimeException e) {
+                LOG.error("While reading from {}", entry.getKey().getLeft(), e);
+            }
+        }
+
+        for (Map.Entry<Pair<ExternalResource, Provision>, Future<List<ConnectorObject>>> entry : reads.entrySet()) {
+            List<ConnectorObject> connObjs;
+            try {
+                connObjs = entry.getValue().get(
+                        Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                LOG.warn("Could not read from {} within {} ms", entry.getKey().getLeft(), props.getReadTimeout());
+                entry.getValue().cancel(true);
+                continue;
+            } catch (ExecutionException e) {
+                LOG.error("While reading from {}", entry.getKey().getLeft(), e);
+                continue;
+            } catch (InterruptedException e) {
+                LOG.debug("Interrupted while reading from {}", entry.getKey().getLeft(), e);
+                Thread.currentThread().interrupt();
+                reads.values().forEach(read -> read.cancel(true));
+                break;
+            }
+
+            if (connObjs.size() == 1) {
+                setValues(any, connObjs.get(0));
+            }
+
+            Set<VirSchema> schemasToRead = toRead.get(entry.getKey());
+            Map<String, String> extAttrNames = schemasToRead.stream().
+                    collect(Collectors.toMap(VirSchema::getKey, VirSchema::getExtAttrName));
+            connObjs.forEach(connObj -> {
+                Map<String, List<String>> values = cache(any.getType().getKey(), any.getKey(), connObj, extAttrNames);
+                schemasToRead.stream().filter(schema -> values.containsKey(schema.getKey())).
+                        forEach(schema -> result.put(schema, values.get(schema.getKey())));
+            });
+        }
+    }
+
+    /**
+     * Refreshes the given virtual schemas in background, unless a refresh for the same entity and resource is already
+     * ongoing or the executor is saturated: stale values are served meanwhile, and refreshed by a later request.
+     *
+     * @param any entity
+     * @param toRefresh virtual schemas to refresh, by resource and provision
+     */
+    protected void refresh(final Any<?> any, final Map<Pair<ExternalResource, Provision>, Set<VirSchema>> toRefresh) {
+        String anyTypeKey = any.getType().getKey();
+        String anyKey = any.getKey();
+
+        toRefresh.forEach((pair, schemasToRefresh) -> {
+            String refreshKey = anyTypeKey + '/' + anyKey + '/' + pair.getLeft().getKey();
+            if (!refreshing.add(refreshKey)) {
+                return;
+            }
+
+            LOG.debug("About to refresh from {}: {}", pair, schemasToRefresh);
+            try {
+                Supplier<List<ConnectorObject>> read = prepareRead(any, pair, schemasToRefresh);
+                Map<String, String> extAttrNames = schemasToRefresh.stream().
+                        collect(Collectors.toMap(VirSchema::getKey, VirSchema::getExtAttrName));
+
+                if (!permits.tryAcquire()) {
+                    LOG.debug("Not refreshing from {} as too many reads are ongoing", pair.getLeft());
+                    refreshing.remove(refreshKey);
+                    return;
+                }
+
+                submit(() -> {
+                    try {
+                        read.get().forEach(connObj -> cache(anyTypeKey, anyKey, connObj, extAttrNames));
+                    } catch (RuntimeException e) {
+                        LOG.error("While refreshing from {}", pair.getLeft(), e);
+                    } finally {
+                        refreshing.remove(refreshKey);
+                    }
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                LOG.error("While refreshing from {}", pair.getLeft(), e);
+                refreshing.remove(refreshKey);
+            }
+        });
+    }
+
     protected Map<VirSchema, List<String>> getValues(final Any<?> any, final Set<VirSchema> schemas) {
         Set<ExternalResource> resources = anyUtilsFactory.getInstance(any).getAllResources(any);
 
         Map<VirSchema, List<String>> result = new HashMap<>();
 
         Map<Pair<ExternalResource, Provision>, Set<VirSchema>> toRead = new HashMap<>();
+        Map<Pair<ExternalResource, Provision>, Set<VirSchema>> toRefresh = new HashMap<>();
 
         schemas.stream().filter(schema -> resources.contains(schema.getResource())).forEach(schema -> {
             VirAttrCacheKey cacheKey = new VirAttrCacheKey(any.getType().getKey(), any.getKey(), schema.getKey());
@@ -112,42 +339,19 @@ public class DefaultVirAttrHandler implements VirAttrHandler {
             if (cacheValue != null) {
                 LOG.debug("Found in cache: {}={}", cacheKey, cacheValue);
                 result.put(schema, cacheValue.getValues());
-            } else if (schema.getAnyType().equals(any.getType())) {
-                schema.getResource().getProvisionByAnyType(schema.getAnyType().getKey()).ifPresent(provision -> {
-                    Set<VirSchema> schemasToRead = toRead.get(Pair.of(schema.getResource(), provision));
-                    if (schemasToRead == null) {
-                        schemasToRead = new HashSet<>();
-                        toRead.put(Pair.of(schema.getResource(), provision), schemasToRead);
-                    }
-                    schemasToRead.add(schema);
-                });
-            }
-        });
 
-        toRead.forEach((pair, schemasToRead) -> {
-            LOG.debug("About to read from {}: {}", pair, schemasToRead);
-
-            outboundMatcher.match(
-                    connectorManager.getConnector(pair.getLeft()),
-                    any,
-                    pair.getLeft(),
-                    pair.getRight(),
-                    Optional.empty(),
-                    schemasToRead.stream().map(VirSchema::asLinkingMappingItem).toArray(Item[]::new)).
-                    forEach(connObj -> schemasToRead.forEach(schema -> {
-
-                Attribute attr = connObj.getAttributeByName(schema.getExtAttrName());
-                if (attr != null) {
-                    VirAttrCacheKey cacheKey =
-                            new VirAttrCacheKey(any.getType().getKey(), any.getKey(), schema.getKey());
-                    VirAttrCacheValue cacheValue = virAttrCache.put(cacheKey, new VirAttrCacheValue(attr.getValue()));
-                    LOG.debug("Set in cache: {}={}", cacheKey, cacheValue);
-
-                    result.put(schema, cacheValue.getValues());
+                if (virAttrCache.isStale(cacheValue)) {
+                    enqueue(toRefresh, any, schema);
                 }
-            }));
+            } else {
+                enqueue(toRead, any, schema);
+            }
         });
 
+        read(any, toRead, result);
+
+        refresh(any, toRefresh);
+
         return result;
     }
 
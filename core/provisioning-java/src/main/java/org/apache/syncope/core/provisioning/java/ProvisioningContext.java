@@ -20,10 +20,11 @@ package org.apache.syncope.core.provisioning.java;
 
 import jakarta.annotation.Resource;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.Properties;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 import javax.sql.DataSource;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
 import org.apache.syncope.core.persistence.api.DomainHolder;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.PlainAttrValidationManager;
@@ -111,6 +112,7 @@ import org.apache.syncope.core.provisioning.api.data.UserDataBinder;
 import org.apache.syncope.core.provisioning.api.data.WAConfigDataBinder;
 import org.apache.syncope.core.provisioning.api.data.wa.WAClientAppDataBinder;
 import org.apache.syncope.core.provisioning.api.job.JobManager;
+import org.apache.syncope.core.provisioning.api.job.report.ReportExecResultStore;
 import org.apache.syncope.core.provisioning.api.notification.NotificationJobDelegate;
 import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationManager;
@@ -157,9 +159,12 @@ import org.apache.syncope.core.provisioning.java.job.SyncopeSpringBeanJobFactory
 import org.apache.syncope.core.provisioning.java.job.SystemLoadReporterJob;
 import org.apache.syncope.core.provisioning.java.job.notification.MailNotificationJobDelegate;
 import org.apache.syncope.core.provisioning.java.job.notification.NotificationJob;
+import org.apache.syncope.core.provisioning.java.job.report.DatabaseReportExecResultStore;
+import org.apache.syncope.core.provisioning.java.job.report.FileSystemReportExecResultStore;
 import org.apache.syncope.core.provisioning.java.notification.DefaultNotificationManager;
 import org.apache.syncope.core.provisioning.java.propagation.DefaultPropagationManager;
 import org.apache.syncope.core.provisioning.java.propagation.PriorityPropagationTaskExecutor;
+import org.apache.syncope.core.provisioning.java.propagation.PropagationTaskQueues;
 import org.apache.syncope.core.provisioning.java.pushpull.InboundMatcher;
 import org.apache.syncope.core.provisioning.java.pushpull.OutboundMatcher;
 import org.apache.syncope.core.provisioning.java.utils.ConnObjectUtils;
@@ -183,8 +188,6 @@ import org.springframework.context.annotation.DependsOn;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.io.ClassPathResource;
-import org.springframework.core.task.AsyncTaskExecutor;
-import org.springframework.core.task.support.TaskExecutorAdapter;
 import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
@@ -241,18 +244,6 @@ public class ProvisioningContext {
         };
     }
 
-    /**
-     * This is a special thread executor that only created a single worker thread.
-     * This is necessary to allow job status update operations to queue up serially
-     * and not via multiple threads to avoid the "lost update" problem.
-     *
-     * @return the async task executor
-     */
-    @Bean
-    public AsyncTaskExecutor jobStatusUpdaterThreadExecutor() {
-        return new TaskExecutorAdapter(Executors.newSingleThreadExecutor());
-    }
-
     /**
      * Used by {@link org.apache.syncope.core.provisioning.java.propagation.PriorityPropagationTaskExecutor}.
      *
@@ -271,6 +262,36 @@ public class ProvisioningContext {
         return executor;
     }
 
+    /**
+     * Used by {@link DefaultVirAttrHandler} to read from several external resources at once.
+     *
+     * @param props the provisioning properties
+     * @return executor thread pool task executor
+     */
+    @Bean
+    public VirtualThreadPoolTaskExecutor virAttrHandlerExecutor(final ProvisioningProperties props) {
+        VirtualThreadPoolTaskExecutor executor = new VirtualThreadPoolTaskExecutor();
+        executor.setPoolSize(props.getVirAttr().getConcurrency());
+        executor.setThreadNamePrefix("VirAttrHandler-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Used by {@link MailNotificationJobDelegate} to send out notifications over several connections at once.
+     *
+     * @param props the provisioning properties
+     * @return executor thread pool task executor
+     */
+    @Bean
+    public VirtualThreadPoolTaskExecutor notificationJobDelegateExecutor(final ProvisioningProperties props) {
+        VirtualThreadPoolTaskExecutor executor = new VirtualThreadPoolTaskExecutor();
+        executor.setPoolSize(props.getNotification().getConcurrency());
+        executor.setThreadNamePrefix("NotificationJobDelegate-");
+        executor.initialize();
+        return executor;
+    }
+
     @Bean
     public SchedulerDBInit quartzDataSourceInit(final ProvisioningProperties provisioningProperties) {
         SchedulerDBInit init = new SchedulerDBInit();
@@ -352,8 +373,12 @@ public class ProvisioningContext {
 
     @ConditionalOnMissingBean
     @Bean
-    public JobStatusUpdater jobStatusUpdater(final JobStatusDAO jobStatusDAO, final EntityFactory entityFactory) {
-        return new JobStatusUpdater(jobStatusDAO, entityFactory);
+    public JobStatusUpdater jobStatusUpdater(
+            final JobStatusDAO jobStatusDAO,
+            final EntityFactory entityFactory,
+            final ProvisioningProperties props) {
+
+        return new JobStatusUpdater(jobStatusDAO, entityFactory, props.getJobStatusFlushInterval());
     }
 
     @ConditionalOnMissingBean
@@ -364,7 +389,8 @@ public class ProvisioningContext {
             final RealmDAO realmDAO,
             final ExternalResourceDAO resourceDAO,
             final ConnInstanceDataBinder connInstanceDataBinder,
-            final AsyncConnectorFacade asyncConnectorFacade) {
+            final AsyncConnectorFacade asyncConnectorFacade,
+            final ProvisioningProperties props) {
 
         return new DefaultConnectorManager(
                 connIdBundleManager,
@@ -372,7 +398,8 @@ public class ProvisioningContext {
                 resourceDAO,
                 connInstanceDataBinder,
                 asyncConnectorFacade,
-                entityFactory);
+                entityFactory,
+                props.getConnectorLoad());
     }
 
     @ConditionalOnMissingBean
@@ -432,9 +459,18 @@ public class ProvisioningContext {
             final AnyUtilsFactory anyUtilsFactory,
             final ConnectorManager connectorManager,
             final VirAttrCache virAttrCache,
-            @Lazy final OutboundMatcher outboundMatcher) {
+            @Lazy final OutboundMatcher outboundMatcher,
+            @Qualifier("virAttrHandlerExecutor")
+            final VirtualThreadPoolTaskExecutor virAttrHandlerExecutor,
+            final ProvisioningProperties props) {
 
-        return new DefaultVirAttrHandler(connectorManager, virAttrCache, outboundMatcher, anyUtilsFactory);
+        return new DefaultVirAttrHandler(
+                connectorManager,
+                virAttrCache,
+                outboundMatcher,
+                anyUtilsFactory,
+                virAttrHandlerExecutor,
+                props.getVirAttr());
     }
 
     @ConditionalOnMissingBean
@@ -537,9 +573,18 @@ public class ProvisioningContext {
 
     @ConditionalOnMissingBean
     @Bean
-    public PropagationTaskExecutor propagationTaskExecutor(
+    public PropagationTaskQueues propagationTaskQueues(
             @Qualifier("propagationTaskExecutorAsyncExecutor")
             final VirtualThreadPoolTaskExecutor propagationTaskExecutorAsyncExecutor,
+            final ProvisioningProperties props) {
+
+        return new PropagationTaskQueues(propagationTaskExecutorAsyncExecutor, props.getPropagation());
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public PropagationTaskExecutor propagationTaskExecutor(
+            final PropagationTaskQueues propagationTaskQueues,
             final TaskUtilsFactory taskUtilsFactory,
             final AnyUtilsFactory anyUtilsFactory,
             final ConnectorManager connectorManager,
@@ -568,7 +613,7 @@ public class ProvisioningContext {
                 outboundMatcher,
                 validator,
                 publisher,
-                propagationTaskExecutorAsyncExecutor);
+                propagationTaskQueues);
     }
 
     @ConditionalOnMissingBean
@@ -627,8 +672,9 @@ public class ProvisioningContext {
     @ConditionalOnMissingBean
     @Bean
     public VirAttrCache virAttrCache(final ProvisioningProperties provisioningProperties) {
-        VirAttrCache virAttrCache = new CaffeineVirAttrCache();
+        CaffeineVirAttrCache virAttrCache = new CaffeineVirAttrCache();
         virAttrCache.setCacheSpec(provisioningProperties.getVirAttrCacheSpec());
+        virAttrCache.setRefreshAfterWrite(provisioningProperties.getVirAttr().getRefreshAfterWrite());
         return virAttrCache;
     }
 
@@ -695,6 +741,9 @@ public class ProvisioningContext {
             final AuditManager auditManager,
             final NotificationManager notificationManager,
             final ApplicationEventPublisher publisher,
+            @Qualifier("notificationJobDelegateExecutor")
+            final VirtualThreadPoolTaskExecutor notificationJobDelegateExecutor,
+            final ProvisioningProperties props,
             final JavaMailSender mailSender) {
 
         return new MailNotificationJobDelegate(
@@ -703,6 +752,8 @@ public class ProvisioningContext {
                 auditManager,
                 notificationManager,
                 publisher,
+                notificationJobDelegateExecutor,
+                props.getNotification().getPageSize(),
                 mailSender);
     }
 
@@ -1014,6 +1065,17 @@ public class ProvisioningContext {
         return new RemediationDataBinderImpl();
     }
 
+    @ConditionalOnMissingBean
+    @Bean
+    public ReportExecResultStore reportExecResultStore(
+            final ProvisioningProperties provisioningProperties,
+            final ReportExecDAO reportExecDAO) {
+
+        return StringUtils.isBlank(provisioningProperties.getReport().getDirectory())
+                ? new DatabaseReportExecResultStore(reportExecDAO, provisioningProperties.getReport().getChunkSize())
+                : new FileSystemReportExecResultStore(Path.of(provisioningProperties.getReport().getDirectory()));
+    }
+
     @ConditionalOnMissingBean
     @Bean
     public ReportDataBinder reportDataBinder(
@@ -18,8 +18,13 @@
  */
 package org.apache.syncope.core.provisioning.java;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import org.apache.syncope.common.lib.types.ExecStatus;
 import org.quartz.impl.jdbcjobstore.DriverDelegate;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -89,12 +94,403 @@ public class ProvisioningProperties {
         }
     }
 
+    public static class PropagationProperties {
+
+        /**
+         * Maximum number of propagation tasks concurrently running for each resource, unless overridden.
+         */
+        private int defaultResourceConcurrency = 10;
+
+        /**
+         * Maximum number of propagation tasks concurrently running, by resource key.
+         */
+        private final Map<String, Integer> resourceConcurrency = new HashMap<>();
+
+        /**
+         * Milliseconds during which propagation tasks, submitted for asynchronous execution, are held in order to be
+         * coalesced with further tasks for the same connector object; 0 disables coalescing.
+         */
+        private long coalescingWindow;
+
+        /**
+         * How long propagation tasks are retained after their latest execution, by {@code PropagationTaskRetention}.
+         */
+        private Duration retention = Duration.ofDays(30);
+
+        /**
+         * Status(es) the latest execution shall match for propagation tasks to be purged after retention; if empty,
+         * any status is matched.
+         */
+        private final List<ExecStatus> retentionStatuses = new ArrayList<>();
+
+        /**
+         * Directory where propagation tasks purged after retention are written, as JSON; if not set, they are not
+         * written anywhere.
+         */
+        private String retentionDirectory;
+
+        /**
+         * Number of propagation tasks deleted together, when purging after retention.
+         */
+        private int purgeChunkSize = 1000;
+
+        public int getDefaultResourceConcurrency() {
+            return defaultResourceConcurrency;
+        }
+
+        public void setDefaultResourceConcurrency(final int defaultResourceConcurrency) {
+            this.defaultResourceConcurrency = defaultResourceConcurrency;
+        }
+
+        public Map<String, Integer> getResourceConcurrency() {
+            return resourceConcurrency;
+        }
+
+        public long getCoalescingWindow() {
+            return coalescingWindow;
+        }
+
+        public void setCoalescingWindow(final long coalescingWindow) {
+            this.coalescingWindow = coalescingWindow;
+        }
+
+        public Duration getRetention() {
+            return retention;
+        }
+
+        public void setRetention(final Duration retention) {
+            this.retention = retention;
+        }
+
+        public List<ExecStatus> getRetentionStatuses() {
+            return retentionStatuses;
+        }
+
+        public String getRetentionDirectory() {
+            return retentionDirectory;
+        }
+
+        public void setRetentionDirectory(final String retentionDirectory) {
+            this.retentionDirectory = retentionDirectory;
+        }
+
+        public int getPurgeChunkSize() {
+            return purgeChunkSize;
+        }
+
+        public void setPurgeChunkSize(final int purgeChunkSize) {
+            this.purgeChunkSize = purgeChunkSize;
+        }
+    }
+
+    public static class ConnectorLoadProperties {
+
+        /**
+         * Maximum number of connectors concurrently registered while loading a domain.
+         */
+        private int concurrency = 10;
+
+        /**
+         * Whether connectors shall be registered upon first usage, rather than while loading a domain.
+         */
+        private boolean lazy = false;
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(final int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public boolean isLazy() {
+            return lazy;
+        }
+
+        public void setLazy(final boolean lazy) {
+            this.lazy = lazy;
+        }
+    }
+
+    public static class CircuitBreakerProperties {
+
+        /**
+         * Whether requests to connector instances shall be guarded by circuit breakers, one per resource.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Number of consecutive failures (timeouts or connection errors) after which the circuit breaker opens.
+         */
+        private int failureThreshold = 5;
+
+        /**
+         * Milliseconds during which the circuit breaker stays open, before letting a trial request through.
+         */
+        private long openDuration = 30000;
+
+        /**
+         * Milliseconds after which the trial request let through by an half-open circuit breaker is considered as
+         * failed, if not yet completed.
+         */
+        private long trialTimeout = 10000;
+
+        /**
+         * Whether request timeout shall be adapted from observed latency, without exceeding the connector instance's.
+         */
+        private boolean adaptiveTimeout = true;
+
+        /**
+         * Latency percentile on which adaptive timeout is based.
+         */
+        private double timeoutPercentile = 0.99;
+
+        /**
+         * Factor applied to the latency percentile in order to compute adaptive timeout.
+         */
+        private double timeoutMultiplier = 3;
+
+        /**
+         * Lower bound, in milliseconds, for adaptive timeout.
+         */
+        private long minTimeout = 1000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getFailureThreshold() {
+            return failureThreshold;
+        }
+
+        public void setFailureThreshold(final int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+        }
+
+        public long getOpenDuration() {
+            return openDuration;
+        }
+
+        public void setOpenDuration(final long openDuration) {
+            this.openDuration = openDuration;
+        }
+
+        public long getTrialTimeout() {
+            return trialTimeout;
+        }
+
+        public void setTrialTimeout(final long trialTimeout) {
+            this.trialTimeout = trialTimeout;
+        }
+
+        public boolean isAdaptiveTimeout() {
+            return adaptiveTimeout;
+        }
+
+        public void setAdaptiveTimeout(final boolean adaptiveTimeout) {
+            this.adaptiveTimeout = adaptiveTimeout;
+        }
+
+        public double getTimeoutPercentile() {
+            return timeoutPercentile;
+        }
+
+        public void setTimeoutPercentile(final double timeoutPercentile) {
+            this.timeoutPercentile = timeoutPercentile;
+        }
+
+        public double getTimeoutMultiplier() {
+            return timeoutMultiplier;
+        }
+
+        public void setTimeoutMultiplier(final double timeoutMultiplier) {
+            this.timeoutMultiplier = timeoutMultiplier;
+        }
+
+        public long getMinTimeout() {
+            return minTimeout;
+        }
+
+        public void setMinTimeout(final long minTimeout) {
+            this.minTimeout = minTimeout;
+        }
+    }
+
+    public static class VirAttrProperties {
+
+        /**
+         * Maximum number of external resources concurrently read while fetching virtual attribute values.
+         */
+        private int concurrency = 10;
+
+        /**
+         * Milliseconds granted, overall, to read virtual attribute values from external resources.
+         */
+        private long readTimeout = 30000;
+
+        /**
+         * Milliseconds after which cached virtual attribute values are served while being refreshed in background;
+         * 0 disables.
+         */
+        private long refreshAfterWrite;
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(final int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public long getReadTimeout() {
+            return readTimeout;
+        }
+
+        public void setReadTimeout(final long readTimeout) {
+            this.readTimeout = readTimeout;
+        }
+
+        public long getRefreshAfterWrite() {
+            return refreshAfterWrite;
+        }
+
+        public void setRefreshAfterWrite(final long refreshAfterWrite) {
+            this.refreshAfterWrite = refreshAfterWrite;
+        }
+    }
+
+    public static class PullProperties {
+
+        /**
+         * Number of connector objects whose matches are resolved together, during reconciliation; 1 disables.
+         * Values are bound to queries in chunks of at most 1000, whatever the number set here.
+         */
+        private int matchChunkSize = 100;
+
+        /**
+         * Milliseconds between two subsequent saves, each in its own transaction, of the latest sync tokens during
+         * incremental pull; 0 saves them as soon as advanced.
+         */
+        private long syncTokenCheckpointInterval = 10000;
+
+        public int getMatchChunkSize() {
+            return matchChunkSize;
+        }
+
+        public void setMatchChunkSize(final int matchChunkSize) {
+            this.matchChunkSize = matchChunkSize;
+        }
+
+        public long getSyncTokenCheckpointInterval() {
+            return syncTokenCheckpointInterval;
+        }
+
+        public void setSyncTokenCheckpointInterval(final long syncTokenCheckpointInterval) {
+            this.syncTokenCheckpointInterval = syncTokenCheckpointInterval;
+        }
+    }
+
+    public static class ReportProperties {
+
+        /**
+         * Compression level, from 0 (none) to 9 (best), for report execution results.
+         */
+        private int compressionLevel = Deflater.BEST_COMPRESSION;
+
+        /**
+         * Directory where report execution results are stored; if not set, results are stored in the database.
+         */
+        private String directory;
+
+        /**
+         * Size, in bytes, of the chunks into which report execution results are split when stored in the database.
+         */
+        private int chunkSize = 1024 * 1024;
+
+        public int getCompressionLevel() {
+            return compressionLevel;
+        }
+
+        public void setCompressionLevel(final int compressionLevel) {
+            this.compressionLevel = compressionLevel;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(final String directory) {
+            this.directory = directory;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(final int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class NotificationProperties {
+
+        /**
+         * Maximum number of connections concurrently open to the mail server while sending out notifications.
+         */
+        private int concurrency = 5;
+
+        /**
+         * Number of notification tasks read, sent out and recorded together.
+         */
+        private int pageSize = 100;
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(final int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public int getPageSize() {
+            return pageSize;
+        }
+
+        public void setPageSize(final int pageSize) {
+            this.pageSize = pageSize;
+        }
+    }
+
     private final ExecutorProperties asyncConnectorFacadeExecutor = new ExecutorProperties();
 
     private final ExecutorProperties propagationTaskExecutorAsyncExecutor = new ExecutorProperties();
 
+    private final PropagationProperties propagation = new PropagationProperties();
+
+    private final ConnectorLoadProperties connectorLoad = new ConnectorLoadProperties();
+
+    private final CircuitBreakerProperties circuitBreaker = new CircuitBreakerProperties();
+
+    private final VirAttrProperties virAttr = new VirAttrProperties();
+
+    private final PullProperties pull = new PullProperties();
+
+    private final ReportProperties report = new ReportProperties();
+
+    private final NotificationProperties notification = new NotificationProperties();
+
     private String virAttrCacheSpec = "maximumSize=5000,expireAfterAccess=1m";
 
+    /**
+     * Milliseconds between two subsequent writes of job status, keeping only the latest status of each job;
+     * 0 writes each status update as soon as received.
+     */
+    private long jobStatusFlushInterval = 2000;
+
     private final List<String> connIdLocation = new ArrayList<>();
 
     private final QuartzProperties quartz = new QuartzProperties();
@@ -107,6 +503,30 @@ public class ProvisioningProperties {
         this.virAttrCacheSpec = virAttrCacheSpec;
     }
 
+    public long getJobStatusFlushInterval() {
+        return jobStatusFlushInterval;
+    }
+
+    public void setJobStatusFlushInterval(final long jobStatusFlushInterval) {
+        this.jobStatusFlushInterval = jobStatusFlushInterval;
+    }
+
+    public VirAttrProperties getVirAttr() {
+        return virAttr;
+    }
+
+    public PullProperties getPull() {
+        return pull;
+    }
+
+    public ReportProperties getReport() {
+        return report;
+    }
+
+    public NotificationProperties getNotification() {
+        return notification;
+    }
+
     public ExecutorProperties getAsyncConnectorFacadeExecutor() {
         return asyncConnectorFacadeExecutor;
     }
@@ -115,6 +535,18 @@ public class ProvisioningProperties {
         return propagationTaskExecutorAsyncExecutor;
     }
 
+    public PropagationProperties getPropagation() {
+        return propagation;
+    }
+
+    public ConnectorLoadProperties getConnectorLoad() {
+        return connectorLoad;
+    }
+
+    public CircuitBreakerProperties getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
     public List<String> getConnIdLocation() {
         return connIdLocation;
     }
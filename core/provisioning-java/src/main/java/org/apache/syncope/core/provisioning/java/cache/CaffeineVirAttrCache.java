@@ -20,6 +20,8 @@ package org.apache.syncope.core.provisioning.java.cache;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 import org.apache.syncope.core.provisioning.api.cache.VirAttrCache;
 import org.apache.syncope.core.provisioning.api.cache.VirAttrCacheKey;
 import org.apache.syncope.core.provisioning.api.cache.VirAttrCacheValue;
@@ -28,11 +30,29 @@ public class CaffeineVirAttrCache implements VirAttrCache {
 
     private Cache<VirAttrCacheKey, VirAttrCacheValue> cache;
 
+    /**
+     * Milliseconds after which cached values are considered stale, hence refreshed while still being served;
+     * 0 disables.
+     */
+    private long refreshAfterWrite;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder staleHits = new LongAdder();
+
+    private final LongAdder refreshes = new LongAdder();
+
     @Override
     public void setCacheSpec(final String cacheSpec) {
         cache = Caffeine.from(cacheSpec).build();
     }
 
+    public void setRefreshAfterWrite(final long refreshAfterWrite) {
+        this.refreshAfterWrite = refreshAfterWrite;
+    }
+
     @Override
     public void expire(final VirAttrCacheKey key) {
         cache.invalidate(key);
@@ -40,12 +60,39 @@ public class CaffeineVirAttrCache implements VirAttrCache {
 
     @Override
     public VirAttrCacheValue get(final VirAttrCacheKey key) {
-        return cache.getIfPresent(key);
+        VirAttrCacheValue value = cache.getIfPresent(key);
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+            if (isStale(value)) {
+                staleHits.increment();
+            }
+        }
+        return value;
     }
 
     @Override
     public VirAttrCacheValue put(final VirAttrCacheKey key, final VirAttrCacheValue value) {
-        cache.put(key, value);
+        VirAttrCacheValue previous = cache.asMap().put(key, value);
+        if (previous != null && isStale(previous)) {
+            refreshes.increment();
+        }
         return value;
     }
+
+    @Override
+    public boolean isStale(final VirAttrCacheValue value) {
+        return refreshAfterWrite > 0 && System.currentTimeMillis() - value.getCreationTime() > refreshAfterWrite;
+    }
+
+    @Override
+    public Map<String, Long> getStatistics() {
+        return Map.of(
+                "size", cache.estimatedSize(),
+                "hits", hits.sum(),
+                "misses", misses.sum(),
+                "staleHits", staleHits.sum(),
+                "refreshes", refreshes.sum());
+    }
 }
@@ -18,6 +18,13 @@
  */
 package org.apache.syncope.core.provisioning.java.job;
 
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import org.apache.syncope.core.persistence.api.dao.JobStatusDAO;
 import org.apache.syncope.core.persistence.api.entity.EntityFactory;
 import org.apache.syncope.core.persistence.api.entity.JobStatus;
@@ -25,7 +32,6 @@ import org.apache.syncope.core.provisioning.api.event.JobStatusEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 
 public class JobStatusUpdater {
 
@@ -35,33 +41,90 @@ public class JobStatusUpdater {
 
     protected final EntityFactory entityFactory;
 
-    public JobStatusUpdater(final JobStatusDAO jobStatusDAO, final EntityFactory entityFactory) {
+    /**
+     * Latest status not persisted yet, by job; empty when status is to be deleted.
+     */
+    protected final Map<String, Optional<String>> pending = new ConcurrentHashMap<>();
+
+    protected final ScheduledExecutorService flusher;
+
+    /**
+     * @param jobStatusDAO job status DAO
+     * @param entityFactory entity factory
+     * @param flushInterval milliseconds between two subsequent writes of pending status; if not positive, status is
+     * written as soon as updated
+     */
+    public JobStatusUpdater(
+            final JobStatusDAO jobStatusDAO,
+            final EntityFactory entityFactory,
+            final long flushInterval) {
+
         this.jobStatusDAO = jobStatusDAO;
         this.entityFactory = entityFactory;
+        this.flusher = flushInterval > 0
+                ? Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread thread = new Thread(r, "JobStatusUpdater-flusher");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+        if (flusher != null) {
+            flusher.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        }
     }
 
     /**
-     * It's important to note that responding to job status updates
-     * must be done in async mode, and via a separate special thread executor
-     * that attempts to synchronize job execution serially by only making one thread
-     * active at a given time. Not doing so will force the event executor to launch
-     * separate threads per each status update, which would result in multiple concurrent
-     * INSERT operations on the database, and failing.
+     * Status updates are only kept in memory, with last one winning, until written by {@link #flush()}: this avoids
+     * hitting the database for each update from chatty jobs.
      *
      * @param event the event
      */
-    @Async("jobStatusUpdaterThreadExecutor")
     @EventListener
     public void update(final JobStatusEvent event) {
-        if (event.getJobStatus() == null) {
-            LOG.debug("Deleting status for job '{}'", event.getJobRefDesc());
-            jobStatusDAO.delete(event.getJobRefDesc());
-        } else {
-            LOG.debug("Updating job '{}' with status '{}'", event.getJobRefDesc(), event.getJobStatus());
-            JobStatus jobStatus = entityFactory.newEntity(JobStatus.class);
-            jobStatus.setKey(event.getJobRefDesc());
-            jobStatus.setStatus(event.getJobStatus());
-            jobStatusDAO.save(jobStatus);
+        LOG.debug("Updating job '{}' with status '{}'", event.getJobRefDesc(), event.getJobStatus());
+        pending.put(event.getJobRefDesc(), Optional.ofNullable(event.getJobStatus()));
+
+        if (flusher == null) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes pending status, if any; updates received meanwhile are written by the next invocation.
+     * Synchronized in order to avoid concurrent INSERT operations on the database for the same job.
+     */
+    public synchronized void flush() {
+        for (String jobRefDesc : Set.copyOf(pending.keySet())) {
+            Optional<String> status = pending.remove(jobRefDesc);
+            if (status == null) {
+                continue;
+            }
+
+            try {
+                if (status.isEmpty()) {
+                    LOG.debug("Deleting status for job '{}'", jobRefDesc);
+                    jobStatusDAO.delete(jobRefDesc);
+                } else {
+                    LOG.debug("Writing status '{}' for job '{}'", status.get(), jobRefDesc);
+                    JobStatus jobStatus = entityFactory.newEntity(JobStatus.class);
+                    jobStatus.setKey(jobRefDesc);
+                    jobStatus.setStatus(status.get());
+                    jobStatusDAO.save(jobStatus);
+                }
+            } catch (Exception e) {
+                LOG.error("While writing status for job '{}', will retry", jobRefDesc, e);
+                pending.putIfAbsent(jobRefDesc, status);
+            }
+        }
+    }
+
+    /**
+     * Writes pending status and stops writing periodically.
+     */
+    public void close() {
+        if (flusher != null) {
+            flusher.shutdownNow();
         }
+        flush();
     }
 }
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job;
+
+import org.apache.syncope.core.persistence.api.entity.task.SchedTask;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+
+/**
+ * Re-encodes, chunk by chunk, the propagation data of all existing propagation tasks according to the current
+ * configuration: meant to be run once after enabling (or disabling) {@code persistence.deflatePropagationData}.
+ */
+public class PropagationDataEncoding extends AbstractSchedTaskJobDelegate<SchedTask> {
+
+    protected static final int CHUNK_SIZE = 500;
+
+    @Override
+    protected String doExecute(final boolean dryRun, final String executor, final JobExecutionContext context)
+            throws JobExecutionException {
+
+        if (dryRun) {
+            return "Propagation data of all propagation tasks would be re-encoded";
+        }
+
+        String lastKey = null;
+        do {
+            lastKey = taskDAO.encodePropagationData(lastKey, CHUNK_SIZE);
+            if (lastKey != null) {
+                setStatus("Examined propagation data of propagation tasks up to " + lastKey);
+            }
+        } while (lastKey != null && !interrupt);
+
+        if (interrupt) {
+            LOG.debug("Propagation data encoding interrupted");
+            interrupted = true;
+            return "Interrupted while re-encoding propagation data";
+        }
+
+        return "Re-encoded propagation data of all propagation tasks";
+    }
+}
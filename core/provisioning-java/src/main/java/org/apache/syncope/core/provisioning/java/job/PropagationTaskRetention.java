@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.common.lib.to.PropagationTaskTO;
+import org.apache.syncope.core.persistence.api.entity.task.SchedTask;
+import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
+import org.apache.syncope.core.provisioning.java.ProvisioningProperties;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Purges, chunk by chunk, propagation tasks whose latest execution is older than the configured retention; when a
+ * directory is configured, purged propagation tasks are also written there as JSON, one per line.
+ */
+public class PropagationTaskRetention extends AbstractSchedTaskJobDelegate<SchedTask> {
+
+    @Autowired
+    private ProvisioningProperties props;
+
+    @Override
+    protected String doExecute(final boolean dryRun, final String executor, final JobExecutionContext context)
+            throws JobExecutionException {
+
+        ProvisioningProperties.PropagationProperties propagation = props.getPropagation();
+        OffsetDateTime since = OffsetDateTime.now().minus(propagation.getRetention());
+
+        if (dryRun) {
+            return "Propagation tasks with latest execution ended before " + since + " would be purged";
+        }
+
+        BufferedWriter writer = null;
+        try {
+            if (StringUtils.isNotBlank(propagation.getRetentionDirectory())) {
+                Path path = Path.of(propagation.getRetentionDirectory()).
+                        resolve(AuthContextUtils.getDomain()).
+                        resolve("propagation-"
+                                + OffsetDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"))
+                                + ".json");
+                Files.createDirectories(path.getParent());
+                writer = Files.newBufferedWriter(path);
+                LOG.debug("Writing purged propagation tasks to {}", path);
+            }
+
+            long total = 0;
+            List<PropagationTaskTO> chunk;
+            do {
+                chunk = taskDAO.purgePropagations(
+                        since,
+                        propagation.getRetentionStatuses(),
+                        null,
+                        propagation.getPurgeChunkSize());
+                total += chunk.size();
+
+                // only write tasks whose deletion was committed
+                if (writer != null) {
+                    for (PropagationTaskTO taskTO : chunk) {
+                        writer.write(POJOHelper.serialize(taskTO));
+                        writer.newLine();
+                    }
+                    writer.flush();
+                }
+
+                setStatus("Purged " + total + " propagation tasks so far");
+            } while (chunk.size() >= propagation.getPurgeChunkSize() && !interrupt);
+
+            if (interrupt) {
+                LOG.debug("Propagation task retention interrupted");
+                interrupted = true;
+            }
+
+            return "Purged " + total + " propagation tasks with latest execution ended before " + since;
+        } catch (IOException e) {
+            throw new JobExecutionException("While writing purged propagation tasks", e);
+        } finally {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    LOG.error("Could not close file for purged propagation tasks", e);
+                }
+            }
+        }
+    }
+}
@@ -19,8 +19,17 @@
 package org.apache.syncope.core.provisioning.java.job.notification;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Triple;
 import org.apache.syncope.common.lib.types.AuditElements;
 import org.apache.syncope.common.lib.types.TaskType;
 import org.apache.syncope.common.lib.types.TraceLevel;
@@ -35,6 +44,7 @@ import org.apache.syncope.core.provisioning.api.notification.NotificationJobDele
 import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
 import org.apache.syncope.core.provisioning.api.utils.ExceptionUtils2;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.apache.syncope.core.spring.task.VirtualThreadPoolTaskExecutor;
 import org.quartz.JobExecutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,6 +65,10 @@ public abstract class AbstractNotificationJobDelegate implements NotificationJob
 
     protected final ApplicationEventPublisher publisher;
 
+    protected final VirtualThreadPoolTaskExecutor taskExecutor;
+
+    protected final int pageSize;
+
     protected boolean interrupt;
 
     protected boolean interrupted;
@@ -64,13 +78,17 @@ public abstract class AbstractNotificationJobDelegate implements NotificationJob
             final TaskUtilsFactory taskUtilsFactory,
             final AuditManager auditManager,
             final NotificationManager notificationManager,
-            final ApplicationEventPublisher publisher) {
+            final ApplicationEventPublisher publisher,
+            final VirtualThreadPoolTaskExecutor taskExecutor,
+            final int pageSize) {
 
         this.taskDAO = taskDAO;
         this.taskUtilsFactory = taskUtilsFactory;
         this.auditManager = auditManager;
         this.notificationManager = notificationManager;
         this.publisher = publisher;
+        this.taskExecutor = taskExecutor;
+        this.pageSize = pageSize;
     }
 
     protected void setStatus(final String status) {
@@ -87,51 +105,118 @@ public abstract class AbstractNotificationJobDelegate implements NotificationJob
         return interrupted;
     }
 
-    protected abstract void notify(String to, NotificationTask task, TaskExec<NotificationTask> execution)
-            throws Exception;
+    /**
+     * Sends out notifications for the given executions, each to all recipients of the related task, possibly over
+     * a single connection; status and message of each execution are set for recipients successfully notified.
+     *
+     * @param executions task executions
+     * @return errors occurred, by task execution and recipient
+     */
+    protected abstract List<Triple<TaskExec<NotificationTask>, String, Exception>> notify(
+            List<TaskExec<NotificationTask>> executions);
+
+    protected static List<Triple<TaskExec<NotificationTask>, String, Exception>> failed(
+            final List<TaskExec<NotificationTask>> executions, final Exception error) {
+
+        return executions.stream().
+                flatMap(execution -> execution.getTask().getRecipients().stream().
+                map(to -> Triple.of(execution, to, error))).
+                collect(Collectors.toList());
+    }
 
-    @Transactional
-    @Override
-    public TaskExec<NotificationTask> executeSingle(final NotificationTask task, final String executor) {
-        TaskExec<NotificationTask> execution = taskUtilsFactory.getInstance(TaskType.NOTIFICATION).newTaskExec();
-        execution.setTask(task);
-        execution.setStart(OffsetDateTime.now());
-        execution.setExecutor(executor);
-        boolean retryPossible = true;
-
-        if (StringUtils.isBlank(task.getSubject()) || task.getRecipients().isEmpty()
-                || StringUtils.isBlank(task.getHtmlBody()) || StringUtils.isBlank(task.getTextBody())) {
-
-            String message = "Could not fetch all required information for sending e-mails:\n"
-                    + task.getRecipients() + '\n'
-                    + task.getSender() + '\n'
-                    + task.getSubject() + '\n'
-                    + task.getHtmlBody() + '\n'
-                    + task.getTextBody();
-            LOG.error(message);
-
-            execution.setStatus(NotificationJob.Status.NOT_SENT.name());
-            retryPossible = false;
-
-            if (task.getTraceLevel().ordinal() >= TraceLevel.FAILURES.ordinal()) {
-                execution.setMessage(message);
-            }
-        } else {
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("About to send notifications:\n"
+    /**
+     * Sends out the given tasks, then records their executions at once.
+     *
+     * @param tasks notification tasks
+     * @param executor executor
+     * @return task executions, in the same order as tasks
+     */
+    protected List<TaskExec<NotificationTask>> send(final List<NotificationTask> tasks, final String executor) {
+        List<TaskExec<NotificationTask>> executions = new ArrayList<>(tasks.size());
+        List<TaskExec<NotificationTask>> toSend = new ArrayList<>(tasks.size());
+        Set<String> retryImpossible = new HashSet<>();
+
+        for (NotificationTask task : tasks) {
+            TaskExec<NotificationTask> execution = taskUtilsFactory.getInstance(TaskType.NOTIFICATION).newTaskExec();
+            execution.setTask(task);
+            execution.setStart(OffsetDateTime.now());
+            execution.setExecutor(executor);
+            executions.add(execution);
+
+            if (StringUtils.isBlank(task.getSubject()) || task.getRecipients().isEmpty()
+                    || StringUtils.isBlank(task.getHtmlBody()) || StringUtils.isBlank(task.getTextBody())) {
+
+                String message = "Could not fetch all required information for sending e-mails:\n"
                         + task.getRecipients() + '\n'
                         + task.getSender() + '\n'
                         + task.getSubject() + '\n'
                         + task.getHtmlBody() + '\n'
-                        + task.getTextBody() + '\n');
-            }
+                        + task.getTextBody();
+                LOG.error(message);
 
-            setStatus("Sending notifications to " + task.getRecipients());
+                execution.setStatus(NotificationJob.Status.NOT_SENT.name());
+                retryImpossible.add(task.getKey());
 
-            for (String to : task.getRecipients()) {
+                if (task.getTraceLevel().ordinal() >= TraceLevel.FAILURES.ordinal()) {
+                    execution.setMessage(message);
+                }
+            } else {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("About to send notifications:\n"
+                            + task.getRecipients() + '\n'
+                            + task.getSender() + '\n'
+                            + task.getSubject() + '\n'
+                            + task.getHtmlBody() + '\n'
+                            + task.getTextBody() + '\n');
+                }
+
+                toSend.add(execution);
+            }
+        }
+
+        // split among workers, each sending out its share over a single connection
+        int share = Math.max(1, (toSend.size() + taskExecutor.getPoolSize() - 1) / taskExecutor.getPoolSize());
+        List<List<TaskExec<NotificationTask>>> slices = new ArrayList<>();
+        List<Future<List<Triple<TaskExec<NotificationTask>, String, Exception>>>> futures = new ArrayList<>();
+        for (int i = 0; i < toSend.size(); i += share) {
+            List<TaskExec<NotificationTask>> slice = toSend.subList(i, Math.min(toSend.size(), i + share));
+            slices.add(slice);
+            futures.add(taskExecutor.submit(() -> {
+                List<Triple<TaskExec<NotificationTask>, String, Exception>> errors;
                 try {
-                    notify(to, task, execution);
+                    errors = notify(slice);
+                } catch (Exception e) {
+                    errors = failed(slice, e);
+                }
+
+                OffsetDateTime end = OffsetDateTime.now();
+                slice.forEach(execution -> execution.setEnd(end));
+                return errors;
+            }));
+        }
 
+        Map<String, Map<String, Exception>> errors = new HashMap<>();
+        for (int i = 0; i < futures.size(); i++) {
+            List<Triple<TaskExec<NotificationTask>, String, Exception>> sliceErrors;
+            try {
+                sliceErrors = futures.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                sliceErrors = failed(slices.get(i), e);
+            } catch (ExecutionException e) {
+                sliceErrors = failed(slices.get(i), e);
+            }
+            sliceErrors.forEach(error -> errors.computeIfAbsent(
+                    error.getLeft().getTask().getKey(), k -> new HashMap<>()).put(error.getMiddle(), error.getRight()));
+        }
+
+        toSend.forEach(execution -> {
+            NotificationTask task = execution.getTask();
+            Map<String, Exception> taskErrors = errors.getOrDefault(task.getKey(), Map.of());
+
+            for (String to : task.getRecipients()) {
+                Exception error = taskErrors.get(to);
+                if (error == null) {
                     notificationManager.createTasks(
                             AuthContextUtils.getWho(),
                             AuditElements.EventCategoryType.TASK,
@@ -143,12 +228,12 @@ public abstract class AbstractNotificationJobDelegate implements NotificationJob
                             null,
                             task,
                             "Successfully sent notification to " + to);
-                } catch (Exception e) {
-                    LOG.error("Could not send out notification", e);
+                } else {
+                    LOG.error("Could not send out notification", error);
 
                     execution.setStatus(NotificationJob.Status.NOT_SENT.name());
                     if (task.getTraceLevel().ordinal() >= TraceLevel.FAILURES.ordinal()) {
-                        execution.setMessage(ExceptionUtils2.getFullStackTrace(e));
+                        execution.setMessage(ExceptionUtils2.getFullStackTrace(error));
                     }
 
                     notificationManager.createTasks(
@@ -161,39 +246,63 @@ public abstract class AbstractNotificationJobDelegate implements NotificationJob
                             null,
                             null,
                             task,
-                            "Could not send notification to " + to, e);
+                            "Could not send notification to " + to, error);
                 }
-
-                execution.setEnd(OffsetDateTime.now());
             }
-        }
-
-        if (hasToBeRegistered(execution)) {
-            execution = notificationManager.storeExec(execution);
-            if (retryPossible
-                    && (NotificationJob.Status.valueOf(execution.getStatus()) == NotificationJob.Status.NOT_SENT)) {
-
-                handleRetries(execution);
+        });
+
+        List<TaskExec<NotificationTask>> toRegister = new ArrayList<>();
+        List<String> executed = new ArrayList<>();
+        executions.forEach(execution -> {
+            if (hasToBeRegistered(execution)) {
+                toRegister.add(execution);
+            } else {
+                executed.add(execution.getTask().getKey());
             }
-        } else {
-            notificationManager.setTaskExecuted(execution.getTask().getKey(), true);
-        }
+        });
+        notificationManager.storeExecs(toRegister, executed);
+
+        toRegister.stream().
+                filter(execution -> !retryImpossible.contains(execution.getTask().getKey())
+                && NotificationJob.Status.valueOf(execution.getStatus()) == NotificationJob.Status.NOT_SENT).
+                forEach(this::handleRetries);
 
-        return execution;
+        return executions;
     }
 
     @Transactional
     @Override
-    public void execute(final String executor) throws JobExecutionException {
-        List<NotificationTask> tasks = taskDAO.<NotificationTask>findToExec(TaskType.NOTIFICATION);
+    public TaskExec<NotificationTask> executeSingle(final NotificationTask task, final String executor) {
+        setStatus("Sending notifications to " + task.getRecipients());
 
-        setStatus("Sending out " + tasks.size() + " notifications");
+        return send(List.of(task), executor).get(0);
+    }
 
-        for (int i = 0; i < tasks.size() && !interrupt; i++) {
-            LOG.debug("Found notification task {} to be executed: starting...", tasks.get(i));
-            executeSingle(tasks.get(i), executor);
-            LOG.debug("Notification task {} executed", tasks.get(i));
+    @Override
+    public void execute(final String executor) throws JobExecutionException {
+        // bound the run by the greatest key found at start, so that it ends even if tasks keep being created meanwhile
+        String upToKey = taskDAO.findLastKeyToExec(TaskType.NOTIFICATION).orElse(null);
+        if (upToKey == null) {
+            setStatus(null);
+            return;
         }
+
+        int processed = 0;
+        String lastKey = null;
+        List<NotificationTask> tasks;
+        do {
+            tasks = taskDAO.findToExec(TaskType.NOTIFICATION, lastKey, upToKey, pageSize);
+            if (!tasks.isEmpty()) {
+                setStatus("Sending out " + tasks.size() + " notifications, " + processed + " processed so far");
+
+                LOG.debug("Found {} notification tasks to be executed: starting...", tasks.size());
+                send(tasks, executor);
+                LOG.debug("{} notification tasks executed", tasks.size());
+
+                processed += tasks.size();
+                lastKey = tasks.get(tasks.size() - 1).getKey();
+            }
+        } while (tasks.size() == pageSize && !interrupt);
         if (interrupt) {
             LOG.debug("Notification job interrupted");
             interrupted = true;
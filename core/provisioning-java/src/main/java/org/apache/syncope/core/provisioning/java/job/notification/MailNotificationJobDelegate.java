@@ -18,14 +18,25 @@
  */
 package org.apache.syncope.core.provisioning.java.job.notification;
 
+import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
 import org.apache.syncope.core.persistence.api.dao.TaskDAO;
 import org.apache.syncope.core.persistence.api.entity.task.NotificationTask;
 import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
 import org.apache.syncope.core.persistence.api.entity.task.TaskUtilsFactory;
 import org.apache.syncope.core.provisioning.api.AuditManager;
 import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
+import org.apache.syncope.core.spring.task.VirtualThreadPoolTaskExecutor;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 
@@ -39,26 +50,26 @@ public class MailNotificationJobDelegate extends AbstractNotificationJobDelegate
             final AuditManager auditManager,
             final NotificationManager notificationManager,
             final ApplicationEventPublisher publisher,
+            final VirtualThreadPoolTaskExecutor taskExecutor,
+            final int pageSize,
             final JavaMailSender mailSender) {
 
-        super(taskDAO, taskUtilsFactory, auditManager, notificationManager, publisher);
+        super(taskDAO, taskUtilsFactory, auditManager, notificationManager, publisher, taskExecutor, pageSize);
         this.mailSender = mailSender;
     }
 
-    @Override
-    protected void notify(
-            final String to,
-            final NotificationTask task,
-            final TaskExec<NotificationTask> execution) throws Exception {
-
+    protected MimeMessage message(final String to, final NotificationTask task) throws MessagingException {
         MimeMessage message = mailSender.createMimeMessage();
         MimeMessageHelper helper = new MimeMessageHelper(message, true);
         helper.setTo(to);
         helper.setFrom(task.getSender());
         helper.setSubject(task.getSubject());
         helper.setText(task.getTextBody(), task.getHtmlBody());
+        return message;
+    }
 
-        mailSender.send(message);
+    protected void sent(final String to, final TaskExec<NotificationTask> execution) {
+        NotificationTask task = execution.getTask();
 
         execution.setStatus(NotificationJob.Status.SENT.name());
 
@@ -84,4 +95,46 @@ public class MailNotificationJobDelegate extends AbstractNotificationJobDelegate
             execution.setMessage(report.toString());
         }
     }
+
+    /**
+     * Sends out all messages at once, so that a single connection to the mail server is used.
+     */
+    @Override
+    protected List<Triple<TaskExec<NotificationTask>, String, Exception>> notify(
+            final List<TaskExec<NotificationTask>> executions) {
+
+        List<Triple<TaskExec<NotificationTask>, String, Exception>> errors = new ArrayList<>();
+
+        Map<MimeMessage, Pair<TaskExec<NotificationTask>, String>> messages = new LinkedHashMap<>();
+        executions.forEach(execution -> execution.getTask().getRecipients().forEach(to -> {
+            try {
+                messages.put(message(to, execution.getTask()), Pair.of(execution, to));
+            } catch (Exception e) {
+                errors.add(Triple.of(execution, to, e));
+            }
+        }));
+        if (messages.isEmpty()) {
+            return errors;
+        }
+
+        Map<Object, Exception> failed = new HashMap<>();
+        try {
+            mailSender.send(messages.keySet().toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            failed.putAll(e.getFailedMessages());
+        } catch (MailException e) {
+            messages.keySet().forEach(message -> failed.put(message, e));
+        }
+
+        for (Map.Entry<MimeMessage, Pair<TaskExec<NotificationTask>, String>> entry : messages.entrySet()) {
+            Exception error = failed.get(entry.getKey());
+            if (error == null) {
+                sent(entry.getValue().getRight(), entry.getValue().getLeft());
+            } else {
+                errors.add(Triple.of(entry.getValue().getLeft(), entry.getValue().getRight(), error));
+            }
+        }
+
+        return errors;
+    }
 }
@@ -18,13 +18,12 @@
  */
 package org.apache.syncope.core.provisioning.java.job.report;
 
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.time.OffsetDateTime;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 import org.apache.syncope.common.lib.report.ReportConf;
@@ -37,9 +36,11 @@ import org.apache.syncope.core.provisioning.api.AuditManager;
 import org.apache.syncope.core.provisioning.api.data.ReportDataBinder;
 import org.apache.syncope.core.provisioning.api.event.JobStatusEvent;
 import org.apache.syncope.core.provisioning.api.job.JobManager;
+import org.apache.syncope.core.provisioning.api.job.report.ReportExecResultStore;
 import org.apache.syncope.core.provisioning.api.job.report.ReportJobDelegate;
 import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
 import org.apache.syncope.core.provisioning.api.utils.ExceptionUtils2;
+import org.apache.syncope.core.provisioning.java.ProvisioningProperties;
 import org.apache.syncope.core.spring.security.SecurityProperties;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
@@ -90,6 +91,12 @@ public abstract class AbstractReportJobDelegate implements ReportJobDelegate {
     @Autowired
     protected ApplicationEventPublisher publisher;
 
+    @Autowired
+    protected ReportExecResultStore reportExecResultStore;
+
+    @Autowired
+    protected ProvisioningProperties provisioningProperties;
+
     protected boolean interrupt;
 
     protected boolean interrupted;
@@ -140,15 +147,18 @@ public abstract class AbstractReportJobDelegate implements ReportJobDelegate {
 
         setStatus("Initialization completed");
 
-        AuditElements.Result result;
+        AuditElements.Result result = AuditElements.Result.FAILURE;
 
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        ZipOutputStream zos = new ZipOutputStream(baos);
-        zos.setLevel(Deflater.BEST_COMPRESSION);
+        // report data is streamed to the result store, rather than being held in memory
+        ZipOutputStream zos;
         try {
+            zos = new ZipOutputStream(new BufferedOutputStream(reportExecResultStore.write(execution)));
+            zos.setLevel(provisioningProperties.getReport().getCompressionLevel());
+
             // a single ZipEntry in the ZipOutputStream
             zos.putNextEntry(new ZipEntry(report.getName()));
         } catch (IOException e) {
+            reportExecResultStore.delete(execution);
             throw new JobExecutionException("While configuring for output", e, true);
         }
 
@@ -160,7 +170,6 @@ public abstract class AbstractReportJobDelegate implements ReportJobDelegate {
             result = AuditElements.Result.SUCCESS;
         } catch (JobExecutionException e) {
             LOG.error("While executing report {}", reportKey, e);
-            result = AuditElements.Result.FAILURE;
 
             execution.setMessage(ExceptionUtils2.getFullStackTrace(e));
             execution.setStatus(ReportJob.Status.FAILURE.name());
@@ -173,9 +182,11 @@ public abstract class AbstractReportJobDelegate implements ReportJobDelegate {
             } catch (IOException e) {
                 LOG.error("While closing output", e);
             }
-        }
-        if (result == AuditElements.Result.SUCCESS) {
-            execution.setExecResult(baos.toByteArray());
+
+            // no partial result is left behind, whatever the failure
+            if (result != AuditElements.Result.SUCCESS) {
+                reportExecResultStore.delete(execution);
+            }
         }
         execution.setEnd(OffsetDateTime.now());
 
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job.report;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import org.apache.syncope.core.persistence.api.dao.ReportExecDAO;
+import org.apache.syncope.core.persistence.api.entity.ReportExec;
+import org.apache.syncope.core.provisioning.api.job.report.ReportExecResultStore;
+
+/**
+ * Stores report execution results in the database, split into chunks of the configured size: at most one chunk is
+ * held in memory at any time, both when writing and reading.
+ */
+public class DatabaseReportExecResultStore implements ReportExecResultStore {
+
+    protected class ChunkOutputStream extends OutputStream {
+
+        protected final ReportExec execution;
+
+        protected final byte[] buffer = new byte[chunkSize];
+
+        protected int count;
+
+        protected int index;
+
+        protected boolean closed;
+
+        public ChunkOutputStream(final ReportExec execution) {
+            this.execution = execution;
+        }
+
+        protected void saveChunk() {
+            reportExecDAO.saveResultChunk(execution, index++, Arrays.copyOf(buffer, count));
+            count = 0;
+        }
+
+        @Override
+        public void write(final int b) {
+            if (count == buffer.length) {
+                saveChunk();
+            }
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            int offset = off;
+            int remaining = len;
+            while (remaining > 0) {
+                if (count == buffer.length) {
+                    saveChunk();
+                }
+
+                int length = Math.min(remaining, buffer.length - count);
+                System.arraycopy(b, offset, buffer, count, length);
+                count += length;
+                offset += length;
+                remaining -= length;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+
+            // always save at least one chunk, so that empty results can be told from missing ones
+            if (count > 0 || index == 0) {
+                saveChunk();
+            }
+        }
+    }
+
+    protected final ReportExecDAO reportExecDAO;
+
+    protected final int chunkSize;
+
+    public DatabaseReportExecResultStore(final ReportExecDAO reportExecDAO, final int chunkSize) {
+        this.reportExecDAO = reportExecDAO;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public OutputStream write(final ReportExec execution) {
+        reportExecDAO.deleteResult(execution);
+        return new ChunkOutputStream(execution);
+    }
+
+    @Override
+    public Optional<InputStream> read(final ReportExec execution) {
+        int chunks = reportExecDAO.countResultChunks(execution);
+        if (chunks == 0) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new SequenceInputStream(new Enumeration<>() {
+
+            private int index;
+
+            @Override
+            public boolean hasMoreElements() {
+                return index < chunks;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                if (!hasMoreElements()) {
+                    throw new NoSuchElementException();
+                }
+
+                byte[] chunk = reportExecDAO.findResultChunk(execution, index++);
+                return new ByteArrayInputStream(chunk == null ? new byte[0] : chunk);
+            }
+        }));
+    }
+
+    @Override
+    public void delete(final ReportExec execution) {
+        reportExecDAO.deleteResult(execution);
+    }
+}
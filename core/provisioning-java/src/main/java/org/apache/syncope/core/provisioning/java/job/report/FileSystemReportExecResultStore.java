@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job.report;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import org.apache.syncope.core.persistence.api.entity.ReportExec;
+import org.apache.syncope.core.provisioning.api.job.report.ReportExecResultStore;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores report execution results as files under the configured directory, one sub-directory per domain; in
+ * clustered deployments, such directory is expected to be shared among all Core instances.
+ */
+public class FileSystemReportExecResultStore implements ReportExecResultStore {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(ReportExecResultStore.class);
+
+    protected final Path directory;
+
+    public FileSystemReportExecResultStore(final Path directory) {
+        this.directory = directory;
+    }
+
+    protected Path path(final ReportExec execution) {
+        return directory.resolve(AuthContextUtils.getDomain()).resolve(execution.getKey() + ".zip");
+    }
+
+    @Override
+    public OutputStream write(final ReportExec execution) throws IOException {
+        Path path = path(execution);
+        Files.createDirectories(path.getParent());
+        return Files.newOutputStream(path);
+    }
+
+    @Override
+    public Optional<InputStream> read(final ReportExec execution) throws IOException {
+        Path path = path(execution);
+        return Files.exists(path) ? Optional.of(Files.newInputStream(path)) : Optional.empty();
+    }
+
+    @Override
+    public void delete(final ReportExec execution) {
+        try {
+            Files.deleteIfExists(path(execution));
+        } catch (IOException e) {
+            LOG.error("Could not delete result of report execution {}", execution.getKey(), e);
+        }
+    }
+}
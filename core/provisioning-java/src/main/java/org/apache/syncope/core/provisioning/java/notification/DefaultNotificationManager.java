@@ -454,12 +454,22 @@ public class DefaultNotificationManager implements NotificationManager {
     @Override
     public TaskExec<NotificationTask> storeExec(final TaskExec<NotificationTask> execution) {
         NotificationTask task = taskDAO.find(TaskType.NOTIFICATION, execution.getTask().getKey());
+        execution.setTask(task);
         task.add(execution);
         task.setExecuted(true);
         taskDAO.save(task);
         return execution;
     }
 
+    @Override
+    public void storeExecs(
+            final List<TaskExec<NotificationTask>> executions,
+            final List<String> executedTaskKeys) {
+
+        executions.forEach(this::storeExec);
+        executedTaskKeys.forEach(taskKey -> setTaskExecuted(taskKey, true));
+    }
+
     @Override
     public void setTaskExecuted(final String taskKey, final boolean executed) {
         NotificationTask task = taskDAO.find(TaskType.NOTIFICATION, taskKey);
@@ -21,10 +21,12 @@ package org.apache.syncope.core.provisioning.java.propagation;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.CompletionService;
-import java.util.concurrent.ExecutorCompletionService;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import org.apache.syncope.common.lib.types.ExecStatus;
@@ -48,27 +50,29 @@ import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
 import org.apache.syncope.core.provisioning.java.pushpull.OutboundMatcher;
 import org.apache.syncope.core.provisioning.java.utils.ConnObjectUtils;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
-import org.apache.syncope.core.spring.task.VirtualThreadPoolTaskExecutor;
 import org.springframework.context.ApplicationEventPublisher;
 
 /**
  * Sorts the tasks to be executed according to related
  * {@link org.apache.syncope.core.persistence.api.entity.ExternalResource}'s priority, then execute.
+ * Tasks related to resources with the same priority have no ordering dependency on each other, hence they are executed
+ * concurrently.
  * Tasks related to resources with NULL priority are executed after other tasks, concurrently.
  * Failure during execution of a task related to resource with non-NULL priority are treated as fatal and will interrupt
  * the whole process, resulting in a global failure.
+ * Concurrent executions are dispatched via {@link PropagationTaskQueues}, thus limiting the number of tasks running at
+ * the same time for each resource; when not waited for, they might also be coalesced with other tasks for the same
+ * connector object.
  */
 public class PriorityPropagationTaskExecutor extends AbstractPropagationTaskExecutor {
 
     /**
-     * Creates new instances of {@link PropagationTaskCallable} for usage with
-     * {@link java.util.concurrent.CompletionService}.
+     * Creates new instances of {@link PropagationTaskCallable} for usage with {@link PropagationTaskQueues}.
      *
      * @param taskInfo to be executed
      * @param reporter to report propagation execution status
      * @param executor user that triggered the propagation execution
-     * @return new {@link PropagationTaskCallable} instance for usage with
-     * {@link java.util.concurrent.CompletionService}
+     * @return new {@link PropagationTaskCallable} instance for usage with {@link PropagationTaskQueues}
      */
     protected PropagationTaskCallable newPropagationTaskCallable(
             final PropagationTaskInfo taskInfo, final PropagationReporter reporter, final String executor) {
@@ -82,7 +86,7 @@ public class PriorityPropagationTaskExecutor extends AbstractPropagationTaskExec
         return callable;
     }
 
-    protected final VirtualThreadPoolTaskExecutor taskExecutor;
+    protected final PropagationTaskQueues taskQueues;
 
     public PriorityPropagationTaskExecutor(
             final ConnectorManager connectorManager,
@@ -98,7 +102,7 @@ public class PriorityPropagationTaskExecutor extends AbstractPropagationTaskExec
             final OutboundMatcher outboundMatcher,
             final PlainAttrValidationManager validator,
             final ApplicationEventPublisher publisher,
-            final VirtualThreadPoolTaskExecutor taskExecutor) {
+            final PropagationTaskQueues taskQueues) {
 
         super(connectorManager,
                 connObjectUtils,
@@ -113,7 +117,58 @@ public class PriorityPropagationTaskExecutor extends AbstractPropagationTaskExec
                 outboundMatcher,
                 validator,
                 publisher);
-        this.taskExecutor = taskExecutor;
+        this.taskQueues = taskQueues;
+    }
+
+    /**
+     * Executes the given tasks, related to resources with the same priority: when more than one, they are executed
+     * concurrently, and all of them are completed before reporting any failure.
+     *
+     * @param tasks tasks to execute
+     * @param reporter to report propagation execution status
+     * @param executor user that triggered the propagation execution
+     */
+    protected void executePriority(
+            final List<PropagationTaskInfo> tasks,
+            final PropagationReporter reporter,
+            final String executor) {
+
+        LOG.debug("Propagation tasks with same priority, for concurrent execution: {}", tasks);
+
+        Map<PropagationTaskInfo, Callable<TaskExec<PropagationTask>>> executions = new LinkedHashMap<>();
+        if (tasks.size() == 1) {
+            // no need to hand a single task over
+            executions.put(tasks.get(0), newPropagationTaskCallable(tasks.get(0), reporter, executor));
+        } else {
+            tasks.forEach(taskInfo -> {
+                Future<TaskExec<PropagationTask>> future = taskQueues.submit(
+                        taskInfo, newPropagationTaskCallable(taskInfo, reporter, executor));
+                executions.put(taskInfo, future::get);
+            });
+        }
+
+        PropagationException failure = null;
+        for (Map.Entry<PropagationTaskInfo, Callable<TaskExec<PropagationTask>>> entry : executions.entrySet()) {
+            TaskExec<PropagationTask> exec = null;
+            ExecStatus execStatus;
+            String errorMessage = null;
+            try {
+                exec = entry.getValue().call();
+                execStatus = ExecStatus.valueOf(exec.getStatus());
+            } catch (Exception e) {
+                LOG.error("Unexpected exception", e);
+                execStatus = ExecStatus.FAILURE;
+                errorMessage = e.getMessage();
+            }
+            if (execStatus != ExecStatus.SUCCESS && failure == null) {
+                failure = new PropagationException(
+                        entry.getKey().getResource().getKey(),
+                        Optional.ofNullable(exec).map(Exec::getMessage).orElse(errorMessage));
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
     }
 
     @Override
@@ -128,46 +183,33 @@ public class PriorityPropagationTaskExecutor extends AbstractPropagationTaskExec
                     filter(task -> task.getResource().getPropagationPriority() != null).
                     sorted(Comparator.comparing(task -> task.getResource().getPropagationPriority())).
                     collect(Collectors.toList());
-            LOG.debug("Propagation tasks sorted by priority, for serial execution: {}", prioritizedTasks);
+            LOG.debug("Propagation tasks sorted by priority, for execution by priority: {}", prioritizedTasks);
 
             List<PropagationTaskInfo> concurrentTasks = taskInfos.stream().
                     filter(task -> !prioritizedTasks.contains(task)).
                     collect(Collectors.toList());
             LOG.debug("Propagation tasks for concurrent execution: {}", concurrentTasks);
 
-            // first process priority resources sequentially and fail as soon as any propagation failure is reported
-            prioritizedTasks.forEach(taskInfo -> {
-                TaskExec<PropagationTask> exec = null;
-                ExecStatus execStatus;
-                String errorMessage = null;
-                try {
-                    exec = newPropagationTaskCallable(taskInfo, reporter, executor).call();
-                    execStatus = ExecStatus.valueOf(exec.getStatus());
-                } catch (Exception e) {
-                    LOG.error("Unexpected exception", e);
-                    execStatus = ExecStatus.FAILURE;
-                    errorMessage = e.getMessage();
-                }
-                if (execStatus != ExecStatus.SUCCESS) {
-                    throw new PropagationException(
-                            taskInfo.getResource().getKey(),
-                            Optional.ofNullable(exec).map(Exec::getMessage).orElse(errorMessage));
-                }
-            });
+            // first process priority resources, by priority, and fail as soon as any propagation failure is reported
+            prioritizedTasks.stream().
+                    collect(Collectors.groupingBy(
+                            task -> task.getResource().getPropagationPriority(), TreeMap::new, Collectors.toList())).
+                    forEach((priority, tasks) -> executePriority(tasks, reporter, executor));
 
             // then process non-priority resources concurrently...
             if (!concurrentTasks.isEmpty()) {
-                CompletionService<TaskExec<PropagationTask>> completionService =
-                        new ExecutorCompletionService<>(taskExecutor);
                 List<Future<TaskExec<PropagationTask>>> futures = new ArrayList<>();
 
                 concurrentTasks.forEach(taskInfo -> {
                     try {
-                        futures.add(completionService.submit(newPropagationTaskCallable(taskInfo, reporter, executor)));
-
                         if (nullPriorityAsync) {
+                            taskQueues.submitAsync(taskInfo, newPropagationTaskCallable(taskInfo, reporter, executor));
+
                             reporter.onSuccessOrNonPriorityResourceFailures(
                                     taskInfo, ExecStatus.CREATED, null, null, null, null);
+                        } else {
+                            futures.add(taskQueues.submit(
+                                    taskInfo, newPropagationTaskCallable(taskInfo, reporter, executor)));
                         }
                     } catch (Exception e) {
                         LOG.error("While submitting task for async execution: {}", taskInfo, e);
@@ -0,0 +1,409 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.propagation;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.core.persistence.api.entity.policy.PropagationPolicy;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationData;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationManager;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
+import org.apache.syncope.core.provisioning.java.ProvisioningProperties;
+import org.apache.syncope.core.spring.task.VirtualThreadPoolTaskExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Dispatches propagation tasks to the underlying executor via one FIFO queue per resource, so that no more than the
+ * configured number of tasks per resource is running at any time: a slow resource will then accumulate its own
+ * backlog, without holding threads (and connections) which other resources could use meanwhile.
+ *
+ * When a coalescing window is configured, tasks submitted for asynchronous execution are held for that amount of time
+ * before being enqueued: further tasks for the same connector object, submitted meanwhile, are merged into the held
+ * one, thus saving connector round trips when the same entity is updated several times in a short period.
+ */
+public class PropagationTaskQueues {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(PropagationTaskQueues.class);
+
+    protected static class ResourceQueue {
+
+        protected final int concurrency;
+
+        protected final Queue<Runnable> pending = new ArrayDeque<>();
+
+        protected int running;
+
+        protected final AtomicLong completed = new AtomicLong();
+
+        protected final AtomicLong coalesced = new AtomicLong();
+
+        protected final AtomicLong waitNanos = new AtomicLong();
+
+        protected final AtomicLong executionNanos = new AtomicLong();
+
+        protected volatile long lastExecutionNanos;
+
+        protected ResourceQueue(final int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        protected synchronized Map<String, Object> metrics() {
+            long count = completed.get();
+
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            metrics.put("concurrency", concurrency);
+            metrics.put("running", running);
+            metrics.put("queued", pending.size());
+            metrics.put("completed", count);
+            metrics.put("coalesced", coalesced.get());
+            metrics.put("averageWaitMillis", count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(waitNanos.get() / count));
+            metrics.put("averageExecutionMillis",
+                    count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(executionNanos.get() / count));
+            metrics.put("lastExecutionMillis", TimeUnit.NANOSECONDS.toMillis(lastExecutionNanos));
+            return metrics;
+        }
+    }
+
+    protected static class HeldTask {
+
+        protected PropagationTaskInfo taskInfo;
+
+        protected Callable<?> callable;
+
+        protected HeldTask(final PropagationTaskInfo taskInfo, final Callable<?> callable) {
+            this.taskInfo = taskInfo;
+            this.callable = callable;
+        }
+    }
+
+    protected final VirtualThreadPoolTaskExecutor taskExecutor;
+
+    protected final ProvisioningProperties.PropagationProperties props;
+
+    protected final Map<String, ResourceQueue> queues = new ConcurrentHashMap<>();
+
+    /**
+     * Tasks held for coalescing, by connector object; guarded by synchronizing on the map itself.
+     */
+    protected final Map<String, HeldTask> held = new HashMap<>();
+
+    protected final ScheduledExecutorService scheduler;
+
+    public PropagationTaskQueues(
+            final VirtualThreadPoolTaskExecutor taskExecutor,
+            final ProvisioningProperties.PropagationProperties props) {
+
+        this.taskExecutor = taskExecutor;
+        this.props = props;
+        this.scheduler = props.getCoalescingWindow() > 0
+                ? Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread thread = new Thread(r, "PropagationTaskCoalescer");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+    }
+
+    protected int concurrency(final String resource) {
+        return Math.max(1, props.getResourceConcurrency().
+                getOrDefault(resource, props.getDefaultResourceConcurrency()));
+    }
+
+    protected ResourceQueue queue(final String resource) {
+        return queues.computeIfAbsent(resource, r -> new ResourceQueue(concurrency(r)));
+    }
+
+    /**
+     * Enqueues the given callable for execution on the given resource, as soon as the number of running tasks for
+     * the same resource falls below the configured limit.
+     *
+     * @param <T> result type
+     * @param resource resource key
+     * @param callable task to execute
+     * @return future result of the given callable
+     */
+    public <T> Future<T> submit(final String resource, final Callable<T> callable) {
+        ResourceQueue queue = queue(resource);
+
+        long enqueued = System.nanoTime();
+        FutureTask<T> task = new FutureTask<>(() -> {
+            long started = System.nanoTime();
+            queue.waitNanos.addAndGet(started - enqueued);
+            try {
+                return callable.call();
+            } finally {
+                queue.lastExecutionNanos = System.nanoTime() - started;
+                queue.executionNanos.addAndGet(queue.lastExecutionNanos);
+                queue.completed.incrementAndGet();
+            }
+        });
+
+        boolean dispatch;
+        synchronized (queue) {
+            dispatch = queue.running < queue.concurrency;
+            if (dispatch) {
+                queue.running++;
+            } else {
+                queue.pending.add(task);
+            }
+        }
+
+        if (dispatch) {
+            try {
+                taskExecutor.execute(() -> run(queue, task));
+            } catch (RejectedExecutionException e) {
+                release(queue);
+                throw e;
+            }
+        }
+
+        return task;
+    }
+
+    protected void run(final ResourceQueue queue, final Runnable task) {
+        try {
+            task.run();
+        } finally {
+            release(queue);
+        }
+    }
+
+    protected void release(final ResourceQueue queue) {
+        Runnable next;
+        synchronized (queue) {
+            next = queue.pending.poll();
+            if (next == null) {
+                queue.running--;
+            }
+        }
+
+        if (next != null) {
+            Runnable task = next;
+            try {
+                taskExecutor.execute(() -> run(queue, task));
+            } catch (RejectedExecutionException e) {
+                LOG.error("Could not dispatch queued propagation task", e);
+                ((Future<?>) task).cancel(false);
+                release(queue);
+            }
+        }
+    }
+
+    protected static String coalescingKey(final PropagationTaskInfo taskInfo) {
+        return taskInfo.getConnObjectKey() == null
+                ? null
+                : taskInfo.getResource().getKey()
+                + '/' + taskInfo.getObjectClass().getObjectClassValue()
+                + '/' + taskInfo.getConnObjectKey();
+    }
+
+    /**
+     * Enqueues the given callable for execution on the resource of the given task, after any task for the same
+     * connector object which might be held for coalescing.
+     *
+     * @param <T> result type
+     * @param taskInfo task to execute
+     * @param callable callable executing the given task
+     * @return future result of the given callable
+     */
+    public <T> Future<T> submit(final PropagationTaskInfo taskInfo, final Callable<T> callable) {
+        Optional.ofNullable(coalescingKey(taskInfo)).ifPresent(key -> dispatch(key, null));
+
+        return submit(taskInfo.getResource().getKey(), callable);
+    }
+
+    /**
+     * Enqueues the given callable for execution on the resource of the given task, whose outcome is not waited for
+     * by the caller: if coalescing is enabled, the task is held until the configured window elapses, or merged into
+     * a task already held for the same connector object.
+     *
+     * @param taskInfo task to execute
+     * @param callable callable executing the given task
+     */
+    public void submitAsync(final PropagationTaskInfo taskInfo, final Callable<?> callable) {
+        String key = scheduler == null ? null : coalescingKey(taskInfo);
+        if (key == null) {
+            submit(taskInfo.getResource().getKey(), callable);
+            return;
+        }
+
+        HeldTask previous = null;
+        synchronized (held) {
+            HeldTask pending = held.get(key);
+            if (pending != null) {
+                if (coalesce(key, pending, taskInfo, callable)) {
+                    LOG.debug("Coalesced {} into {}", taskInfo, pending.taskInfo);
+                    queue(taskInfo.getResource().getKey()).coalesced.incrementAndGet();
+                    return;
+                }
+
+                previous = held.remove(key);
+            }
+
+            HeldTask task = new HeldTask(taskInfo, callable);
+            scheduler.schedule(() -> dispatch(key, task), props.getCoalescingWindow(), TimeUnit.MILLISECONDS);
+            held.put(key, task);
+        }
+
+        // the task held so far could not be coalesced: no reason to keep it waiting any longer
+        if (previous != null) {
+            submit(previous.taskInfo.getResource().getKey(), previous.callable);
+        }
+    }
+
+    /**
+     * Attempts to merge the given task into the one held for the same connector object.
+     *
+     * @param key connector object key, as built by {@link #coalescingKey(PropagationTaskInfo)}
+     * @param pending task currently held
+     * @param taskInfo task being submitted
+     * @param callable callable executing the task being submitted
+     * @return whether the given task was coalesced, hence it must not be executed on its own
+     */
+    protected boolean coalesce(
+            final String key,
+            final HeldTask pending,
+            final PropagationTaskInfo taskInfo,
+            final Callable<?> callable) {
+
+        // tasks carrying the originating update request or delta, or renaming the connector object, are left alone
+        // as propagation actions might depend on them
+        PropagationTaskInfo earlier = pending.taskInfo;
+        if (earlier.getUpdateRequest() != null || taskInfo.getUpdateRequest() != null
+                || earlier.getBeforeObj().isPresent() || taskInfo.getBeforeObj().isPresent()
+                || earlier.getPropagationData().getAttributeDeltas() != null
+                || taskInfo.getPropagationData().getAttributeDeltas() != null
+                || taskInfo.getOldConnObjectKey() != null) {
+
+            return false;
+        }
+
+        switch (taskInfo.getOperation()) {
+            case UPDATE:
+                if (earlier.getOperation() == ResourceOperation.DELETE) {
+                    return false;
+                }
+                merge(earlier.getPropagationData(), taskInfo.getPropagationData());
+                return true;
+
+            case DELETE:
+                if (earlier.getOperation() != ResourceOperation.CREATE) {
+                    return false;
+                }
+                if (Optional.ofNullable(taskInfo.getResource().getPropagationPolicy()).
+                        map(PropagationPolicy::isFetchAroundProvisioning).orElse(true)) {
+
+                    // CREATE might turn into an update of an existing connector object, which DELETE will then
+                    // remove: execute DELETE alone, saving creation
+                    pending.taskInfo = taskInfo;
+                    pending.callable = callable;
+                } else {
+                    held.remove(key);
+                }
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Merges attributes of the later task into the earlier's: values from the later task prevail.
+     *
+     * @param earlier propagation data of the earlier task, to be updated
+     * @param later propagation data of the later task
+     */
+    protected void merge(final PropagationData earlier, final PropagationData later) {
+        Set<String> names = later.getAttributes().stream().
+                map(attr -> attr.getName().toUpperCase()).
+                collect(Collectors.toSet());
+
+        // mandatory missing information is only meaningful as computed for the later task
+        earlier.getAttributes().removeIf(attr -> names.contains(attr.getName().toUpperCase())
+                || PropagationManager.MANDATORY_MISSING_ATTR_NAME.equals(attr.getName())
+                || PropagationManager.MANDATORY_NULL_OR_EMPTY_ATTR_NAME.equals(attr.getName()));
+        earlier.getAttributes().addAll(later.getAttributes());
+    }
+
+    /**
+     * Enqueues the task held for the given connector object, if any.
+     *
+     * @param key connector object key, as built by {@link #coalescingKey(PropagationTaskInfo)}
+     * @param expected task expected to be held, null for any
+     */
+    protected void dispatch(final String key, final HeldTask expected) {
+        HeldTask task;
+        synchronized (held) {
+            task = expected == null
+                    ? held.remove(key)
+                    : held.remove(key, expected) ? expected : null;
+        }
+
+        if (task != null) {
+            try {
+                submit(task.taskInfo.getResource().getKey(), task.callable);
+            } catch (RejectedExecutionException e) {
+                LOG.error("Could not dispatch held propagation task {}", task.taskInfo, e);
+            }
+        }
+    }
+
+    /**
+     * Enqueues all tasks held for coalescing, and stops holding further tasks.
+     */
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+
+            Set<String> keys;
+            synchronized (held) {
+                keys = Set.copyOf(held.keySet());
+            }
+            keys.forEach(key -> dispatch(key, null));
+        }
+    }
+
+    /**
+     * @return for each resource: configured concurrency, running and queued tasks, completed and coalesced tasks,
+     * average wait and execution time
+     */
+    public Map<String, Map<String, Object>> getMetrics() {
+        Map<String, Map<String, Object>> metrics = new TreeMap<>();
+        queues.forEach((resource, queue) -> metrics.put(resource, queue.metrics()));
+        return metrics;
+    }
+}
@@ -866,7 +866,8 @@ public abstract class AbstractPullResultHandler
                     finalDelta,
                     profile.getTask().getResource(),
                     provision,
-                    anyTypeKind);
+                    anyTypeKind,
+                    profile.getInboundMatchCache());
             LOG.debug("Match(es) found for {} as {}: {}",
                     finalDelta.getUid().getUidValue(), finalDelta.getObject().getObjectClass(), matches);
 
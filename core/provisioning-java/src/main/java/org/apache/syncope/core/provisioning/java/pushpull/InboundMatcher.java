@@ -20,13 +20,19 @@ package org.apache.syncope.core.provisioning.java.pushpull;
 
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.to.Item;
 import org.apache.syncope.common.lib.to.OrgUnit;
@@ -62,6 +68,7 @@ import org.apache.syncope.core.provisioning.api.IntAttrName;
 import org.apache.syncope.core.provisioning.api.IntAttrNameParser;
 import org.apache.syncope.core.provisioning.api.VirAttrHandler;
 import org.apache.syncope.core.provisioning.api.data.ItemTransformer;
+import org.apache.syncope.core.provisioning.api.pushpull.InboundMatchCache;
 import org.apache.syncope.core.provisioning.api.rules.PullCorrelationRule;
 import org.apache.syncope.core.provisioning.api.rules.PullMatch;
 import org.apache.syncope.core.provisioning.java.utils.MappingUtils;
@@ -89,6 +96,17 @@ public class InboundMatcher {
 
     protected static final Logger LOG = LoggerFactory.getLogger(InboundMatcher.class);
 
+    /**
+     * Matches resolved in advance and not consumed are discarded when exceeding this factor of the chunk size.
+     */
+    protected static final int MAX_PREFETCHED_FACTOR = 10;
+
+    /**
+     * Maximum number of values bound to a single {@code IN} clause, as some databases - notably Oracle - do not
+     * allow more than 1000; larger sets of values are queried in several chunks.
+     */
+    protected static final int MAX_IN_VALUES = 1000;
+
     protected final UserDAO userDAO;
 
     protected final AnyObjectDAO anyObjectDAO;
@@ -221,17 +239,13 @@ public class InboundMatcher {
                 collect(Collectors.toList());
     }
 
-    public List<PullMatch> matchByConnObjectKeyValue(
+    protected static String transform(
             final Item connObjectKeyItem,
-            final String connObjectKeyValue,
-            final AnyTypeKind anyTypeKind,
-            final boolean ignoreCaseMatch,
-            final ExternalResource resource) {
+            final List<ItemTransformer> transformers,
+            final String connObjectKeyValue) {
 
         String finalConnObjectKeyValue = connObjectKeyValue;
-        for (ItemTransformer transformer
-                : MappingUtils.getItemTransformers(connObjectKeyItem, getTransformers(connObjectKeyItem))) {
-
+        for (ItemTransformer transformer : transformers) {
             List<Object> output = transformer.beforePull(
                     connObjectKeyItem,
                     null,
@@ -240,17 +254,42 @@ public class InboundMatcher {
                 finalConnObjectKeyValue = output.get(0).toString();
             }
         }
+        return finalConnObjectKeyValue;
+    }
 
-        List<PullMatch> noMatchResult = List.of(PullCorrelationRule.NO_MATCH);
+    public List<PullMatch> matchByConnObjectKeyValue(
+            final Item connObjectKeyItem,
+            final String connObjectKeyValue,
+            final AnyTypeKind anyTypeKind,
+            final boolean ignoreCaseMatch,
+            final ExternalResource resource) {
+
+        String finalConnObjectKeyValue = transform(
+                connObjectKeyItem,
+                MappingUtils.getItemTransformers(connObjectKeyItem, getTransformers(connObjectKeyItem)),
+                connObjectKeyValue);
 
         IntAttrName intAttrName;
         try {
             intAttrName = intAttrNameParser.parse(connObjectKeyItem.getIntAttrName(), anyTypeKind);
         } catch (ParseException e) {
             LOG.error("Invalid intAttrName '{}' specified, ignoring", connObjectKeyItem.getIntAttrName(), e);
-            return noMatchResult;
+            return List.of(PullCorrelationRule.NO_MATCH);
         }
 
+        return matchByConnObjectKeyValue(
+                intAttrName, finalConnObjectKeyValue, anyTypeKind, ignoreCaseMatch, resource);
+    }
+
+    protected List<PullMatch> matchByConnObjectKeyValue(
+            final IntAttrName intAttrName,
+            final String finalConnObjectKeyValue,
+            final AnyTypeKind anyTypeKind,
+            final boolean ignoreCaseMatch,
+            final ExternalResource resource) {
+
+        List<PullMatch> noMatchResult = List.of(PullCorrelationRule.NO_MATCH);
+
         AnyUtils anyUtils = anyUtilsFactory.getInstance(anyTypeKind);
 
         List<Any<?>> anys = new ArrayList<>();
@@ -383,6 +422,176 @@ public class InboundMatcher {
         return rule;
     }
 
+    protected InboundMatchCache.ConnObjectKeyMetadata connObjectKeyMetadata(
+            final Provision provision,
+            final AnyTypeKind anyTypeKind) {
+
+        Optional<Item> connObjectKeyItem = MappingUtils.getConnObjectKeyItem(provision);
+        if (connObjectKeyItem.isEmpty()) {
+            return new InboundMatchCache.ConnObjectKeyMetadata(null, null, List.of());
+        }
+
+        IntAttrName intAttrName = null;
+        try {
+            intAttrName = intAttrNameParser.parse(connObjectKeyItem.get().getIntAttrName(), anyTypeKind);
+        } catch (ParseException e) {
+            LOG.error("Invalid intAttrName '{}' specified, ignoring", connObjectKeyItem.get().getIntAttrName(), e);
+        }
+
+        return new InboundMatchCache.ConnObjectKeyMetadata(
+                connObjectKeyItem.get(),
+                intAttrName,
+                MappingUtils.getItemTransformers(connObjectKeyItem.get(), getTransformers(connObjectKeyItem.get())));
+    }
+
+    protected static String connObjectKeyValue(final SyncDelta syncDelta, final Item connObjectKeyItem) {
+        String connObjectKeyValue = null;
+
+        Attribute connObjectKeyAttr = syncDelta.getObject().getAttributeByName(connObjectKeyItem.getExtAttrName());
+        if (connObjectKeyAttr != null) {
+            connObjectKeyValue = AttributeUtil.getStringValue(connObjectKeyAttr);
+        }
+        // fallback to __UID__
+        if (connObjectKeyValue == null) {
+            connObjectKeyValue = syncDelta.getUid().getUidValue();
+        }
+
+        return connObjectKeyValue;
+    }
+
+    protected List<PullMatch> toPullMatches(
+            final InboundMatchCache.Matches matches,
+            final String finalConnObjectKeyValue,
+            final ExternalResource resource) {
+
+        List<PullMatch> result = new ArrayList<>();
+
+        matches.getAnys().forEach((key, kind) -> Optional.ofNullable(anyUtilsFactory.getInstance(kind).dao().find(key)).
+                ifPresent(any -> result.add(new PullMatch(MatchType.ANY, any))));
+
+        if (resource != null && matches.isLinkedAccount()) {
+            userDAO.findLinkedAccount(resource, finalConnObjectKeyValue).
+                    map(account -> new PullMatch(MatchType.LINKED_ACCOUNT, account)).
+                    ifPresent(result::add);
+        }
+
+        return result.isEmpty() ? List.of(PullCorrelationRule.NO_MATCH) : result;
+    }
+
+    protected static List<Set<String>> split(final Set<String> values) {
+        List<Set<String>> chunks = new ArrayList<>();
+        Set<String> chunk = new LinkedHashSet<>();
+        for (String value : values) {
+            chunk.add(value);
+            if (chunk.size() == MAX_IN_VALUES) {
+                chunks.add(chunk);
+                chunk = new LinkedHashSet<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    protected static void collect(
+            final Map<String, Map<String, AnyTypeKind>> anys,
+            final Set<String> values,
+            final AnyTypeKind anyTypeKind,
+            final boolean ignoreCaseMatch,
+            final Map<String, List<String>> found) {
+
+        values.forEach(value -> found.getOrDefault(ignoreCaseMatch ? StringUtils.lowerCase(value) : value, List.of()).
+                forEach(key -> anys.computeIfAbsent(value, v -> new LinkedHashMap<>()).put(key, anyTypeKind)));
+    }
+
+    /**
+     * Resolves, via a bounded number of queries, the matches for all the given connector objects, and stores them
+     * into the given cache, to be consumed by subsequent invocations of
+     * {@link #match(SyncDelta, ExternalResource, Provision, AnyTypeKind, InboundMatchCache)}.
+     * Only connObjectKey mapped onto {@code key}, {@code username} or {@code name} are resolved in advance; nothing
+     * is done when a pull correlation rule is configured.
+     *
+     * @param syncDeltas change operations, including external attributes
+     * @param resource external resource
+     * @param provision mapping
+     * @param anyTypeKind type kind
+     * @param cache per-task cache
+     */
+    public void prefetch(
+            final List<SyncDelta> syncDeltas,
+            final ExternalResource resource,
+            final Provision provision,
+            final AnyTypeKind anyTypeKind,
+            final InboundMatchCache cache) {
+
+        if (rule(resource, provision).isPresent()) {
+            return;
+        }
+
+        InboundMatchCache.ConnObjectKeyMetadata metadata =
+                cache.getMetadata(provision.getAnyType(), k -> connObjectKeyMetadata(provision, anyTypeKind));
+        if (metadata.getItem() == null
+                || metadata.getIntAttrName() == null
+                || metadata.getIntAttrName().getField() == null) {
+
+            return;
+        }
+
+        Set<String> values = new LinkedHashSet<>();
+        syncDeltas.forEach(syncDelta -> Optional.ofNullable(connObjectKeyValue(syncDelta, metadata.getItem())).
+                ifPresent(value -> values.add(transform(metadata.getItem(), metadata.getTransformers(), value))));
+        if (values.isEmpty()) {
+            return;
+        }
+
+        String field = metadata.getIntAttrName().getField();
+        if (!"key".equals(field) && !"username".equals(field) && !"name".equals(field)) {
+            return;
+        }
+
+        boolean ignoreCaseMatch = provision.isIgnoreCaseMatch();
+        Map<String, Map<String, AnyTypeKind>> anys = new HashMap<>();
+        Set<String> linkedAccounts = new HashSet<>();
+        for (Set<String> chunk : split(values)) {
+            switch (field) {
+                case "key":
+                    collect(anys, chunk, anyTypeKind, false, anyUtilsFactory.getInstance(anyTypeKind).dao().
+                            findKeysByFieldValues("key", chunk, false));
+                    break;
+
+                case "username":
+                    boolean usernameIgnoreCase = anyTypeKind == AnyTypeKind.USER && ignoreCaseMatch;
+                    collect(anys, chunk, AnyTypeKind.USER, usernameIgnoreCase,
+                            userDAO.findKeysByFieldValues("username", chunk, usernameIgnoreCase));
+                    break;
+
+                case "name":
+                default:
+                    boolean groupIgnoreCase = anyTypeKind == AnyTypeKind.GROUP && ignoreCaseMatch;
+                    collect(anys, chunk, AnyTypeKind.GROUP, groupIgnoreCase,
+                            groupDAO.findKeysByFieldValues("name", chunk, groupIgnoreCase));
+                    boolean anyObjectIgnoreCase = anyTypeKind == AnyTypeKind.ANY_OBJECT && ignoreCaseMatch;
+                    collect(anys, chunk, AnyTypeKind.ANY_OBJECT, anyObjectIgnoreCase,
+                            anyObjectDAO.findKeysByFieldValues("name", chunk, anyObjectIgnoreCase));
+            }
+
+            if (resource != null) {
+                linkedAccounts.addAll(userDAO.findLinkedAccountConnObjectKeyValues(resource, chunk));
+            }
+        }
+
+        if (cache.getMatchesSize() > MAX_PREFETCHED_FACTOR * values.size()) {
+            LOG.debug("Too many unconsumed matches, clearing");
+            cache.clearMatches();
+        }
+
+        values.forEach(value -> cache.putMatches(
+                provision.getAnyType(),
+                value,
+                new InboundMatchCache.Matches(anys.getOrDefault(value, Map.of()), linkedAccounts.contains(value))));
+    }
+
     /**
      * Finds internal entities based on external attributes and mapping.
      *
@@ -398,6 +607,28 @@ public class InboundMatcher {
             final Provision provision,
             final AnyTypeKind anyTypeKind) {
 
+        return match(syncDelta, resource, provision, anyTypeKind, null);
+    }
+
+    /**
+     * Finds internal entities based on external attributes and mapping, relying on the given cache - if provided -
+     * for parsed mapping metadata and matches resolved in advance.
+     *
+     * @param syncDelta change operation, including external attributes
+     * @param resource external resource
+     * @param provision mapping
+     * @param anyTypeKind type kind
+     * @param cache per-task cache, may be null
+     * @return list of matching users' / groups' / any objects' keys
+     * @see #prefetch(List, ExternalResource, Provision, AnyTypeKind, InboundMatchCache)
+     */
+    public List<PullMatch> match(
+            final SyncDelta syncDelta,
+            final ExternalResource resource,
+            final Provision provision,
+            final AnyTypeKind anyTypeKind,
+            final InboundMatchCache cache) {
+
         Optional<PullCorrelationRule> rule = rule(resource, provision);
 
         List<PullMatch> result = List.of();
@@ -405,29 +636,30 @@ public class InboundMatcher {
             if (rule.isPresent()) {
                 result = matchByCorrelationRule(syncDelta, provision, rule.get(), anyTypeKind);
             } else {
-                String connObjectKeyValue = null;
-
-                Optional<Item> connObjectKeyItem = MappingUtils.getConnObjectKeyItem(provision);
-                if (connObjectKeyItem.isPresent()) {
-                    Attribute connObjectKeyAttr = syncDelta.getObject().
-                            getAttributeByName(connObjectKeyItem.get().getExtAttrName());
-                    if (connObjectKeyAttr != null) {
-                        connObjectKeyValue = AttributeUtil.getStringValue(connObjectKeyAttr);
-                    }
-                    // fallback to __UID__
-                    if (connObjectKeyValue == null) {
-                        connObjectKeyValue = syncDelta.getUid().getUidValue();
-                    }
-                }
-                if (connObjectKeyValue == null) {
+                InboundMatchCache.ConnObjectKeyMetadata metadata = cache == null
+                        ? connObjectKeyMetadata(provision, anyTypeKind)
+                        : cache.getMetadata(provision.getAnyType(), k -> connObjectKeyMetadata(provision, anyTypeKind));
+
+                String connObjectKeyValue = metadata.getItem() == null
+                        ? null
+                        : connObjectKeyValue(syncDelta, metadata.getItem());
+                if (connObjectKeyValue == null || metadata.getIntAttrName() == null) {
                     result = List.of(PullCorrelationRule.NO_MATCH);
                 } else {
-                    result = matchByConnObjectKeyValue(
-                            connObjectKeyItem.get(),
-                            connObjectKeyValue,
-                            anyTypeKind,
-                            provision.isIgnoreCaseMatch(),
-                            resource);
+                    String finalConnObjectKeyValue =
+                            transform(metadata.getItem(), metadata.getTransformers(), connObjectKeyValue);
+
+                    Optional<InboundMatchCache.Matches> prefetched = cache == null
+                            ? Optional.empty()
+                            : cache.takeMatches(provision.getAnyType(), finalConnObjectKeyValue);
+                    result = prefetched.isPresent()
+                            ? toPullMatches(prefetched.get(), finalConnObjectKeyValue, resource)
+                            : matchByConnObjectKeyValue(
+                                    metadata.getIntAttrName(),
+                                    finalConnObjectKeyValue,
+                                    anyTypeKind,
+                                    provision.isIgnoreCaseMatch(),
+                                    resource);
                 }
             }
         } catch (RuntimeException e) {
@@ -26,6 +26,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.syncope.common.lib.to.Item;
@@ -188,8 +189,23 @@ public class OutboundMatcher {
         return result;
     }
 
+    /**
+     * Resolves, for the given entity, everything needed to match connector objects on the given resource and returns
+     * the connector request itself: as it does not require any further persistence access, the latter can be run
+     * from any thread.
+     * Differently from {@link #match(Connector, Any, ExternalResource, Provision, Optional, Item...)}, virtual
+     * attribute values are not set from the matching connector object.
+     *
+     * @param connector connector instance
+     * @param any entity
+     * @param resource external resource
+     * @param provision provision
+     * @param moreAttrsToGet additional attributes to get from connector objects
+     * @param linkingItems virtual attribute items to get from connector objects
+     * @return connector request, returning matching connector objects
+     */
     @Transactional(readOnly = true)
-    public List<ConnectorObject> match(
+    public Supplier<List<ConnectorObject>> prepareMatch(
             final Connector connector,
             final Any<?> any,
             final ExternalResource resource,
@@ -197,45 +213,71 @@ public class OutboundMatcher {
             final Optional<String[]> moreAttrsToGet,
             final Item... linkingItems) {
 
-        Stream<String> matgFromPropagationActions = getPropagationActions(resource).stream().
-                flatMap(a -> a.moreAttrsToGet(Optional.empty(), provision).stream());
-        Optional<String[]> effectiveMATG = Optional.of(Stream.concat(
-                moreAttrsToGet.stream().flatMap(Stream::of),
-                matgFromPropagationActions).toArray(String[]::new));
-
-        Optional<PushCorrelationRule> rule = rule(resource, provision);
-
-        List<ConnectorObject> result = new ArrayList<>();
         try {
+            Stream<String> matgFromPropagationActions = getPropagationActions(resource).stream().
+                    flatMap(a -> a.moreAttrsToGet(Optional.empty(), provision).stream());
+            Optional<String[]> effectiveMATG = Optional.of(Stream.concat(
+                    moreAttrsToGet.stream().flatMap(Stream::of),
+                    matgFromPropagationActions).toArray(String[]::new));
+
+            Optional<Collection<Item>> effectiveLinkingItems = Optional.of(ArrayUtils.isEmpty(linkingItems)
+                    ? virSchemaDAO.find(resource.getKey(), provision.getAnyType()).stream().
+                            map(VirSchema::asLinkingMappingItem).toList()
+                    : List.of(linkingItems));
+
+            Optional<PushCorrelationRule> rule = rule(resource, provision);
             if (rule.isPresent()) {
-                result.addAll(matchByCorrelationRule(
-                        connector,
-                        rule.get().getFilter(any, resource, provision),
-                        resource,
-                        provision,
-                        effectiveMATG,
-                        ArrayUtils.isEmpty(linkingItems)
-                        ? Optional.empty() : Optional.of(List.of(linkingItems))));
-            } else {
-                Optional<Item> connObjectKeyItem = MappingUtils.getConnObjectKeyItem(provision);
-                Optional<String> connObjectKeyValue = mappingManager.getConnObjectKeyValue(any, resource, provision);
+                Filter filter = rule.get().getFilter(any, resource, provision);
+                return () -> {
+                    try {
+                        return matchByCorrelationRule(
+                                connector, filter, resource, provision, effectiveMATG, effectiveLinkingItems);
+                    } catch (RuntimeException e) {
+                        LOG.error("Could not match {} with any existing {}", any, provision.getObjectClass(), e);
+                        return List.of();
+                    }
+                };
+            }
 
-                if (connObjectKeyItem.isPresent() && connObjectKeyValue.isPresent()) {
-                    matchByConnObjectKeyValue(
+            Optional<Item> connObjectKeyItem = MappingUtils.getConnObjectKeyItem(provision);
+            Optional<String> connObjectKeyValue = mappingManager.getConnObjectKeyValue(any, resource, provision);
+            if (connObjectKeyItem.isEmpty() || connObjectKeyValue.isEmpty()) {
+                return List::of;
+            }
+
+            return () -> {
+                try {
+                    return matchByConnObjectKeyValue(
                             connector,
                             connObjectKeyItem.get(),
                             connObjectKeyValue.get(),
                             resource,
                             provision,
                             effectiveMATG,
-                            ArrayUtils.isEmpty(linkingItems)
-                            ? Optional.empty() : Optional.of(List.of(linkingItems))).
-                            ifPresent(result::add);
+                            effectiveLinkingItems).
+                            map(List::of).orElseGet(List::of);
+                } catch (RuntimeException e) {
+                    LOG.error("Could not match {} with any existing {}", any, provision.getObjectClass(), e);
+                    return List.of();
                 }
-            }
+            };
         } catch (RuntimeException e) {
             LOG.error("Could not match {} with any existing {}", any, provision.getObjectClass(), e);
+            return List::of;
         }
+    }
+
+    @Transactional(readOnly = true)
+    public List<ConnectorObject> match(
+            final Connector connector,
+            final Any<?> any,
+            final ExternalResource resource,
+            final Provision provision,
+            final Optional<String[]> moreAttrsToGet,
+            final Item... linkingItems) {
+
+        List<ConnectorObject> result = new ArrayList<>(prepareMatch(
+                connector, any, resource, provision, moreAttrsToGet, linkingItems).get());
 
         if (any != null && result.size() == 1) {
             virAttrHandler.setValues(any, result.get(0));
@@ -34,7 +34,9 @@ import org.apache.commons.lang3.tuple.MutablePair;
 import org.apache.syncope.common.lib.to.Item;
 import org.apache.syncope.common.lib.to.OrgUnit;
 import org.apache.syncope.common.lib.to.Provision;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.ConflictResolutionAction;
+import org.apache.syncope.common.lib.types.PullMode;
 import org.apache.syncope.common.lib.types.ResourceOperation;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.PlainAttrValidationManager;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
@@ -62,6 +64,7 @@ import org.apache.syncope.core.provisioning.api.pushpull.SyncopePullExecutor;
 import org.apache.syncope.core.provisioning.api.pushpull.SyncopePullResultHandler;
 import org.apache.syncope.core.provisioning.api.pushpull.UserPullResultHandler;
 import org.apache.syncope.core.provisioning.api.rules.PullMatch;
+import org.apache.syncope.core.provisioning.java.ProvisioningProperties;
 import org.apache.syncope.core.provisioning.java.utils.ConnObjectUtils;
 import org.apache.syncope.core.provisioning.java.utils.MappingUtils;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
@@ -94,12 +97,21 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
     @Autowired
     protected PlainAttrValidationManager validator;
 
+    @Autowired
+    protected ProvisioningProperties provisioningProperties;
+
     protected final Map<String, SyncToken> latestSyncTokens = Collections.synchronizedMap(new HashMap<>());
 
+    protected volatile boolean checkpointing;
+
+    protected long checkpointedAt;
+
     protected ProvisioningProfile<PullTask, PullActions> profile;
 
     protected final Map<String, MutablePair<Integer, String>> handled = new HashMap<>();
 
+    protected final Map<String, Long> handledSince = new HashMap<>();
+
     protected final Map<String, PullActions> perContextActions = new ConcurrentHashMap<>();
 
     protected Optional<ReconFilterBuilder> perContextReconFilterBuilder = Optional.empty();
@@ -107,6 +119,33 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
     @Override
     public void setLatestSyncToken(final String objectClass, final SyncToken latestSyncToken) {
         latestSyncTokens.put(objectClass, latestSyncToken);
+
+        checkpointSyncTokens(false);
+    }
+
+    /**
+     * Saves the latest sync tokens in a separate transaction, so that they are not lost if the pull does not
+     * complete; unless forced, only when the configured interval has elapsed since the previous checkpoint.
+     *
+     * @param force whether to save regardless of the configured interval
+     */
+    protected synchronized void checkpointSyncTokens(final boolean force) {
+        if (!checkpointing) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (!force && now - checkpointedAt < provisioningProperties.getPull().getSyncTokenCheckpointInterval()) {
+            return;
+        }
+
+        Map<String, String> syncTokens = new HashMap<>();
+        synchronized (latestSyncTokens) {
+            latestSyncTokens.forEach((objectClass, syncToken) -> syncTokens.put(
+                    objectClass, ConnObjectUtils.toString(syncToken)));
+        }
+        resourceDAO.saveSyncTokens(profile.getTask().getResource().getKey(), syncTokens);
+        checkpointedAt = now;
     }
 
     @Override
@@ -115,16 +154,20 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
             MutablePair<Integer, String> pair = Optional.ofNullable(handled.get(objectClass)).orElseGet(() -> {
                 MutablePair<Integer, String> p = MutablePair.of(0, null);
                 handled.put(objectClass, p);
+                handledSince.put(objectClass, System.currentTimeMillis());
                 return p;
             });
             pair.setLeft(pair.getLeft() + 1);
             pair.setRight(name.getNameValue());
 
             if (!handled.isEmpty()) {
+                long now = System.currentTimeMillis();
                 StringBuilder builder = new StringBuilder("Processed:\n");
                 handled.forEach((k, v) -> builder.append(' ').append(v.getLeft()).append('\t').
                         append(k).
                         append(" / latest: ").append(v.getRight()).
+                        append(" / rate: ").
+                        append(v.getLeft() * 1000L / Math.max(1L, now - handledSince.get(k))).append("/s").
                         append('\n'));
                 setStatus(builder.toString());
             }
@@ -212,6 +255,19 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
         return ApplicationContextProvider.getBeanFactory().createBean(DefaultGroupPullResultHandler.class);
     }
 
+    /**
+     * Waits for all concurrently handled deltas to complete, as latest sync tokens are final only then, and saves
+     * them.
+     *
+     * @param dispatcher pull result handler dispatcher
+     */
+    protected void completeSyncTokens(final PullResultHandlerDispatcher dispatcher) {
+        dispatcher.await();
+
+        checkpointSyncTokens(true);
+        checkpointing = false;
+    }
+
     @Override
     protected String doExecuteProvisioning(
             final PullTask pullTask,
@@ -231,9 +287,11 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
                         orElse(ConflictResolutionAction.IGNORE));
         profile.setExecutor(executor);
 
-        PullResultHandlerDispatcher dispatcher = new PullResultHandlerDispatcher(profile, this);
+        PullResultHandlerDispatcher dispatcher = new PullResultHandlerDispatcher(
+                profile, this, provisioningProperties.getPull().getMatchChunkSize());
 
         latestSyncTokens.clear();
+        checkpointedAt = System.currentTimeMillis();
 
         if (!profile.isDryRun()) {
             for (PullActions action : profile.getActions()) {
@@ -267,18 +325,13 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
                             latestSyncTokens.put(
                                     orgUnit.getObjectClass(),
                                     ConnObjectUtils.toSyncToken(orgUnit.getSyncToken()));
+                            checkpointing = true;
                         }
 
                         connector.sync(new ObjectClass(orgUnit.getObjectClass()),
                                 ConnObjectUtils.toSyncToken(orgUnit.getSyncToken()),
                                 dispatcher,
                                 options);
-
-                        if (!dryRun) {
-                            orgUnit.setSyncToken(
-                                    ConnObjectUtils.toString(latestSyncTokens.get(orgUnit.getObjectClass())));
-                            resourceDAO.save(pullTask.getResource());
-                        }
                         break;
 
                     case FILTERED_RECONCILIATION:
@@ -298,6 +351,8 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
                 }
             } catch (Throwable t) {
                 throw new JobExecutionException("While pulling from connector", t);
+            } finally {
+                completeSyncTokens(dispatcher);
             }
         }
 
@@ -331,8 +386,12 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
                 handler.setProfile(profile);
                 return handler;
             });
+            if (pullTask.getPullMode() != PullMode.INCREMENTAL) {
+                AnyTypeKind anyTypeKind = anyType.getKind();
+                dispatcher.addPrefetcher(provision.getObjectClass(), deltas -> inboundMatcher.prefetch(
+                        deltas, pullTask.getResource(), provision, anyTypeKind, profile.getInboundMatchCache()));
+            }
 
-            boolean setSyncTokens = false;
             try {
                 Set<String> moreAttrsToGet = new HashSet<>();
                 profile.getActions().forEach(a -> moreAttrsToGet.addAll(a.moreAttrsToGet(profile, provision)));
@@ -349,6 +408,7 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
                             latestSyncTokens.put(
                                     provision.getObjectClass(),
                                     ConnObjectUtils.toSyncToken(provision.getSyncToken()));
+                            checkpointing = true;
                         }
 
                         connector.sync(
@@ -356,10 +416,6 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
                                 ConnObjectUtils.toSyncToken(provision.getSyncToken()),
                                 dispatcher,
                                 options);
-
-                        if (!dryRun) {
-                            setSyncTokens = true;
-                        }
                         break;
 
                     case FILTERED_RECONCILIATION:
@@ -376,15 +432,13 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
                                 dispatcher,
                                 options);
                 }
+                if (!dispatcher.flush()) {
+                    LOG.error("Not all buffered {} could be handled, see pull report", provision.getObjectClass());
+                }
             } catch (Throwable t) {
                 throw new JobExecutionException("While pulling from connector", t);
             } finally {
-                if (setSyncTokens) {
-                    latestSyncTokens.forEach((objectClass, syncToken) -> pullTask.getResource().
-                            getProvisionByObjectClass(objectClass).
-                            ifPresent(p -> p.setSyncToken(ConnObjectUtils.toString(syncToken))));
-                    resourceDAO.save(pullTask.getResource());
-                }
+                completeSyncTokens(dispatcher);
             }
         }
 
@@ -18,7 +18,18 @@
  */
 package org.apache.syncope.core.provisioning.java.pushpull;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import org.apache.syncope.common.lib.to.Provision;
+import org.apache.syncope.common.lib.to.ProvisioningReport;
+import org.apache.syncope.common.lib.types.ResourceOperation;
 import org.apache.syncope.core.persistence.api.entity.task.PullTask;
 import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningProfile;
 import org.apache.syncope.core.provisioning.api.pushpull.PullActions;
@@ -26,31 +37,229 @@ import org.apache.syncope.core.provisioning.api.pushpull.SyncopePullExecutor;
 import org.apache.syncope.core.provisioning.api.pushpull.SyncopePullResultHandler;
 import org.identityconnectors.framework.common.objects.SyncDelta;
 import org.identityconnectors.framework.common.objects.SyncResultsHandler;
+import org.identityconnectors.framework.common.objects.SyncToken;
 import org.springframework.transaction.annotation.Transactional;
 
 public class PullResultHandlerDispatcher
         extends SyncopeResultHandlerDispatcher<PullTask, PullActions, SyncopePullResultHandler>
         implements SyncResultsHandler {
 
+    /**
+     * Tracks the deltas of a given object class submitted for concurrent handling, in order to advance the latest
+     * sync token only up to the last delta whose handling - and the handling of all deltas preceding it - was
+     * successful: after a failure, following deltas are still handled but the sync token is not advanced anymore.
+     * Deltas whose handling is completed ahead of preceding ones are kept until these complete, up to the given
+     * window: further registrations wait.
+     */
+    protected static class SyncTokenCheckpoint {
+
+        protected final int window;
+
+        protected final Map<Long, SyncToken> completed = new HashMap<>();
+
+        protected final Set<Long> failures = new HashSet<>();
+
+        protected long next;
+
+        protected long watermark;
+
+        protected boolean failed;
+
+        public SyncTokenCheckpoint(final int window) {
+            this.window = window;
+        }
+
+        /**
+         * Registers a new delta, waiting as long as the window is full.
+         *
+         * @return sequence number for the new delta
+         * @throws InterruptedException if interrupted while waiting
+         */
+        public synchronized long register() throws InterruptedException {
+            while (next - watermark >= window) {
+                wait();
+            }
+            return next++;
+        }
+
+        /**
+         * Reports the handling of the delta with given sequence number as completed; the given consumer is invoked,
+         * in order, with the sync token of the latest delta such that all deltas up to it were successfully handled.
+         *
+         * @param seq sequence number, as returned by {@link #register()}
+         * @param token sync token of the delta
+         * @param success whether the delta was successfully handled
+         * @param checkpoint invoked with the sync token of the latest delta up to which all were successfully handled
+         */
+        public synchronized void complete(
+                final long seq,
+                final SyncToken token,
+                final boolean success,
+                final Consumer<SyncToken> checkpoint) {
+
+            if (success) {
+                completed.put(seq, token);
+            } else {
+                failures.add(seq);
+            }
+
+            boolean advanced = false;
+            SyncToken latest = null;
+            while (completed.containsKey(watermark) || failures.contains(watermark)) {
+                if (failures.remove(watermark)) {
+                    failed = true;
+                } else {
+                    SyncToken completedToken = completed.remove(watermark);
+                    if (!failed) {
+                        latest = completedToken;
+                        advanced = true;
+                    }
+                }
+                watermark++;
+            }
+            if (advanced) {
+                checkpoint.accept(latest);
+            }
+
+            notifyAll();
+        }
+
+        public synchronized boolean isFailed() {
+            return failed;
+        }
+    }
+
+    protected final ProvisioningProfile<PullTask, PullActions> profile;
+
     protected final SyncopePullExecutor executor;
 
+    protected final int chunkSize;
+
+    protected final Map<String, Consumer<List<SyncDelta>>> prefetchers = new ConcurrentHashMap<>();
+
+    protected final Map<String, List<SyncDelta>> chunks = new HashMap<>();
+
+    protected final Map<String, SyncTokenCheckpoint> checkpoints = new ConcurrentHashMap<>();
+
     public PullResultHandlerDispatcher(
             final ProvisioningProfile<PullTask, PullActions> profile,
             final SyncopePullExecutor executor) {
 
+        this(profile, executor, 1);
+    }
+
+    public PullResultHandlerDispatcher(
+            final ProvisioningProfile<PullTask, PullActions> profile,
+            final SyncopePullExecutor executor,
+            final int chunkSize) {
+
         super(profile);
+        this.profile = profile;
         this.executor = executor;
+        this.chunkSize = chunkSize;
     }
 
-    @Transactional
-    @Override
-    public boolean handle(final SyncDelta delta) {
+    /**
+     * Sets the function invoked for each chunk of deltas with the given object class, before handling them: when
+     * set, deltas are buffered until {@code chunkSize} are available or {@link #flush()} is invoked.
+     *
+     * @param key object class
+     * @param prefetcher function invoked for each chunk of deltas
+     */
+    public void addPrefetcher(final String key, final Consumer<List<SyncDelta>> prefetcher) {
+        prefetchers.put(key, prefetcher);
+    }
+
+    protected boolean interrupted() {
         if (executor.wasInterruptRequested()) {
             LOG.debug("Pull interrupted");
             executor.setInterrupted();
+            return true;
+        }
+        return false;
+    }
+
+    @Transactional
+    @Override
+    public boolean handle(final SyncDelta delta) {
+        if (interrupted()) {
             return false;
         }
 
+        String objectClass = delta.getObjectClass().getObjectClassValue();
+        if (chunkSize <= 1 || !prefetchers.containsKey(objectClass)) {
+            return dispatch(delta);
+        }
+
+        List<SyncDelta> chunk = chunks.computeIfAbsent(objectClass, k -> new ArrayList<>(chunkSize));
+        chunk.add(delta);
+        return chunk.size() < chunkSize || flush(objectClass);
+    }
+
+    protected boolean flush(final String objectClass) {
+        List<SyncDelta> chunk = chunks.remove(objectClass);
+        if (chunk == null || chunk.isEmpty()) {
+            return true;
+        }
+
+        try {
+            prefetchers.get(objectClass).accept(chunk);
+        } catch (Exception e) {
+            LOG.warn("While prefetching matches for {} {}, going on", chunk.size(), objectClass, e);
+        }
+
+        for (int i = 0; i < chunk.size(); i++) {
+            if (interrupted()) {
+                chunk.subList(i, chunk.size()).
+                        forEach(delta -> reportFailure(delta, "Not handled, as pull was interrupted"));
+                return false;
+            }
+            if (!dispatch(chunk.get(i))) {
+                reportFailure(chunk.get(i), "Could not be handled");
+                chunk.subList(i + 1, chunk.size()).
+                        forEach(delta -> reportFailure(delta, "Not handled, as pull was stopped"));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds a failure report for the given buffered delta, as no handler will report about it.
+     *
+     * @param delta buffered delta
+     * @param message failure message
+     */
+    protected void reportFailure(final SyncDelta delta, final String message) {
+        ProvisioningReport report = new ProvisioningReport();
+        report.setOperation(ResourceOperation.NONE);
+        report.setAnyType(profile.getTask().getResource().
+                getProvisionByObjectClass(delta.getObject().getObjectClass().getObjectClassValue()).
+                map(Provision::getAnyType).orElse(null));
+        report.setStatus(ProvisioningReport.Status.FAILURE);
+        report.setMessage(message);
+        report.setUidValue(delta.getUid().getUidValue());
+        report.setName(delta.getObject().getName().getNameValue());
+        profile.getResults().add(report);
+    }
+
+    /**
+     * Handles all buffered deltas, then waits for all deltas submitted for concurrent handling to complete.
+     *
+     * @return whether all buffered deltas were successfully handled; failure is reported for those which were not
+     */
+    public boolean flush() {
+        boolean result = true;
+        for (String objectClass : List.copyOf(chunks.keySet())) {
+            result &= flush(objectClass);
+        }
+
+        await();
+
+        return result;
+    }
+
+    protected boolean dispatch(final SyncDelta delta) {
         if (tpte.isEmpty()) {
             boolean result = nonConcurrentHandler(delta.getObjectClass().getObjectClassValue()).handle(delta);
 
@@ -62,18 +271,36 @@ public class PullResultHandlerDispatcher
             return result;
         }
 
+        String objectClass = delta.getObjectClass().getObjectClassValue();
+        SyncTokenCheckpoint checkpoint = checkpoints.computeIfAbsent(
+                objectClass, k -> new SyncTokenCheckpoint(capacity));
+        Consumer<SyncToken> setLatestSyncToken = token -> executor.setLatestSyncToken(objectClass, token);
+
+        long seq;
+        try {
+            seq = checkpoint.register();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.error("Interrupted while waiting to submit pull handler for {} {}",
+                    objectClass, delta.getObject().getName());
+            return false;
+        }
         try {
             submit(() -> {
-                executor.setLatestSyncToken(delta.getObjectClass().getObjectClassValue(), delta.getToken());
+                boolean result = false;
+                try {
+                    result = suppliers.get(objectClass).get().handle(delta);
 
-                suppliers.get(delta.getObjectClass().getObjectClassValue()).get().handle(delta);
-
-                executor.reportHandled(delta.getObjectClass().getObjectClassValue(), delta.getObject().getName());
+                    executor.reportHandled(objectClass, delta.getObject().getName());
+                } finally {
+                    checkpoint.complete(seq, delta.getToken(), result, setLatestSyncToken);
+                }
             });
             return true;
         } catch (RejectedExecutionException e) {
-            LOG.error("Could not submit pull handler for {} {}",
-                    delta.getObjectClass().getObjectClassValue(), delta.getObject().getName());
+            checkpoint.complete(seq, delta.getToken(), false, setLatestSyncToken);
+
+            LOG.error("Could not submit pull handler for {} {}", objectClass, delta.getObject().getName());
             return false;
         }
     }
@@ -252,25 +252,22 @@ public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> i
             SearchCond cond = StringUtils.isBlank(filter)
                     ? anyDAO.getAllMatchingCond()
                     : SearchCondConverter.convert(searchCondVisitor, filter);
-            int count = searchDAO.count(
-                    profile.getTask().getSourceRealm(),
-                    true,
-                    Set.of(profile.getTask().getSourceRealm().getFullPath()),
-                    cond,
-                    anyType.getKind());
+            // walk through matching entities via keyset pagination, to avoid deep offsets on large realms
             boolean result = true;
-            for (int page = 1; page <= (count / AnyDAO.DEFAULT_PAGE_SIZE) + 1 && result; page++) {
-                List<? extends Any<?>> anys = searchDAO.search(
+            String after = null;
+            List<? extends Any<?>> anys;
+            do {
+                anys = searchDAO.search(
                         profile.getTask().getSourceRealm(),
                         true,
                         Set.of(profile.getTask().getSourceRealm().getFullPath()),
                         cond,
-                        page,
+                        after,
                         AnyDAO.DEFAULT_PAGE_SIZE,
-                        List.of(),
                         anyType.getKind());
                 result = doHandle(anys, dispatcher, pushTask.getResource());
-            }
+                after = anys.isEmpty() ? null : anys.get(anys.size() - 1).getKey();
+            } while (result && anys.size() == AnyDAO.DEFAULT_PAGE_SIZE);
         }
 
         dispatcher.shutdown();
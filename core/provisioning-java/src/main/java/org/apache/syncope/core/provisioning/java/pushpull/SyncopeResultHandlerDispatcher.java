@@ -18,14 +18,12 @@
  */
 package org.apache.syncope.core.provisioning.java.pushpull;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.function.Supplier;
 import org.apache.syncope.core.persistence.api.entity.task.ProvisioningTask;
@@ -49,17 +47,26 @@ public abstract class SyncopeResultHandlerDispatcher<
 
     private static final String PLACEHOLDER_PWD = "PLACEHOLDER_PWD";
 
+    /**
+     * Number of handler invocations, per thread in pool, which can be submitted and not completed yet: further
+     * submissions wait for some to complete, so that reading from the connector cannot outpace handling.
+     */
+    protected static final int IN_FLIGHT_PER_THREAD = 4;
+
     protected final Optional<VirtualThreadPoolTaskExecutor> tpte;
 
     protected final Map<String, Supplier<RA>> suppliers = new ConcurrentHashMap<>();
 
     protected final Map<String, RA> handlers = new ConcurrentHashMap<>();
 
-    protected final List<Future<?>> futures = new ArrayList<>();
+    protected final int capacity;
+
+    protected final Semaphore inFlight;
 
     protected SyncopeResultHandlerDispatcher(final ProvisioningProfile<T, A> profile) {
         if (profile.getTask().getConcurrentSettings() == null) {
             tpte = Optional.empty();
+            capacity = 0;
         } else {
             VirtualThreadPoolTaskExecutor t = new VirtualThreadPoolTaskExecutor();
             t.setPoolSize(profile.getTask().getConcurrentSettings().getPoolSize());
@@ -83,7 +90,9 @@ public abstract class SyncopeResultHandlerDispatcher<
             t.initialize();
 
             tpte = Optional.of(t);
+            capacity = profile.getTask().getConcurrentSettings().getPoolSize() * IN_FLIGHT_PER_THREAD;
         }
+        inFlight = new Semaphore(capacity);
     }
 
     public void addHandlerSupplier(final String key, final Supplier<RA> supplier) {
@@ -98,18 +107,59 @@ public abstract class SyncopeResultHandlerDispatcher<
         });
     }
 
+    /**
+     * Submits the given handler invocation, waiting as long as {@link #capacity} invocations are not completed yet.
+     *
+     * @param runnable handler invocation
+     * @throws RejectedExecutionException if the invocation could not be submitted
+     */
     protected void submit(final Runnable runnable) {
-        tpte.ifPresent(executor -> futures.add(executor.submit(runnable)));
+        if (tpte.isEmpty()) {
+            return;
+        }
+
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for handlers to complete", e);
+        }
+
+        try {
+            tpte.get().execute(() -> {
+                try {
+                    runnable.run();
+                } catch (Throwable t) {
+                    LOG.error("Unexpected error while handling", t);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            throw e;
+        }
     }
 
-    protected void shutdown() {
-        for (Future<?> f : this.futures) {
-            try {
-                f.get();
-            } catch (ExecutionException | InterruptedException e) {
-                LOG.error("Unexpected error when waiting for completion", e);
-            }
+    /**
+     * Waits for all submitted handler invocations to complete.
+     */
+    protected void await() {
+        if (tpte.isEmpty()) {
+            return;
+        }
+
+        try {
+            inFlight.acquire(capacity);
+            inFlight.release(capacity);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.error("Unexpected error when waiting for completion", e);
         }
+    }
+
+    protected void shutdown() {
+        await();
 
         tpte.ifPresent(VirtualThreadPoolTaskExecutor::shutdown);
     }
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.syncope.core.provisioning.api.CircuitBreakerOpenException;
+import org.identityconnectors.framework.common.exceptions.AlreadyExistsException;
+import org.identityconnectors.framework.common.exceptions.ConnectionFailedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ConnectorCircuitBreakerTest {
+
+    private final AtomicLong millis = new AtomicLong();
+
+    private Clock clock;
+
+    private static ProvisioningProperties.CircuitBreakerProperties props() {
+        ProvisioningProperties.CircuitBreakerProperties props = new ProvisioningProperties.CircuitBreakerProperties();
+        props.setEnabled(true);
+        props.setFailureThreshold(3);
+        props.setOpenDuration(100);
+        props.setTrialTimeout(50);
+        return props;
+    }
+
+    @BeforeEach
+    public void setup() {
+        clock = mock(Clock.class);
+        when(clock.millis()).thenAnswer(invocation -> millis.get());
+    }
+
+    @Test
+    public void states() {
+        ConnectorCircuitBreaker breaker = new ConnectorCircuitBreaker("test", props(), clock);
+
+        // errors reported by a responsive connector instance do not count
+        for (int i = 0; i < 5; i++) {
+            breaker.failed(breaker.acquire(), new AlreadyExistsException());
+        }
+        assertEquals(ConnectorCircuitBreaker.State.CLOSED, breaker.getState());
+
+        for (int i = 0; i < 3; i++) {
+            breaker.failed(breaker.acquire(), new ConnectionFailedException("down"));
+        }
+        assertEquals(ConnectorCircuitBreaker.State.OPEN, breaker.getState());
+        assertThrows(CircuitBreakerOpenException.class, breaker::acquire);
+
+        // after open duration, a single trial request is let through
+        millis.addAndGet(99);
+        assertThrows(CircuitBreakerOpenException.class, breaker::acquire);
+        millis.addAndGet(1);
+        long trial = assertDoesNotThrow(breaker::acquire);
+        assertEquals(ConnectorCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertThrows(CircuitBreakerOpenException.class, breaker::acquire);
+
+        // trial failure opens again
+        breaker.failed(trial, new TimeoutException());
+        assertEquals(ConnectorCircuitBreaker.State.OPEN, breaker.getState());
+
+        // trial success closes
+        millis.addAndGet(100);
+        breaker.succeeded(breaker.acquire(), "getObject", TimeUnit.MILLISECONDS.toNanos(10));
+        assertEquals(ConnectorCircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(3L, breaker.getDetails().get("rejected"));
+    }
+
+    private void open(final ConnectorCircuitBreaker breaker) {
+        for (int i = 0; i < 3; i++) {
+            breaker.failed(breaker.acquire(), new ConnectionFailedException("down"));
+        }
+        assertEquals(ConnectorCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void lateOutcomes() {
+        ConnectorCircuitBreaker breaker = new ConnectorCircuitBreaker("test", props(), clock);
+
+        // requests let through before the circuit breaker opened
+        long late = breaker.acquire();
+        long lateFailed = breaker.acquire();
+        open(breaker);
+
+        // their outcome, once open, neither closes the circuit breaker nor skips the trial request
+        breaker.succeeded(late, "getObject", TimeUnit.MILLISECONDS.toNanos(10));
+        breaker.failed(lateFailed, new AlreadyExistsException());
+        assertEquals(ConnectorCircuitBreaker.State.OPEN, breaker.getState());
+
+        millis.addAndGet(100);
+        long trial = breaker.acquire();
+        assertEquals(ConnectorCircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        // nor, once half-open, does it take the place of the trial request
+        breaker.succeeded(late, null, 0);
+        breaker.abandoned(late);
+        assertEquals(ConnectorCircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        // outcome of a trial request completed after its timeout is ignored as well
+        millis.addAndGet(50);
+        assertThrows(CircuitBreakerOpenException.class, breaker::acquire);
+        breaker.succeeded(trial, null, 0);
+        assertEquals(ConnectorCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void trialTimeout() {
+        ConnectorCircuitBreaker breaker = new ConnectorCircuitBreaker("test", props(), clock);
+        open(breaker);
+        millis.addAndGet(100);
+        breaker.acquire();
+        assertEquals(ConnectorCircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        // trial request is bounded by trial timeout
+        assertEquals(50L, breaker.timeout("getObject", 10));
+        assertEquals(50L, breaker.timeout(null, 10));
+
+        // trial request not completed in time: open again
+        millis.addAndGet(49);
+        assertThrows(CircuitBreakerOpenException.class, breaker::acquire);
+        millis.addAndGet(1);
+        assertThrows(CircuitBreakerOpenException.class, breaker::acquire);
+        assertEquals(ConnectorCircuitBreaker.State.OPEN, breaker.getState());
+
+        millis.addAndGet(100);
+        assertDoesNotThrow(breaker::acquire);
+        assertEquals(ConnectorCircuitBreaker.State.HALF_OPEN, breaker.getState());
+    }
+
+    @Test
+    public void abandoned() {
+        ConnectorCircuitBreaker breaker = new ConnectorCircuitBreaker("test", props(), clock);
+        open(breaker);
+        millis.addAndGet(100);
+        long trial = breaker.acquire();
+        assertEquals(ConnectorCircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        // no response recorded, but next request is let through as a new trial
+        breaker.abandoned(trial);
+        assertEquals(ConnectorCircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(3, breaker.getDetails().get("failures"));
+        assertDoesNotThrow(breaker::acquire);
+        assertEquals(ConnectorCircuitBreaker.State.HALF_OPEN, breaker.getState());
+    }
+
+    @Test
+    public void adaptiveTimeout() {
+        ProvisioningProperties.CircuitBreakerProperties props = props();
+        props.setMinTimeout(100);
+        ConnectorCircuitBreaker breaker = new ConnectorCircuitBreaker("test", props, clock);
+
+        // not enough samples: connector instance's timeout
+        assertEquals(10000L, breaker.timeout("getObject", 10));
+
+        for (int i = 0; i < 100; i++) {
+            breaker.succeeded(breaker.acquire(), "getObject", TimeUnit.MILLISECONDS.toNanos(i < 99 ? 50 : 500));
+        }
+        assertEquals(150L, breaker.timeout("getObject", 10));
+        assertEquals(10000L, breaker.timeout("getObjectClassInfo", 10));
+
+        // write operations
+        assertEquals(10000L, breaker.timeout(null, 10));
+
+        props.setAdaptiveTimeout(false);
+        assertEquals(10000L, breaker.timeout("getObject", 10));
+    }
+}
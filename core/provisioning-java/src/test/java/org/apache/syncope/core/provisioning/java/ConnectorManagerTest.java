@@ -20,6 +20,12 @@ package org.apache.syncope.core.provisioning.java;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
 import org.apache.syncope.core.provisioning.api.ConnIdBundleManager;
 import org.apache.syncope.core.provisioning.api.Connector;
@@ -42,7 +48,9 @@ public class ConnectorManagerTest extends AbstractTest {
 
     @BeforeEach
     public void before() {
-        connManager = new DefaultConnectorManager(connIdBundleManager, null, resourceDAO, null, null, null);
+        connManager = new DefaultConnectorManager(
+                connIdBundleManager, null, resourceDAO, null, null, null,
+                new ProvisioningProperties.ConnectorLoadProperties());
 
         // Remove any other connector instance bean set up by standard ConnectorManager.load()
         connManager.unload();
@@ -59,4 +67,51 @@ public class ConnectorManagerTest extends AbstractTest {
         assertEquals(expected,
                 ApplicationContextProvider.getBeanFactory().getBeanNamesForType(Connector.class, false, true).length);
     }
+
+    @Test
+    public void lazyLoad() {
+        ProvisioningProperties.ConnectorLoadProperties props = new ProvisioningProperties.ConnectorLoadProperties();
+        props.setLazy(true);
+        connManager = new DefaultConnectorManager(connIdBundleManager, null, resourceDAO, null, null, null, props);
+
+        connManager.load();
+
+        assertEquals(0, ApplicationContextProvider.getBeanFactory().
+                getBeanNamesForType(Connector.class, false, true).length);
+    }
+
+    @Test
+    public void registrationLock() throws Exception {
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 200; j++) {
+                        boolean unregister = j % 3 == 0;
+                        connManager.withRegistrationLock("connInstance-test", () -> {
+                            maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                            // as when unregistering, the lock is removed while held
+                            if (unregister) {
+                                connManager.registrationLocks.remove("connInstance-test");
+                            }
+                            inside.decrementAndGet();
+                            return null;
+                        });
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // callers never overlapped, even though locks were removed and created again meanwhile
+        assertEquals(1, maxInside.get());
+    }
 }
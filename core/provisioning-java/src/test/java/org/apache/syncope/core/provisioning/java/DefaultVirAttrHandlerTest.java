@@ -0,0 +1,297 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.to.Provision;
+import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.persistence.api.entity.AnyType;
+import org.apache.syncope.core.persistence.api.entity.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.VirSchema;
+import org.apache.syncope.core.provisioning.api.cache.VirAttrCacheKey;
+import org.apache.syncope.core.provisioning.java.cache.CaffeineVirAttrCache;
+import org.apache.syncope.core.spring.task.VirtualThreadPoolTaskExecutor;
+import org.identityconnectors.framework.common.exceptions.ConnectorException;
+import org.identityconnectors.framework.common.objects.AttributeBuilder;
+import org.identityconnectors.framework.common.objects.ConnectorObject;
+import org.identityconnectors.framework.common.objects.ConnectorObjectBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class DefaultVirAttrHandlerTest {
+
+    /**
+     * Reads from connectors are replaced by the suppliers set for each resource.
+     */
+    private static class TestVirAttrHandler extends DefaultVirAttrHandler {
+
+        private final Map<String, Supplier<List<ConnectorObject>>> reads = new ConcurrentHashMap<>();
+
+        TestVirAttrHandler(
+                final CaffeineVirAttrCache virAttrCache,
+                final VirtualThreadPoolTaskExecutor executor,
+                final ProvisioningProperties.VirAttrProperties props) {
+
+            super(null, virAttrCache, null, null, executor, props);
+        }
+
+        @Override
+        protected Supplier<List<ConnectorObject>> prepareRead(
+                final Any<?> any,
+                final Pair<ExternalResource, Provision> pair,
+                final Set<VirSchema> schemasToRead) {
+
+            return reads.get(pair.getLeft().getKey());
+        }
+
+        @Override
+        public void setValues(final Any<?> any, final ConnectorObject connObj) {
+            // values are cached by read and refresh
+        }
+    }
+
+    private VirtualThreadPoolTaskExecutor executor;
+
+    private CaffeineVirAttrCache virAttrCache;
+
+    private Any<?> any;
+
+    private TestVirAttrHandler handler(final int concurrency, final long readTimeout) {
+        ProvisioningProperties.VirAttrProperties props = new ProvisioningProperties.VirAttrProperties();
+        props.setConcurrency(concurrency);
+        props.setReadTimeout(readTimeout);
+
+        executor = new VirtualThreadPoolTaskExecutor();
+        executor.setPoolSize(concurrency);
+        executor.setThreadNamePrefix("VirAttrHandlerTest-");
+        executor.initialize();
+
+        virAttrCache = new CaffeineVirAttrCache();
+        virAttrCache.setCacheSpec("maximumSize=100");
+
+        AnyType anyType = mock(AnyType.class);
+        when(anyType.getKey()).thenReturn("USER");
+        any = mock(Any.class);
+        when(any.getType()).thenReturn(anyType);
+        when(any.getKey()).thenReturn("anyKey");
+
+        return new TestVirAttrHandler(virAttrCache, executor, props);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        executor.destroy();
+    }
+
+    private static ExternalResource resource(final String key) {
+        ExternalResource resource = mock(ExternalResource.class);
+        when(resource.getKey()).thenReturn(key);
+        return resource;
+    }
+
+    private static VirSchema schema(final String key) {
+        VirSchema schema = mock(VirSchema.class);
+        when(schema.getKey()).thenReturn(key);
+        when(schema.getExtAttrName()).thenReturn(key);
+        return schema;
+    }
+
+    private static Map<Pair<ExternalResource, Provision>, Set<VirSchema>> schemas(
+            final ExternalResource resource, final VirSchema schema) {
+
+        Map<Pair<ExternalResource, Provision>, Set<VirSchema>> schemas = new HashMap<>();
+        schemas.put(Pair.of(resource, new Provision()), Set.of(schema));
+        return schemas;
+    }
+
+    private static List<ConnectorObject> connObj(final String attrName, final String value) {
+        return List.of(new ConnectorObjectBuilder().setUid("uid").setName("name").
+                addAttribute(AttributeBuilder.build(attrName, value)).build());
+    }
+
+    private static Supplier<List<ConnectorObject>> slow(final long millis, final String attrName) {
+        return () -> {
+            try {
+                TimeUnit.MILLISECONDS.sleep(millis);
+            } catch (InterruptedException e) {
+                throw new ConnectorException("interrupted", e);
+            }
+            return connObj(attrName, attrName + "Value");
+        };
+    }
+
+    private static void waitFor(final BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 100 && !condition.getAsBoolean(); i++) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    private String cached(final String schemaKey) {
+        return virAttrCache.get(new VirAttrCacheKey("USER", "anyKey", schemaKey)).getValues().get(0);
+    }
+
+    @Test
+    public void concurrentRead() {
+        TestVirAttrHandler handler = handler(2, 5000);
+        VirSchema s1 = schema("s1");
+        VirSchema s2 = schema("s2");
+        handler.reads.put("r1", slow(500, "s1"));
+        handler.reads.put("r2", slow(500, "s2"));
+
+        Map<Pair<ExternalResource, Provision>, Set<VirSchema>> toRead = schemas(resource("r1"), s1);
+        toRead.putAll(schemas(resource("r2"), s2));
+
+        Map<VirSchema, List<String>> result = new HashMap<>();
+        long start = System.currentTimeMillis();
+        handler.read(any, toRead, result);
+
+        // both resources were read at once
+        assertTrue(System.currentTimeMillis() - start < 900);
+        assertEquals(List.of("s1Value"), result.get(s1));
+        assertEquals(List.of("s2Value"), result.get(s2));
+        assertEquals("s1Value", cached("s1"));
+    }
+
+    @Test
+    public void sharedDeadline() {
+        TestVirAttrHandler handler = handler(3, 500);
+        VirSchema s1 = schema("s1");
+        VirSchema s2 = schema("s2");
+        VirSchema s3 = schema("s3");
+        handler.reads.put("r1", slow(10000, "s1"));
+        handler.reads.put("r2", () -> {
+            throw new ConnectorException("down");
+        });
+        handler.reads.put("r3", slow(100, "s3"));
+
+        Map<Pair<ExternalResource, Provision>, Set<VirSchema>> toRead = schemas(resource("r1"), s1);
+        toRead.putAll(schemas(resource("r2"), s2));
+        toRead.putAll(schemas(resource("r3"), s3));
+
+        Map<VirSchema, List<String>> result = new HashMap<>();
+        long start = System.currentTimeMillis();
+        handler.read(any, toRead, result);
+
+        // slow and failing resources do not prevent reading the others, within the same overall timeout
+        assertTrue(System.currentTimeMillis() - start < 2000);
+        assertEquals(Map.of(s3, List.of("s3Value")), result);
+
+        // reads from a single resource are bounded as well
+        result.clear();
+        start = System.currentTimeMillis();
+        handler.read(any, schemas(resource("r1"), s1), result);
+        assertTrue(System.currentTimeMillis() - start < 2000);
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void refresh() throws InterruptedException {
+        TestVirAttrHandler handler = handler(2, 5000);
+        VirSchema s1 = schema("s1");
+        ExternalResource r1 = resource("r1");
+
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger reads = new AtomicInteger();
+        handler.reads.put("r1", () -> {
+            reads.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new ConnectorException("interrupted", e);
+            }
+            return connObj("s1", "refreshed");
+        });
+
+        // refreshes for the same entity and resource are not stacked
+        handler.refresh(any, schemas(r1, s1));
+        handler.refresh(any, schemas(r1, s1));
+        release.countDown();
+        waitFor(handler.refreshing::isEmpty);
+        assertEquals(1, reads.get());
+        assertEquals("refreshed", cached("s1"));
+
+        // failing refreshes do not prevent later ones
+        handler.reads.put("r1", () -> {
+            reads.incrementAndGet();
+            throw new ConnectorException("down");
+        });
+        handler.refresh(any, schemas(r1, s1));
+        waitFor(handler.refreshing::isEmpty);
+        handler.refresh(any, schemas(r1, s1));
+        waitFor(() -> reads.get() == 3);
+        waitFor(handler.refreshing::isEmpty);
+        assertEquals("refreshed", cached("s1"));
+    }
+
+    @Test
+    public void refreshWhenSaturated() throws InterruptedException {
+        TestVirAttrHandler handler = handler(1, 5000);
+        VirSchema s1 = schema("s1");
+        VirSchema s2 = schema("s2");
+
+        CountDownLatch release = new CountDownLatch(1);
+        handler.reads.put("r1", () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new ConnectorException("interrupted", e);
+            }
+            return connObj("s1", "s1Value");
+        });
+        AtomicInteger reads = new AtomicInteger();
+        handler.reads.put("r2", () -> {
+            reads.incrementAndGet();
+            return connObj("s2", "s2Value");
+        });
+
+        handler.refresh(any, schemas(resource("r1"), s1));
+
+        // no room left in the executor: refresh is skipped, without waiting
+        long start = System.currentTimeMillis();
+        handler.refresh(any, schemas(resource("r2"), s2));
+        assertTrue(System.currentTimeMillis() - start < 500);
+        assertEquals(0, reads.get());
+        assertFalse(handler.refreshing.contains("USER/anyKey/r2"));
+
+        release.countDown();
+        waitFor(() -> handler.permits.availablePermits() == 1);
+
+        handler.refresh(any, schemas(resource("r2"), s2));
+        waitFor(handler.refreshing::isEmpty);
+        assertEquals(1, reads.get());
+        assertEquals("s2Value", cached("s2"));
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.syncope.core.provisioning.api.cache.VirAttrCacheKey;
+import org.apache.syncope.core.provisioning.api.cache.VirAttrCacheValue;
+import org.junit.jupiter.api.Test;
+
+public class CaffeineVirAttrCacheTest {
+
+    @Test
+    public void staleWhileRevalidate() throws InterruptedException {
+        CaffeineVirAttrCache cache = new CaffeineVirAttrCache();
+        cache.setCacheSpec("maximumSize=10,expireAfterWrite=1m");
+        cache.setRefreshAfterWrite(100);
+
+        VirAttrCacheKey key = new VirAttrCacheKey("USER", "key", "virtualdata");
+        assertNull(cache.get(key));
+
+        cache.put(key, new VirAttrCacheValue(List.of("value1")));
+        VirAttrCacheValue value = cache.get(key);
+        assertEquals(List.of("value1"), value.getValues());
+        assertFalse(cache.isStale(value));
+
+        TimeUnit.MILLISECONDS.sleep(200);
+
+        // stale values are still served
+        value = cache.get(key);
+        assertEquals(List.of("value1"), value.getValues());
+        assertTrue(cache.isStale(value));
+
+        cache.put(key, new VirAttrCacheValue(List.of("value2")));
+        assertFalse(cache.isStale(cache.get(key)));
+
+        assertEquals(1L, cache.getStatistics().get("misses"));
+        assertEquals(3L, cache.getStatistics().get("hits"));
+        assertEquals(1L, cache.getStatistics().get("staleHits"));
+        assertEquals(1L, cache.getStatistics().get("refreshes"));
+    }
+}
@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.provisioning.java.job;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
@@ -43,7 +44,7 @@ public class JobStatusUpdaterTest extends AbstractTest {
     public void verifyUpdate() {
         String refDesc = "JobRefDesc-" + SecureRandomUtils.generateRandomNumber();
 
-        JobStatusUpdater jobStatusUpdater = new JobStatusUpdater(jobStatusDAO, entityFactory);
+        JobStatusUpdater jobStatusUpdater = new JobStatusUpdater(jobStatusDAO, entityFactory, 0);
 
         jobStatusUpdater.update(new JobStatusEvent(this, refDesc, "Started"));
         assertNotNull(jobStatusDAO.find(refDesc));
@@ -51,4 +52,26 @@ public class JobStatusUpdaterTest extends AbstractTest {
         jobStatusUpdater.update(new JobStatusEvent(this, refDesc, null));
         assertNull(jobStatusDAO.find(refDesc));
     }
+
+    @Test
+    public void coalesce() {
+        String refDesc = "JobRefDesc-" + SecureRandomUtils.generateRandomNumber();
+
+        JobStatusUpdater jobStatusUpdater = new JobStatusUpdater(jobStatusDAO, entityFactory, 3600000);
+        try {
+            jobStatusUpdater.update(new JobStatusEvent(this, refDesc, "Started"));
+            jobStatusUpdater.update(new JobStatusEvent(this, refDesc, "Running"));
+            assertNull(jobStatusDAO.find(refDesc));
+
+            jobStatusUpdater.flush();
+            assertEquals("Running", jobStatusDAO.find(refDesc).getStatus());
+
+            jobStatusUpdater.update(new JobStatusEvent(this, refDesc, "Completing"));
+            jobStatusUpdater.update(new JobStatusEvent(this, refDesc, null));
+            assertNotNull(jobStatusDAO.find(refDesc));
+        } finally {
+            jobStatusUpdater.close();
+        }
+        assertNull(jobStatusDAO.find(refDesc));
+    }
 }
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.syncope.common.lib.types.TaskType;
+import org.apache.syncope.common.lib.types.TraceLevel;
+import org.apache.syncope.core.persistence.api.dao.TaskDAO;
+import org.apache.syncope.core.persistence.api.entity.task.NotificationTask;
+import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
+import org.apache.syncope.core.persistence.api.entity.task.TaskUtils;
+import org.apache.syncope.core.persistence.api.entity.task.TaskUtilsFactory;
+import org.apache.syncope.core.persistence.jpa.entity.task.JPANotificationTask;
+import org.apache.syncope.core.persistence.jpa.entity.task.JPANotificationTaskExec;
+import org.apache.syncope.core.provisioning.api.AuditManager;
+import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
+import org.apache.syncope.core.spring.task.VirtualThreadPoolTaskExecutor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+public class MailNotificationJobDelegateTest {
+
+    private static final int TASKS = 25;
+
+    private static final int PAGE_SIZE = 10;
+
+    private static GreenMail smtp;
+
+    @BeforeAll
+    public static void startSMTP() {
+        smtp = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+        smtp.start();
+    }
+
+    @AfterAll
+    public static void stopSMTP() {
+        smtp.stop();
+    }
+
+    private static NotificationTask task(final int index) {
+        JPANotificationTask task = new JPANotificationTask();
+        task.setKey(String.format("task%02d", index));
+        task.setSender("admin@syncope.apache.org");
+        task.getRecipients().add("user" + index + "@syncope.apache.org");
+        task.setSubject("Notification " + index);
+        task.setTextBody("Text body " + index);
+        task.setHtmlBody("<p>HTML body " + index + "</p>");
+        task.setTraceLevel(index % 2 == 0 ? TraceLevel.ALL : TraceLevel.FAILURES);
+        return task;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void execute() throws Exception {
+        List<NotificationTask> tasks = IntStream.range(0, TASKS).
+                mapToObj(MailNotificationJobDelegateTest::task).collect(Collectors.toCollection(ArrayList::new));
+
+        TaskDAO taskDAO = mock(TaskDAO.class);
+        when(taskDAO.findLastKeyToExec(TaskType.NOTIFICATION)).
+                thenAnswer(ic -> Optional.of(tasks.get(tasks.size() - 1).getKey()));
+        when(taskDAO.findToExec(eq(TaskType.NOTIFICATION), any(), any(), anyInt())).thenAnswer(ic -> {
+            String lastKey = ic.getArgument(1);
+            String upToKey = ic.getArgument(2);
+            int max = ic.getArgument(3);
+            List<NotificationTask> found = tasks.stream().
+                    filter(task -> lastKey == null || task.getKey().compareTo(lastKey) > 0).
+                    filter(task -> upToKey == null || task.getKey().compareTo(upToKey) <= 0).
+                    limit(max).
+                    collect(Collectors.toList());
+
+            // more tasks are created while the run is ongoing
+            tasks.add(task(tasks.size()));
+            return found;
+        });
+
+        TaskUtils taskUtils = mock(TaskUtils.class);
+        when(taskUtils.newTaskExec()).thenAnswer(ic -> new JPANotificationTaskExec());
+        TaskUtilsFactory taskUtilsFactory = mock(TaskUtilsFactory.class);
+        when(taskUtilsFactory.getInstance(TaskType.NOTIFICATION)).thenReturn(taskUtils);
+
+        List<TaskExec<NotificationTask>> stored = new ArrayList<>();
+        List<String> executed = new ArrayList<>();
+        NotificationManager notificationManager = mock(NotificationManager.class);
+        doAnswer(ic -> {
+            stored.addAll(ic.getArgument(0));
+            executed.addAll(ic.getArgument(1));
+            return null;
+        }).when(notificationManager).storeExecs(any(), any());
+
+        VirtualThreadPoolTaskExecutor taskExecutor = new VirtualThreadPoolTaskExecutor();
+        taskExecutor.setPoolSize(3);
+        taskExecutor.initialize();
+
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(smtp.getSmtp().getBindTo());
+        mailSender.setPort(smtp.getSmtp().getPort());
+
+        MailNotificationJobDelegate delegate = new MailNotificationJobDelegate(
+                taskDAO,
+                taskUtilsFactory,
+                mock(AuditManager.class),
+                notificationManager,
+                mock(ApplicationEventPublisher.class),
+                taskExecutor,
+                PAGE_SIZE,
+                mailSender);
+        delegate.execute("admin");
+
+        // all tasks found at start sent out, and recorded page by page: tasks created meanwhile are left out
+        assertTrue(smtp.waitForIncomingEmail(10000, TASKS));
+        assertEquals(TASKS, smtp.getReceivedMessages().length);
+        verify(notificationManager, times(3)).storeExecs(any(), any());
+
+        // executions registered only for tasks with trace level ALL
+        assertEquals(13, stored.size());
+        assertTrue(stored.stream().allMatch(exec -> NotificationJob.Status.SENT.name().equals(exec.getStatus())));
+        assertTrue(stored.stream().allMatch(exec -> exec.getMessage().contains("SUBJECT: Notification")));
+        assertEquals(12, executed.size());
+    }
+}
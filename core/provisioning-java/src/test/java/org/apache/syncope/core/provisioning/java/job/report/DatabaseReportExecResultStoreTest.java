@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job.report;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.apache.syncope.core.persistence.api.dao.ReportExecDAO;
+import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.api.entity.ReportExec;
+import org.apache.syncope.core.provisioning.java.AbstractTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional("Master")
+public class DatabaseReportExecResultStoreTest extends AbstractTest {
+
+    private static final byte[] CONTENT = "report execution result, spanning several chunks".
+            getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private EntityFactory entityFactory;
+
+    @Autowired
+    private ReportExecDAO reportExecDAO;
+
+    private byte[] read(final DatabaseReportExecResultStore store, final ReportExec execution) throws IOException {
+        try (InputStream is = store.read(execution).orElseThrow()) {
+            return is.readAllBytes();
+        }
+    }
+
+    @Test
+    public void roundTrip() throws IOException {
+        DatabaseReportExecResultStore store = new DatabaseReportExecResultStore(reportExecDAO, 8);
+        ReportExec execution = entityFactory.newEntity(ReportExec.class);
+
+        assertTrue(store.read(execution).isEmpty());
+
+        try (OutputStream os = store.write(execution)) {
+            os.write(CONTENT[0]);
+            os.write(CONTENT, 1, CONTENT.length - 1);
+        }
+        assertEquals((CONTENT.length + 7) / 8, reportExecDAO.countResultChunks(execution));
+        assertArrayEquals(CONTENT, read(store, execution));
+
+        // results are replaced when written again
+        try (OutputStream os = store.write(execution)) {
+            os.write(CONTENT, 0, 8);
+        }
+        assertEquals(1, reportExecDAO.countResultChunks(execution));
+        assertArrayEquals(Arrays.copyOf(CONTENT, 8), read(store, execution));
+
+        store.delete(execution);
+        assertTrue(store.read(execution).isEmpty());
+    }
+
+    @Test
+    public void emptyResult() throws IOException {
+        DatabaseReportExecResultStore store = new DatabaseReportExecResultStore(reportExecDAO, 8);
+        ReportExec execution = entityFactory.newEntity(ReportExec.class);
+
+        store.write(execution).close();
+
+        // empty results are told from missing ones
+        assertEquals(1, reportExecDAO.countResultChunks(execution));
+        assertArrayEquals(new byte[0], read(store, execution));
+    }
+}
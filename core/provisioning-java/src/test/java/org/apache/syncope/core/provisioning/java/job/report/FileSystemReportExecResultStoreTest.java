@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job.report;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.core.persistence.api.entity.ReportExec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class FileSystemReportExecResultStoreTest {
+
+    private static final byte[] CONTENT = "report execution result".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    private Path directory;
+
+    private static ReportExec execution(final String key) {
+        ReportExec execution = mock(ReportExec.class);
+        when(execution.getKey()).thenReturn(key);
+        return execution;
+    }
+
+    private static byte[] read(final FileSystemReportExecResultStore store, final ReportExec execution)
+            throws IOException {
+
+        try (InputStream is = store.read(execution).orElseThrow()) {
+            return is.readAllBytes();
+        }
+    }
+
+    @Test
+    public void roundTrip() throws IOException {
+        FileSystemReportExecResultStore store = new FileSystemReportExecResultStore(directory);
+        ReportExec execution = execution("d2ad6c1b-5a06-4c43-ad5e-ae4f8bc0dd4c");
+
+        assertTrue(store.read(execution).isEmpty());
+
+        try (OutputStream os = store.write(execution)) {
+            os.write(CONTENT);
+        }
+        assertTrue(Files.exists(directory.resolve(SyncopeConstants.MASTER_DOMAIN).
+                resolve(execution.getKey() + ".zip")));
+        assertArrayEquals(CONTENT, read(store, execution));
+
+        // other executions are not affected
+        assertTrue(store.read(execution("0a5ba4e4-f4a6-4e6f-8d4a-8e3c3a1e8a8f")).isEmpty());
+
+        store.delete(execution);
+        assertTrue(store.read(execution).isEmpty());
+
+        // deleting missing results is harmless
+        store.delete(execution);
+    }
+
+    @Test
+    public void emptyResult() throws IOException {
+        FileSystemReportExecResultStore store = new FileSystemReportExecResultStore(directory);
+        ReportExec execution = execution("53b1ec1c-c7b0-4b0f-91b5-c6e1b8d21b0a");
+
+        store.write(execution).close();
+
+        // empty results are told from missing ones
+        assertArrayEquals(new byte[0], read(store, execution));
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.propagation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.core.persistence.api.entity.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationData;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
+import org.apache.syncope.core.provisioning.java.ProvisioningProperties;
+import org.apache.syncope.core.spring.task.VirtualThreadPoolTaskExecutor;
+import org.identityconnectors.framework.common.objects.Attribute;
+import org.identityconnectors.framework.common.objects.AttributeBuilder;
+import org.identityconnectors.framework.common.objects.AttributeUtil;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.junit.jupiter.api.Test;
+
+public class PropagationTaskQueuesTest {
+
+    @Test
+    public void resourceConcurrency() throws Exception {
+        VirtualThreadPoolTaskExecutor executor = new VirtualThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("PropagationTaskQueuesTest-");
+        executor.initialize();
+
+        ProvisioningProperties.PropagationProperties props = new ProvisioningProperties.PropagationProperties();
+        props.setDefaultResourceConcurrency(5);
+        props.getResourceConcurrency().put("slow", 2);
+
+        PropagationTaskQueues queues = new PropagationTaskQueues(executor, props);
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            int value = i;
+            futures.add(queues.submit("slow", () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(50);
+                running.decrementAndGet();
+                return value;
+            }));
+        }
+        Future<Integer> fast = queues.submit("fast", () -> -1);
+
+        assertEquals(-1, fast.get());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, futures.get(i).get());
+        }
+        assertTrue(maxRunning.get() <= 2);
+
+        assertEquals(10L, queues.getMetrics().get("slow").get("completed"));
+        assertEquals(2, queues.getMetrics().get("slow").get("concurrency"));
+        assertEquals(0, queues.getMetrics().get("slow").get("queued"));
+        assertEquals(5, queues.getMetrics().get("fast").get("concurrency"));
+    }
+
+    private static PropagationTaskInfo taskInfo(
+            final ExternalResource resource,
+            final ResourceOperation operation,
+            final Attribute... attrs) {
+
+        return new PropagationTaskInfo(
+                resource,
+                operation,
+                ObjectClass.ACCOUNT,
+                AnyTypeKind.USER,
+                AnyTypeKind.USER.name(),
+                "entityKey",
+                "connObjectKey",
+                new PropagationData(new HashSet<>(Set.of(attrs))));
+    }
+
+    @Test
+    public void coalescing() throws Exception {
+        VirtualThreadPoolTaskExecutor executor = new VirtualThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("PropagationTaskQueuesTest-");
+        executor.initialize();
+
+        ProvisioningProperties.PropagationProperties props = new ProvisioningProperties.PropagationProperties();
+        props.setCoalescingWindow(200);
+        props.getResourceConcurrency().put("resource", 1);
+
+        PropagationTaskQueues queues = new PropagationTaskQueues(executor, props);
+
+        ExternalResource resource = mock(ExternalResource.class);
+        when(resource.getKey()).thenReturn("resource");
+
+        BlockingQueue<PropagationTaskInfo> executed = new LinkedBlockingQueue<>();
+
+        // UPDATE + UPDATE
+        PropagationTaskInfo update1 = taskInfo(resource, ResourceOperation.UPDATE,
+                AttributeBuilder.build("firstname", "John"), AttributeBuilder.build("surname", "Doe"));
+        PropagationTaskInfo update2 = taskInfo(resource, ResourceOperation.UPDATE,
+                AttributeBuilder.build("surname", "Smith"));
+        queues.submitAsync(update1, () -> executed.add(update1));
+        queues.submitAsync(update2, () -> executed.add(update2));
+
+        // wait for the coalescing window to expire
+        PropagationTaskInfo merged = executed.poll(5, TimeUnit.SECONDS);
+        assertNotNull(merged);
+        assertEquals(1L, queues.getMetrics().get("resource").get("coalesced"));
+        assertEquals("John", AttributeUtil.getAsStringValue(
+                AttributeUtil.find("firstname", merged.getPropagationData().getAttributes())));
+        assertEquals("Smith", AttributeUtil.getAsStringValue(
+                AttributeUtil.find("surname", merged.getPropagationData().getAttributes())));
+
+        // CREATE + DELETE, with fetch around provisioning
+        PropagationTaskInfo create = taskInfo(resource, ResourceOperation.CREATE,
+                AttributeBuilder.build("surname", "Doe"));
+        PropagationTaskInfo delete = taskInfo(resource, ResourceOperation.DELETE);
+        queues.submitAsync(create, () -> executed.add(create));
+        queues.submitAsync(delete, () -> executed.add(delete));
+
+        PropagationTaskInfo deleted = executed.poll(5, TimeUnit.SECONDS);
+        assertNotNull(deleted);
+        assertEquals(ResourceOperation.DELETE, deleted.getOperation());
+        assertEquals(2L, queues.getMetrics().get("resource").get("coalesced"));
+        assertTrue(executed.isEmpty());
+
+        // synchronous submission flushes any task held for the same connector object, in order
+        PropagationTaskInfo update3 = taskInfo(resource, ResourceOperation.UPDATE,
+                AttributeBuilder.build("surname", "Doe"));
+        PropagationTaskInfo update4 = taskInfo(resource, ResourceOperation.UPDATE,
+                AttributeBuilder.build("surname", "Smith"));
+        queues.submitAsync(update3, () -> executed.add(update3));
+        queues.submit(update4, () -> executed.add(update4)).get();
+
+        assertEquals(List.of(update3, update4), new ArrayList<>(executed));
+
+        assertEquals(2L, queues.getMetrics().get("resource").get("coalesced"));
+    }
+}
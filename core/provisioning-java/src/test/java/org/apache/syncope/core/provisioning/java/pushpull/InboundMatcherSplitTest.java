@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.pushpull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class InboundMatcherSplitTest {
+
+    @Test
+    public void split() {
+        Set<String> values = IntStream.range(0, InboundMatcher.MAX_IN_VALUES * 2 + 500).
+                mapToObj(i -> "value" + i).collect(Collectors.toCollection(LinkedHashSet::new));
+
+        List<Set<String>> chunks = InboundMatcher.split(values);
+        assertEquals(List.of(InboundMatcher.MAX_IN_VALUES, InboundMatcher.MAX_IN_VALUES, 500),
+                chunks.stream().map(Set::size).collect(Collectors.toList()));
+
+        // all values, in order
+        List<String> joined = new ArrayList<>();
+        chunks.forEach(joined::addAll);
+        assertEquals(new ArrayList<>(values), joined);
+
+        assertTrue(InboundMatcher.split(Set.of()).isEmpty());
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.pushpull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.identityconnectors.framework.common.objects.SyncToken;
+import org.junit.jupiter.api.Test;
+
+public class SyncTokenCheckpointTest {
+
+    @Test
+    public void inOrder() throws Exception {
+        PullResultHandlerDispatcher.SyncTokenCheckpoint checkpoint =
+                new PullResultHandlerDispatcher.SyncTokenCheckpoint(3);
+
+        List<Object> checkpoints = new ArrayList<>();
+        Consumer<SyncToken> consumer = token -> checkpoints.add(token.getValue());
+
+        assertEquals(0, checkpoint.register());
+        assertEquals(1, checkpoint.register());
+        assertEquals(2, checkpoint.register());
+
+        // window is full: further registration waits for the watermark to advance
+        CompletableFuture<Long> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return checkpoint.register();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // completed ahead of preceding deltas: no checkpoint
+        checkpoint.complete(2, new SyncToken(2), true, consumer);
+        checkpoint.complete(1, new SyncToken(1), true, consumer);
+        assertTrue(checkpoints.isEmpty());
+        assertFalse(waiting.isDone());
+
+        // all preceding deltas completed: checkpoint at the latest
+        checkpoint.complete(0, new SyncToken(0), true, consumer);
+        assertEquals(List.of(2), checkpoints);
+        assertEquals(3, waiting.get(5, TimeUnit.SECONDS));
+
+        // failed delta: following deltas are still handled, but the sync token does not advance past it
+        assertFalse(checkpoint.isFailed());
+        assertEquals(4, checkpoint.register());
+        checkpoint.complete(4, new SyncToken(4), true, consumer);
+        checkpoint.complete(3, new SyncToken(3), false, consumer);
+        assertTrue(checkpoint.isFailed());
+        assertEquals(5, checkpoint.register());
+        checkpoint.complete(5, new SyncToken(5), true, consumer);
+        assertEquals(List.of(2), checkpoints);
+
+        // the window is not held by failed deltas
+        assertEquals(6, checkpoint.register());
+        assertEquals(7, checkpoint.register());
+        assertEquals(8, checkpoint.register());
+    }
+}
@@ -28,9 +28,13 @@ import org.apache.syncope.core.persistence.api.dao.ConfParamDAO;
 import org.apache.syncope.core.persistence.api.dao.NotFoundException;
 import org.apache.syncope.core.persistence.api.entity.ConfParam;
 import org.apache.syncope.core.persistence.api.entity.SelfKeymasterEntityFactory;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.core.spring.security.AuthDataAccessor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 public class InternalConfParamHelper {
 
@@ -38,6 +42,8 @@ public class InternalConfParamHelper {
 
     protected static final JsonMapper MAPPER = JsonMapper.builder().findAndAddModules().build();
 
+    protected static final String AUTH_STATUSES = "authentication.statuses";
+
     protected final ConfParamDAO confParamDAO;
 
     protected final SelfKeymasterEntityFactory entityFactory;
@@ -80,10 +86,39 @@ public class InternalConfParamHelper {
         }
         param.setValue(value);
         confParamDAO.save(param);
+
+        changed(key);
     }
 
     @Transactional
     public void remove(final String key) {
         confParamDAO.delete(key);
+
+        changed(key);
+    }
+
+    /**
+     * Lets the authority cache read again the authentication statuses, once the current transaction is committed.
+     *
+     * @param key changed configuration parameter
+     */
+    protected void changed(final String key) {
+        if (!AUTH_STATUSES.equals(key)) {
+            return;
+        }
+
+        Runnable invalidate = () -> ApplicationContextProvider.getApplicationContext().
+                getBeanProvider(AuthDataAccessor.class).ifAvailable(AuthDataAccessor::invalidateAuthStatuses);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    invalidate.run();
+                }
+            });
+        } else {
+            invalidate.run();
+        }
     }
 }
@@ -18,6 +18,9 @@
  */
 package org.apache.syncope.core.spring.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
 import java.time.OffsetDateTime;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -83,6 +86,60 @@ public class AuthDataAccessor {
 
     public static final String GROUP_OWNER_ROLE = "GROUP_OWNER";
 
+    /**
+     * Identifies a JWT authentication: JWT ids are only unique per issuer.
+     */
+    protected record CacheKey(String domain, String issuer, String jwtId, String subject, String delegatedBy) {
+
+        protected static Optional<CacheKey> of(final JWTAuthentication authentication) {
+            return Optional.ofNullable(authentication.getClaims().getJWTID()).map(jwtId -> new CacheKey(
+                    authentication.getDetails().getDomain(),
+                    authentication.getClaims().getIssuer(),
+                    jwtId,
+                    authentication.getClaims().getSubject(),
+                    authentication.getDetails().getDelegatedBy()));
+        }
+    }
+
+    protected static final class CachedAuthentication {
+
+        private final Pair<String, Set<SyncopeGrantedAuthority>> authenticated;
+
+        private final Set<String> userKeys;
+
+        private final OffsetDateTime validUntil;
+
+        private final List<String> authStatuses;
+
+        protected CachedAuthentication(
+                final Pair<String, Set<SyncopeGrantedAuthority>> authenticated,
+                final Set<String> userKeys,
+                final OffsetDateTime validUntil,
+                final List<String> authStatuses) {
+
+            this.authenticated = authenticated;
+            this.userKeys = userKeys;
+            this.validUntil = validUntil;
+            this.authStatuses = authStatuses;
+        }
+
+        public Pair<String, Set<SyncopeGrantedAuthority>> getAuthenticated() {
+            return authenticated;
+        }
+
+        public Set<String> getUserKeys() {
+            return userKeys;
+        }
+
+        public OffsetDateTime getValidUntil() {
+            return validUntil;
+        }
+
+        public List<String> getAuthStatuses() {
+            return authStatuses;
+        }
+    }
+
     protected static final Encryptor ENCRYPTOR = Encryptor.getInstance();
 
     protected static final Set<SyncopeGrantedAuthority> ANONYMOUS_AUTHORITIES =
@@ -117,6 +174,16 @@ public class AuthDataAccessor {
 
     private final List<JWTSSOProvider> jwtSSOProviders;
 
+    /**
+     * Authentication results for JWTs with an id; null if disabled.
+     */
+    protected final Cache<CacheKey, CachedAuthentication> authenticationCache;
+
+    /**
+     * Values of the {@code authentication.statuses} configuration parameter, by domain; null if disabled.
+     */
+    protected final Cache<String, List<String>> authStatusesCache;
+
     public AuthDataAccessor(
             final SecurityProperties securityProperties,
             final RealmDAO realmDAO,
@@ -132,6 +199,38 @@ public class AuthDataAccessor {
             final MappingManager mappingManager,
             final List<JWTSSOProvider> jwtSSOProviders) {
 
+        this(securityProperties,
+                realmDAO,
+                userDAO,
+                groupDAO,
+                anySearchDAO,
+                accessTokenDAO,
+                confParamOps,
+                roleDAO,
+                delegationDAO,
+                connectorManager,
+                auditManager,
+                mappingManager,
+                jwtSSOProviders,
+                Ticker.systemTicker());
+    }
+
+    protected AuthDataAccessor(
+            final SecurityProperties securityProperties,
+            final RealmDAO realmDAO,
+            final UserDAO userDAO,
+            final GroupDAO groupDAO,
+            final AnySearchDAO anySearchDAO,
+            final AccessTokenDAO accessTokenDAO,
+            final ConfParamOps confParamOps,
+            final RoleDAO roleDAO,
+            final DelegationDAO delegationDAO,
+            final ConnectorManager connectorManager,
+            final AuditManager auditManager,
+            final MappingManager mappingManager,
+            final List<JWTSSOProvider> jwtSSOProviders,
+            final Ticker ticker) {
+
         this.securityProperties = securityProperties;
         this.realmDAO = realmDAO;
         this.userDAO = userDAO;
@@ -145,6 +244,15 @@ public class AuthDataAccessor {
         this.auditManager = auditManager;
         this.mappingManager = mappingManager;
         this.jwtSSOProviders = jwtSSOProviders;
+
+        if (StringUtils.isBlank(securityProperties.getAuthorityCacheSpec())) {
+            this.authenticationCache = null;
+            this.authStatusesCache = null;
+        } else {
+            this.authenticationCache = Caffeine.from(securityProperties.getAuthorityCacheSpec()).ticker(ticker).build();
+            this.authStatusesCache = Caffeine.newBuilder().
+                    expireAfterWrite(securityProperties.getAuthStatusesRefresh()).ticker(ticker).build();
+        }
     }
 
     public JWTSSOProvider getJWTSSOProvider(final String issuer) {
@@ -425,10 +533,128 @@ public class AuthDataAccessor {
         return authorities;
     }
 
+    protected List<String> loadAuthStatuses(final String domain) {
+        return List.of(confParamOps.get(domain, "authentication.statuses", new String[] {}, String[].class));
+    }
+
+    protected List<String> getAuthStatuses(final String domain) {
+        List<String> statuses = loadAuthStatuses(domain);
+        if (authStatusesCache != null) {
+            authStatusesCache.put(domain, statuses);
+        }
+        return statuses;
+    }
+
+    /**
+     * Looks up the authentication result previously computed by {@link #authenticate(JWTAuthentication)} for the
+     * same issuer, JWT, subject and delegating user, without accessing any persistence; the value of the
+     * {@code authentication.statuses} configuration parameter is read once per domain and refreshed either on change
+     * or periodically, and all results for the domain are discarded if it was changed.
+     *
+     * @param authentication JWT authentication
+     * @return cached username and authorities, if available and still valid
+     */
+    public Optional<Pair<String, Set<SyncopeGrantedAuthority>>> getCachedAuthentication(
+            final JWTAuthentication authentication) {
+
+        if (authenticationCache == null) {
+            return Optional.empty();
+        }
+
+        Optional<CacheKey> key = CacheKey.of(authentication);
+        CachedAuthentication cached = key.map(authenticationCache::getIfPresent).orElse(null);
+        if (cached == null) {
+            return Optional.empty();
+        }
+        if (cached.getValidUntil() != null && cached.getValidUntil().isBefore(OffsetDateTime.now())) {
+            authenticationCache.invalidate(key.get());
+            return Optional.empty();
+        }
+        if (cached.getAuthStatuses() != null && !cached.getAuthStatuses().equals(authStatusesCache.get(
+                authentication.getDetails().getDomain(), this::loadAuthStatuses))) {
+
+            invalidateAuthorities(authentication.getDetails().getDomain());
+            return Optional.empty();
+        }
+
+        LOG.debug("JWT {} resolved from cache to User {}",
+                authentication.getClaims().getJWTID(), cached.getAuthenticated().getLeft());
+        return Optional.of(cached.getAuthenticated());
+    }
+
+    /**
+     * Removes all cached authentication results for the given domain, as following changes to roles, memberships,
+     * delegations or realms.
+     *
+     * @param domain domain
+     */
+    public void invalidateAuthorities(final String domain) {
+        if (authenticationCache != null) {
+            LOG.debug("Invalidating cached authorities for domain {}", domain);
+            authenticationCache.asMap().keySet().removeIf(key -> key.domain().equals(domain));
+        }
+    }
+
+    /**
+     * Discards the values of the {@code authentication.statuses} configuration parameter read so far, upon change.
+     */
+    public void invalidateAuthStatuses() {
+        if (authStatusesCache != null) {
+            LOG.debug("Invalidating authentication statuses");
+            authStatusesCache.invalidateAll();
+        }
+    }
+
+    /**
+     * Removes cached authentication results involving the given user, either as authenticated or delegating.
+     *
+     * @param domain domain
+     * @param userKey user key
+     */
+    public void invalidateUserAuthorities(final String domain, final String userKey) {
+        if (authenticationCache != null) {
+            LOG.debug("Invalidating cached authorities for User {} in domain {}", userKey, domain);
+            authenticationCache.asMap().entrySet().removeIf(entry -> entry.getKey().domain().equals(domain)
+                    && entry.getValue().getUserKeys().contains(userKey));
+        }
+    }
+
+    /**
+     * Removes cached authentication results for the given JWT.
+     *
+     * @param domain domain
+     * @param jwtId JWT id, as for the related access token's key
+     */
+    public void invalidateTokenAuthorities(final String domain, final String jwtId) {
+        if (authenticationCache != null) {
+            LOG.debug("Invalidating cached authorities for JWT {} in domain {}", jwtId, domain);
+            authenticationCache.asMap().keySet().
+                    removeIf(key -> key.domain().equals(domain) && key.jwtId().equals(jwtId));
+        }
+    }
+
+    protected void cache(
+            final JWTAuthentication authentication,
+            final Pair<String, Set<SyncopeGrantedAuthority>> authenticated,
+            final Set<String> userKeys,
+            final OffsetDateTime validUntil,
+            final List<String> authStatuses) {
+
+        if (authenticationCache != null) {
+            CacheKey.of(authentication).ifPresent(key -> authenticationCache.put(
+                    key,
+                    new CachedAuthentication(Pair.of(authenticated.getLeft(), Set.copyOf(authenticated.getRight())),
+                            Set.copyOf(userKeys), validUntil, authStatuses)));
+        }
+    }
+
     @Transactional
     public Pair<String, Set<SyncopeGrantedAuthority>> authenticate(final JWTAuthentication authentication) {
         String username;
         Set<SyncopeGrantedAuthority> authorities;
+        Set<String> userKeys = new HashSet<>();
+        OffsetDateTime validUntil = null;
+        List<String> authStatuses = null;
 
         if (securityProperties.getAdminUser().equals(authentication.getClaims().getSubject())) {
             AccessToken accessToken = accessTokenDAO.find(authentication.getClaims().getJWTID());
@@ -450,6 +676,14 @@ public class AuthDataAccessor {
 
             User user = resolved.getLeft();
             String delegationKey = getDelegationKey(authentication.getDetails(), user.getKey());
+            userKeys.add(user.getKey());
+            if (delegationKey != null) {
+                Delegation delegation = delegationDAO.find(delegationKey);
+                if (delegation != null) {
+                    userKeys.add(delegation.getDelegating().getKey());
+                    validUntil = delegation.getEnd();
+                }
+            }
             username = user.getUsername();
             authorities = resolved.getRight() == null
                     ? Set.of()
@@ -467,8 +701,7 @@ public class AuthDataAccessor {
                 throw new DisabledException("User " + username + " is suspended");
             }
 
-            List<String> authStatuses = List.of(confParamOps.get(authentication.getDetails().getDomain(),
-                    "authentication.statuses", new String[] {}, String[].class));
+            authStatuses = getAuthStatuses(authentication.getDetails().getDomain());
             if (!authStatuses.contains(user.getStatus())) {
                 throw new DisabledException("User " + username + " not allowed to authenticate");
             }
@@ -479,11 +712,17 @@ public class AuthDataAccessor {
             }
         }
 
-        return Pair.of(username, authorities);
+        Pair<String, Set<SyncopeGrantedAuthority>> authenticated = Pair.of(username, authorities);
+        cache(authentication, authenticated, userKeys, validUntil, authStatuses);
+        return authenticated;
     }
 
     @Transactional
     public void removeExpired(final String tokenKey) {
+        if (authenticationCache != null) {
+            authenticationCache.asMap().keySet().removeIf(key -> key.jwtId().equals(tokenKey));
+        }
+
         accessTokenDAO.delete(tokenKey);
     }
 
@@ -19,6 +19,7 @@
 package org.apache.syncope.core.spring.security;
 
 import com.nimbusds.jose.JWSAlgorithm;
+import java.time.Duration;
 import org.apache.syncope.common.lib.types.CipherAlgorithm;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -100,6 +101,14 @@ public class SecurityProperties {
 
     private String secretKey;
 
+    private String authorityCacheSpec;
+
+    /**
+     * How long the {@code authentication.statuses} configuration parameter is kept, for each domain, by the authority
+     * cache; changes made via the embedded keymaster are applied right away.
+     */
+    private Duration authStatusesRefresh = Duration.ofMinutes(1);
+
     private final DigesterProperties digester = new DigesterProperties();
 
     public String getAdminUser() {
@@ -174,6 +183,22 @@ public class SecurityProperties {
         this.secretKey = secretKey;
     }
 
+    public String getAuthorityCacheSpec() {
+        return authorityCacheSpec;
+    }
+
+    public void setAuthorityCacheSpec(final String authorityCacheSpec) {
+        this.authorityCacheSpec = authorityCacheSpec;
+    }
+
+    public Duration getAuthStatusesRefresh() {
+        return authStatusesRefresh;
+    }
+
+    public void setAuthStatusesRefresh(final Duration authStatusesRefresh) {
+        this.authStatusesRefresh = authStatusesRefresh;
+    }
+
     public DigesterProperties getDigester() {
         return digester;
     }
@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.IdRepoEntitlement;
+import org.apache.syncope.core.persistence.api.dao.AccessTokenDAO;
+import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.DelegationDAO;
+import org.apache.syncope.core.persistence.api.dao.GroupDAO;
+import org.apache.syncope.core.persistence.api.dao.RealmDAO;
+import org.apache.syncope.core.persistence.api.dao.RoleDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.provisioning.api.AuditManager;
+import org.apache.syncope.core.provisioning.api.ConnectorManager;
+import org.apache.syncope.core.provisioning.api.MappingManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class AuthDataAccessorTest {
+
+    private static final String ISSUER = "test";
+
+    private static final String USER_KEY = "1417acbe-cbf6-4277-9372-e75e04f97000";
+
+    private static final Set<SyncopeGrantedAuthority> AUTHORITIES =
+            Set.of(new SyncopeGrantedAuthority(IdRepoEntitlement.USER_READ, SyncopeConstants.ROOT_REALM));
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private ConfParamOps confParamOps;
+
+    private JWTSSOProvider jwtSSOProvider;
+
+    @BeforeEach
+    public void setup() {
+        confParamOps = mock(ConfParamOps.class);
+        authStatuses("active");
+
+        User user = mock(User.class);
+        when(user.getKey()).thenReturn(USER_KEY);
+        when(user.getUsername()).thenReturn("rossini");
+        when(user.getStatus()).thenReturn("active");
+
+        jwtSSOProvider = mock(JWTSSOProvider.class);
+        when(jwtSSOProvider.getIssuer()).thenReturn(ISSUER);
+        when(jwtSSOProvider.resolve(any())).thenReturn(Pair.of(user, AUTHORITIES));
+    }
+
+    private void authStatuses(final String... statuses) {
+        when(confParamOps.get(
+                eq(SyncopeConstants.MASTER_DOMAIN), eq("authentication.statuses"), any(), eq(String[].class))).
+                thenReturn(statuses);
+    }
+
+    private AuthDataAccessor authDataAccessor(final String authorityCacheSpec) {
+        SecurityProperties securityProperties = new SecurityProperties();
+        securityProperties.setAdminUser("admin");
+        securityProperties.setAuthorityCacheSpec(authorityCacheSpec);
+
+        return new AuthDataAccessor(
+                securityProperties,
+                mock(RealmDAO.class),
+                mock(UserDAO.class),
+                mock(GroupDAO.class),
+                mock(AnySearchDAO.class),
+                mock(AccessTokenDAO.class),
+                confParamOps,
+                mock(RoleDAO.class),
+                mock(DelegationDAO.class),
+                mock(ConnectorManager.class),
+                mock(AuditManager.class),
+                mock(MappingManager.class),
+                List.of(jwtSSOProvider),
+                nanos::get);
+    }
+
+    private static JWTAuthentication authentication(final String jwtId, final String issuer) {
+        return new JWTAuthentication(
+                new JWTClaimsSet.Builder().jwtID(jwtId).subject("rossini").issuer(issuer).build(),
+                new SyncopeAuthenticationDetails(SyncopeConstants.MASTER_DOMAIN, null));
+    }
+
+    private static JWTAuthentication authentication(final String jwtId) {
+        return authentication(jwtId, ISSUER);
+    }
+
+    @Test
+    public void disabledByDefault() {
+        AuthDataAccessor authDataAccessor = authDataAccessor(new SecurityProperties().getAuthorityCacheSpec());
+
+        authDataAccessor.authenticate(authentication("jwt1"));
+        assertTrue(authDataAccessor.getCachedAuthentication(authentication("jwt1")).isEmpty());
+    }
+
+    @Test
+    public void hit() {
+        AuthDataAccessor authDataAccessor = authDataAccessor("maximumSize=100,expireAfterWrite=5m");
+        assertTrue(authDataAccessor.getCachedAuthentication(authentication("jwt1")).isEmpty());
+
+        Pair<String, Set<SyncopeGrantedAuthority>> authenticated =
+                authDataAccessor.authenticate(authentication("jwt1"));
+        assertEquals(Pair.of("rossini", AUTHORITIES), authenticated);
+
+        assertEquals(authenticated, authDataAccessor.getCachedAuthentication(authentication("jwt1")).orElseThrow());
+        verify(jwtSSOProvider, times(1)).resolve(any());
+
+        // other JWT for the same subject
+        assertTrue(authDataAccessor.getCachedAuthentication(authentication("jwt2")).isEmpty());
+
+        // same JWT id, from another issuer
+        assertTrue(authDataAccessor.getCachedAuthentication(authentication("jwt1", "other")).isEmpty());
+    }
+
+    @Test
+    public void noJWTID() {
+        AuthDataAccessor authDataAccessor = authDataAccessor("maximumSize=100,expireAfterWrite=5m");
+
+        authDataAccessor.authenticate(authentication(null));
+        assertTrue(authDataAccessor.getCachedAuthentication(authentication(null)).isEmpty());
+        assertEquals(0, authDataAccessor.authenticationCache.estimatedSize());
+    }
+
+    @Test
+    public void removeExpired() {
+        AuthDataAccessor authDataAccessor = authDataAccessor("maximumSize=100,expireAfterWrite=5m");
+        authDataAccessor.authenticate(authentication("jwt1"));
+        authDataAccessor.authenticate(authentication("jwt2"));
+
+        authDataAccessor.removeExpired("jwt1");
+        assertTrue(authDataAccessor.getCachedAuthentication(authentication("jwt1")).isEmpty());
+        assertTrue(authDataAccessor.getCachedAuthentication(authentication("jwt2")).isPresent());
+    }
+
+    @Test
+    public void expiry() {
+        AuthDataAccessor authDataAccessor = authDataAccessor("maximumSize=100,expireAfterWrite=5m");
+        authDataAccessor.authenticate(authentication("jwt1"));
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(4));
+        assertTrue(authDataAccessor.getCachedAuthentication(authentication("jwt1")).isPresent());
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        assertTrue(authDataAccessor.getCachedAuthentication(authentication("jwt1")).isEmpty());
+    }
+
+    @Test
+    public void invalidation() {
+        AuthDataAccessor authDataAccessor = authDataAccessor("maximumSize=100,expireAfterWrite=5m");
+
+        authDataAccessor.authenticate(authentication("jwt1"));
+        authDataAccessor.invalidateUserAuthorities(SyncopeConstants.MASTER_DOMAIN, USER_KEY);
+        assertTrue(authDataAccessor.getCachedAuthentication(authentication("jwt1")).isEmpty());
+
+        authDataAccessor.authenticate(authentication("jwt1"));
+        authDataAccessor.invalidateTokenAuthorities(SyncopeConstants.MASTER_DOMAIN, "jwt1");
+        assertTrue(authDataAccessor.getCachedAuthentication(authentication("jwt1")).isEmpty());
+
+        authDataAccessor.authenticate(authentication("jwt1"));
+        authDataAccessor.invalidateAuthorities("Two");
+        assertTrue(authDataAccessor.getCachedAuthentication(authentication("jwt1")).isPresent());
+        authDataAccessor.invalidateAuthorities(SyncopeConstants.MASTER_DOMAIN);
+        assertTrue(authDataAccessor.getCachedAuthentication(authentication("jwt1")).isEmpty());
+    }
+
+    @Test
+    public void confParamChanged() {
+        AuthDataAccessor authDataAccessor = authDataAccessor("maximumSize=100,expireAfterWrite=5m");
+        authDataAccessor.authenticate(authentication("jwt1"));
+        authDataAccessor.authenticate(authentication("jwt2"));
+
+        // configuration parameter is not read upon cache hits
+        authStatuses("active", "suspended");
+        assertTrue(authDataAccessor.getCachedAuthentication(authentication("jwt1")).isPresent());
+        verify(confParamOps, times(2)).get(
+                eq(SyncopeConstants.MASTER_DOMAIN), eq("authentication.statuses"), any(), eq(String[].class));
+
+        // read again upon change
+        authDataAccessor.invalidateAuthStatuses();
+        assertTrue(authDataAccessor.getCachedAuthentication(authentication("jwt1")).isEmpty());
+
+        // all entries for the domain were discarded
+        authStatuses("active");
+        assertTrue(authDataAccessor.getCachedAuthentication(authentication("jwt2")).isEmpty());
+    }
+
+    @Test
+    public void confParamRefresh() {
+        AuthDataAccessor authDataAccessor = authDataAccessor("maximumSize=100,expireAfterWrite=5m");
+        authDataAccessor.authenticate(authentication("jwt1"));
+
+        authStatuses("active", "suspended");
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertTrue(authDataAccessor.getCachedAuthentication(authentication("jwt1")).isPresent());
+
+        // read again once expired
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        assertTrue(authDataAccessor.getCachedAuthentication(authentication("jwt1")).isEmpty());
+    }
+}
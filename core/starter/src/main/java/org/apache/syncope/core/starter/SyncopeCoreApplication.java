@@ -42,11 +42,17 @@ import org.apache.syncope.core.persistence.api.dao.VirSchemaDAO;
 import org.apache.syncope.core.provisioning.api.ConnIdBundleManager;
 import org.apache.syncope.core.provisioning.api.ConnectorManager;
 import org.apache.syncope.core.provisioning.api.ImplementationLookup;
+import org.apache.syncope.core.provisioning.api.cache.VirAttrCache;
 import org.apache.syncope.core.provisioning.api.data.ConnInstanceDataBinder;
+import org.apache.syncope.core.provisioning.java.propagation.PropagationTaskQueues;
+import org.apache.syncope.core.starter.actuate.AuditQueueEndpoint;
+import org.apache.syncope.core.starter.actuate.ConnectorRegistrationEndpoint;
 import org.apache.syncope.core.starter.actuate.DefaultSyncopeCoreInfoContributor;
 import org.apache.syncope.core.starter.actuate.DomainsHealthIndicator;
 import org.apache.syncope.core.starter.actuate.EntityCacheEndpoint;
 import org.apache.syncope.core.starter.actuate.ExternalResourcesHealthIndicator;
+import org.apache.syncope.core.starter.actuate.PropagationQueuesEndpoint;
+import org.apache.syncope.core.starter.actuate.VirAttrCacheEndpoint;
 import org.apache.syncope.core.starter.actuate.SyncopeCoreInfoContributor;
 import org.springframework.beans.factory.ListableBeanFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -186,6 +192,30 @@ public class SyncopeCoreApplication extends SpringBootServletInitializer {
         return new EntityCacheEndpoint(entityCacheDAO);
     }
 
+    @ConditionalOnMissingBean
+    @Bean
+    public AuditQueueEndpoint auditQueueEndpoint() {
+        return new AuditQueueEndpoint();
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public PropagationQueuesEndpoint propagationQueuesEndpoint(final PropagationTaskQueues propagationTaskQueues) {
+        return new PropagationQueuesEndpoint(propagationTaskQueues);
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public ConnectorRegistrationEndpoint connectorRegistrationEndpoint(final ConnectorManager connectorManager) {
+        return new ConnectorRegistrationEndpoint(connectorManager);
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public VirAttrCacheEndpoint virAttrCacheEndpoint(final VirAttrCache virAttrCache) {
+        return new VirAttrCacheEndpoint(virAttrCache);
+    }
+
     @Bean
     public SyncopeStarterEventListener syncopeCoreEventListener(
             @Qualifier("syncopeCoreInfoContributor")
@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.starter.actuate;
 
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
@@ -25,8 +26,11 @@ import org.apache.syncope.common.keymaster.client.api.DomainOps;
 import org.apache.syncope.common.keymaster.client.api.model.Domain;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
+import org.apache.syncope.core.provisioning.api.CircuitBreakerOpenException;
+import org.apache.syncope.core.provisioning.api.Connector;
 import org.apache.syncope.core.provisioning.api.ConnectorManager;
 import org.apache.syncope.core.provisioning.api.data.ConnInstanceDataBinder;
+import org.apache.syncope.core.provisioning.java.ConnectorCircuitBreaker;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -68,8 +72,16 @@ public class ExternalResourcesHealthIndicator implements HealthIndicator {
                 forEach(domain -> AuthContextUtils.callAsAdmin(domain, () -> {
 
             resourceDAO.findAll().forEach(resource -> {
+                Map<String, Object> circuitBreaker = connectorManager.readConnector(resource).
+                        map(Connector::getCircuitBreakerState).orElseGet(Map::of);
+
                 Status status;
                 try {
+                    // no need to wait for the connector instance to time out, if already known as unavailable
+                    if (ConnectorCircuitBreaker.State.OPEN.name().equals(circuitBreaker.get("state"))) {
+                        throw new CircuitBreakerOpenException("Circuit breaker open for " + resource.getKey());
+                    }
+
                     connectorManager.createConnector(
                             connectorManager.buildConnInstanceOverride(
                                     connInstanceDataBinder.getConnInstanceTO(resource.getConnector()),
@@ -84,6 +96,9 @@ public class ExternalResourcesHealthIndicator implements HealthIndicator {
                 }
 
                 builder.withDetail(domain + "#" + resource.getKey(), status);
+                if (!circuitBreaker.isEmpty()) {
+                    builder.withDetail(domain + "#" + resource.getKey() + "#circuitBreaker", circuitBreaker);
+                }
                 if (status != Status.UP) {
                     anyDown.set(true);
                 }
@@ -65,7 +65,10 @@ public class ElasticsearchClientContext {
                 client,
                 elasticsearchUtils,
                 props.getNumberOfShards(),
-                props.getNumberOfReplicas());
+                props.getNumberOfReplicas(),
+                props.getBulkMaxOperations(),
+                props.getBulkFlushInterval(),
+                props.getRealmRefresh());
     }
 
     @ConditionalOnMissingBean
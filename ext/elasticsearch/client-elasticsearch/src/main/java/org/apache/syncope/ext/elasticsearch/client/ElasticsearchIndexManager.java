@@ -19,6 +19,8 @@
 package org.apache.syncope.ext.elasticsearch.client;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._helpers.bulk.BulkIngester;
+import co.elastic.clients.elasticsearch._helpers.bulk.BulkListener;
 import co.elastic.clients.elasticsearch._types.ElasticsearchException;
 import co.elastic.clients.elasticsearch._types.Refresh;
 import co.elastic.clients.elasticsearch._types.analysis.CustomNormalizer;
@@ -29,21 +31,43 @@ import co.elastic.clients.elasticsearch._types.mapping.ObjectProperty;
 import co.elastic.clients.elasticsearch._types.mapping.Property;
 import co.elastic.clients.elasticsearch._types.mapping.TextProperty;
 import co.elastic.clients.elasticsearch._types.mapping.TypeMapping;
-import co.elastic.clients.elasticsearch.core.DeleteRequest;
-import co.elastic.clients.elasticsearch.core.DeleteResponse;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
 import co.elastic.clients.elasticsearch.core.IndexRequest;
 import co.elastic.clients.elasticsearch.core.IndexResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.DeleteOperation;
+import co.elastic.clients.elasticsearch.core.bulk.IndexOperation;
+import co.elastic.clients.elasticsearch.indices.Alias;
 import co.elastic.clients.elasticsearch.indices.CreateIndexRequest;
 import co.elastic.clients.elasticsearch.indices.CreateIndexResponse;
 import co.elastic.clients.elasticsearch.indices.DeleteIndexRequest;
 import co.elastic.clients.elasticsearch.indices.DeleteIndexResponse;
+import co.elastic.clients.elasticsearch.indices.ExistsAliasRequest;
 import co.elastic.clients.elasticsearch.indices.ExistsRequest;
+import co.elastic.clients.elasticsearch.indices.GetAliasRequest;
 import co.elastic.clients.elasticsearch.indices.IndexSettings;
 import co.elastic.clients.elasticsearch.indices.IndexSettingsAnalysis;
+import co.elastic.clients.elasticsearch.indices.UpdateAliasesRequest;
+import co.elastic.clients.elasticsearch.indices.UpdateAliasesResponse;
+import co.elastic.clients.elasticsearch.indices.update_aliases.Action;
+import co.elastic.clients.elasticsearch.indices.update_aliases.AddAction;
+import co.elastic.clients.elasticsearch.indices.update_aliases.RemoveAction;
+import co.elastic.clients.elasticsearch.indices.update_aliases.RemoveIndexAction;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.Entity;
@@ -57,11 +81,17 @@ import org.springframework.transaction.event.TransactionalEventListener;
 
 /**
  * Listen to any create / update and delete in order to keep the Elasticsearch indexes consistent.
+ *
+ * Events are processed upon commit: operations on realms are sent right away with the configured refresh policy,
+ * while operations on users, groups and any objects are merged by key within a flush window and then sent via bulk
+ * requests.
  */
 public class ElasticsearchIndexManager {
 
     private static final Logger LOG = LoggerFactory.getLogger(ElasticsearchIndexManager.class);
 
+    protected static final String SHADOW_ALIAS_SUFFIX = "_shadow";
+
     protected final ElasticsearchClient client;
 
     protected final ElasticsearchUtils elasticsearchUtils;
@@ -70,16 +100,92 @@ public class ElasticsearchIndexManager {
 
     protected final String numberOfReplicas;
 
+    protected final int bulkMaxOperations;
+
+    protected final Refresh realmRefresh;
+
+    protected final Duration shadowIndexDiscovery;
+
+    /**
+     * Operations on any indexes committed but not yet handed over to the bulk ingester, by index and key.
+     */
+    protected final Map<String, BulkOperation> window = new LinkedHashMap<>();
+
+    protected final BulkIngester<Void> ingester;
+
+    protected final ScheduledExecutorService flusher;
+
+    /**
+     * Shadow indexes being rebuilt, by the alias they are going to replace: changes committed meanwhile are sent to
+     * both. Shadow indexes are marked in Elasticsearch itself by an additional alias, so that all nodes know about
+     * them; lookups are cached for the flush interval.
+     */
+    protected final LoadingCache<String, Optional<String>> shadows;
+
     public ElasticsearchIndexManager(
             final ElasticsearchClient client,
             final ElasticsearchUtils elasticsearchUtils,
             final String numberOfShards,
-            final String numberOfReplicas) {
+            final String numberOfReplicas,
+            final int bulkMaxOperations,
+            final long bulkFlushInterval,
+            final Refresh realmRefresh) {
 
         this.client = client;
         this.elasticsearchUtils = elasticsearchUtils;
         this.numberOfShards = numberOfShards;
         this.numberOfReplicas = numberOfReplicas;
+        this.bulkMaxOperations = bulkMaxOperations;
+        this.realmRefresh = realmRefresh;
+        this.shadowIndexDiscovery = Duration.ofMillis(bulkFlushInterval * 2);
+        this.shadows = Caffeine.newBuilder().
+                expireAfterWrite(Duration.ofMillis(bulkFlushInterval)).
+                build(this::findShadowIndex);
+
+        this.ingester = BulkIngester.of(b -> b.
+                client(client).
+                maxOperations(bulkMaxOperations).
+                listener(new BulkListener<Void>() {
+
+                    @Override
+                    public void beforeBulk(
+                            final long executionId,
+                            final BulkRequest request,
+                            final List<Void> contexts) {
+
+                        LOG.debug("Sending bulk request #{} with {} operation(s)",
+                                executionId, request.operations().size());
+                    }
+
+                    @Override
+                    public void afterBulk(
+                            final long executionId,
+                            final BulkRequest request,
+                            final List<Void> contexts,
+                            final BulkResponse response) {
+
+                        log(response);
+                    }
+
+                    @Override
+                    public void afterBulk(
+                            final long executionId,
+                            final BulkRequest request,
+                            final List<Void> contexts,
+                            final Throwable failure) {
+
+                        LOG.error("Bulk request #{} with {} operation(s) failed",
+                                executionId, request.operations().size(), failure);
+                    }
+                }));
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ElasticsearchIndexManager-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleWithFixedDelay(
+                this::flushWindow, bulkFlushInterval, bulkFlushInterval, TimeUnit.MILLISECONDS);
     }
 
     public boolean existsAnyIndex(final String domain, final AnyTypeKind kind) throws IOException {
@@ -298,54 +404,211 @@ public class ElasticsearchIndexManager {
         LOG.debug("Successfully removed {}: {}", ElasticsearchUtils.getAuditIndex(domain), response);
     }
 
+    /**
+     * Creates a new index, meant to replace the given alias once populated; changes committed to entities indexed under
+     * the given alias are sent to the new index as well, by all nodes after {@link #getShadowIndexDiscovery()}.
+     *
+     * @param alias index alias
+     * @param settings index settings
+     * @param mappings index mappings
+     * @return name of the created index
+     * @throws IOException in case of errors
+     */
+    public String createShadowIndex(
+            final String alias,
+            final IndexSettings settings,
+            final TypeMapping mappings) throws IOException {
+
+        String shadow = alias + '_' + System.currentTimeMillis();
+        CreateIndexResponse response = client.indices().create(
+                new CreateIndexRequest.Builder().
+                        index(shadow).
+                        aliases(shadowAlias(alias), new Alias.Builder().build()).
+                        settings(settings).
+                        mappings(mappings).
+                        build());
+        LOG.debug("Successfully created shadow index {} for {}: {}", shadow, alias, response);
+
+        shadows.invalidate(alias);
+        return shadow;
+    }
+
+    /**
+     * @return how long it takes, at most, for all nodes to send changes to a newly created shadow index
+     */
+    public Duration getShadowIndexDiscovery() {
+        return shadowIndexDiscovery;
+    }
+
+    protected static String shadowAlias(final String alias) {
+        return alias + SHADOW_ALIAS_SUFFIX;
+    }
+
+    protected Optional<String> findShadowIndex(final String alias) {
+        try {
+            if (client.indices().existsAlias(new ExistsAliasRequest.Builder().name(shadowAlias(alias)).build()).
+                    value()) {
+
+                return client.indices().getAlias(new GetAliasRequest.Builder().name(shadowAlias(alias)).build()).
+                        result().keySet().stream().findFirst();
+            }
+        } catch (Exception e) {
+            LOG.error("While looking for shadow index of {}", alias, e);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Atomically points the given alias to the given shadow index, and removes the indexes previously pointed by the
+     * alias, or the index named as the alias, if any.
+     *
+     * @param alias index alias
+     * @param shadow shadow index name
+     * @throws IOException in case of errors
+     */
+    public void swapShadowIndex(final String alias, final String shadow) throws IOException {
+        List<String> previous = new ArrayList<>();
+        if (client.indices().existsAlias(new ExistsAliasRequest.Builder().name(alias).build()).value()) {
+            previous.addAll(client.indices().getAlias(new GetAliasRequest.Builder().name(alias).build()).
+                    result().keySet());
+        } else if (client.indices().exists(new ExistsRequest.Builder().index(alias).build()).value()) {
+            previous.add(alias);
+        }
+
+        List<Action> actions = new ArrayList<>();
+        actions.add(new Action.Builder().add(new AddAction.Builder().index(shadow).alias(alias).build()).build());
+        actions.add(new Action.Builder().remove(
+                new RemoveAction.Builder().index(shadow).alias(shadowAlias(alias)).build()).build());
+        previous.stream().filter(index -> !index.equals(shadow)).forEach(index -> actions.add(
+                new Action.Builder().removeIndex(new RemoveIndexAction.Builder().index(index).build()).build()));
+
+        UpdateAliasesResponse response = client.indices().updateAliases(
+                new UpdateAliasesRequest.Builder().actions(actions).build());
+        LOG.debug("Successfully pointed {} to {}, replacing {}: {}", alias, shadow, previous, response);
+
+        shadows.invalidate(alias);
+    }
+
+    protected static boolean isIndexed(final EntityLifecycleEvent<Entity> event) {
+        return event.getEntity() instanceof Any || event.getEntity() instanceof Realm;
+    }
+
     @TransactionalEventListener
-    public void entity(final EntityLifecycleEvent<Entity> event) throws IOException {
-        LOG.debug("About to {} index for {}", event.getType().name(), event.getEntity());
-
-        if (event.getEntity() instanceof Any) {
-            Any<?> any = (Any<?>) event.getEntity();
-
-            if (event.getType() == SyncDeltaType.DELETE) {
-                DeleteRequest request = new DeleteRequest.Builder().index(
-                        ElasticsearchUtils.getAnyIndex(event.getDomain(), any.getType().getKind())).
-                        id(any.getKey()).
-                        build();
-                DeleteResponse response = client.delete(request);
-                LOG.debug("Index successfully deleted for {}[{}]: {}",
-                        any.getType().getKind(), any.getKey(), response);
-            } else {
-                IndexRequest<Map<String, Object>> request = new IndexRequest.Builder<Map<String, Object>>().
-                        index(ElasticsearchUtils.getAnyIndex(event.getDomain(), any.getType().getKind())).
-                        id(any.getKey()).
-                        document(elasticsearchUtils.document(any)).
-                        build();
-                IndexResponse response = client.index(request);
-                LOG.debug("Index successfully created or updated for {}: {}", any, response);
+    public void entity(final EntityLifecycleEvent<Entity> event) {
+        if (isIndexed(event)) {
+            LOG.debug("About to {} index for {}", event.getType().name(), event.getEntity());
+            flush(List.of(event));
+        }
+    }
+
+    protected BulkOperation operation(final String index, final EntityLifecycleEvent<Entity> event) {
+        if (event.getType() == SyncDeltaType.DELETE) {
+            return new BulkOperation.Builder().delete(new DeleteOperation.Builder().
+                    index(index).
+                    id(event.getEntity().getKey()).
+                    build()).
+                    build();
+        }
+
+        Map<String, Object> document = event.getEntity() instanceof Any
+                ? elasticsearchUtils.document((Any<?>) event.getEntity())
+                : elasticsearchUtils.document((Realm) event.getEntity());
+        return new BulkOperation.Builder().index(new IndexOperation.Builder<Map<String, Object>>().
+                index(index).
+                id(event.getEntity().getKey()).
+                document(document).
+                build()).
+                build();
+    }
+
+    protected void flush(final Collection<EntityLifecycleEvent<Entity>> events) {
+        List<BulkOperation> realmOperations = new ArrayList<>();
+
+        events.forEach(event -> {
+            try {
+                if (event.getEntity() instanceof Any) {
+                    String index = ElasticsearchUtils.getAnyIndex(
+                            event.getDomain(), ((Any<?>) event.getEntity()).getType().getKind());
+                    Map<String, BulkOperation> operations = new LinkedHashMap<>();
+                    operations.put(index + '/' + event.getEntity().getKey(), operation(index, event));
+                    shadows.get(index).ifPresent(shadow -> operations.put(
+                            shadow + '/' + event.getEntity().getKey(), operation(shadow, event)));
+
+                    boolean full;
+                    synchronized (window) {
+                        operations.forEach((key, operation) -> {
+                            window.remove(key);
+                            window.put(key, operation);
+                        });
+                        full = window.size() >= bulkMaxOperations;
+                    }
+                    if (full) {
+                        drain();
+                    }
+                } else {
+                    String index = ElasticsearchUtils.getRealmIndex(event.getDomain());
+                    realmOperations.add(operation(index, event));
+                    shadows.get(index).
+                            ifPresent(shadow -> realmOperations.add(operation(shadow, event)));
+                }
+            } catch (Exception e) {
+                LOG.error("While preparing {} for {}", event.getType(), event.getEntity(), e);
             }
-        } else if (event.getEntity() instanceof Realm) {
-            Realm realm = (Realm) event.getEntity();
-
-            if (event.getType() == SyncDeltaType.DELETE) {
-                DeleteRequest request = new DeleteRequest.Builder().
-                        index(ElasticsearchUtils.getRealmIndex(event.getDomain())).
-                        id(realm.getKey()).
-                        refresh(Refresh.True).
-                        build();
-                DeleteResponse response = client.delete(request);
-                LOG.debug("Index successfully deleted for {}: {}", realm, response);
-            } else {
-                IndexRequest<Map<String, Object>> request = new IndexRequest.Builder<Map<String, Object>>().
-                        index(ElasticsearchUtils.getRealmIndex(event.getDomain())).
-                        id(realm.getKey()).
-                        document(elasticsearchUtils.document(realm)).
-                        refresh(Refresh.True).
-                        build();
-                IndexResponse response = client.index(request);
-                LOG.debug("Index successfully created or updated for {}: {}", realm, response);
+        });
+
+        if (!realmOperations.isEmpty()) {
+            try {
+                BulkResponse response = client.bulk(new BulkRequest.Builder().
+                        operations(realmOperations).
+                        refresh(realmRefresh).
+                        build());
+                log(response);
+            } catch (Exception e) {
+                LOG.error("While indexing {} realm(s)", realmOperations.size(), e);
             }
         }
     }
 
+    /**
+     * Hands all operations currently in the flush window over to the bulk ingester.
+     */
+    protected void drain() {
+        List<BulkOperation> operations;
+        synchronized (window) {
+            operations = new ArrayList<>(window.values());
+            window.clear();
+        }
+        operations.forEach(ingester::add);
+    }
+
+    protected void flushWindow() {
+        try {
+            drain();
+            ingester.flush();
+        } catch (Exception e) {
+            LOG.error("While flushing pending index operations", e);
+        }
+    }
+
+    protected void log(final BulkResponse response) {
+        if (response.errors()) {
+            response.items().stream().filter(item -> item.error() != null).forEach(item -> LOG.error(
+                    "Could not {} {} on {}: {}", item.operationType(), item.id(), item.index(), item.error().reason()));
+        } else {
+            LOG.debug("Bulk request with {} operation(s) successfully executed in {} ms",
+                    response.items().size(), response.took());
+        }
+    }
+
+    /**
+     * Sends all pending operations and releases resources; invoked by Spring on context shutdown.
+     */
+    public void close() {
+        flusher.shutdown();
+        drain();
+        ingester.close();
+    }
+
     public void audit(final String domain, final long instant, final JsonNode message) throws IOException {
         LOG.debug("About to audit");
 
@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.ext.elasticsearch.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.Refresh;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.indices.ExistsAliasRequest;
+import co.elastic.clients.elasticsearch.indices.GetAliasRequest;
+import co.elastic.clients.elasticsearch.indices.GetAliasResponse;
+import co.elastic.clients.elasticsearch.indices.get_alias.IndexAliases;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.ElasticsearchTransport;
+import co.elastic.clients.transport.endpoints.BooleanResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.entity.AnyType;
+import org.apache.syncope.core.persistence.api.entity.Entity;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ElasticsearchIndexManagerTest {
+
+    private static final String INDEX =
+            ElasticsearchUtils.getAnyIndex(SyncopeConstants.MASTER_DOMAIN, AnyTypeKind.USER);
+
+    private final List<BulkRequest> requests = new CopyOnWriteArrayList<>();
+
+    private ElasticsearchClient client;
+
+    private ElasticsearchUtils elasticsearchUtils;
+
+    private ElasticsearchIndexManager manager;
+
+    private String shadow;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        ElasticsearchTransport transport = mock(ElasticsearchTransport.class);
+        when(transport.jsonpMapper()).thenReturn(new JacksonJsonpMapper());
+        when(transport.performRequest(any(), any(), any())).thenAnswer(invocation -> {
+            Object request = invocation.getArgument(0);
+            if (request instanceof ExistsAliasRequest) {
+                return new BooleanResponse(shadow != null
+                        && ((ExistsAliasRequest) request).name().equals(List.of(INDEX + "_shadow")));
+            }
+            if (request instanceof GetAliasRequest) {
+                return GetAliasResponse.of(response -> response.
+                        result(shadow, IndexAliases.of(aliases -> aliases.aliases(Map.of()))));
+            }
+            throw new IllegalArgumentException("Unexpected request: " + request);
+        });
+        when(transport.performRequestAsync(any(), any(), any())).thenAnswer(invocation -> {
+            BulkRequest request = invocation.getArgument(0);
+            requests.add(request);
+            return CompletableFuture.completedFuture(BulkResponse.of(response -> response.
+                    errors(false).took(1).items(List.of())));
+        });
+        client = new ElasticsearchClient(transport);
+
+        elasticsearchUtils = mock(ElasticsearchUtils.class);
+        when(elasticsearchUtils.document(any(User.class))).
+                thenAnswer(invocation -> Map.of("key", invocation.<User>getArgument(0).getKey()));
+    }
+
+    @AfterEach
+    public void close() {
+        if (manager != null) {
+            manager.close();
+        }
+    }
+
+    private ElasticsearchIndexManager manager(final int bulkMaxOperations) {
+        // long flush interval, so that the flush window is only drained when full or explicitly
+        manager = new ElasticsearchIndexManager(
+                client, elasticsearchUtils, "1", "0", bulkMaxOperations, 3_600_000L, Refresh.False);
+        return manager;
+    }
+
+    private static User user(final String key) {
+        AnyType anyType = mock(AnyType.class);
+        when(anyType.getKind()).thenReturn(AnyTypeKind.USER);
+
+        User user = mock(User.class);
+        when(user.getKey()).thenReturn(key);
+        when(user.getType()).thenReturn(anyType);
+        return user;
+    }
+
+    private static EntityLifecycleEvent<Entity> event(final SyncDeltaType type, final Entity entity) {
+        return new EntityLifecycleEvent<>(
+                ElasticsearchIndexManagerTest.class, type, entity, SyncopeConstants.MASTER_DOMAIN);
+    }
+
+    private static List<String> describe(final BulkRequest request) {
+        return request.operations().stream().map(BulkOperation::_kind).map(BulkOperation.Kind::jsonValue).
+                collect(Collectors.toList());
+    }
+
+    private static List<String> ids(final BulkRequest request) {
+        return request.operations().stream().
+                map(op -> op.isDelete() ? op.delete().id() : op.index().id()).
+                collect(Collectors.toList());
+    }
+
+    @Test
+    public void mergedWithinFlushWindow() {
+        ElasticsearchIndexManager indexManager = manager(100);
+
+        indexManager.entity(event(SyncDeltaType.UPDATE, user("user1")));
+        indexManager.entity(event(SyncDeltaType.UPDATE, user("user2")));
+        indexManager.entity(event(SyncDeltaType.DELETE, user("user1")));
+        indexManager.entity(event(SyncDeltaType.UPDATE, user("user3")));
+        indexManager.entity(event(SyncDeltaType.UPDATE, user("user4")));
+        assertTrue(requests.isEmpty());
+
+        indexManager.flushWindow();
+
+        // a single bulk request, with only the last operation for user1
+        assertEquals(1, requests.size());
+        assertEquals(List.of("user2", "user1", "user3", "user4"), ids(requests.get(0)));
+        assertEquals(List.of("index", "delete", "index", "index"), describe(requests.get(0)));
+        requests.get(0).operations().forEach(op -> assertEquals(INDEX, op.isDelete()
+                ? op.delete().index()
+                : op.index().index()));
+    }
+
+    @Test
+    public void sentWhenFull() {
+        ElasticsearchIndexManager indexManager = manager(2);
+
+        indexManager.entity(event(SyncDeltaType.UPDATE, user("user1")));
+        indexManager.entity(event(SyncDeltaType.UPDATE, user("user2")));
+        indexManager.entity(event(SyncDeltaType.UPDATE, user("user3")));
+
+        // the first two operations filled the window and were sent
+        assertEquals(1, requests.size());
+        assertEquals(List.of("user1", "user2"), ids(requests.get(0)));
+
+        indexManager.flushWindow();
+        assertEquals(2, requests.size());
+        assertEquals(List.of("user3"), ids(requests.get(1)));
+    }
+
+    @Test
+    public void sentOnClose() {
+        ElasticsearchIndexManager indexManager = manager(100);
+
+        indexManager.entity(event(SyncDeltaType.CREATE, user("user1")));
+        assertTrue(requests.isEmpty());
+
+        indexManager.close();
+        manager = null;
+
+        assertEquals(1, requests.size());
+        assertEquals(List.of("user1"), ids(requests.get(0)));
+    }
+
+    @Test
+    public void sentToShadowIndex() {
+        shadow = INDEX + "_1";
+        ElasticsearchIndexManager indexManager = manager(100);
+
+        indexManager.entity(event(SyncDeltaType.UPDATE, user("user1")));
+        indexManager.entity(event(SyncDeltaType.DELETE, user("user2")));
+        indexManager.flushWindow();
+
+        assertEquals(1, requests.size());
+        assertEquals(List.of("user1", "user1", "user2", "user2"), ids(requests.get(0)));
+        assertEquals(List.of(INDEX, shadow, INDEX, shadow), requests.get(0).operations().stream().
+                map(op -> op.isDelete() ? op.delete().index() : op.index().index()).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void notIndexed() {
+        ElasticsearchIndexManager indexManager = manager(100);
+
+        indexManager.entity(event(SyncDeltaType.UPDATE, mock(Entity.class)));
+        indexManager.flushWindow();
+
+        assertTrue(requests.isEmpty());
+    }
+}
@@ -23,6 +23,7 @@ import org.apache.syncope.core.persistence.api.attrvalue.validation.PlainAttrVal
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
 import org.apache.syncope.core.persistence.api.dao.AuditConfDAO;
+import org.apache.syncope.core.persistence.api.dao.DerAttrIndexDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
@@ -77,11 +78,12 @@ public class ElasticsearchPersistenceContext {
     @Bean
     public RealmDAO realmDAO(
             final @Lazy RoleDAO roleDAO,
+            final @Lazy DerAttrIndexDAO derAttrIndexDAO,
             final ApplicationEventPublisher publisher,
             final ElasticsearchProperties props,
             final ElasticsearchClient client) {
 
-        return new ElasticsearchRealmDAO(roleDAO, publisher, client, props.getIndexMaxResultWindow());
+        return new ElasticsearchRealmDAO(roleDAO, derAttrIndexDAO, publisher, client, props.getIndexMaxResultWindow());
     }
 
     @ConditionalOnMissingBean(name = "elasticsearchAuditConfDAO")
@@ -25,29 +25,50 @@ import co.elastic.clients.elasticsearch._types.ErrorCause;
 import co.elastic.clients.elasticsearch._types.mapping.TypeMapping;
 import co.elastic.clients.elasticsearch.core.BulkRequest;
 import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
 import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.bulk.IndexOperation;
 import co.elastic.clients.elasticsearch.indices.IndexSettings;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.dao.AnyDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
+import org.apache.syncope.core.persistence.api.dao.JobStatusDAO;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.api.entity.JobStatus;
 import org.apache.syncope.core.persistence.api.entity.task.SchedTask;
 import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.apache.syncope.core.spring.task.VirtualThreadPoolTaskExecutor;
 import org.apache.syncope.ext.elasticsearch.client.ElasticsearchIndexManager;
+import org.apache.syncope.ext.elasticsearch.client.ElasticsearchProperties;
 import org.apache.syncope.ext.elasticsearch.client.ElasticsearchUtils;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Remove and rebuild all Elasticsearch indexes with information from existing users, groups and any objects.
+ *
+ * The key space of users, groups and any objects is split into partitions holding about the same number of entities,
+ * processed concurrently; progress of each partition is recorded as {@link JobStatus}, so that an interrupted
+ * execution is resumed by the next one.
+ * When so configured, indexes are rebuilt as shadow indexes, replacing the current ones only once completed.
  */
 public class ElasticsearchReindex extends AbstractSchedTaskJobDelegate<SchedTask> {
 
@@ -71,11 +92,7 @@ public class ElasticsearchReindex extends AbstractSchedTaskJobDelegate<SchedTask
                 final List<Void> contexts,
                 final BulkResponse response) {
 
-            if (response.errors()) {
-                String details = response.items().stream().map(BulkResponseItem::error).
-                        filter(Objects::nonNull).map(ErrorCause::toString).collect(Collectors.joining(", "));
-                LOG.error("Errors found for request {}; details: {}", executionId, details);
-            }
+            logErrors(executionId, response);
         }
 
         @Override
@@ -89,6 +106,27 @@ public class ElasticsearchReindex extends AbstractSchedTaskJobDelegate<SchedTask
         }
     }
 
+    @FunctionalInterface
+    protected interface IndexCreator {
+
+        void create(IndexSettings settings, TypeMapping mappings) throws IOException;
+    }
+
+    /**
+     * Number of key space partitions per concurrent thread, so that threads done with smaller partitions keep busy.
+     */
+    protected static final int PARTITIONS_PER_THREAD = 4;
+
+    protected static final String COMPLETED = "#COMPLETED";
+
+    protected static void logErrors(final Object request, final BulkResponse response) {
+        if (response.errors()) {
+            String details = response.items().stream().map(BulkResponseItem::error).
+                    filter(Objects::nonNull).map(ErrorCause::toString).collect(Collectors.joining(", "));
+            LOG.error("Errors found for request {}; details: {}", request, details);
+        }
+    }
+
     @Autowired
     protected ElasticsearchClient client;
 
@@ -98,6 +136,9 @@ public class ElasticsearchReindex extends AbstractSchedTaskJobDelegate<SchedTask
     @Autowired
     protected ElasticsearchUtils utils;
 
+    @Autowired
+    protected ElasticsearchProperties props;
+
     @Autowired
     protected UserDAO userDAO;
 
@@ -110,6 +151,17 @@ public class ElasticsearchReindex extends AbstractSchedTaskJobDelegate<SchedTask
     @Autowired
     protected RealmDAO realmDAO;
 
+    @Autowired
+    protected JobStatusDAO jobStatusDAO;
+
+    @Autowired
+    protected EntityFactory entityFactory;
+
+    /**
+     * Keys of progress records written by this execution, to be removed once successfully completed.
+     */
+    protected final List<String> checkpointKeys = new ArrayList<>();
+
     protected IndexSettings userSettings() throws IOException {
         return indexManager.defaultSettings();
     }
@@ -150,106 +202,274 @@ public class ElasticsearchReindex extends AbstractSchedTaskJobDelegate<SchedTask
         return indexManager.defaultAuditMapping();
     }
 
-    @Override
-    protected String doExecute(final boolean dryRun, final String executor, final JobExecutionContext context)
-            throws JobExecutionException {
+    protected TransactionTemplate transactionTemplate(final String domain, final boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(ApplicationContextProvider.getBeanFactory().
+                getBean(domain + "TransactionManager", PlatformTransactionManager.class));
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.setReadOnly(readOnly);
+        return template;
+    }
 
-        if (!dryRun) {
-            setStatus("Start rebuilding indexes");
+    protected String checkpointKey(final String... path) {
+        String key = taskDataBinder.buildRefDesc(task) + '#' + String.join("#", path);
+        synchronized (checkpointKeys) {
+            checkpointKeys.add(key);
+        }
+        return key;
+    }
 
-            try {
-                indexManager.createAnyIndex(
-                        AuthContextUtils.getDomain(), AnyTypeKind.USER, userSettings(), userMapping());
+    protected Optional<String> checkpoint(final String key) {
+        return Optional.ofNullable(jobStatusDAO.find(key)).map(JobStatus::getStatus);
+    }
 
-                indexManager.createAnyIndex(
-                        AuthContextUtils.getDomain(), AnyTypeKind.GROUP, groupSettings(), groupMapping());
+    protected void checkpoint(final String domain, final String key, final String value) {
+        transactionTemplate(domain, false).executeWithoutResult(status -> {
+            JobStatus jobStatus = entityFactory.newEntity(JobStatus.class);
+            jobStatus.setKey(key);
+            jobStatus.setStatus(value);
+            jobStatusDAO.save(jobStatus);
+        });
+    }
 
-                indexManager.createAnyIndex(
-                        AuthContextUtils.getDomain(), AnyTypeKind.ANY_OBJECT, anyObjectSettings(), anyObjectMapping());
+    /**
+     * Returns the index to populate for the given alias, resuming the one recorded by a previous execution, if any.
+     *
+     * @param domain domain
+     * @param alias index alias
+     * @param creator creates the index when not shadowing
+     * @param settings index settings
+     * @param mappings index mappings
+     * @return index to populate
+     * @throws IOException in case of errors
+     * @throws InterruptedException if interrupted while waiting for the shadow index to be known by all nodes
+     */
+    protected String prepareIndex(
+            final String domain,
+            final String alias,
+            final IndexCreator creator,
+            final IndexSettings settings,
+            final TypeMapping mappings) throws IOException, InterruptedException {
+
+        String key = checkpointKey(alias);
+        String index = checkpoint(key).orElse(null);
+        if (index == null) {
+            if (props.isReindexShadowIndex()) {
+                index = indexManager.createShadowIndex(alias, settings, mappings);
+            } else {
+                creator.create(settings, mappings);
+                index = alias;
+            }
+            checkpoint(domain, key, index);
 
-                int users = userDAO.count();
-                String uindex = ElasticsearchUtils.getAnyIndex(AuthContextUtils.getDomain(), AnyTypeKind.USER);
-                setStatus("Indexing " + users + " users under " + uindex + "...");
+            if (!alias.equals(index)) {
+                // let all nodes start sending changes to the shadow index before populating it
+                Thread.sleep(indexManager.getShadowIndexDiscovery().toMillis());
+            }
+        } else {
+            LOG.info("Resuming population of {} for {}", index, alias);
+        }
+        return index;
+    }
 
-                try (BulkIngester<Void> ingester = BulkIngester.of(b -> b.client(client).
-                        maxOperations(AnyDAO.DEFAULT_PAGE_SIZE).listener(ErrorLoggingBulkListener.INSTANCE))) {
+    /**
+     * Returns the upper bounds of the key space partitions to populate the given alias, computed from the actual
+     * distribution of keys and recorded, so that a resumed execution walks the same partitions.
+     *
+     * @param domain domain
+     * @param alias index alias
+     * @param anyDAO DAO for the entities to index
+     * @return upper bounds of key space partitions
+     */
+    protected List<String> partitionBounds(final String domain, final String alias, final AnyDAO<?> anyDAO) {
+        String key = checkpointKey(alias, "bounds");
+        return checkpoint(key).map(bounds -> bounds.isEmpty() ? List.<String>of() : List.of(bounds.split(","))).
+                orElseGet(() -> {
+                    List<String> bounds = transactionTemplate(domain, true).execute(status -> anyDAO.
+                            findPartitionBounds(props.getReindexConcurrency() * PARTITIONS_PER_THREAD));
+                    checkpoint(domain, key, String.join(",", bounds));
+                    return bounds;
+                });
+    }
 
-                    for (int page = 1; page <= (users / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
-                        for (String user : userDAO.findAllKeys(page, AnyDAO.DEFAULT_PAGE_SIZE)) {
-                            ingester.add(op -> op.index(idx -> idx.
-                                    index(uindex).
-                                    id(user).
-                                    document(utils.document(userDAO.find(user)))));
-                        }
-                    }
-                } catch (Exception e) {
-                    LOG.error("Errors while ingesting index {}", uindex, e);
-                }
+    protected void completeIndex(final String alias, final String index) throws IOException {
+        if (!alias.equals(index)) {
+            indexManager.swapShadowIndex(alias, index);
+        }
+    }
+
+    /**
+     * Indexes all entities with key in the given range, page by page; progress is recorded after each page.
+     *
+     * @param domain domain
+     * @param anyDAO DAO for the entities to index
+     * @param index index to populate
+     * @param checkpointKey key of the progress record for the given range
+     * @param after lower bound (excluded) of the range, or null
+     * @param upTo upper bound (included) of the range, or null
+     * @throws IOException in case of errors
+     */
+    protected void reindex(
+            final String domain,
+            final AnyDAO<?> anyDAO,
+            final String index,
+            final String checkpointKey,
+            final String after,
+            final String upTo) throws IOException {
+
+        String last = checkpoint(checkpointKey).orElse(after);
+        if (COMPLETED.equals(last)) {
+            return;
+        }
 
-                int groups = groupDAO.count();
-                String gindex = ElasticsearchUtils.getAnyIndex(AuthContextUtils.getDomain(), AnyTypeKind.GROUP);
-                setStatus("Indexing " + groups + " groups under " + gindex + "...");
+        TransactionTemplate readOnly = transactionTemplate(domain, true);
+        boolean more = true;
+        while (more && !interrupt) {
+            String from = last;
+            List<BulkOperation> operations = new ArrayList<>();
+            List<String> keys = readOnly.execute(status -> {
+                List<String> page = anyDAO.findAllKeys(from, upTo, AnyDAO.DEFAULT_PAGE_SIZE);
+                anyDAO.findByKeys(page).forEach(any -> operations.add(new BulkOperation.Builder().
+                        index(new IndexOperation.Builder<Map<String, Object>>().
+                                index(index).
+                                id(any.getKey()).
+                                document(utils.document(any)).
+                                build()).
+                        build()));
+                return page;
+            });
+
+            if (!operations.isEmpty()) {
+                logErrors(index + " after " + from,
+                        client.bulk(new BulkRequest.Builder().operations(operations).build()));
+            }
 
-                try (BulkIngester<Void> ingester = BulkIngester.of(b -> b.client(client).
-                        maxOperations(AnyDAO.DEFAULT_PAGE_SIZE).listener(ErrorLoggingBulkListener.INSTANCE))) {
+            if (!keys.isEmpty()) {
+                last = keys.get(keys.size() - 1);
+                checkpoint(domain, checkpointKey, last);
+            }
+            more = keys.size() == AnyDAO.DEFAULT_PAGE_SIZE;
+        }
 
-                    for (int page = 1; page <= (groups / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
-                        for (String group : groupDAO.findAllKeys(page, AnyDAO.DEFAULT_PAGE_SIZE)) {
-                            ingester.add(op -> op.index(idx -> idx.
-                                    index(gindex).
-                                    id(group).
-                                    document(utils.document(groupDAO.find(group)))));
-                        }
-                    }
-                } catch (Exception e) {
-                    LOG.error("Errors while ingesting index {}", uindex, e);
-                }
+        if (!more) {
+            checkpoint(domain, checkpointKey, COMPLETED);
+        }
+    }
 
-                int anyObjects = anyObjectDAO.count();
-                String aindex = ElasticsearchUtils.getAnyIndex(AuthContextUtils.getDomain(), AnyTypeKind.ANY_OBJECT);
-                setStatus("Indexing " + anyObjects + " any objects under " + aindex + "...");
+    protected void reindex(
+            final String domain,
+            final AnyTypeKind kind,
+            final AnyDAO<?> anyDAO,
+            final IndexSettings settings,
+            final TypeMapping mappings,
+            final VirtualThreadPoolTaskExecutor executor) throws Exception {
+
+        String alias = ElasticsearchUtils.getAnyIndex(domain, kind);
+        String index = prepareIndex(
+                domain, alias, (s, m) -> indexManager.createAnyIndex(domain, kind, s, m), settings, mappings);
+
+        setStatus("Indexing " + anyDAO.count() + " " + kind.name() + " under " + index + "...");
+
+        List<String> bounds = partitionBounds(domain, alias, anyDAO);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i <= bounds.size(); i++) {
+            String after = i == 0 ? null : bounds.get(i - 1);
+            String upTo = i == bounds.size() ? null : bounds.get(i);
+            String checkpointKey = checkpointKey(alias, String.valueOf(i));
+
+            futures.add(executor.submit(() -> AuthContextUtils.callAsAdmin(domain, () -> {
+                reindex(domain, anyDAO, index, checkpointKey, after, upTo);
+                return null;
+            })));
+        }
+        ExecutionException failure = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                LOG.error("While populating {}", index, e);
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
 
-                try (BulkIngester<Void> ingester = BulkIngester.of(b -> b.client(client).
-                        maxOperations(AnyDAO.DEFAULT_PAGE_SIZE).listener(ErrorLoggingBulkListener.INSTANCE))) {
+        if (!interrupt) {
+            completeIndex(alias, index);
+        }
+    }
 
-                    for (int page = 1; page <= (anyObjects / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
-                        for (String anyObject : anyObjectDAO.findAllKeys(page, AnyDAO.DEFAULT_PAGE_SIZE)) {
-                            ingester.add(op -> op.index(idx -> idx.
-                                    index(aindex).
-                                    id(anyObject).
-                                    document(utils.document(anyObjectDAO.find(anyObject)))));
-                        }
-                    }
-                } catch (Exception e) {
-                    LOG.error("Errors while ingesting index {}", uindex, e);
+    @Override
+    protected String doExecute(final boolean dryRun, final String executor, final JobExecutionContext context)
+            throws JobExecutionException {
+
+        if (!dryRun) {
+            setStatus("Start rebuilding indexes");
+
+            String domain = AuthContextUtils.getDomain();
+
+            VirtualThreadPoolTaskExecutor tpte = new VirtualThreadPoolTaskExecutor();
+            tpte.setPoolSize(props.getReindexConcurrency());
+            tpte.setThreadNamePrefix("elasticsearchReindex-" + domain + "-");
+            tpte.initialize();
+
+            try {
+                reindex(domain, AnyTypeKind.USER, userDAO, userSettings(), userMapping(), tpte);
+                if (!interrupt) {
+                    reindex(domain, AnyTypeKind.GROUP, groupDAO, groupSettings(), groupMapping(), tpte);
+                }
+                if (!interrupt) {
+                    reindex(domain, AnyTypeKind.ANY_OBJECT, anyObjectDAO, anyObjectSettings(), anyObjectMapping(),
+                            tpte);
+                }
+                if (interrupt) {
+                    LOG.debug("Reindex interrupted");
+                    interrupted = true;
+                    return "Reindex interrupted, will be resumed by the next execution";
                 }
 
-                indexManager.createRealmIndex(AuthContextUtils.getDomain(), realmSettings(), realmMapping());
+                String ralias = ElasticsearchUtils.getRealmIndex(domain);
+                String rindex = prepareIndex(
+                        domain, ralias, (s, m) -> indexManager.createRealmIndex(domain, s, m),
+                        realmSettings(), realmMapping());
 
                 int realms = realmDAO.count();
-                String rindex = ElasticsearchUtils.getRealmIndex(AuthContextUtils.getDomain());
                 setStatus("Indexing " + realms + " realms under " + rindex + "...");
 
                 try (BulkIngester<Void> ingester = BulkIngester.of(b -> b.client(client).
                         maxOperations(AnyDAO.DEFAULT_PAGE_SIZE).listener(ErrorLoggingBulkListener.INSTANCE))) {
 
-                    for (int page = 1; page <= (realms / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
-                        for (String realm : realmDAO.findAllKeys(page, AnyDAO.DEFAULT_PAGE_SIZE)) {
+                    List<String> keys;
+                    String last = null;
+                    do {
+                        keys = realmDAO.findAllKeys(last, AnyDAO.DEFAULT_PAGE_SIZE);
+                        for (String realm : keys) {
                             ingester.add(op -> op.index(idx -> idx.
                                     index(rindex).
                                     id(realm).
                                     document(utils.document(realmDAO.find(realm)))));
                         }
-                    }
+                        if (!keys.isEmpty()) {
+                            last = keys.get(keys.size() - 1);
+                        }
+                    } while (keys.size() == AnyDAO.DEFAULT_PAGE_SIZE);
                 } catch (Exception e) {
-                    LOG.error("Errors while ingesting index {}", uindex, e);
+                    LOG.error("Errors while ingesting index {}", rindex, e);
                 }
 
-                indexManager.createAuditIndex(AuthContextUtils.getDomain(), auditSettings(), auditMapping());
+                completeIndex(ralias, rindex);
+
+                indexManager.createAuditIndex(domain, auditSettings(), auditMapping());
+
+                transactionTemplate(domain, false).executeWithoutResult(status -> {
+                    synchronized (checkpointKeys) {
+                        checkpointKeys.forEach(jobStatusDAO::delete);
+                    }
+                });
 
-                setStatus("Rebuild indexes for domain " + AuthContextUtils.getDomain() + " successfully completed");
+                setStatus("Rebuild indexes for domain " + domain + " successfully completed");
             } catch (Exception e) {
-                throw new JobExecutionException("While rebuilding index for domain " + AuthContextUtils.getDomain(), e);
+                throw new JobExecutionException("While rebuilding index for domain " + domain, e);
             }
         }
 
@@ -65,7 +65,10 @@ public class OpenSearchClientContext {
                 client,
                 openSearchUtils,
                 props.getNumberOfShards(),
-                props.getNumberOfReplicas());
+                props.getNumberOfReplicas(),
+                props.getBulkMaxOperations(),
+                props.getBulkFlushInterval(),
+                props.getRealmRefresh());
     }
 
     @ConditionalOnMissingBean
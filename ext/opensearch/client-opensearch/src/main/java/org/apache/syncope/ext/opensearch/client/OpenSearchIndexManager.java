@@ -19,9 +19,19 @@
 package org.apache.syncope.ext.opensearch.client;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.Entity;
@@ -40,28 +50,46 @@ import org.opensearch.client.opensearch._types.mapping.ObjectProperty;
 import org.opensearch.client.opensearch._types.mapping.Property;
 import org.opensearch.client.opensearch._types.mapping.TextProperty;
 import org.opensearch.client.opensearch._types.mapping.TypeMapping;
-import org.opensearch.client.opensearch.core.DeleteRequest;
-import org.opensearch.client.opensearch.core.DeleteResponse;
+import org.opensearch.client.opensearch.core.BulkRequest;
+import org.opensearch.client.opensearch.core.BulkResponse;
 import org.opensearch.client.opensearch.core.IndexRequest;
 import org.opensearch.client.opensearch.core.IndexResponse;
+import org.opensearch.client.opensearch.core.bulk.BulkOperation;
+import org.opensearch.client.opensearch.core.bulk.DeleteOperation;
+import org.opensearch.client.opensearch.core.bulk.IndexOperation;
+import org.opensearch.client.opensearch.indices.Alias;
 import org.opensearch.client.opensearch.indices.CreateIndexRequest;
 import org.opensearch.client.opensearch.indices.CreateIndexResponse;
 import org.opensearch.client.opensearch.indices.DeleteIndexRequest;
 import org.opensearch.client.opensearch.indices.DeleteIndexResponse;
+import org.opensearch.client.opensearch.indices.ExistsAliasRequest;
 import org.opensearch.client.opensearch.indices.ExistsRequest;
+import org.opensearch.client.opensearch.indices.GetAliasRequest;
 import org.opensearch.client.opensearch.indices.IndexSettings;
 import org.opensearch.client.opensearch.indices.IndexSettingsAnalysis;
+import org.opensearch.client.opensearch.indices.UpdateAliasesRequest;
+import org.opensearch.client.opensearch.indices.UpdateAliasesResponse;
+import org.opensearch.client.opensearch.indices.update_aliases.Action;
+import org.opensearch.client.opensearch.indices.update_aliases.AddAction;
+import org.opensearch.client.opensearch.indices.update_aliases.RemoveAction;
+import org.opensearch.client.opensearch.indices.update_aliases.RemoveIndexAction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.transaction.event.TransactionalEventListener;
 
 /**
  * Listen to any create / update and delete in order to keep the OpenSearch indexes consistent.
+ *
+ * Events are processed upon commit: operations on realms are sent right away with the configured refresh policy,
+ * while operations on users, groups and any objects are merged by key within a flush window and then sent via bulk
+ * requests.
  */
 public class OpenSearchIndexManager {
 
     private static final Logger LOG = LoggerFactory.getLogger(OpenSearchIndexManager.class);
 
+    protected static final String SHADOW_ALIAS_SUFFIX = "_shadow";
+
     protected final OpenSearchClient client;
 
     protected final OpenSearchUtils openSearchUtils;
@@ -70,16 +98,52 @@ public class OpenSearchIndexManager {
 
     protected final String numberOfReplicas;
 
+    protected final int bulkMaxOperations;
+
+    protected final Refresh realmRefresh;
+
+    protected final Duration shadowIndexDiscovery;
+
+    /**
+     * Operations on any indexes committed but not yet sent, by index and key.
+     */
+    protected final Map<String, BulkOperation> window = new LinkedHashMap<>();
+
+    protected final ScheduledExecutorService flusher;
+
+    /**
+     * Shadow indexes being rebuilt, by the alias they are going to replace: changes committed meanwhile are sent to
+     * both. Shadow indexes are marked in OpenSearch itself by an additional alias, so that all nodes know about
+     * them; lookups are cached for the flush interval.
+     */
+    protected final LoadingCache<String, Optional<String>> shadows;
+
     public OpenSearchIndexManager(
             final OpenSearchClient client,
             final OpenSearchUtils ppenSearchUtils,
             final String numberOfShards,
-            final String numberOfReplicas) {
+            final String numberOfReplicas,
+            final int bulkMaxOperations,
+            final long bulkFlushInterval,
+            final Refresh realmRefresh) {
 
         this.client = client;
         this.openSearchUtils = ppenSearchUtils;
         this.numberOfShards = numberOfShards;
         this.numberOfReplicas = numberOfReplicas;
+        this.bulkMaxOperations = bulkMaxOperations;
+        this.realmRefresh = realmRefresh;
+        this.shadowIndexDiscovery = Duration.ofMillis(bulkFlushInterval * 2);
+        this.shadows = Caffeine.newBuilder().
+                expireAfterWrite(Duration.ofMillis(bulkFlushInterval)).
+                build(this::findShadowIndex);
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "OpenSearchIndexManager-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleWithFixedDelay(this::drain, bulkFlushInterval, bulkFlushInterval, TimeUnit.MILLISECONDS);
     }
 
     public boolean existsAnyIndex(final String domain, final AnyTypeKind kind) throws IOException {
@@ -298,54 +362,209 @@ public class OpenSearchIndexManager {
         LOG.debug("Successfully removed {}: {}", OpenSearchUtils.getAuditIndex(domain), response);
     }
 
+    /**
+     * Creates a new index, meant to replace the given alias once populated; changes committed to entities indexed under
+     * the given alias are sent to the new index as well, by all nodes after {@link #getShadowIndexDiscovery()}.
+     *
+     * @param alias index alias
+     * @param settings index settings
+     * @param mappings index mappings
+     * @return name of the created index
+     * @throws IOException in case of errors
+     */
+    public String createShadowIndex(
+            final String alias,
+            final IndexSettings settings,
+            final TypeMapping mappings) throws IOException {
+
+        String shadow = alias + '_' + System.currentTimeMillis();
+        CreateIndexResponse response = client.indices().create(
+                new CreateIndexRequest.Builder().
+                        index(shadow).
+                        aliases(shadowAlias(alias), new Alias.Builder().build()).
+                        settings(settings).
+                        mappings(mappings).
+                        build());
+        LOG.debug("Successfully created shadow index {} for {}: {}", shadow, alias, response);
+
+        shadows.invalidate(alias);
+        return shadow;
+    }
+
+    /**
+     * @return how long it takes, at most, for all nodes to send changes to a newly created shadow index
+     */
+    public Duration getShadowIndexDiscovery() {
+        return shadowIndexDiscovery;
+    }
+
+    protected static String shadowAlias(final String alias) {
+        return alias + SHADOW_ALIAS_SUFFIX;
+    }
+
+    protected Optional<String> findShadowIndex(final String alias) {
+        try {
+            if (client.indices().existsAlias(new ExistsAliasRequest.Builder().name(shadowAlias(alias)).build()).
+                    value()) {
+
+                return client.indices().getAlias(new GetAliasRequest.Builder().name(shadowAlias(alias)).build()).
+                        result().keySet().stream().findFirst();
+            }
+        } catch (Exception e) {
+            LOG.error("While looking for shadow index of {}", alias, e);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Atomically points the given alias to the given shadow index, and removes the indexes previously pointed by the
+     * alias, or the index named as the alias, if any.
+     *
+     * @param alias index alias
+     * @param shadow shadow index name
+     * @throws IOException in case of errors
+     */
+    public void swapShadowIndex(final String alias, final String shadow) throws IOException {
+        List<String> previous = new ArrayList<>();
+        if (client.indices().existsAlias(new ExistsAliasRequest.Builder().name(alias).build()).value()) {
+            previous.addAll(client.indices().getAlias(new GetAliasRequest.Builder().name(alias).build()).
+                    result().keySet());
+        } else if (client.indices().exists(new ExistsRequest.Builder().index(alias).build()).value()) {
+            previous.add(alias);
+        }
+
+        List<Action> actions = new ArrayList<>();
+        actions.add(new Action.Builder().add(new AddAction.Builder().index(shadow).alias(alias).build()).build());
+        actions.add(new Action.Builder().remove(
+                new RemoveAction.Builder().index(shadow).alias(shadowAlias(alias)).build()).build());
+        previous.stream().filter(index -> !index.equals(shadow)).forEach(index -> actions.add(
+                new Action.Builder().removeIndex(new RemoveIndexAction.Builder().index(index).build()).build()));
+
+        UpdateAliasesResponse response = client.indices().updateAliases(
+                new UpdateAliasesRequest.Builder().actions(actions).build());
+        LOG.debug("Successfully pointed {} to {}, replacing {}: {}", alias, shadow, previous, response);
+
+        shadows.invalidate(alias);
+    }
+
+    protected static boolean isIndexed(final EntityLifecycleEvent<Entity> event) {
+        return event.getEntity() instanceof Any || event.getEntity() instanceof Realm;
+    }
+
     @TransactionalEventListener
-    public void entity(final EntityLifecycleEvent<Entity> event) throws IOException {
-        LOG.debug("About to {} index for {}", event.getType().name(), event.getEntity());
-
-        if (event.getEntity() instanceof Any) {
-            Any<?> any = (Any<?>) event.getEntity();
-
-            if (event.getType() == SyncDeltaType.DELETE) {
-                DeleteRequest request = new DeleteRequest.Builder().index(
-                        OpenSearchUtils.getAnyIndex(event.getDomain(), any.getType().getKind())).
-                        id(any.getKey()).
-                        build();
-                DeleteResponse response = client.delete(request);
-                LOG.debug("Index successfully deleted for {}[{}]: {}",
-                        any.getType().getKind(), any.getKey(), response);
-            } else {
-                IndexRequest<Map<String, Object>> request = new IndexRequest.Builder<Map<String, Object>>().
-                        index(OpenSearchUtils.getAnyIndex(event.getDomain(), any.getType().getKind())).
-                        id(any.getKey()).
-                        document(openSearchUtils.document(any)).
-                        build();
-                IndexResponse response = client.index(request);
-                LOG.debug("Index successfully created or updated for {}: {}", any, response);
+    public void entity(final EntityLifecycleEvent<Entity> event) {
+        if (isIndexed(event)) {
+            LOG.debug("About to {} index for {}", event.getType().name(), event.getEntity());
+            flush(List.of(event));
+        }
+    }
+
+    protected BulkOperation operation(final String index, final EntityLifecycleEvent<Entity> event) {
+        if (event.getType() == SyncDeltaType.DELETE) {
+            return new BulkOperation.Builder().delete(new DeleteOperation.Builder().
+                    index(index).
+                    id(event.getEntity().getKey()).
+                    build()).
+                    build();
+        }
+
+        Map<String, Object> document = event.getEntity() instanceof Any
+                ? openSearchUtils.document((Any<?>) event.getEntity())
+                : openSearchUtils.document((Realm) event.getEntity());
+        return new BulkOperation.Builder().index(new IndexOperation.Builder<Map<String, Object>>().
+                index(index).
+                id(event.getEntity().getKey()).
+                document(document).
+                build()).
+                build();
+    }
+
+    protected void flush(final Collection<EntityLifecycleEvent<Entity>> events) {
+        List<BulkOperation> realmOperations = new ArrayList<>();
+
+        events.forEach(event -> {
+            try {
+                if (event.getEntity() instanceof Any) {
+                    String index = OpenSearchUtils.getAnyIndex(
+                            event.getDomain(), ((Any<?>) event.getEntity()).getType().getKind());
+                    Map<String, BulkOperation> operations = new LinkedHashMap<>();
+                    operations.put(index + '/' + event.getEntity().getKey(), operation(index, event));
+                    shadows.get(index).ifPresent(shadow -> operations.put(
+                            shadow + '/' + event.getEntity().getKey(), operation(shadow, event)));
+
+                    boolean full;
+                    synchronized (window) {
+                        operations.forEach((key, operation) -> {
+                            window.remove(key);
+                            window.put(key, operation);
+                        });
+                        full = window.size() >= bulkMaxOperations;
+                    }
+                    if (full) {
+                        drain();
+                    }
+                } else {
+                    String index = OpenSearchUtils.getRealmIndex(event.getDomain());
+                    realmOperations.add(operation(index, event));
+                    shadows.get(index).
+                            ifPresent(shadow -> realmOperations.add(operation(shadow, event)));
+                }
+            } catch (Exception e) {
+                LOG.error("While preparing {} for {}", event.getType(), event.getEntity(), e);
+            }
+        });
+
+        if (!realmOperations.isEmpty()) {
+            try {
+                BulkResponse response = client.bulk(new BulkRequest.Builder().
+                        operations(realmOperations).
+                        refresh(realmRefresh).
+                        build());
+                log(response);
+            } catch (Exception e) {
+                LOG.error("While indexing {} realm(s)", realmOperations.size(), e);
             }
-        } else if (event.getEntity() instanceof Realm) {
-            Realm realm = (Realm) event.getEntity();
-
-            if (event.getType() == SyncDeltaType.DELETE) {
-                DeleteRequest request = new DeleteRequest.Builder().
-                        index(OpenSearchUtils.getRealmIndex(event.getDomain())).
-                        id(realm.getKey()).
-                        refresh(Refresh.True).
-                        build();
-                DeleteResponse response = client.delete(request);
-                LOG.debug("Index successfully deleted for {}: {}", realm, response);
-            } else {
-                IndexRequest<Map<String, Object>> request = new IndexRequest.Builder<Map<String, Object>>().
-                        index(OpenSearchUtils.getRealmIndex(event.getDomain())).
-                        id(realm.getKey()).
-                        document(openSearchUtils.document(realm)).
-                        refresh(Refresh.True).
-                        build();
-                IndexResponse response = client.index(request);
-                LOG.debug("Index successfully created or updated for {}: {}", realm, response);
+        }
+    }
+
+    /**
+     * Sends all operations currently in the flush window, via bulk requests of at most the configured size.
+     */
+    protected void drain() {
+        List<BulkOperation> operations;
+        synchronized (window) {
+            operations = new ArrayList<>(window.values());
+            window.clear();
+        }
+
+        for (int i = 0; i < operations.size(); i += bulkMaxOperations) {
+            List<BulkOperation> chunk = operations.subList(i, Math.min(i + bulkMaxOperations, operations.size()));
+            try {
+                log(client.bulk(new BulkRequest.Builder().operations(chunk).build()));
+            } catch (Exception e) {
+                LOG.error("Bulk request with {} operation(s) failed", chunk.size(), e);
             }
         }
     }
 
+    protected void log(final BulkResponse response) {
+        if (response.errors()) {
+            response.items().stream().filter(item -> item.error() != null).forEach(item -> LOG.error(
+                    "Could not {} {} on {}: {}", item.operationType(), item.id(), item.index(), item.error().reason()));
+        } else {
+            LOG.debug("Bulk request with {} operation(s) successfully executed in {} ms",
+                    response.items().size(), response.took());
+        }
+    }
+
+    /**
+     * Sends all pending operations and releases resources; invoked by Spring on context shutdown.
+     */
+    public void close() {
+        flusher.shutdown();
+        drain();
+    }
+
     public void audit(final String domain, final long instant, final JsonNode message) throws IOException {
         LOG.debug("About to audit");
 
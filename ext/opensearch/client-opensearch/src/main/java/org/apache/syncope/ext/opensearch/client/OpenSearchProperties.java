@@ -20,6 +20,7 @@ package org.apache.syncope.ext.opensearch.client;
 
 import java.util.ArrayList;
 import java.util.List;
+import org.opensearch.client.opensearch._types.Refresh;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 @ConfigurationProperties("opensearch")
@@ -33,6 +34,33 @@ public class OpenSearchProperties {
 
     private String numberOfReplicas = "1";
 
+    /**
+     * Maximum number of pending operations on user, group and any object indexes before a bulk request is sent.
+     */
+    private int bulkMaxOperations = 1000;
+
+    /**
+     * Interval (in milliseconds) after which pending operations on user, group and any object indexes are sent,
+     * regardless of their number; repeated operations on the same entity within such interval are merged.
+     */
+    private long bulkFlushInterval = 1000;
+
+    /**
+     * Refresh policy for operations on realm indexes: true, false or wait_for.
+     */
+    private Refresh realmRefresh = Refresh.True;
+
+    /**
+     * Maximum number of key space partitions processed concurrently while reindexing.
+     */
+    private int reindexConcurrency = 4;
+
+    /**
+     * Whether reindexing should populate new indexes, to replace the current ones via alias once completed, rather
+     * than removing and populating the current indexes.
+     */
+    private boolean reindexShadowIndex = true;
+
     public List<String> getHosts() {
         return hosts;
     }
@@ -64,4 +92,44 @@ public class OpenSearchProperties {
     public void setNumberOfReplicas(final String numberOfReplicas) {
         this.numberOfReplicas = numberOfReplicas;
     }
+
+    public int getBulkMaxOperations() {
+        return bulkMaxOperations;
+    }
+
+    public void setBulkMaxOperations(final int bulkMaxOperations) {
+        this.bulkMaxOperations = bulkMaxOperations;
+    }
+
+    public long getBulkFlushInterval() {
+        return bulkFlushInterval;
+    }
+
+    public void setBulkFlushInterval(final long bulkFlushInterval) {
+        this.bulkFlushInterval = bulkFlushInterval;
+    }
+
+    public Refresh getRealmRefresh() {
+        return realmRefresh;
+    }
+
+    public void setRealmRefresh(final Refresh realmRefresh) {
+        this.realmRefresh = realmRefresh;
+    }
+
+    public int getReindexConcurrency() {
+        return reindexConcurrency;
+    }
+
+    public void setReindexConcurrency(final int reindexConcurrency) {
+        this.reindexConcurrency = reindexConcurrency;
+    }
+
+    public boolean isReindexShadowIndex() {
+        return reindexShadowIndex;
+    }
+
+    public void setReindexShadowIndex(final boolean reindexShadowIndex) {
+        this.reindexShadowIndex = reindexShadowIndex;
+    }
 }
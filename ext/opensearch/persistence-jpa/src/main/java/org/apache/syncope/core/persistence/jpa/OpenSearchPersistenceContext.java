@@ -22,6 +22,7 @@ import org.apache.syncope.core.persistence.api.attrvalue.validation.PlainAttrVal
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
 import org.apache.syncope.core.persistence.api.dao.AuditConfDAO;
+import org.apache.syncope.core.persistence.api.dao.DerAttrIndexDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
@@ -77,11 +78,12 @@ public class OpenSearchPersistenceContext {
     @Bean
     public RealmDAO realmDAO(
             final @Lazy RoleDAO roleDAO,
+            final @Lazy DerAttrIndexDAO derAttrIndexDAO,
             final ApplicationEventPublisher publisher,
             final OpenSearchProperties props,
             final OpenSearchClient client) {
 
-        return new OpenSearchRealmDAO(roleDAO, publisher, client, props.getIndexMaxResultWindow());
+        return new OpenSearchRealmDAO(roleDAO, derAttrIndexDAO, publisher, client, props.getIndexMaxResultWindow());
     }
 
     @ConditionalOnMissingBean(name = "openSearchAuditConfDAO")
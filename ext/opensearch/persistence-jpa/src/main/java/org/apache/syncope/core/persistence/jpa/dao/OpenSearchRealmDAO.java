@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.core.persistence.api.dao.DerAttrIndexDAO;
 import org.apache.syncope.core.persistence.api.dao.MalformedPathException;
 import org.apache.syncope.core.persistence.api.dao.RoleDAO;
 import org.apache.syncope.core.persistence.api.entity.Realm;
@@ -57,11 +58,12 @@ public class OpenSearchRealmDAO extends JPARealmDAO {
 
     public OpenSearchRealmDAO(
             final RoleDAO roleDAO,
+            final DerAttrIndexDAO derAttrIndexDAO,
             final ApplicationEventPublisher publisher,
             final OpenSearchClient client,
             final int indexMaxResultWindow) {
 
-        super(roleDAO, publisher);
+        super(roleDAO, derAttrIndexDAO, publisher);
         this.client = client;
         this.indexMaxResultWindow = indexMaxResultWindow;
     }
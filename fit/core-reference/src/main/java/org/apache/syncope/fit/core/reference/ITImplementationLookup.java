@@ -50,6 +50,8 @@ import org.apache.syncope.core.provisioning.api.rules.PullCorrelationRule;
 import org.apache.syncope.core.provisioning.api.rules.PushCorrelationRule;
 import org.apache.syncope.core.provisioning.java.job.ExpiredAccessTokenCleanup;
 import org.apache.syncope.core.provisioning.java.job.ExpiredBatchCleanup;
+import org.apache.syncope.core.provisioning.java.job.PropagationDataEncoding;
+import org.apache.syncope.core.provisioning.java.job.PropagationTaskRetention;
 import org.apache.syncope.core.provisioning.java.propagation.AzurePropagationActions;
 import org.apache.syncope.core.provisioning.java.propagation.DBPasswordPropagationActions;
 import org.apache.syncope.core.provisioning.java.propagation.GoogleAppsPropagationActions;
@@ -136,6 +138,8 @@ public class ITImplementationLookup implements ImplementationLookup {
             classNames.add(PushJobDelegate.class.getName());
             classNames.add(ExpiredAccessTokenCleanup.class.getName());
             classNames.add(ExpiredBatchCleanup.class.getName());
+            classNames.add(PropagationTaskRetention.class.getName());
+            classNames.add(PropagationDataEncoding.class.getName());
             classNames.add(TestSampleJobDelegate.class.getName());
             put(IdRepoImplementationType.TASKJOB_DELEGATE, classNames);
 
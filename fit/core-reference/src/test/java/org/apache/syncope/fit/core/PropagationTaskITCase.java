@@ -90,6 +90,7 @@ import org.apache.syncope.common.lib.types.ResourceDeassociationAction;
 import org.apache.syncope.common.lib.types.ResourceOperation;
 import org.apache.syncope.common.lib.types.SchemaType;
 import org.apache.syncope.common.lib.types.TaskType;
+import org.apache.syncope.common.rest.api.Preference;
 import org.apache.syncope.common.rest.api.RESTHeaders;
 import org.apache.syncope.common.rest.api.beans.ExecQuery;
 import org.apache.syncope.common.rest.api.beans.ExecSpecs;
@@ -323,6 +324,56 @@ public class PropagationTaskITCase extends AbstractTaskITCase {
         assertNotNull(deleted);
     }
 
+    @Test
+    public void purgePropagationsByUser() {
+        // create users with testdb resource
+        UserCR userCR = UserITCase.getUniqueSample("purgeStreamed@apache.org");
+        userCR.getResources().add(RESOURCE_NAME_TESTDB);
+        UserTO streamed = createUser(userCR).getEntity();
+
+        userCR = UserITCase.getUniqueSample("purgeNoContent@apache.org");
+        userCR.getResources().add(RESOURCE_NAME_TESTDB);
+        UserTO noContent = createUser(userCR).getEntity();
+
+        TaskQuery streamedQuery = new TaskQuery.Builder(TaskType.PROPAGATION).resource(RESOURCE_NAME_TESTDB).
+                anyTypeKind(AnyTypeKind.USER).entityKey(streamed.getKey()).build();
+        TaskQuery noContentQuery = new TaskQuery.Builder(TaskType.PROPAGATION).resource(RESOURCE_NAME_TESTDB).
+                anyTypeKind(AnyTypeKind.USER).entityKey(noContent.getKey()).build();
+        assertFalse(TASK_SERVICE.search(streamedQuery).getResult().isEmpty());
+        assertFalse(TASK_SERVICE.search(noContentQuery).getResult().isEmpty());
+
+        // 1. deleted propagation tasks are streamed back
+        Response response = TASK_SERVICE.purgePropagations(
+                OffsetDateTime.now(), List.of(ExecStatus.SUCCESS), List.of(RESOURCE_NAME_TESTDB));
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+
+        List<PropagationTaskTO> deleted = response.readEntity(new GenericType<List<PropagationTaskTO>>() {
+        });
+        assertTrue(deleted.stream().allMatch(task -> RESOURCE_NAME_TESTDB.equals(task.getResource())));
+        assertTrue(deleted.stream().anyMatch(task -> streamed.getKey().equals(task.getEntityKey())
+                && task.getOperation() == ResourceOperation.CREATE
+                && task.getPropagationData() != null));
+        assertTrue(TASK_SERVICE.search(streamedQuery).getResult().isEmpty());
+        assertTrue(TASK_SERVICE.search(noContentQuery).getResult().isEmpty());
+
+        // 2. nothing is returned when so preferred
+        UserUR userUR = new UserUR.Builder(noContent.getKey()).
+                plainAttr(attrAddReplacePatch("surname", "Purged")).build();
+        updateUser(userUR);
+        assertFalse(TASK_SERVICE.search(noContentQuery).getResult().isEmpty());
+
+        SyncopeClient noContentClient = CLIENT_FACTORY.create(ADMIN_UNAME, ADMIN_PWD);
+        TaskService noContentService = SyncopeClient.prefer(
+                noContentClient.getService(TaskService.class), Preference.RETURN_NO_CONTENT);
+
+        response = noContentService.purgePropagations(
+                OffsetDateTime.now(), List.of(ExecStatus.SUCCESS), List.of(RESOURCE_NAME_TESTDB));
+        assertEquals(Response.Status.NO_CONTENT.getStatusCode(), response.getStatus());
+        assertEquals(
+                Preference.RETURN_NO_CONTENT.toString(), response.getHeaderString(RESTHeaders.PREFERENCE_APPLIED));
+        assertTrue(TASK_SERVICE.search(noContentQuery).getResult().isEmpty());
+    }
+
     @Test
     public void propagationPolicyRetry() throws InterruptedException {
         SyncopeClient.nullPriorityAsync(ANY_OBJECT_SERVICE, true);